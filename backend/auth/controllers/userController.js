@@ -65,6 +65,35 @@ class UserController {
     }
   }
 
+  /**
+   * POST /auth/refresh
+   * Authorization: Bearer <refresh token>
+   */
+  async refresh(req, res) {
+    try {
+      const token = req.headers.authorization?.replace('Bearer ', '');
+
+      if (!token) {
+        return res.status(401).json({
+          success: false,
+          message: "Token no proporcionado"
+        });
+      }
+
+      const result = await authService.refreshToken(token);
+
+      res.status(200).json({
+        success: true,
+        data: result
+      });
+    } catch (error) {
+      res.status(401).json({
+        success: false,
+        message: error.message
+      });
+    }
+  }
+
   /**
    * POST /auth/logout
    */
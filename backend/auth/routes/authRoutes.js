@@ -12,6 +12,8 @@ const router = express.Router();
 // ===== RUTAS DE AUTENTICACIÓN (públicas) =====
 router.post('/login', userController.login);
 router.post('/register', userController.register);
+// El token de acceso puede estar vencido: la credencial se valida en el servicio
+router.post('/refresh', userController.refresh);
 
 // ===== RUTAS PROTEGIDAS DE AUTENTICACIÓN =====
 router.post('/logout', authMiddleware, userController.logout);
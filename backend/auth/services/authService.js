@@ -60,10 +60,11 @@ class AuthService {
 
   /**
    * Refrescar token
+   * Recibe el refresh token (o un token de acceso recién vencido) y devuelve un par nuevo
    */
   async refreshToken(token) {
     try {
-      const decoded = this.verifyToken(token);
+      const decoded = userService.verifyRefreshToken(token);
       const user = await userService.getUserById(decoded.userId);
       
       if (!user || !user.isActive) {
@@ -71,9 +72,11 @@ class AuthService {
       }
 
       const newToken = userService.generateToken(user);
+      const newRefreshToken = userService.generateRefreshToken(user);
       
       return {
         token: newToken,
+        refreshToken: newRefreshToken,
         user: user,
         message: "Token refrescado exitosamente"
       };
@@ -25,6 +25,52 @@ class UserService {
     return jwt.sign(payload, secret, options);
   }
 
+  /**
+   * Generar refresh token (POST /auth/refresh)
+   * Se firma con otra clave: authMiddleware no lo acepta como token de acceso
+   */
+  generateRefreshToken(user) {
+    const payload = { userId: user.id, type: 'refresh' };
+    const options = { expiresIn: process.env.JWT_REFRESH_EXPIRES_IN || "30d" };
+
+    return jwt.sign(payload, this.refreshSecret(), options);
+  }
+
+  /**
+   * Verificar la credencial de POST /auth/refresh
+   * Acepta un refresh token vigente o, para sesiones iniciadas antes de que existieran,
+   * un token de acceso con firma válida vencido hace menos de JWT_REFRESH_GRACE segundos
+   */
+  verifyRefreshToken(token) {
+    try {
+      const decoded = jwt.verify(token, this.refreshSecret());
+      if (decoded.type !== 'refresh') {
+        throw new Error("Token inválido");
+      }
+      return decoded;
+    } catch (refreshError) {
+      if (refreshError instanceof jwt.TokenExpiredError) {
+        throw new Error("Refresh token expirado");
+      }
+    }
+
+    let decoded;
+    try {
+      decoded = jwt.verify(token, process.env.JWT_SECRET, { ignoreExpiration: true });
+    } catch (error) {
+      throw new Error("Token inválido");
+    }
+    const grace = parseInt(process.env.JWT_REFRESH_GRACE) || 7 * 24 * 3600;
+    if (!decoded.exp || Math.floor(Date.now() / 1000) - decoded.exp > grace) {
+      throw new Error("Token expirado");
+    }
+    return decoded;
+  }
+
+  refreshSecret() {
+    return process.env.JWT_REFRESH_SECRET || `${process.env.JWT_SECRET}:refresh`;
+  }
+
   /**
    * Verificar token JWT (compatible con tu authMiddleware)
    */
@@ -71,6 +117,7 @@ class UserService {
 
       // Generar token
       const token = this.generateToken(user);
+      const refreshToken = this.generateRefreshToken(user);
 
       // Devolver usuario sin contraseña
       const userResponse = this.formatUserResponse(user);
@@ -78,6 +125,7 @@ class UserService {
       return { 
         user: userResponse, 
         token,
+        refreshToken,
         message: "Login exitoso"
       };
     } catch (error) {
@@ -143,6 +191,7 @@ class UserService {
 
       // Generar token
       const token = this.generateToken(newUser);
+      const refreshToken = this.generateRefreshToken(newUser);
 
       // Devolver usuario sin contraseña
       const userResponse = this.formatUserResponse(newUser);
@@ -150,6 +199,7 @@ class UserService {
       return { 
         user: userResponse, 
         token,
+        refreshToken,
         message: "Usuario registrado exitosamente"
       };
     } catch (error) {
@@ -1,6 +1,9 @@
 const clientService = require('../services/clientService');
 const { sendSuccess, sendError } = require("../../shared/config/helpers/apiResponseHelper");
 
+// Tope de ids por request en la búsqueda por lote (igual al lote de la app)
+const MAX_BATCH_IDS = 100;
+
 const createClient = async (req, res) => {
   try {
     const result = await clientService.createClient(req.body);
@@ -38,6 +41,7 @@ const getAllClients = async (req, res) => {
       documentType, 
       assignedUserId, 
       search,
+      ids,
       page,
       limit 
     } = req.query;
@@ -48,6 +52,17 @@ const getAllClients = async (req, res) => {
     if (documentType) filters.documentType = documentType;
     if (assignedUserId) filters.assignedUserId = assignedUserId;
     if (search) filters.search = search;
+    if (ids) {
+      // Búsqueda por lote: "?ids=1,2,3" (la app agrupa varias búsquedas por id en una sola)
+      filters.ids = String(ids)
+        .split(',')
+        .map(id => parseInt(id, 10))
+        .filter(id => Number.isInteger(id) && id > 0)
+        .slice(0, MAX_BATCH_IDS);
+      if (filters.ids.length === 0) {
+        return sendError(res, 400, 'El parámetro ids no contiene ids válidos');
+      }
+    }
 
     const pagination = {};
     if (page && limit) {
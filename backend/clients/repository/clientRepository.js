@@ -107,6 +107,9 @@ class ClientRepository {
       if (filters.assignedUserId) {
         queryOptions.where.assigned_user_id = filters.assignedUserId;
       }
+      if (filters.ids) {
+        queryOptions.where.id = { [Op.in]: filters.ids };
+      }
       if (filters.search) {
         queryOptions.where[Op.or] = [
           { business_name: { [Op.like]: `%${filters.search}%` } },
@@ -150,6 +153,9 @@ class ClientRepository {
       if (filters.assignedUserId) {
         queryOptions.where.assigned_user_id = filters.assignedUserId;
       }
+      if (filters.ids) {
+        queryOptions.where.id = { [Op.in]: filters.ids };
+      }
       if (filters.search) {
         queryOptions.where[Op.or] = [
           { business_name: { [Op.like]: `%${filters.search}%` } },
@@ -1,10 +1,11 @@
 const express = require('express');
 const clientController = require('../controllers/clientController');
 const authMiddleware = require('../../shared/middlewares/authMiddleware');
+const idempotencyMiddleware = require('../../shared/middlewares/idempotencyMiddleware');
 
 const router = express.Router();
 
-router.post('/', authMiddleware, clientController.createClient);
+router.post('/', authMiddleware, idempotencyMiddleware, clientController.createClient);
 
 router.get('/', authMiddleware, clientController.getAllClients);
 
@@ -24,11 +25,11 @@ router.get('/:id', authMiddleware, clientController.getClientById);
 
 router.get('/:id/relations', authMiddleware, clientController.getClientWithRelations);
 
-router.put('/:id', authMiddleware, clientController.updateClient);
+router.put('/:id', authMiddleware, idempotencyMiddleware, clientController.updateClient);
 
-router.patch('/:id/status', authMiddleware, clientController.changeClientStatus);
+router.patch('/:id/status', authMiddleware, idempotencyMiddleware, clientController.changeClientStatus);
 
-router.patch('/:id/credit-limit', authMiddleware, clientController.updateCreditLimit);
+router.patch('/:id/credit-limit', authMiddleware, idempotencyMiddleware, clientController.updateCreditLimit);
 
 router.delete('/:id', authMiddleware, clientController.deleteClient);
 
@@ -1,10 +1,11 @@
 const express = require('express');
 const creditRequestController = require('../controllers/creditRequestController');
 const authMiddleware = require('../../shared/middlewares/authMiddleware');
+const idempotencyMiddleware = require('../../shared/middlewares/idempotencyMiddleware');
 
 const router = express.Router();
 
-router.post('/', authMiddleware, creditRequestController.createCreditRequest);
+router.post('/', authMiddleware, idempotencyMiddleware, creditRequestController.createCreditRequest);
 
 router.get('/', authMiddleware, creditRequestController.getAllCreditRequests);
 
@@ -30,7 +31,7 @@ router.get('/:id', authMiddleware, creditRequestController.getCreditRequestById)
 
 router.get('/:id/relations', authMiddleware, creditRequestController.getCreditRequestWithRelations);
 
-router.put('/:id', authMiddleware, creditRequestController.updateCreditRequest);
+router.put('/:id', authMiddleware, idempotencyMiddleware, creditRequestController.updateCreditRequest);
 
 router.patch('/:id/status', authMiddleware, creditRequestController.changeCreditRequestStatus);
 
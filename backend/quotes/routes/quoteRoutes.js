@@ -1,11 +1,12 @@
 const express = require('express');
 const quoteController = require('../controllers/quoteController');
 const authMiddleware = require('../../shared/middlewares/authMiddleware');
+const idempotencyMiddleware = require('../../shared/middlewares/idempotencyMiddleware');
 const SentinelErrorHandler = require('../../external-apis/middleware/sentinelErrorHandler');
 
 const router = express.Router();
 
-router.post('/', authMiddleware, quoteController.createQuote);
+router.post('/', authMiddleware, idempotencyMiddleware, quoteController.createQuote);
 
 // 🆕 NUEVAS RUTAS PARA INTEGRACIÓN CON SENTINEL API
 router.post('/with-credit-check', 
@@ -48,7 +49,7 @@ router.get('/client/:clientId/credit-assessment',
   quoteController.getClientCreditAssessment
 );
 
-router.put('/:id', authMiddleware, quoteController.updateQuote);
+router.put('/:id', authMiddleware, idempotencyMiddleware, quoteController.updateQuote);
 
 router.patch('/:id/status', authMiddleware, quoteController.changeQuoteStatus);
 
@@ -0,0 +1,75 @@
+const NodeCache = require('node-cache');
+
+/**
+ * Deduplicación por Idempotency-Key (cola offline de la app)
+ *
+ * La app repite la misma Idempotency-Key en cada reintento de un cambio. La primera
+ * request con una clave se ejecuta; las repeticiones reciben la respuesta guardada
+ * en lugar de volver a crear el cliente, la cotización o la solicitud.
+ * - Una repetición que llega mientras la original sigue en curso espera su resultado.
+ * - Las respuestas 5xx no se guardan: el reintento vuelve a ejecutar el cambio.
+ * - Las claves viven en memoria del proceso (IDEMPOTENCY_TTL segundos, 24 h por defecto);
+ *   con varias instancias o tras un reinicio la deduplicación no se comparte.
+ */
+const completed = new NodeCache({
+  stdTTL: parseInt(process.env.IDEMPOTENCY_TTL) || 24 * 3600,
+  checkperiod: 600,
+  useClones: false,
+  maxKeys: 10000
+});
+const inFlight = new Map();
+
+const replay = (res, record) => {
+  res.set('Idempotent-Replayed', 'true');
+  return res.status(record.status).json(record.body);
+};
+
+const idempotencyMiddleware = async (req, res, next) => {
+  const key = req.get('Idempotency-Key');
+  if (!key) {
+    return next();
+  }
+
+  // La clave se aísla por usuario: otro usuario no puede leer una respuesta ajena
+  const userId = req.user ? (req.user.userId || req.user.id) : 'anon';
+  const scope = `${userId}:${key}`;
+
+  const stored = completed.get(scope);
+  if (stored) {
+    return replay(res, stored);
+  }
+
+  const pending = inFlight.get(scope);
+  if (pending) {
+    const record = await pending;
+    // Si la original falló con 5xx se vuelve a evaluar (esta request puede ejecutarla)
+    return record ? replay(res, record) : idempotencyMiddleware(req, res, next);
+  }
+
+  let settle;
+  inFlight.set(scope, new Promise((resolve) => { settle = resolve; }));
+  const finish = (record) => {
+    if (!inFlight.has(scope)) {
+      return;
+    }
+    inFlight.delete(scope);
+    if (record && record.status < 500) {
+      completed.set(scope, record);
+      settle(record);
+    } else {
+      settle(null);
+    }
+  };
+
+  // Se registra al responder, aunque el cliente ya haya cortado la conexión
+  const originalJson = res.json.bind(res);
+  res.json = (body) => {
+    finish({ status: res.statusCode, body });
+    return originalJson(body);
+  };
+  res.on('finish', () => finish(null));
+
+  next();
+};
+
+module.exports = idempotencyMiddleware;
@@ -33,6 +33,19 @@ android {
     buildFeatures {
         viewBinding = true
     }
+
+    testOptions {
+        unitTests.all {
+            it.useJUnit {
+                // Los tests de la categoría Benchmark corren aparte, con -Pbenchmarks
+                if (project.hasProperty("benchmarks")) {
+                    includeCategories("com.example.chancafe_q.Benchmark")
+                } else {
+                    excludeCategories("com.example.chancafe_q.Benchmark")
+                }
+            }
+        }
+    }
 }
 
 dependencies {
@@ -63,6 +76,7 @@ dependencies {
     implementation(libs.gson)
 
     testImplementation(libs.junit)
+    testImplementation(libs.okhttp.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.chancafe_q.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.entity.ProductEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Búsqueda local sobre un catálogo sintético de 20k productos (SQLite FTS4 real)
+ * Imprime mediana y p95 por consulta; la mediana debe quedar por debajo de 10 ms
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProductSearchBenchmarkTest {
+
+    private static final String TAG = "ProductSearchBenchmark";
+    private static final int CATALOG_SIZE = 20_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 30;
+
+    private static final String[] NAMES = {"Café", "Azúcar", "Té", "Chocolate", "Cacao", "Leche", "Galleta", "Maní"};
+    private static final String[] VARIANTS = {"tostado", "orgánico", "molido", "instantáneo", "premium", "andino"};
+    private static final String[] CATEGORIES = {"Bebidas", "Dulces", "Lácteos", "Snacks"};
+    private static final String[] SUPPLIERS = {"Distribuidora Núñez", "Andina S.A.C.", "Cafetalera del Sur"};
+
+    private AppDatabase database;
+    private ProductRepository repository;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        repository = new ProductRepository(ApiClient.getApiService(), database.productDao(), database.syncStateDao(), null);
+
+        List<ProductEntity> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int id = 1; id <= CATALOG_SIZE; id++) {
+            ProductEntity product = new ProductEntity();
+            product.id = id;
+            product.name = NAMES[id % NAMES.length] + " " + VARIANTS[id % VARIANTS.length] + " " + (id % 1000) + " g";
+            product.sku = "SKU-" + id;
+            product.description = "Presentación " + VARIANTS[(id / 7) % VARIANTS.length] + " de " + NAMES[(id / 3) % NAMES.length];
+            product.categoryName = CATEGORIES[id % CATEGORIES.length];
+            product.supplierName = SUPPLIERS[id % SUPPLIERS.length];
+            product.price = id % 500;
+            product.status = "active";
+            catalog.add(product);
+        }
+        database.productDao().replaceAll(catalog);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void prefixSearch_medianUnderTenMillis() {
+        // Prefijos cortos (muchos resultados), con y sin tildes, y por SKU/proveedor
+        String[] queries = {"caf", "azucar", "té org", "choco pre", "nunez", "SKU-1999", "lacteos leche"};
+
+        for (String query : queries) {
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                repository.searchLocal(query, 50);
+            }
+            long[] samples = new long[MEASURED_RUNS];
+            List<Product> results = null;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                results = repository.searchLocal(query, 50);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            double medianMs = samples[MEASURED_RUNS / 2] / 1e6;
+            double p95Ms = samples[(int) (MEASURED_RUNS * 0.95)] / 1e6;
+            Log.i(TAG, String.format("\"%s\": %d resultados, mediana %.2f ms, p95 %.2f ms",
+                    query, results.size(), medianMs, p95Ms));
+
+            assertFalse(query, results.isEmpty());
+            assertTrue(query + " mediana " + medianMs + " ms", medianMs < 10);
+        }
+    }
+
+    @Test
+    public void search_ranksNameMatchesFirstAndFoldsAccents() {
+        List<Product> results = repository.searchLocal("azucar", 50);
+
+        assertFalse(results.isEmpty());
+        assertTrue(results.get(0).getName().startsWith("Azúcar"));
+        assertEquals(results.size(), repository.searchLocal("AZÚCAR", 50).size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.chancafe_q;
+
+import android.app.Activity;
+import android.app.Application;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Bundle;
+
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.repository.FreshnessPolicies;
+import com.example.chancafe_q.repository.Outbox;
+
+/**
+ * Application de ChancafeQ
+ * Inicializa los recursos globales que necesitan un Context
+ */
+public class ChancafeApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ApiClient.init(this);
+        AppDatabase.getDatabase(this); // Room abre el archivo recién en la primera consulta
+        drainOutboxWhenOnline();
+        registerActivityLifecycleCallbacks(new ForegroundTracker());
+    }
+
+    /**
+     * Envía los cambios guardados sin conexión al iniciar y cada vez que vuelve la red
+     */
+    private void drainOutboxWhenOnline() {
+        Outbox outbox = Outbox.getInstance();
+        if (outbox == null) {
+            return;
+        }
+        outbox.drain();
+        ConnectivityManager connectivity = getSystemService(ConnectivityManager.class);
+        if (connectivity != null) {
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    outbox.drain();
+                }
+            });
+        }
+    }
+
+    /**
+     * Avisa a las políticas de frescura cuando la app vuelve a primer plano
+     * (la primera actividad visible después de que no quedara ninguna)
+     */
+    private static final class ForegroundTracker implements ActivityLifecycleCallbacks {
+        private int started;
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+            if (started++ == 0) {
+                FreshnessPolicies.onFocus();
+            }
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+            started = Math.max(0, started - 1);
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+        }
+    }
+}
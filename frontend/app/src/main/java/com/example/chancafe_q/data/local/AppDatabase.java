@@ -1,51 +1,105 @@
 package com.example.chancafe_q.data.local;
 
-/**
- * Clase preparatoria para futura integración con Room Database
- * Esta clase contendrá la configuración de la base de datos local
- * 
- * TODO: Descomentar cuando se implemente Room
- */
+import android.content.Context;
 
-/*
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
-import android.content.Context;
-import com.example.chancafe_q.data.local.dao.UserDao;
-import com.example.chancafe_q.data.local.entity.UserEntity;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.chancafe_q.data.local.dao.CachedRecordDao;
+import com.example.chancafe_q.data.local.dao.ClientDao;
+import com.example.chancafe_q.data.local.dao.OutboxDao;
+import com.example.chancafe_q.data.local.dao.ProductDao;
+import com.example.chancafe_q.data.local.dao.SyncStateDao;
+import com.example.chancafe_q.data.local.entity.CachedRecordEntity;
+import com.example.chancafe_q.data.local.entity.ClientEntity;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.data.local.entity.ProductEntity;
+import com.example.chancafe_q.data.local.entity.ProductFts;
+import com.example.chancafe_q.data.local.entity.SyncStateEntity;
 import com.example.chancafe_q.utils.Constants;
 
+/**
+ * Base de datos local (Room)
+ * Guarda una copia de los datos del backend para mostrarlos sin esperar a la red
+ * y, desde la versión 4, los cambios hechos sin conexión (outbox) que aún no se enviaron.
+ * Por eso cada cambio de DB_VERSION necesita su Migration: no se borra la base.
+ */
 @Database(
-    entities = {UserEntity.class},
+    entities = {
+        ClientEntity.class,
+        ProductEntity.class,
+        ProductFts.class,
+        SyncStateEntity.class,
+        CachedRecordEntity.class,
+        OutboxEntity.class
+    },
     version = Constants.DB_VERSION,
     exportSchema = false
 )
 public abstract class AppDatabase extends RoomDatabase {
     private static volatile AppDatabase INSTANCE;
     
-    public abstract UserDao userDao();
+    /**
+     * 3 → 4: agrega la tabla outbox; el resto del esquema no cambia
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `outbox` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`resource` TEXT NOT NULL, "
+                    + "`entity_key` TEXT NOT NULL, "
+                    + "`operation` TEXT NOT NULL, "
+                    + "`target_id` INTEGER NOT NULL, "
+                    + "`payload` TEXT, "
+                    + "`idempotency_key` TEXT NOT NULL, "
+                    + "`status` TEXT NOT NULL, "
+                    + "`attempts` INTEGER NOT NULL, "
+                    + "`last_error` TEXT, "
+                    + "`created_at` INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_entity_key` ON `outbox` (`entity_key`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_status` ON `outbox` (`status`)");
+        }
+    };
+    
+    public abstract ClientDao clientDao();
+    
+    public abstract ProductDao productDao();
+    
+    public abstract SyncStateDao syncStateDao();
+    
+    public abstract CachedRecordDao cachedRecordDao();
+    
+    public abstract OutboxDao outboxDao();
     
     public static AppDatabase getDatabase(Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
+                    // Las versiones 1 y 2 solo tenían caché del backend: se pueden descartar
+                    // A partir de la 3 se migra; sin Migration Room falla en lugar de borrar el outbox
                     INSTANCE = Room.databaseBuilder(
                         context.getApplicationContext(),
                         AppDatabase.class,
                         Constants.DB_NAME
-                    ).build();
+                    )
+                    .addMigrations(MIGRATION_3_4)
+                    .fallbackToDestructiveMigrationFrom(1, 2)
+                    .build();
                 }
             }
         }
         return INSTANCE;
     }
-}
-*/
-
-public class AppDatabase {
-    // Placeholder class - implementar cuando se añada Room
-    private AppDatabase() {
-        // Constructor privado para prevenir instanciación
+    
+    /**
+     * Instancia ya creada con getDatabase, o null (tests de JVM o antes de Application.onCreate)
+     */
+    public static AppDatabase getInstanceIfCreated() {
+        return INSTANCE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.example.chancafe_q.data.local;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Convierte lo que escribe el usuario en una expresión MATCH de FTS4
+ *
+ * Cada palabra se vuelve un término de prefijo ("caf" -> caf*) y todos deben aparecer.
+ * Se quitan tildes y signos (el tokenizer también pliega tildes, pero así la expresión
+ * nunca trae operadores ni comillas que FTS interprete).
+ */
+public final class FtsQuery {
+
+    private FtsQuery() {
+    }
+
+    /**
+     * Expresión MATCH, o null si la entrada no tiene términos buscables
+     */
+    public static String build(String input) {
+        if (input == null) {
+            return null;
+        }
+        String folded = fold(input);
+
+        StringBuilder query = new StringBuilder();
+        int length = folded.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(folded, start, i).append('*');
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Minúsculas sin marcas diacríticas ("Azúcar Ñandú" -> "azucar nandu")
+     * También lo usa el índice de texto de clientes, que pliega cada campo al indexar
+     */
+    public static String fold(String text) {
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT); // Sin tildes que quitar: se evita Normalizer
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.chancafe_q.data.local;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Puntaje de relevancia a partir de matchinfo(tabla, 'pcnx') de FTS4
+ *
+ * FTS4 no trae una función de ranking; matchinfo devuelve enteros de 32 bits en el orden
+ * de bytes de la máquina: p (frases), c (columnas), n (filas) y luego, por cada frase y
+ * columna, tres valores: coincidencias en esta fila, en todas las filas y filas con
+ * coincidencias. El puntaje suma tf saturado * idf * peso de la columna (estilo BM25).
+ */
+public final class FtsRanker {
+
+    private FtsRanker() {
+    }
+
+    public static double score(byte[] matchInfo, double[] columnWeights) {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0;
+        }
+        IntBuffer ints = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = ints.get(0);
+        int columns = ints.get(1);
+        long rows = ints.get(2) & 0xFFFFFFFFL;
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                int base = 3 + 3 * (phrase * columns + column);
+                if (base + 2 >= ints.limit()) {
+                    return score;
+                }
+                int hitsInRow = ints.get(base);
+                if (hitsInRow == 0) {
+                    continue;
+                }
+                int rowsWithHits = ints.get(base + 2);
+                double idf = Math.log(1 + (rows - rowsWithHits + 0.5) / (rowsWithHits + 0.5));
+                double tf = hitsInRow / (hitsInRow + 1.2);
+                double weight = column < columnWeights.length ? columnWeights[column] : 1;
+                score += weight * tf * idf;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.chancafe_q.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.example.chancafe_q.data.local.entity.CachedRecordEntity;
+
+import java.util.List;
+
+/**
+ * Acceso a los registros guardados como JSON, agrupados por recurso
+ */
+@Dao
+public interface CachedRecordDao {
+
+    @Query("SELECT * FROM cached_records WHERE resource = :resource ORDER BY id")
+    List<CachedRecordEntity> getAll(String resource);
+
+    @Query("SELECT * FROM cached_records WHERE resource = :resource AND id = :id")
+    CachedRecordEntity getById(String resource, int id);
+
+    @Upsert
+    void upsertAll(List<CachedRecordEntity> records);
+
+    @Query("DELETE FROM cached_records WHERE resource = :resource AND id IN (:ids)")
+    void deleteByIds(String resource, List<Integer> ids);
+
+    /**
+     * Borra los registros ya sincronizados; conserva altas locales y cambios en el outbox
+     */
+    @Query("DELETE FROM cached_records WHERE resource = :resource AND id > 0 AND id NOT IN "
+            + "(SELECT target_id FROM outbox WHERE resource = :resource)")
+    void deleteSynced(String resource);
+
+    @Query("SELECT MIN(id) FROM cached_records WHERE resource = :resource")
+    Integer minId(String resource);
+
+    /**
+     * Aplica upserts y borrados de un recurso en una sola transacción
+     */
+    @Transaction
+    default void applyChanges(String resource, List<CachedRecordEntity> upserts, List<Integer> deletedIds) {
+        if (!upserts.isEmpty()) {
+            upsertAll(upserts);
+        }
+        for (int start = 0; start < deletedIds.size(); start += ClientDao.MAX_BIND_VARIABLES) {
+            deleteByIds(resource, deletedIds.subList(start, Math.min(start + ClientDao.MAX_BIND_VARIABLES, deletedIds.size())));
+        }
+    }
+}
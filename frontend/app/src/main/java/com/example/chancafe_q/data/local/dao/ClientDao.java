@@ -0,0 +1,94 @@
+package com.example.chancafe_q.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.example.chancafe_q.data.local.entity.ClientEntity;
+import com.example.chancafe_q.data.local.entity.ClientStamp;
+
+import java.util.List;
+
+/**
+ * Acceso a la tabla local de clientes
+ * Room no permite consultas en el hilo principal: llamar desde un executor de disco
+ */
+@Dao
+public interface ClientDao {
+
+    // Límite de variables por sentencia en SQLite (999 en versiones antiguas)
+    int MAX_BIND_VARIABLES = 900;
+
+    // Mismo orden que el backend: razón social, nombres, apellidos
+    @Query("SELECT * FROM clients ORDER BY business_name, first_name, last_name")
+    List<ClientEntity> getAll();
+
+    @Query("SELECT * FROM clients ORDER BY business_name, first_name, last_name LIMIT :limit OFFSET :offset")
+    List<ClientEntity> getPage(int offset, int limit);
+
+    @Query("SELECT COUNT(*) FROM clients")
+    int count();
+
+    @Query("SELECT * FROM clients WHERE id = :id")
+    ClientEntity getById(int id);
+
+    @Query("SELECT * FROM clients WHERE document_number = :documentNumber LIMIT 1")
+    ClientEntity getByDocument(String documentNumber);
+
+    @Query("SELECT * FROM clients WHERE status = :status ORDER BY business_name, first_name, last_name")
+    List<ClientEntity> getByStatus(String status);
+
+    @Query("SELECT * FROM clients WHERE client_type = :clientType ORDER BY business_name, first_name, last_name")
+    List<ClientEntity> getByType(String clientType);
+
+    @Query("SELECT * FROM clients WHERE assigned_user_id = :userId ORDER BY business_name, first_name, last_name")
+    List<ClientEntity> getByAssignedUser(int userId);
+
+    @Query("SELECT id, updated_at FROM clients")
+    List<ClientStamp> getStamps();
+
+    @Upsert
+    void upsert(ClientEntity client);
+
+    @Upsert
+    void upsertAll(List<ClientEntity> clients);
+
+    @Query("UPDATE clients SET status = :status WHERE id = :id")
+    void updateStatus(int id, String status);
+
+    @Query("UPDATE clients SET credit_limit = :creditLimit WHERE id = :id")
+    void updateCreditLimit(int id, double creditLimit);
+
+    @Query("DELETE FROM clients WHERE id = :id")
+    void deleteById(int id);
+
+    @Query("DELETE FROM clients WHERE id IN (:ids)")
+    void deleteByIds(List<Integer> ids);
+
+    /**
+     * Borra las filas ya sincronizadas; conserva las altas locales (id negativo) y las
+     * filas con cambios aún en el outbox
+     */
+    @Query("DELETE FROM clients WHERE id > 0 AND id NOT IN "
+            + "(SELECT target_id FROM outbox WHERE resource = 'clients')")
+    void deleteSynced();
+
+    // Base para los ids temporales (negativos) de las altas sin conexión
+    @Query("SELECT MIN(id) FROM clients")
+    Integer minId();
+
+    /**
+     * Aplica el diff de una sincronización en una sola transacción
+     * Los lectores ven la tabla anterior o la nueva, nunca una mezcla
+     */
+    @Transaction
+    default void applyDiff(List<ClientEntity> upserts, List<Integer> deletedIds) {
+        if (!upserts.isEmpty()) {
+            upsertAll(upserts);
+        }
+        for (int start = 0; start < deletedIds.size(); start += MAX_BIND_VARIABLES) {
+            deleteByIds(deletedIds.subList(start, Math.min(start + MAX_BIND_VARIABLES, deletedIds.size())));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.chancafe_q.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+
+import java.util.List;
+
+/**
+ * Cola persistente de mutaciones pendientes
+ */
+@Dao
+public interface OutboxDao {
+
+    @Insert
+    long insert(OutboxEntity entry);
+
+    @Query("SELECT * FROM outbox WHERE id = :id")
+    OutboxEntity getById(long id);
+
+    /**
+     * Entradas listas para enviar; una entidad con un conflicto sin resolver queda detenida
+     */
+    @Query("SELECT * FROM outbox WHERE status = 'pending' AND entity_key NOT IN "
+            + "(SELECT entity_key FROM outbox WHERE status = 'conflict') ORDER BY id")
+    List<OutboxEntity> getReady();
+
+    @Query("SELECT * FROM outbox WHERE status = 'conflict' ORDER BY id")
+    List<OutboxEntity> getConflicts();
+
+    @Query("SELECT COUNT(*) FROM outbox WHERE status = 'pending'")
+    int countPending();
+
+    @Query("SELECT COUNT(*) FROM outbox WHERE entity_key = :entityKey")
+    int countForEntity(String entityKey);
+
+    /**
+     * Ids de entidades con cambios locales sin confirmar (la sincronización no las pisa)
+     */
+    @Query("SELECT DISTINCT target_id FROM outbox WHERE resource = :resource")
+    List<Integer> getTargetIds(String resource);
+
+    // Clave de las entradas pendientes de una entidad (un alta ya aplicada conserva la suya)
+    @Query("SELECT entity_key FROM outbox WHERE resource = :resource AND target_id = :targetId LIMIT 1")
+    String findEntityKey(String resource, int targetId);
+
+    @Query("UPDATE outbox SET target_id = :targetId WHERE entity_key = :entityKey")
+    void retarget(String entityKey, int targetId);
+
+    @Query("UPDATE outbox SET attempts = attempts + 1, last_error = :error WHERE id = :id")
+    void recordFailure(long id, String error);
+
+    @Query("UPDATE outbox SET status = :status, last_error = :error WHERE id = :id")
+    void setStatus(long id, String status, String error);
+
+    @Query("DELETE FROM outbox WHERE id = :id")
+    void delete(long id);
+
+    @Query("DELETE FROM outbox WHERE entity_key = :entityKey")
+    void deleteEntity(String entityKey);
+}
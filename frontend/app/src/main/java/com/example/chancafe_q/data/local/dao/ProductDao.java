@@ -0,0 +1,66 @@
+package com.example.chancafe_q.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.example.chancafe_q.data.local.entity.ProductEntity;
+import com.example.chancafe_q.data.local.entity.ProductSearchRow;
+
+import java.util.List;
+
+/**
+ * Acceso a la copia local del catálogo y a su índice de texto completo
+ * Room no permite consultas en el hilo principal: llamar desde un executor de disco
+ */
+@Dao
+public interface ProductDao {
+
+    @Query("SELECT COUNT(*) FROM products")
+    int count();
+
+    @Query("SELECT * FROM products WHERE id = :id")
+    ProductEntity getById(int id);
+
+    /**
+     * Búsqueda FTS; query es una expresión MATCH ya armada (ver FtsQuery)
+     * El orden lo decide FtsRanker a partir de match_info
+     */
+    @Query("SELECT products.*, matchinfo(products_fts, 'pcnx') AS match_info "
+            + "FROM products_fts JOIN products ON products.id = products_fts.rowid "
+            + "WHERE products_fts MATCH :query")
+    List<ProductSearchRow> search(String query);
+
+    @Upsert
+    void upsertAll(List<ProductEntity> products);
+
+    @Query("DELETE FROM products WHERE id IN (:ids)")
+    void deleteByIds(List<Integer> ids);
+
+    @Query("DELETE FROM products")
+    void deleteAll();
+
+    /**
+     * Reemplaza el catálogo completo en una transacción (las búsquedas no ven un catálogo a medias)
+     */
+    @Transaction
+    default void replaceAll(List<ProductEntity> products) {
+        deleteAll();
+        upsertAll(products);
+    }
+
+    /**
+     * Aplica upserts y borrados de una sincronización incremental en una transacción
+     * El índice FTS se mantiene con los triggers que Room crea para la tabla de contenido
+     */
+    @Transaction
+    default void applyChanges(List<ProductEntity> upserts, List<Integer> deletedIds) {
+        if (!upserts.isEmpty()) {
+            upsertAll(upserts);
+        }
+        for (int start = 0; start < deletedIds.size(); start += ClientDao.MAX_BIND_VARIABLES) {
+            deleteByIds(deletedIds.subList(start, Math.min(start + ClientDao.MAX_BIND_VARIABLES, deletedIds.size())));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.chancafe_q.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import com.example.chancafe_q.data.local.entity.SyncStateEntity;
+
+/**
+ * Marcas de sincronización por recurso
+ */
+@Dao
+public interface SyncStateDao {
+
+    @Query("SELECT * FROM sync_state WHERE resource = :resource")
+    SyncStateEntity get(String resource);
+
+    @Upsert
+    void upsert(SyncStateEntity state);
+}
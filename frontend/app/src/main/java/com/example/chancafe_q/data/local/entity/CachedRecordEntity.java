@@ -0,0 +1,41 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+import com.google.gson.Gson;
+
+import java.util.Date;
+
+/**
+ * Copia local de un registro sin tabla propia (categorías, proveedores, cotizaciones,
+ * solicitudes de crédito), guardado como el JSON de su modelo
+ * Solo se consulta por recurso e id, así que no hace falta mapear columnas
+ */
+@Entity(tableName = "cached_records", primaryKeys = {"resource", "id"})
+public class CachedRecordEntity {
+
+    @NonNull
+    public String resource = "";
+
+    public int id;
+
+    @ColumnInfo(name = "updated_at")
+    public Long updatedAt;
+
+    public String json;
+
+    public static CachedRecordEntity fromModel(Gson gson, String resource, int id, Date updatedAt, Object model) {
+        CachedRecordEntity entity = new CachedRecordEntity();
+        entity.resource = resource;
+        entity.id = id;
+        entity.updatedAt = updatedAt != null ? updatedAt.getTime() : null;
+        entity.json = gson.toJson(model);
+        return entity;
+    }
+
+    public <T> T toModel(Gson gson, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+}
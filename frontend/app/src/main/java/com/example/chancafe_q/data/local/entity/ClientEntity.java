@@ -0,0 +1,178 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.chancafe_q.model.Client;
+
+import java.util.Date;
+
+/**
+ * Fila de la tabla local de clientes (espejo de GET clients)
+ *
+ * Índices para las búsquedas de las pantallas de clientes: documento, estado, tipo y
+ * vendedor asignado, más el orden del listado (el mismo que usa el backend).
+ * Las fechas se guardan en milisegundos.
+ */
+@Entity(
+    tableName = "clients",
+    indices = {
+        @Index("document_number"),
+        @Index("status"),
+        @Index("client_type"),
+        @Index("assigned_user_id"),
+        @Index({"business_name", "first_name", "last_name"})
+    }
+)
+public class ClientEntity {
+
+    @PrimaryKey
+    public int id;
+
+    @ColumnInfo(name = "first_name")
+    public String firstName;
+
+    @ColumnInfo(name = "last_name")
+    public String lastName;
+
+    @ColumnInfo(name = "document_type")
+    public String documentType;
+
+    @ColumnInfo(name = "document_number")
+    public String documentNumber;
+
+    public String email;
+
+    public String phone;
+
+    public String address;
+
+    @ColumnInfo(name = "client_type")
+    public String clientType;
+
+    @ColumnInfo(name = "business_name")
+    public String businessName;
+
+    @ColumnInfo(name = "phone_secondary")
+    public String phoneSecondary;
+
+    public String district;
+
+    public String province;
+
+    public String department;
+
+    @ColumnInfo(name = "postal_code")
+    public String postalCode;
+
+    @ColumnInfo(name = "payment_terms")
+    public Integer paymentTerms;
+
+    @ColumnInfo(name = "contact_method")
+    public String contactMethod;
+
+    @ColumnInfo(name = "contact_preference")
+    public String contactPreference;
+
+    public String notes;
+
+    public String website;
+
+    public String industry;
+
+    @ColumnInfo(name = "company_size")
+    public String companySize;
+
+    @ColumnInfo(name = "tax_id")
+    public String taxId;
+
+    @ColumnInfo(name = "credit_limit")
+    public double creditLimit;
+
+    @ColumnInfo(name = "assigned_user_id")
+    public Integer assignedUserId;
+
+    public String status;
+
+    @ColumnInfo(name = "created_at")
+    public Long createdAt;
+
+    @ColumnInfo(name = "updated_at")
+    public Long updatedAt;
+
+    public static ClientEntity fromModel(Client client) {
+        ClientEntity entity = new ClientEntity();
+        entity.id = client.getId();
+        entity.firstName = client.getFirstName();
+        entity.lastName = client.getLastName();
+        entity.documentType = client.getDocumentType();
+        entity.documentNumber = client.getDocumentNumber();
+        entity.email = client.getEmail();
+        entity.phone = client.getPhone();
+        entity.address = client.getAddress();
+        entity.clientType = client.getClientType();
+        entity.businessName = client.getBusinessName();
+        entity.phoneSecondary = client.getPhoneSecondary();
+        entity.district = client.getDistrict();
+        entity.province = client.getProvince();
+        entity.department = client.getDepartment();
+        entity.postalCode = client.getPostalCode();
+        entity.paymentTerms = client.getPaymentTerms();
+        entity.contactMethod = client.getContactMethod();
+        entity.contactPreference = client.getContactPreference();
+        entity.notes = client.getNotes();
+        entity.website = client.getWebsite();
+        entity.industry = client.getIndustry();
+        entity.companySize = client.getCompanySize();
+        entity.taxId = client.getTaxId();
+        entity.creditLimit = client.getCreditLimit();
+        entity.assignedUserId = client.getAssignedUserId();
+        entity.status = client.getStatus();
+        entity.createdAt = toMillis(client.getCreatedAt());
+        entity.updatedAt = toMillis(client.getUpdatedAt());
+        return entity;
+    }
+
+    public Client toModel() {
+        Client client = new Client();
+        client.setId(id);
+        client.setFirstName(firstName);
+        client.setLastName(lastName);
+        client.setDocumentType(documentType);
+        client.setDocumentNumber(documentNumber);
+        client.setEmail(email);
+        client.setPhone(phone);
+        client.setAddress(address);
+        client.setClientType(clientType);
+        client.setBusinessName(businessName);
+        client.setPhoneSecondary(phoneSecondary);
+        client.setDistrict(district);
+        client.setProvince(province);
+        client.setDepartment(department);
+        client.setPostalCode(postalCode);
+        client.setPaymentTerms(paymentTerms);
+        client.setContactMethod(contactMethod);
+        client.setContactPreference(contactPreference);
+        client.setNotes(notes);
+        client.setWebsite(website);
+        client.setIndustry(industry);
+        client.setCompanySize(companySize);
+        client.setTaxId(taxId);
+        client.setCreditLimit(creditLimit);
+        client.setAssignedUserId(assignedUserId);
+        client.setStatus(status);
+        client.setCreatedAt(toDate(createdAt));
+        client.setUpdatedAt(toDate(updatedAt));
+        return client;
+    }
+
+    private static Long toMillis(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
+    private static Date toDate(Long millis) {
+        return millis != null ? new Date(millis) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Id y updated_at de un cliente local; basta para calcular el diff contra el backend
+ */
+public class ClientStamp {
+
+    public int id;
+
+    @ColumnInfo(name = "updated_at")
+    public Long updatedAt;
+}
@@ -0,0 +1,65 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Mutación pendiente de enviar al backend (outbox)
+ *
+ * Las entradas de una misma entidad (entity_key) se envían en el orden de id; la clave
+ * de idempotencia se genera al encolar y se repite en cada reintento, así el backend
+ * puede descartar la segunda copia si la primera llegó pero se perdió la respuesta.
+ */
+@Entity(
+    tableName = "outbox",
+    indices = {
+        @Index("entity_key"),
+        @Index("status")
+    }
+)
+public class OutboxEntity {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_CONFLICT = "conflict";
+
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+
+    // Recurso de SyncEngine ("clients", "quotes", ...)
+    @NonNull
+    public String resource = "";
+
+    // Recurso + id local de la entidad; agrupa las entradas que deben ir en orden
+    @ColumnInfo(name = "entity_key")
+    @NonNull
+    public String entityKey = "";
+
+    // Nombre de OutboxOperation
+    @NonNull
+    public String operation = "";
+
+    // Id en el backend; negativo mientras la entidad solo existe en el teléfono
+    @ColumnInfo(name = "target_id")
+    public int targetId;
+
+    // Cuerpo JSON de la request
+    public String payload;
+
+    @ColumnInfo(name = "idempotency_key")
+    @NonNull
+    public String idempotencyKey = "";
+
+    @NonNull
+    public String status = STATUS_PENDING;
+
+    public int attempts;
+
+    @ColumnInfo(name = "last_error")
+    public String lastError;
+
+    @ColumnInfo(name = "created_at")
+    public long createdAt;
+}
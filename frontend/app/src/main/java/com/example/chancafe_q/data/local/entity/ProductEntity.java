@@ -0,0 +1,126 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.Supplier;
+
+import java.util.Date;
+
+/**
+ * Fila de la copia local del catálogo de productos
+ * Guarda el nombre de la categoría y del proveedor para poder buscarlos sin joins
+ */
+@Entity(
+    tableName = "products",
+    indices = {
+        @Index("sku"),
+        @Index("category_id")
+    }
+)
+public class ProductEntity {
+
+    @PrimaryKey
+    public int id;
+
+    public String name;
+
+    public String sku;
+
+    public String description;
+
+    @ColumnInfo(name = "category_id")
+    public int categoryId;
+
+    @ColumnInfo(name = "category_name")
+    public String categoryName;
+
+    @ColumnInfo(name = "supplier_id")
+    public int supplierId;
+
+    @ColumnInfo(name = "supplier_name")
+    public String supplierName;
+
+    public double price;
+
+    @ColumnInfo(name = "cost_price")
+    public double costPrice;
+
+    public int stock;
+
+    @ColumnInfo(name = "min_stock")
+    public int minStock;
+
+    public String unit;
+
+    @ColumnInfo(name = "image_url")
+    public String imageUrl;
+
+    public String status;
+
+    @ColumnInfo(name = "created_at")
+    public Long createdAt;
+
+    @ColumnInfo(name = "updated_at")
+    public Long updatedAt;
+
+    public static ProductEntity fromModel(Product product) {
+        ProductEntity entity = new ProductEntity();
+        entity.id = product.getId();
+        entity.name = product.getName();
+        entity.sku = product.getSku();
+        entity.description = product.getDescription();
+        entity.categoryId = product.getCategoryId();
+        entity.categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+        entity.supplierId = product.getSupplierId();
+        entity.supplierName = product.getSupplier() != null ? product.getSupplier().getName() : null;
+        entity.price = product.getPrice();
+        entity.costPrice = product.getCostPrice();
+        entity.stock = product.getStock();
+        entity.minStock = product.getMinStock();
+        entity.unit = product.getUnit();
+        entity.imageUrl = product.getImageUrl();
+        entity.status = product.getStatus();
+        entity.createdAt = product.getCreatedAt() != null ? product.getCreatedAt().getTime() : null;
+        entity.updatedAt = product.getUpdatedAt() != null ? product.getUpdatedAt().getTime() : null;
+        return entity;
+    }
+
+    public Product toModel() {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setSku(sku);
+        product.setDescription(description);
+        product.setCategoryId(categoryId);
+        product.setSupplierId(supplierId);
+        product.setPrice(price);
+        product.setCostPrice(costPrice);
+        product.setStock(stock);
+        product.setMinStock(minStock);
+        product.setUnit(unit);
+        product.setImageUrl(imageUrl);
+        product.setStatus(status);
+        product.setCreatedAt(createdAt != null ? new Date(createdAt) : null);
+        product.setUpdatedAt(updatedAt != null ? new Date(updatedAt) : null);
+
+        // Categoría y proveedor solo con id y nombre (lo que muestra la lista)
+        if (categoryName != null) {
+            Category category = new Category();
+            category.setId(categoryId);
+            category.setName(categoryName);
+            product.setCategory(category);
+        }
+        if (supplierName != null) {
+            Supplier supplier = new Supplier();
+            supplier.setId(supplierId);
+            supplier.setName(supplierName);
+            product.setSupplier(supplier);
+        }
+        return product;
+    }
+}
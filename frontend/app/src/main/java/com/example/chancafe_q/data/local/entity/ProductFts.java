@@ -0,0 +1,35 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Índice de texto completo sobre la tabla products (contenido externo)
+ *
+ * Room crea los triggers que mantienen el índice al escribir en products.
+ * unicode61 con remove_diacritics pliega tildes y mayúsculas tanto al indexar como
+ * al consultar: "cafe" encuentra "Café" y "azucar" encuentra "Azúcar".
+ * El orden de las columnas es el que usa FtsRanker para los pesos.
+ */
+@Fts4(
+    contentEntity = ProductEntity.class,
+    tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+    tokenizerArgs = {"remove_diacritics=1"}
+)
+@Entity(tableName = "products_fts")
+public class ProductFts {
+
+    public String name;
+
+    public String sku;
+
+    public String description;
+
+    @ColumnInfo(name = "category_name")
+    public String categoryName;
+
+    @ColumnInfo(name = "supplier_name")
+    public String supplierName;
+}
@@ -0,0 +1,16 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * Resultado de búsqueda: el producto y el matchinfo('pcnx') de FTS4 para rankearlo
+ */
+public class ProductSearchRow {
+
+    @Embedded
+    public ProductEntity product;
+
+    @ColumnInfo(name = "match_info")
+    public byte[] matchInfo;
+}
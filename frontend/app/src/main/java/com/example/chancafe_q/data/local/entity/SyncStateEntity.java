@@ -0,0 +1,34 @@
+package com.example.chancafe_q.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Estado de sincronización de un recurso local ("products", "clients", ...)
+ */
+@Entity(tableName = "sync_state")
+public class SyncStateEntity {
+
+    @PrimaryKey
+    @NonNull
+    public String resource = "";
+
+    // Momento (ms) de la última descarga completa o incremental exitosa
+    @ColumnInfo(name = "synced_at")
+    public long syncedAt;
+
+    // Marca opaca del servidor para pedir solo lo cambiado después; null: próxima descarga completa
+    public String watermark;
+
+    public SyncStateEntity() {
+    }
+
+    public SyncStateEntity(@NonNull String resource, long syncedAt, String watermark) {
+        this.resource = resource;
+        this.syncedAt = syncedAt;
+        this.watermark = watermark;
+    }
+}
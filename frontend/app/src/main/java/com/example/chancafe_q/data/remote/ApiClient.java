@@ -1,46 +1,95 @@
 package com.example.chancafe_q.data.remote;
 
+import android.content.Context;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Invocation;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.Streaming;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
+import com.example.chancafe_q.data.remote.json.ModelTypeAdapterFactory;
+import com.example.chancafe_q.utils.AppUtils;
 import com.example.chancafe_q.utils.Configuration;
+import com.example.chancafe_q.utils.Constants;
 
 /**
  * Cliente API para configurar Retrofit
  * Maneja la configuración de la conexión HTTP con JWT authentication
+ *
+ * Toda la app comparte un único OkHttpClient (pool de conexiones, dispatcher
+ * y HTTP/2), una única instancia de Gson y un proxy de ApiService cacheado.
+ * Si se llamó a init(Context), las respuestas de catálogo se guardan en un caché en disco.
  */
 public class ApiClient {
     
     // BASE_URL se obtiene dinámicamente de Configuration
+    private static OkHttpClient httpClient = null;
+    private static Gson gson = null;
     private static Retrofit retrofit = null;
-    private static String authToken = null;
+    private static ApiService apiService = null;
+    private static volatile String authToken = null;
+    private static volatile String refreshToken = null;
+    private static Context appContext = null;
+    private static File cacheDirectory = null;
+    private static final HttpCacheStats cacheStats = new HttpCacheStats();
+    private static final TokenAuthenticator tokenAuthenticator = new TokenAuthenticator();
+    private static final ResilienceInterceptor resilience = new ResilienceInterceptor();
+    private static final PriorityScheduler scheduler = new PriorityScheduler();
+    private static final NetworkTimings networkTimings = new NetworkTimings();
     
-    public static Retrofit getClient() {
-        if (retrofit == null) {
-            
-            // Configurar Gson para manejo de fechas
-            Gson gson = new GsonBuilder()
-                    .setDateFormat("yyyy-MM-dd HH:mm:ss")
-                    .setLenient()
-                    .create();
+    /**
+     * Inicializa los recursos que dependen del Context (caché en disco y tokens guardados)
+     * Debe llamarse desde Application.onCreate antes de cualquier request
+     */
+    public static synchronized void init(Context context) {
+        appContext = context.getApplicationContext();
+        cacheDirectory = new File(appContext.getCacheDir(), "http_cache");
+        authToken = AppUtils.getString(appContext, Constants.PREF_ACCESS_TOKEN, null);
+        refreshToken = AppUtils.getString(appContext, Constants.PREF_REFRESH_TOKEN, null);
+    }
+    
+    /**
+     * Obtiene el motor HTTP compartido por toda la app
+     */
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
             
             // Interceptor para logging (solo en debug)
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
+            // Level.BODY bufferiza el cuerpo completo: en métodos @Streaming solo se loguean headers
+            final HttpLoggingInterceptor bodyLogger = new HttpLoggingInterceptor();
+            final HttpLoggingInterceptor headersLogger = new HttpLoggingInterceptor();
             if (Configuration.NetworkConfig.isLoggingEnabled()) {
-                loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+                bodyLogger.setLevel(HttpLoggingInterceptor.Level.BODY);
+                headersLogger.setLevel(HttpLoggingInterceptor.Level.HEADERS);
             } else {
-                loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.NONE);
+                bodyLogger.setLevel(HttpLoggingInterceptor.Level.NONE);
+                headersLogger.setLevel(HttpLoggingInterceptor.Level.NONE);
             }
+            Interceptor loggingInterceptor = new Interceptor() {
+                @Override
+                public Response intercept(Chain chain) throws IOException {
+                    Invocation invocation = chain.request().tag(Invocation.class);
+                    boolean streaming = invocation != null
+                            && invocation.method().isAnnotationPresent(Streaming.class);
+                    return streaming ? headersLogger.intercept(chain) : bodyLogger.intercept(chain);
+                }
+            };
             
             // Interceptor para agregar el token JWT automáticamente
             Interceptor authInterceptor = new Interceptor() {
@@ -48,35 +97,79 @@ public class ApiClient {
                 public Response intercept(Chain chain) throws IOException {
                     Request originalRequest = chain.request();
                     
-                    // Si no hay token, enviar request normal
-                    if (authToken == null || authToken.isEmpty()) {
+                    // Si no hay token o la request ya trae credenciales (refresh), enviar request normal
+                    String token = authToken;
+                    if (token == null || token.isEmpty() || originalRequest.header("Authorization") != null) {
                         return chain.proceed(originalRequest);
                     }
                     
                     // Agregar token Bearer a todas las requests
                     Request newRequest = originalRequest.newBuilder()
-                            .header("Authorization", "Bearer " + authToken)
+                            .header("Authorization", "Bearer " + token)
                             .build();
                     
                     return chain.proceed(newRequest);
                 }
             };
             
+            // Dispatcher con límites configurables (global y por host)
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(Configuration.NetworkConfig.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(Configuration.NetworkConfig.getMaxRequestsPerHost());
+            
+            // Pool de conexiones para reutilizar sockets/TLS entre pantallas
+            ConnectionPool connectionPool = new ConnectionPool(
+                    Configuration.NetworkConfig.getMaxIdleConnections(),
+                    Configuration.NetworkConfig.getKeepAliveMinutes(),
+                    TimeUnit.MINUTES);
+            
             // Configurar OkHttpClient con timeouts dinámicos
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(connectionPool)
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)) // Multiplexación HTTP/2
+                    .addInterceptor(cacheStats)
+                    .addInterceptor(resilience) // Reintentos + circuit breaker (antes del token)
                     .addInterceptor(authInterceptor)
                     .addInterceptor(loggingInterceptor)
+                    .addNetworkInterceptor(new CatalogCachePolicy())
+                    .authenticator(tokenAuthenticator) // Renueva el JWT ante un 401
+                    .eventListenerFactory(networkTimings) // Tiempos por fase y por endpoint
                     .connectTimeout(Configuration.NetworkConfig.getConnectTimeout(), TimeUnit.SECONDS)
                     .readTimeout(Configuration.NetworkConfig.getReadTimeout(), TimeUnit.SECONDS)
-                    .writeTimeout(Configuration.NetworkConfig.getWriteTimeout(), TimeUnit.SECONDS)
-                    .build();
+                    .writeTimeout(Configuration.NetworkConfig.getWriteTimeout(), TimeUnit.SECONDS);
             
+            // Caché en disco para catálogo (revalidación con ETag/Last-Modified)
+            if (cacheDirectory != null) {
+                builder.cache(new Cache(cacheDirectory, Configuration.CacheConfig.getCacheSizeBytes()));
+            }
+            
+            httpClient = builder.build();
+        }
+        
+        return httpClient;
+    }
+    
+    /**
+     * Obtiene la instancia de Gson compartida
+     */
+    public static synchronized Gson getGson() {
+        if (gson == null) {
+            // Configurar Gson para manejo de fechas
+            // Los modelos usan adapters escritos a mano (sin reflexión)
+            gson = new GsonBuilder()
+                    .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                    .setDateFormat("yyyy-MM-dd HH:mm:ss")
+                    .setLenient()
+                    .create();
+        }
+        return gson;
+    }
+    
+    public static synchronized Retrofit getClient() {
+        if (retrofit == null) {
             // Crear instancia de Retrofit con URL dinámica
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(Configuration.getBaseUrl())
-                    .client(okHttpClient)
-                    .addConverterFactory(GsonConverterFactory.create(gson))
-                    .build();
+            retrofit = buildRetrofit(Configuration.getBaseUrl());
         }
         
         return retrofit;
@@ -84,9 +177,48 @@ public class ApiClient {
     
     /**
      * Obtiene la instancia del servicio API
+     * El proxy se crea una sola vez y se comparte entre repositorios
+     */
+    public static synchronized ApiService getApiService() {
+        if (apiService == null) {
+            apiService = getClient().create(ApiService.class);
+        }
+        return apiService;
+    }
+    
+    /**
+     * Contadores de hit/miss/revalidación del caché de catálogo
+     */
+    public static HttpCacheStats getCacheStats() {
+        return cacheStats;
+    }
+    
+    /**
+     * Histogramas de tiempos de red por método de ApiService (exportables con toJson)
+     */
+    public static NetworkTimings getNetworkTimings() {
+        return networkTimings;
+    }
+    
+    /**
+     * Planificador por prioridad (interactiva / prefetch / bulk) para las llamadas asíncronas
+     */
+    public static PriorityScheduler getScheduler() {
+        return scheduler;
+    }
+    
+    /**
+     * Métricas de reintentos y estado de los circuit breakers por ruta
+     */
+    public static ResilienceInterceptor getResilience() {
+        return resilience;
+    }
+    
+    /**
+     * Contadores de renovación del token
      */
-    public static ApiService getApiService() {
-        return getClient().create(ApiService.class);
+    public static TokenAuthenticator getTokenAuthenticator() {
+        return tokenAuthenticator;
     }
     
     /**
@@ -94,6 +226,23 @@ public class ApiClient {
      */
     public static void setAuthToken(String token) {
         authToken = token;
+        persist(Constants.PREF_ACCESS_TOKEN, token);
+    }
+    
+    /**
+     * Guarda el token de acceso y el refresh token (login o renovación)
+     */
+    public static void setTokens(String token, String newRefreshToken) {
+        setAuthToken(token);
+        refreshToken = newRefreshToken;
+        persist(Constants.PREF_REFRESH_TOKEN, newRefreshToken);
+    }
+    
+    /**
+     * Obtiene el refresh token actual (null si el backend no lo envió)
+     */
+    public static String getRefreshToken() {
+        return refreshToken;
     }
     
     /**
@@ -108,67 +257,51 @@ public class ApiClient {
      */
     public static void clearAuthToken() {
         authToken = null;
+        refreshToken = null;
+        persist(Constants.PREF_ACCESS_TOKEN, null);
+        persist(Constants.PREF_REFRESH_TOKEN, null);
     }
     
     /**
      * Verifica si hay un token JWT válido
      */
     public static boolean isAuthenticated() {
-        return authToken != null && !authToken.isEmpty();
+        String token = authToken;
+        return token != null && !token.isEmpty();
     }
     
     /**
      * Reinicia el cliente (útil para cambiar configuración)
+     * El motor HTTP se conserva para no perder las conexiones abiertas
      */
-    public static void resetClient() {
+    public static synchronized void resetClient() {
         retrofit = null;
+        apiService = null;
     }
     
     /**
      * Configura una URL base diferente (para testing o diferentes ambientes)
      */
-    public static void setBaseUrl(String baseUrl) {
-        // Reiniciar el cliente para aplicar la nueva URL
-        retrofit = null;
-        
-        // Crear nuevo cliente con la URL personalizada
-        Gson gson = new GsonBuilder()
-                .setDateFormat("yyyy-MM-dd HH:mm:ss")
-                .setLenient()
-                .create();
-        
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        
-        Interceptor authInterceptor = new Interceptor() {
-            @Override
-            public Response intercept(Chain chain) throws IOException {
-                Request originalRequest = chain.request();
-                
-                if (authToken == null || authToken.isEmpty()) {
-                    return chain.proceed(originalRequest);
-                }
-                
-                Request newRequest = originalRequest.newBuilder()
-                        .header("Authorization", "Bearer " + authToken)
-                        .build();
-                
-                return chain.proceed(newRequest);
-            }
-        };
-        
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .addInterceptor(authInterceptor)
-                .addInterceptor(loggingInterceptor)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
+    public static synchronized void setBaseUrl(String baseUrl) {
+        // Derivar de la instancia actual: mismo OkHttpClient, pool y Gson
+        retrofit = getClient().newBuilder()
+                .baseUrl(baseUrl)
                 .build();
-        
-        retrofit = new Retrofit.Builder()
+        apiService = null;
+    }
+    
+    private static void persist(String key, String value) {
+        Context context = appContext;
+        if (context != null) {
+            AppUtils.saveString(context, key, value);
+        }
+    }
+    
+    private static Retrofit buildRetrofit(String baseUrl) {
+        return new Retrofit.Builder()
                 .baseUrl(baseUrl)
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
+                .client(getHttpClient())
+                .addConverterFactory(GsonConverterFactory.create(getGson()))
                 .build();
     }
-}
\ No newline at end of file
+}
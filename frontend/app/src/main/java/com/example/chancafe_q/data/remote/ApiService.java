@@ -5,20 +5,25 @@ import com.example.chancafe_q.model.LoginRequest;
 import com.example.chancafe_q.model.LoginResponse;
 import com.example.chancafe_q.model.User;
 import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.ClientPage;
 import com.example.chancafe_q.model.Quote;
 import com.example.chancafe_q.model.CreditRequest;
 import com.example.chancafe_q.model.Product;
 import com.example.chancafe_q.model.Category;
 import com.example.chancafe_q.model.Supplier;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.PATCH;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 import java.util.List;
 
@@ -41,8 +46,9 @@ public interface ApiService {
     @POST("auth/logout")
     Call<ApiResponse<Void>> logout();
     
+    // El header explícito lleva el refresh token; el interceptor no lo reemplaza
     @POST("auth/refresh")
-    Call<ApiResponse<String>> refreshToken();
+    Call<ApiResponse<LoginResponse>> refreshToken(@Header("Authorization") String authorization);
     
     @GET("auth/users/profile")
     Call<ApiResponse<User>> getUserProfile();
@@ -51,9 +57,19 @@ public interface ApiService {
     // CLIENTS ENDPOINTS
     // ===============================
     
+    // Sin page el backend responde data: {clients: [...]}; para el listado completo usar streamAllClients
     @GET("clients")
     Call<ApiResponse<List<Client>>> getAllClients();
     
+    // Mismo endpoint sin convertir: el cuerpo se decodifica de forma incremental
+    @Streaming
+    @GET("clients")
+    Call<ResponseBody> streamAllClients();
+    
+    // Paginación por offset: page empieza en 1; data trae {clients, pagination}
+    @GET("clients")
+    Call<ApiResponse<ClientPage>> getClientsPage(@Query("page") int page, @Query("limit") int limit);
+    
     @GET("clients/active")
     Call<ApiResponse<List<Client>>> getActiveClients();
     
@@ -72,6 +88,10 @@ public interface ApiService {
     @GET("clients/document/{documentNumber}")
     Call<ApiResponse<Client>> getClientByDocument(@Path("documentNumber") String documentNumber);
     
+    // Búsqueda por lote: "ids" separados por coma (restauración de cambios descartados por el outbox)
+    @GET("clients")
+    Call<ResponseBody> getClientsByIds(@Query("ids") String ids);
+    
     @GET("clients/{id}")
     Call<ApiResponse<Client>> getClientById(@Path("id") int id);
     
@@ -214,4 +234,61 @@ public interface ApiService {
     
     @GET("suppliers/search")
     Call<ApiResponse<List<Supplier>>> searchSuppliers(@Query("q") String query);
+    
+    // ===============================
+    // SYNC ENDPOINTS
+    // ===============================
+    // Cambios desde una marca: {items, deleted, watermark, has_more} (ver ChangeSetDecoder)
+    // Sin updated_since, o si el backend no lo soporta, llega la lista completa
+    
+    @Streaming
+    @GET("clients")
+    Call<ResponseBody> getClientChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    @Streaming
+    @GET("products")
+    Call<ResponseBody> getProductChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    @GET("categories")
+    Call<ResponseBody> getCategoryChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    @GET("suppliers")
+    Call<ResponseBody> getSupplierChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    @Streaming
+    @GET("quotes")
+    Call<ResponseBody> getQuoteChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    @GET("credit-requests")
+    Call<ResponseBody> getCreditRequestChanges(@Query("updated_since") String updatedSince, @Query("limit") int limit);
+    
+    // ===============================
+    // OUTBOX ENDPOINTS
+    // ===============================
+    // Reenvío de mutaciones encoladas sin conexión; el cuerpo ya viene serializado
+    // y la misma Idempotency-Key se repite en cada reintento
+    
+    @POST("clients")
+    Call<ResponseBody> createClientIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Body RequestBody client);
+    
+    @PUT("clients/{id}")
+    Call<ResponseBody> updateClientIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Path("id") int id, @Body RequestBody client);
+    
+    @PATCH("clients/{id}/status")
+    Call<ResponseBody> changeClientStatusIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Path("id") int id, @Body RequestBody statusData);
+    
+    @PATCH("clients/{id}/credit-limit")
+    Call<ResponseBody> updateCreditLimitIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Path("id") int id, @Body RequestBody creditData);
+    
+    @POST("quotes")
+    Call<ResponseBody> createQuoteIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Body RequestBody quote);
+    
+    @PUT("quotes/{id}")
+    Call<ResponseBody> updateQuoteIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Path("id") int id, @Body RequestBody quote);
+    
+    @POST("credit-requests")
+    Call<ResponseBody> createCreditRequestIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Body RequestBody creditRequest);
+    
+    @PUT("credit-requests/{id}")
+    Call<ResponseBody> updateCreditRequestIdempotent(@Header("Idempotency-Key") String idempotencyKey, @Path("id") int id, @Body RequestBody creditRequest);
 }
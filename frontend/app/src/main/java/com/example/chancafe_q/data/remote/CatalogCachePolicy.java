@@ -0,0 +1,77 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.utils.Configuration;
+
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor que asigna una política de frescura a los endpoints de catálogo
+ * (productos, categorías y proveedores).
+ *
+ * El backend no envía Cache-Control, así que sin esto OkHttp nunca reutilizaría las
+ * respuestas. Con max-age definido, una respuesta vencida se revalida enviando
+ * If-None-Match / If-Modified-Since y un catálogo sin cambios cuesta solo un 304.
+ */
+public class CatalogCachePolicy implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method())) {
+            return response;
+        }
+
+        // 304 también se reescribe para que OkHttp renueve la frescura de la copia local
+        if (!response.isSuccessful() && response.code() != 304) {
+            return response;
+        }
+
+        int maxAge = maxAgeFor(request.url());
+        if (maxAge <= 0) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .removeHeader("Pragma")
+                .build();
+    }
+
+    /**
+     * Devuelve la frescura en segundos para la URL, o 0 si no es un endpoint de catálogo
+     */
+    public static int maxAgeFor(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int size = segments.size();
+        if (size == 0) {
+            return 0;
+        }
+
+        String last = segments.get(size - 1);
+
+        // GET products/category/{categoryId}
+        if (size >= 3 && "products".equals(segments.get(size - 3))
+                && "category".equals(segments.get(size - 2))) {
+            return Configuration.CacheConfig.getProductsMaxAge();
+        }
+
+        switch (last) {
+            case "products":
+                return Configuration.CacheConfig.getProductsMaxAge();
+            case "categories":
+                return Configuration.CacheConfig.getCategoriesMaxAge();
+            case "suppliers":
+                return Configuration.CacheConfig.getSuppliersMaxAge();
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.chancafe_q.data.remote;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Decodifica una respuesta de cambios desde una marca de sincronización
+ *
+ * Formato incremental: {success, data: {items: [...], deleted: [ids], watermark, has_more}}.
+ * watermark es opaca (la arma el servidor con su propio reloj) y se devuelve tal cual
+ * como updated_since en la siguiente llamada. Si data es un arreglo, o un objeto sin
+ * watermark (backend sin soporte incremental, p. ej. {"clients": [...]}), la respuesta
+ * es una foto completa del recurso y se marca como snapshot.
+ */
+public class ChangeSetDecoder<T> {
+
+    /**
+     * Un lote de cambios: filas nuevas o modificadas e ids borrados (tombstones)
+     */
+    public static final class ChangeSet<T> {
+        private boolean success;
+        private String message;
+        private final List<T> items = new ArrayList<>();
+        private final List<Integer> deletedIds = new ArrayList<>();
+        private String watermark;
+        private boolean hasMore;
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public List<T> getItems() { return items; }
+        public List<Integer> getDeletedIds() { return deletedIds; }
+        public String getWatermark() { return watermark; }
+        public boolean hasMore() { return hasMore; }
+
+        /**
+         * Lista completa en lugar de cambios: lo que no vino ya no existe
+         */
+        public boolean isSnapshot() {
+            return watermark == null;
+        }
+    }
+
+    private final TypeAdapter<T> adapter;
+
+    public ChangeSetDecoder(Gson gson, Class<T> type) {
+        this.adapter = gson.getAdapter(type);
+    }
+
+    public ChangeSet<T> decode(ResponseBody body) throws IOException {
+        ChangeSet<T> changes = new ChangeSet<>();
+
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "success":
+                        changes.success = reader.nextBoolean();
+                        break;
+                    case "message":
+                        changes.message = reader.nextString();
+                        break;
+                    case "data":
+                        readData(reader, changes);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        return changes;
+    }
+
+    private void readData(JsonReader reader, ChangeSet<T> changes) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            readItems(reader, changes.items);
+            return;
+        }
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        // Sin "items" se toma el primer arreglo, como en StreamingListDecoder
+        List<T> firstArray = null;
+        boolean hasItems = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "items":
+                    readItems(reader, changes.items);
+                    hasItems = true;
+                    break;
+                case "deleted":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        changes.deletedIds.add(reader.nextInt());
+                    }
+                    reader.endArray();
+                    break;
+                case "watermark":
+                    changes.watermark = reader.nextString();
+                    break;
+                case "has_more":
+                    changes.hasMore = reader.nextBoolean();
+                    break;
+                default:
+                    if (firstArray == null && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        firstArray = new ArrayList<>();
+                        readItems(reader, firstArray);
+                    } else {
+                        reader.skipValue();
+                    }
+            }
+        }
+        reader.endObject();
+
+        if (!hasItems && firstArray != null) {
+            changes.items.addAll(firstArray);
+        }
+    }
+
+    private void readItems(JsonReader reader, List<T> items) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T item = adapter.read(reader);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        reader.endArray();
+    }
+}
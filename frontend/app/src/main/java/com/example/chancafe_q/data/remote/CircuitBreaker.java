@@ -0,0 +1,102 @@
+package com.example.chancafe_q.data.remote;
+
+/**
+ * Circuit breaker de una ruta del backend
+ *
+ * - CLOSED: las requests pasan; N fallas consecutivas abren el circuito
+ * - OPEN: las requests se rechazan sin tocar la red hasta que vence la espera
+ * - HALF_OPEN: se deja pasar una sola request de prueba; si responde bien el
+ *   circuito se cierra, si falla vuelve a abrirse
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean probeInFlight = false;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * Indica si la request puede salir; en OPEN vencido la convierte en la prueba half-open
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                // Solo una prueba a la vez
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Libera la prueba half-open sin resultado (request cancelada por el usuario o
+     * error inesperado en la cadena de interceptores)
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        // Reporta HALF_OPEN en cuanto vence la espera, aunque aún no llegue la prueba
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Milisegundos que faltan para permitir la prueba half-open (0 si no está abierto)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        long remaining = openNanos - (System.nanoTime() - openedAt);
+        return Math.max(0, remaining / 1_000_000L);
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
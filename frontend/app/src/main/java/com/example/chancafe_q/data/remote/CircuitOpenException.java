@@ -0,0 +1,29 @@
+package com.example.chancafe_q.data.remote;
+
+import java.io.IOException;
+
+/**
+ * La request no salió a la red porque el circuito de su ruta está abierto
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String route;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String route, long retryAfterMillis) {
+        super("Servicio no disponible temporalmente (" + route + ")");
+        this.route = route;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Tiempo restante hasta que se permita la siguiente prueba (half-open)
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.chancafe_q.data.remote;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Contadores del caché HTTP para los endpoints de catálogo
+ *
+ * - hit: la respuesta salió del disco sin tocar la red
+ * - revalidation: se envió una request condicional y el servidor respondió 304
+ * - miss: se descargó el cuerpo completo desde la red
+ */
+public class HttpCacheStats implements Interceptor {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || CatalogCachePolicy.maxAgeFor(request.url()) <= 0) {
+            return response;
+        }
+
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+
+        if (cacheResponse != null && networkResponse == null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(contentLength(cacheResponse));
+        } else if (cacheResponse != null && networkResponse.code() == 304) {
+            revalidations.incrementAndGet();
+            bytesSaved.addAndGet(contentLength(cacheResponse));
+        } else if (networkResponse != null) {
+            misses.incrementAndGet();
+        }
+
+        return response;
+    }
+
+    private static long contentLength(Response response) {
+        String header = response.header("Content-Length");
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    /**
+     * Bytes de cuerpo que no se descargaron gracias al caché (hits + 304)
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+        revalidations.set(0);
+        bytesSaved.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCacheStats{" +
+                "hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                ", revalidations=" + revalidations.get() +
+                ", bytesSaved=" + bytesSaved.get() +
+                '}';
+    }
+}
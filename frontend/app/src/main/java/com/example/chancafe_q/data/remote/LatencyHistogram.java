@@ -0,0 +1,78 @@
+package com.example.chancafe_q.data.remote;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias con cubetas fijas (en milisegundos), sin locks
+ *
+ * Los percentiles se aproximan con el límite superior de la cubeta, suficiente para
+ * distinguir "10 ms" de "500 ms" en una revisión de rendimiento.
+ */
+public class LatencyHistogram {
+
+    // Límites superiores de cada cubeta; la última recoge todo lo que exceda 30 s
+    private static final long[] BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MILLIS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long micros = nanos / 1_000;
+        long millis = nanos / 1_000_000;
+
+        int bucket = 0;
+        while (millis > BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / 1_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Percentil aproximado (q entre 0 y 1), en milisegundos
+     */
+    public long getPercentileMillis(double q) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(q * n);
+        long max = (long) Math.ceil(getMaxMillis());
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= target) {
+                // Nunca por encima del máximo observado (la última cubeta no tiene límite)
+                return Math.min(BOUNDS_MILLIS[i], max);
+            }
+        }
+        return max;
+    }
+}
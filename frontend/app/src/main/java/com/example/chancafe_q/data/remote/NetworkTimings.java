@@ -0,0 +1,270 @@
+package com.example.chancafe_q.data.remote;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Mide cada request por fase (DNS, conexión, TLS, envío, TTFB, cuerpo) con EventListener
+ *
+ * Las mediciones se agrupan por el método de ApiService que originó la llamada (la
+ * Invocation que Retrofit adjunta como tag) y se acumulan en histogramas en memoria.
+ * Las fases que no ocurren (p. ej. DNS y TLS con una conexión reutilizada del pool)
+ * no se registran. toJson() exporta el resumen para las revisiones de rendimiento.
+ */
+public class NetworkTimings implements EventListener.Factory {
+
+    public enum Phase {
+        DNS, CONNECT, TLS, REQUEST, TTFB, BODY, TOTAL
+    }
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallTimer(keyFor(call.request()));
+    }
+
+    /**
+     * Nombre del método de ApiService; si la llamada no viene de Retrofit, método + path
+     */
+    static String keyFor(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    private EndpointStats statsFor(String key) {
+        EndpointStats stats = endpoints.get(key);
+        if (stats == null) {
+            EndpointStats created = new EndpointStats();
+            stats = endpoints.putIfAbsent(key, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Estadísticas de un método de ApiService (null si aún no hubo llamadas)
+     */
+    public EndpointStats getStats(String methodName) {
+        return endpoints.get(methodName);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Exporta el resumen por endpoint: llamadas, fallas, bytes y percentiles por fase
+     */
+    public String toJson() {
+        JsonObject root = new JsonObject();
+        JsonObject endpointsJson = new JsonObject();
+
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = entry.getValue();
+            JsonObject endpoint = new JsonObject();
+            endpoint.addProperty("calls", stats.calls.get());
+            endpoint.addProperty("failures", stats.failures.get());
+            endpoint.addProperty("requestBytes", stats.requestBytes.get());
+            endpoint.addProperty("responseBytes", stats.responseBytes.get());
+
+            JsonObject phases = new JsonObject();
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = stats.histogram(phase);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                JsonObject phaseJson = new JsonObject();
+                phaseJson.addProperty("count", histogram.getCount());
+                phaseJson.addProperty("meanMs", Math.round(histogram.getMeanMillis() * 100) / 100.0);
+                phaseJson.addProperty("p50Ms", histogram.getPercentileMillis(0.50));
+                phaseJson.addProperty("p90Ms", histogram.getPercentileMillis(0.90));
+                phaseJson.addProperty("p99Ms", histogram.getPercentileMillis(0.99));
+                phaseJson.addProperty("maxMs", histogram.getMaxMillis());
+                phases.add(phase.name().toLowerCase(), phaseJson);
+            }
+            endpoint.add("phases", phases);
+            endpointsJson.add(entry.getKey(), endpoint);
+        }
+
+        root.addProperty("exportedAt", System.currentTimeMillis());
+        root.add("endpoints", endpointsJson);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    /**
+     * Acumulados de un endpoint
+     */
+    public static class EndpointStats {
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+
+        EndpointStats() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        public LatencyHistogram histogram(Phase phase) {
+            return histograms[phase.ordinal()];
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+    }
+
+    /**
+     * Listener de una sola llamada; OkHttp invoca sus eventos en orden, sin concurrencia
+     */
+    private final class CallTimer extends EventListener {
+        private final String key;
+
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long requestEnd;
+        private long responseBodyStart;
+
+        CallTimer(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            record(Phase.DNS, dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            record(Phase.TLS, secureConnectStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            record(Phase.CONNECT, connectStart);
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            // Un reintento o redirección reinicia la medición de envío
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestEnd = System.nanoTime();
+            statsFor(key).requestBytes.addAndGet(byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (requestStart != 0) {
+                recordSpan(Phase.REQUEST, requestStart, requestEnd);
+                record(Phase.TTFB, requestEnd);
+            }
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            responseBodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            record(Phase.BODY, responseBodyStart);
+            statsFor(key).responseBytes.addAndGet(byteCount);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            EndpointStats stats = statsFor(key);
+            stats.calls.incrementAndGet();
+            stats.histogram(Phase.TOTAL).record(System.nanoTime() - callStart);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            EndpointStats stats = statsFor(key);
+            stats.calls.incrementAndGet();
+            stats.failures.incrementAndGet();
+            stats.histogram(Phase.TOTAL).record(System.nanoTime() - callStart);
+        }
+
+        private void record(Phase phase, long start) {
+            if (start != 0) {
+                statsFor(key).histogram(phase).record(System.nanoTime() - start);
+            }
+        }
+
+        private void recordSpan(Phase phase, long start, long end) {
+            if (start != 0 && end >= start) {
+                statsFor(key).histogram(phase).record(end - start);
+            }
+        }
+    }
+}
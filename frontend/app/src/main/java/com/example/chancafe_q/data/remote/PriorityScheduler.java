@@ -0,0 +1,272 @@
+package com.example.chancafe_q.data.remote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Planificador de requests por prioridad sobre el Dispatcher de OkHttp
+ *
+ * Cada clase (interactiva, prefetch, bulk) tiene su propia cola y un tope de requests
+ * en vuelo. Al liberarse un cupo siempre se despacha primero la clase de mayor
+ * prioridad, de modo que una búsqueda del asesor adelanta a todo el trabajo en
+ * segundo plano que siga en cola. Como la suma de los topes no supera el límite por
+ * host del Dispatcher, lo despachado aquí nunca queda esperando en la cola FIFO de OkHttp.
+ * Las llamadas síncronas (execute() en hilos de fondo) toman su cupo con acquire().
+ */
+public class PriorityScheduler {
+
+    private final int[] limits;
+    private final int[] running;
+    private final List<ArrayDeque<Task>> queues;
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong promoted = new AtomicLong();
+
+    public PriorityScheduler() {
+        this(RequestPriority.INTERACTIVE.getMaxConcurrency(),
+                RequestPriority.PREFETCH.getMaxConcurrency(),
+                RequestPriority.BULK.getMaxConcurrency());
+    }
+
+    public PriorityScheduler(int interactiveLimit, int prefetchLimit, int bulkLimit) {
+        RequestPriority[] priorities = RequestPriority.values();
+        limits = new int[] { interactiveLimit, prefetchLimit, bulkLimit };
+        running = new int[priorities.length];
+        queues = new ArrayList<>(priorities.length);
+        for (int i = 0; i < priorities.length; i++) {
+            queues.add(new ArrayDeque<Task>());
+        }
+    }
+
+    /**
+     * Encola la llamada en su clase; se envía a OkHttp cuando haya cupo
+     */
+    public <R> void enqueue(Call<R> call, Callback<R> callback, RequestPriority priority) {
+        synchronized (this) {
+            queues.get(priority.ordinal()).addLast(new CallTask<>(call, callback, priority));
+        }
+        drain();
+    }
+
+    /**
+     * Espera un cupo de la clase para una llamada síncrona (execute()) en un hilo de fondo
+     *
+     * El cupo se devuelve al cerrar el Permit; hay que cerrarlo después de leer el cuerpo,
+     * porque la conexión sigue ocupada mientras se decodifica una respuesta en streaming.
+     */
+    public Permit acquire(RequestPriority priority) throws InterruptedIOException {
+        Permit permit = new Permit(priority);
+        PermitTask task = new PermitTask(permit);
+        synchronized (this) {
+            queues.get(priority.ordinal()).addLast(task);
+        }
+        drain();
+
+        try {
+            permit.await();
+        } catch (InterruptedException e) {
+            boolean queued;
+            synchronized (this) {
+                queued = queues.get(priority.ordinal()).remove(task);
+            }
+            if (!queued) {
+                // drain() ya le había asignado el cupo
+                finished(priority);
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpido esperando cupo " + priority);
+        }
+        return permit;
+    }
+
+    /**
+     * Sube de clase una llamada que aún está en cola (p. ej. un GET agrupado al que
+     * se sumó un llamador interactivo). Devuelve false si ya se despachó.
+     */
+    public boolean promote(Call<?> call, RequestPriority priority) {
+        boolean found = false;
+        synchronized (this) {
+            for (int i = queues.size() - 1; i > priority.ordinal(); i--) {
+                Iterator<Task> iterator = queues.get(i).iterator();
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+                    if (task instanceof CallTask && ((CallTask<?>) task).call == call) {
+                        iterator.remove();
+                        task.priority = priority;
+                        queues.get(priority.ordinal()).addFirst(task);
+                        promoted.incrementAndGet();
+                        found = true;
+                        break;
+                    }
+                }
+            }
+        }
+        if (found) {
+            drain();
+        }
+        return found;
+    }
+
+    private void drain() {
+        List<Task> ready = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < queues.size(); i++) {
+                ArrayDeque<Task> queue = queues.get(i);
+                while (!queue.isEmpty() && running[i] < limits[i]) {
+                    Task task = queue.pollFirst();
+                    running[i]++;
+                    ready.add(task);
+                }
+            }
+        }
+        // Se despacha fuera del lock: enqueue de OkHttp puede ejecutar callbacks
+        for (Task task : ready) {
+            dispatched.incrementAndGet();
+            task.start();
+        }
+    }
+
+    private void finished(RequestPriority priority) {
+        synchronized (this) {
+            running[priority.ordinal()]--;
+        }
+        drain();
+    }
+
+    public synchronized int getQueuedCount(RequestPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    public synchronized int getRunningCount(RequestPriority priority) {
+        return running[priority.ordinal()];
+    }
+
+    /**
+     * Total de llamadas enviadas a OkHttp
+     */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * Llamadas en cola que subieron de prioridad
+     */
+    public long getPromotedCount() {
+        return promoted.get();
+    }
+
+    /**
+     * Cupo tomado por una llamada síncrona; close() lo devuelve una sola vez
+     */
+    public final class Permit implements Closeable {
+        private final RequestPriority priority;
+        private boolean granted;
+        private boolean closed;
+
+        private Permit(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        private synchronized void grant() {
+            granted = true;
+            notifyAll();
+        }
+
+        private synchronized void await() throws InterruptedException {
+            while (!granted) {
+                wait();
+            }
+        }
+
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            finished(priority);
+        }
+    }
+
+    private abstract static class Task {
+        RequestPriority priority;
+
+        Task(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        abstract void start();
+    }
+
+    private static final class PermitTask extends Task {
+        final Permit permit;
+
+        PermitTask(Permit permit) {
+            super(permit.getPriority());
+            this.permit = permit;
+        }
+
+        @Override
+        void start() {
+            permit.grant();
+        }
+    }
+
+    private final class CallTask<R> extends Task {
+        final Call<R> call;
+        final Callback<R> callback;
+
+        CallTask(Call<R> call, Callback<R> callback, RequestPriority priority) {
+            super(priority);
+            this.call = call;
+            this.callback = callback;
+        }
+
+        @Override
+        void start() {
+            // La prioridad con la que se tomó el cupo es la que se libera
+            final RequestPriority slot = priority;
+
+            if (call.isCanceled()) {
+                finished(slot);
+                callback.onFailure(call, new IOException("Canceled"));
+                return;
+            }
+
+            try {
+                call.enqueue(new Callback<R>() {
+                    @Override
+                    public void onResponse(Call<R> call, Response<R> response) {
+                        finished(slot);
+                        callback.onResponse(call, response);
+                    }
+
+                    @Override
+                    public void onFailure(Call<R> call, Throwable t) {
+                        finished(slot);
+                        callback.onFailure(call, t);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                // La llamada ya se había ejecutado
+                finished(slot);
+                callback.onFailure(call, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.chancafe_q.data.remote;
+
+import java.io.IOException;
+
+/**
+ * El llamador canceló su espera de una request agrupada; la request de red puede
+ * seguir en curso para los demás llamadores (ver RequestCoalescer.cancel)
+ */
+public class RequestCancelledException extends IOException {
+
+    public RequestCancelledException() {
+        super("Canceled");
+    }
+}
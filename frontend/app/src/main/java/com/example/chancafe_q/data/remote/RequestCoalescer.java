@@ -0,0 +1,206 @@
+package com.example.chancafe_q.data.remote;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Agrupa llamadas GET idénticas que están en curso (single-flight)
+ *
+ * Mientras una request con el mismo método, URL e identidad de sesión siga en vuelo,
+ * las siguientes no salen a la red: su callback se encola y recibe la misma respuesta.
+ * La respuesta es compartida entre todos los callbacks, por lo que deben tratarla
+ * como de solo lectura.
+ *
+ * Las llamadas salen por el PriorityScheduler; si a una llamada aún en cola se suma
+ * un llamador de mayor prioridad, la llamada sube de clase.
+ *
+ * La Call de red es la del primer llamador. Para cancelar se usa cancel(Call) con la
+ * Call propia de cada llamador: se quita solo su callback y la request de red se cancela
+ * cuando ya no queda nadie esperándola.
+ */
+public class RequestCoalescer {
+
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final PriorityScheduler scheduler;
+
+    public RequestCoalescer(PriorityScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Encola la llamada o, si ya hay una idéntica en vuelo, se suscribe a su resultado
+     * Una Call ya cancelada (p. ej. antes de salir de la caché) falla sin sumarse
+     */
+    public <R> void enqueue(Call<R> call, Callback<R> callback, RequestPriority priority) {
+        if (call.isCanceled()) {
+            callback.onFailure(call, new RequestCancelledException());
+            return;
+        }
+
+        final String key = keyFor(call.request());
+        final InFlight entry;
+        Call<?> joined = null;
+
+        synchronized (inFlight) {
+            InFlight existing = inFlight.get(key);
+            if (existing == null) {
+                entry = new InFlight(call, priority);
+                entry.waiters.add(new Waiter(call, callback));
+                inFlight.put(key, entry);
+            } else {
+                existing.waiters.add(new Waiter(call, callback));
+                coalescedCount.incrementAndGet();
+                if (priority.ordinal() >= existing.priority.ordinal()) {
+                    return;
+                }
+                existing.priority = priority;
+                joined = existing.call;
+                entry = null;
+            }
+        }
+
+        // Un llamador más urgente se sumó: subir de clase la llamada si sigue en cola
+        if (joined != null) {
+            scheduler.promote(joined, priority);
+            return;
+        }
+
+        scheduler.enqueue(call, new Callback<R>() {
+            @Override
+            public void onResponse(Call<R> call, Response<R> response) {
+                for (Callback<R> waiter : RequestCoalescer.this.<R>complete(key, entry)) {
+                    waiter.onResponse(call, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<R> call, Throwable t) {
+                for (Callback<R> waiter : RequestCoalescer.this.<R>complete(key, entry)) {
+                    waiter.onFailure(call, t);
+                }
+            }
+        }, priority);
+    }
+
+    /**
+     * Cancela la espera de un solo llamador, identificado por la Call que pasó a enqueue
+     * Su callback recibe RequestCancelledException; la request de red solo se cancela si
+     * era el último llamador. Devuelve false si la Call no está esperando (ya respondió
+     * o no pasó por el agrupador).
+     */
+    @SuppressWarnings("unchecked")
+    public boolean cancel(Call<?> caller) {
+        Waiter cancelled = null;
+        Call<?> orphaned = null;
+
+        synchronized (inFlight) {
+            for (Iterator<Map.Entry<String, InFlight>> it = inFlight.entrySet().iterator(); it.hasNext(); ) {
+                InFlight entry = it.next().getValue();
+                cancelled = entry.remove(caller);
+                if (cancelled != null) {
+                    if (entry.waiters.isEmpty()) {
+                        it.remove();
+                        orphaned = entry.call;
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (cancelled == null) {
+            return false;
+        }
+        if (orphaned != null) {
+            orphaned.cancel();
+        }
+        ((Callback<Object>) cancelled.callback).onFailure((Call<Object>) caller, new RequestCancelledException());
+        return true;
+    }
+
+    /**
+     * Toma los callbacks de la entrada; si se vació por cancelaciones y otra request
+     * ocupó su clave, la entrada nueva no se toca
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<Callback<R>> complete(String key, InFlight entry) {
+        synchronized (inFlight) {
+            inFlight.remove(key, entry);
+            List<Callback<R>> callbacks = new ArrayList<>(entry.waiters.size());
+            for (Waiter waiter : entry.waiters) {
+                callbacks.add((Callback<R>) waiter.callback);
+            }
+            entry.waiters.clear();
+            return callbacks;
+        }
+    }
+
+    /**
+     * Clave de agrupación: método + URL + token de la sesión actual
+     * El token se agrega en el interceptor, por eso no está en los headers del request
+     */
+    static String keyFor(Request request) {
+        String token = ApiClient.getAuthToken();
+        return request.method() + " " + request.url() + " " + (token != null ? token : "");
+    }
+
+    /**
+     * Número de llamadas que se resolvieron sin salir a la red
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Número de requests distintas actualmente en vuelo
+     */
+    public int getInFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    private static final class InFlight {
+        final Call<?> call;
+        final List<Waiter> waiters = new ArrayList<>();
+        RequestPriority priority;
+
+        InFlight(Call<?> call, RequestPriority priority) {
+            this.call = call;
+            this.priority = priority;
+        }
+
+        Waiter remove(Call<?> caller) {
+            for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (waiter.caller == caller) {
+                    it.remove();
+                    return waiter;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Un llamador: su propia Call (para cancelar) y su callback
+     */
+    private static final class Waiter {
+        final Call<?> caller;
+        final Callback<?> callback;
+
+        Waiter(Call<?> caller, Callback<?> callback) {
+            this.caller = caller;
+            this.callback = callback;
+        }
+    }
+}
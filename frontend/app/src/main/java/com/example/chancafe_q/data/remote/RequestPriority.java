@@ -0,0 +1,30 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.utils.Configuration;
+
+/**
+ * Clases de prioridad para las requests de la app (de mayor a menor)
+ */
+public enum RequestPriority {
+    /** El usuario está esperando la respuesta en pantalla (búsquedas, detalle, guardar) */
+    INTERACTIVE,
+    /** Datos que probablemente se usen pronto (estadísticas, catálogo al abrir una pantalla) */
+    PREFETCH,
+    /** Sincronización y cargas masivas en segundo plano */
+    BULK;
+
+    /**
+     * Máximo de requests de esta clase en vuelo al mismo tiempo
+     */
+    public int getMaxConcurrency() {
+        switch (this) {
+            case INTERACTIVE:
+                return Configuration.SchedulerConfig.getInteractiveConcurrency();
+            case PREFETCH:
+                return Configuration.SchedulerConfig.getPrefetchConcurrency();
+            case BULK:
+            default:
+                return Configuration.SchedulerConfig.getBulkConcurrency();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.utils.Configuration;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Interceptor de resiliencia: reintentos con backoff y circuit breaker por ruta
+ *
+ * - Solo se reintentan métodos idempotentes (GET, HEAD, OPTIONS, PUT, DELETE) o requests
+ *   con Idempotency-Key (deduplicadas en el backend por idempotencyMiddleware), ante errores
+ *   de red o respuestas 408/429/502/503/504.
+ * - La espera usa "decorrelated jitter": random(base, espera_anterior * 3) con tope,
+ *   para que los clientes que fallaron juntos no vuelvan a llegar juntos.
+ * - Si el servidor envía Retry-After se respeta (hasta el tope configurado).
+ * - Cada ruta (host + path con ids normalizados) tiene su propio circuit breaker; con el
+ *   circuito abierto la request falla de inmediato con CircuitOpenException.
+ */
+public class ResilienceInterceptor implements Interceptor {
+
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxRetryAfterMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong retriesExhausted = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    public ResilienceInterceptor() {
+        this(Configuration.ResilienceConfig.getMaxRetries(),
+                Configuration.ResilienceConfig.getBaseBackoffMillis(),
+                Configuration.ResilienceConfig.getMaxBackoffMillis(),
+                Configuration.ResilienceConfig.getMaxRetryAfterMillis(),
+                Configuration.ResilienceConfig.getFailureThreshold(),
+                Configuration.ResilienceConfig.getOpenMillis());
+    }
+
+    public ResilienceInterceptor(int maxRetries, long baseBackoffMillis, long maxBackoffMillis,
+                                 long maxRetryAfterMillis, int failureThreshold, long openMillis) {
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxRetryAfterMillis = maxRetryAfterMillis;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String route = routeKey(request.url());
+        CircuitBreaker breaker = breakerFor(route);
+        // Una request con Idempotency-Key (outbox) se puede repetir aunque sea POST o PATCH:
+        // el backend devuelve la respuesta guardada en vez de aplicar el cambio otra vez
+        boolean retryable = isIdempotent(request.method()) || request.header("Idempotency-Key") != null;
+
+        long backoff = baseBackoffMillis;
+        int attempt = 0;
+
+        while (true) {
+            if (!breaker.tryAcquire()) {
+                shortCircuited.incrementAndGet();
+                throw new CircuitOpenException(route, breaker.getRemainingOpenMillis());
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.release();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (!retryable || attempt >= maxRetries) {
+                    countExhausted(retryable);
+                    throw e;
+                }
+                backoff = nextBackoff(backoff);
+                sleep(backoff);
+                attempt++;
+                retries.incrementAndGet();
+                continue;
+            } catch (RuntimeException e) {
+                // Error de programación más abajo en la cadena, no del backend: sin liberar la
+                // prueba, un circuito HALF_OPEN rechazaría todas las requests siguientes
+                breaker.release();
+                throw e;
+            }
+
+            if (!isTransientFailure(response.code())) {
+                // Cualquier otra respuesta (incluye 4xx) indica que el backend está vivo
+                breaker.onSuccess();
+                return response;
+            }
+
+            breaker.onFailure();
+            if (!retryable || attempt >= maxRetries) {
+                countExhausted(retryable);
+                return response;
+            }
+
+            long retryAfter = retryAfterMillis(response);
+            backoff = nextBackoff(backoff);
+            response.close();
+            sleep(retryAfter >= 0 ? retryAfter : backoff);
+            attempt++;
+            retries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Decorrelated jitter: random(base, anterior * 3) acotado por el máximo
+     */
+    private long nextBackoff(long previous) {
+        long upper = Math.min(maxBackoffMillis, previous * 3);
+        if (upper <= baseBackoffMillis) {
+            return baseBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseBackoffMillis, upper + 1);
+    }
+
+    /**
+     * Retry-After en segundos o como fecha HTTP; -1 si no viene o no se puede leer
+     */
+    private long retryAfterMillis(Response response) {
+        String header = response.header("Retry-After");
+        if (header == null) {
+            return -1;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim()) * 1000L;
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            if (date == null) {
+                return -1;
+            }
+            millis = date.getTime() - System.currentTimeMillis();
+        }
+        return Math.max(0, Math.min(millis, maxRetryAfterMillis));
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reintento interrumpido");
+        }
+    }
+
+    private void countExhausted(boolean retryable) {
+        if (retryable && maxRetries > 0) {
+            retriesExhausted.incrementAndGet();
+        }
+    }
+
+    private CircuitBreaker breakerFor(String route) {
+        CircuitBreaker breaker = breakers.get(route);
+        if (breaker == null) {
+            CircuitBreaker created = new CircuitBreaker(failureThreshold, openMillis);
+            breaker = breakers.putIfAbsent(route, created);
+            if (breaker == null) {
+                breaker = created;
+            }
+        }
+        return breaker;
+    }
+
+    static boolean isIdempotent(String method) {
+        switch (method) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+            case "PUT":
+            case "DELETE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static boolean isTransientFailure(int code) {
+        return code == 408 || code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Ruta del breaker: host + path con los segmentos numéricos reemplazados por {id}
+     * (clients/15 y clients/16 comparten circuito)
+     */
+    static String routeKey(HttpUrl url) {
+        StringBuilder key = new StringBuilder(url.host());
+        List<String> segments = url.pathSegments();
+        for (String segment : segments) {
+            key.append('/');
+            key.append(isNumeric(segment) ? "{id}" : segment);
+        }
+        return key.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Número de reintentos realizados
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Llamadas idempotentes que agotaron sus reintentos
+     */
+    public long getRetriesExhausted() {
+        return retriesExhausted.get();
+    }
+
+    /**
+     * Requests rechazadas sin salir a la red por un circuito abierto
+     */
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    /**
+     * Estado actual del circuito de cada ruta conocida
+     */
+    public Map<String, CircuitBreaker.State> getCircuitStates() {
+        Map<String, CircuitBreaker.State> states = new LinkedHashMap<>();
+        for (Map.Entry<String, CircuitBreaker> entry : breakers.entrySet()) {
+            states.put(entry.getKey(), entry.getValue().getState());
+        }
+        return states;
+    }
+
+    public CircuitBreaker.State getCircuitState(HttpUrl url) {
+        CircuitBreaker breaker = breakers.get(routeKey(url));
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    public void reset() {
+        breakers.clear();
+        retries.set(0);
+        retriesExhausted.set(0);
+        shortCircuited.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "ResilienceInterceptor{" +
+                "retries=" + retries.get() +
+                ", retriesExhausted=" + retriesExhausted.get() +
+                ", shortCircuited=" + shortCircuited.get() +
+                ", circuits=" + getCircuitStates() +
+                '}';
+    }
+}
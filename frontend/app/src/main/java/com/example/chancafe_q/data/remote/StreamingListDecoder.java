@@ -0,0 +1,137 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Decodificador incremental de respuestas {success, message, data: [...]}
+ *
+ * Recorre el arreglo "data" con un JsonReader y entrega los elementos en bloques
+ * a medida que llegan del socket, en lugar de materializar toda la lista antes de
+ * mostrar la primera fila. Los bloques crecen de forma geométrica (primer bloque
+ * pequeño para pintar rápido, luego más grandes para reducir el número de entregas).
+ *
+ * También acepta "data": {"clients": [...]} tal como lo devuelve el backend.
+ */
+public class StreamingListDecoder<T> {
+
+    /**
+     * Receptor de bloques decodificados (se invoca en el hilo que decodifica)
+     */
+    public interface ChunkListener<T> {
+        void onChunk(List<T> chunk);
+    }
+
+    private final TypeAdapter<T> adapter;
+    private final int firstChunkSize;
+    private final int maxChunkSize;
+
+    public StreamingListDecoder(Gson gson, Class<T> type, int firstChunkSize, int maxChunkSize) {
+        this.adapter = gson.getAdapter(type);
+        this.firstChunkSize = firstChunkSize;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    /**
+     * Decodifica el cuerpo completo entregando bloques al listener
+     * Devuelve success/message/code del envoltorio; data es el total de elementos
+     */
+    public ApiResponse<Integer> decode(ResponseBody body, ChunkListener<T> listener) throws IOException {
+        ApiResponse<Integer> envelope = new ApiResponse<>(false, null, 0, 200);
+
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "success":
+                        envelope.setSuccess(reader.nextBoolean());
+                        break;
+                    case "message":
+                        envelope.setMessage(reader.nextString());
+                        break;
+                    case "code":
+                        envelope.setCode(reader.nextInt());
+                        break;
+                    case "data":
+                        envelope.setData(readData(reader, listener));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        return envelope;
+    }
+
+    private int readData(JsonReader reader, ChunkListener<T> listener) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            return readArray(reader, listener);
+        }
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return 0;
+        }
+
+        // Envoltorio del backend: {"clients": [...]}; se toma el primer arreglo
+        int count = 0;
+        boolean consumed = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            reader.nextName();
+            if (!consumed && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                count = readArray(reader, listener);
+                consumed = true;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return count;
+    }
+
+    private int readArray(JsonReader reader, ChunkListener<T> listener) throws IOException {
+        int count = 0;
+        int chunkSize = firstChunkSize;
+        List<T> chunk = new ArrayList<>(chunkSize);
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T item = adapter.read(reader);
+            if (item == null) {
+                continue;
+            }
+            chunk.add(item);
+            count++;
+
+            if (chunk.size() >= chunkSize) {
+                listener.onChunk(chunk);
+                chunkSize = Math.min(chunkSize * 2, maxChunkSize);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        reader.endArray();
+
+        if (!chunk.isEmpty()) {
+            listener.onChunk(chunk);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.LoginResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Renueva el JWT cuando el servidor responde 401 y reintenta la request
+ *
+ * El refresh es single-flight: el primer hilo que recibe un 401 llama a auth/refresh
+ * y los demás quedan en espera sobre el mismo monitor. Al entrar, cada hilo compara el
+ * token con el que falló; si ya cambió, otro hilo lo renovó y se reintenta de inmediato
+ * sin volver a llamar al servidor.
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong failedRefreshCount = new AtomicLong();
+
+    @Override
+    public Request authenticate(Route route, Response response) throws IOException {
+        Request request = response.request();
+
+        // Login, registro y el propio refresh no se reintentan
+        if (isAuthEndpoint(request)) {
+            return null;
+        }
+
+        // Si ya se reintentó con un token nuevo y volvió a fallar, no insistir
+        if (response.priorResponse() != null) {
+            return null;
+        }
+
+        String failedToken = bearerToken(request);
+        if (failedToken == null) {
+            return null;
+        }
+
+        String newToken = refreshIfNeeded(failedToken);
+        if (newToken == null) {
+            return null;
+        }
+
+        return request.newBuilder()
+                .header(AUTH_HEADER, BEARER + newToken)
+                .build();
+    }
+
+    /**
+     * Devuelve un token válido para reintentar, o null si la sesión no se pudo renovar
+     */
+    private synchronized String refreshIfNeeded(String failedToken) throws IOException {
+        String currentToken = ApiClient.getAuthToken();
+
+        // Sesión cerrada mientras la request estaba en vuelo
+        if (currentToken == null) {
+            return null;
+        }
+
+        // Otro hilo ya renovó el token
+        if (!currentToken.equals(failedToken)) {
+            return currentToken;
+        }
+
+        String refreshToken = ApiClient.getRefreshToken();
+        String credential = refreshToken != null ? refreshToken : currentToken;
+
+        retrofit2.Response<ApiResponse<LoginResponse>> refreshResponse =
+                ApiClient.getApiService().refreshToken(BEARER + credential).execute();
+
+        ApiResponse<LoginResponse> body = refreshResponse.body();
+        if (!refreshResponse.isSuccessful() || body == null || !body.isSuccess()
+                || body.getData() == null || body.getData().getToken() == null) {
+            failedRefreshCount.incrementAndGet();
+            ApiClient.clearAuthToken();
+            return null;
+        }
+
+        LoginResponse data = body.getData();
+        ApiClient.setTokens(data.getToken(),
+                data.getRefreshToken() != null ? data.getRefreshToken() : refreshToken);
+        refreshCount.incrementAndGet();
+        return data.getToken();
+    }
+
+    private static boolean isAuthEndpoint(Request request) {
+        List<String> segments = request.url().pathSegments();
+        int size = segments.size();
+        if (size < 2 || !"auth".equals(segments.get(size - 2))) {
+            return false;
+        }
+        String last = segments.get(size - 1);
+        return "login".equals(last) || "register".equals(last) || "refresh".equals(last);
+    }
+
+    private static String bearerToken(Request request) {
+        String header = request.header(AUTH_HEADER);
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+        return header.substring(BEARER.length());
+    }
+
+    /**
+     * Número de veces que se renovó el token contra el servidor
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Número de refresh rechazados (la sesión se cerró)
+     */
+    public long getFailedRefreshCount() {
+        return failedRefreshCount.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.ApiResponse;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter para el envoltorio {success, message, data, code}
+ * "data" se delega al adapter del tipo concreto (Client, List<Product>, etc.)
+ */
+final class ApiResponseTypeAdapter<T> extends TypeAdapter<ApiResponse<T>> {
+
+    private final TypeAdapter<T> dataAdapter;
+
+    ApiResponseTypeAdapter(TypeAdapter<T> dataAdapter) {
+        this.dataAdapter = dataAdapter;
+    }
+
+    @Override
+    public ApiResponse<T> read(JsonReader in) throws IOException {
+        ApiResponse<T> response = new ApiResponse<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "success":
+                    response.setSuccess(JsonFields.nextBoolean(in, response.isSuccess()));
+                    break;
+                case "message":
+                    response.setMessage(JsonFields.nextString(in));
+                    break;
+                case "data":
+                    response.setData(dataAdapter.read(in));
+                    break;
+                case "code":
+                    response.setCode(JsonFields.nextInt(in, response.getCode()));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+
+    @Override
+    public void write(JsonWriter out, ApiResponse<T> response) throws IOException {
+        out.beginObject();
+        out.name("success").value(response.isSuccess());
+        out.name("message").value(response.getMessage());
+        out.name("data");
+        dataAdapter.write(out, response.getData());
+        out.name("code").value(response.getCode());
+        out.endObject();
+    }
+}
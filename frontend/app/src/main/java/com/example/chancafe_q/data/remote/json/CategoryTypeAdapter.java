@@ -0,0 +1,66 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Category;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para Category (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class CategoryTypeAdapter extends TypeAdapter<Category> {
+
+    @Override
+    public Category read(JsonReader in) throws IOException {
+        Category category = new Category();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    category.setId(JsonFields.nextInt(in, category.getId()));
+                    break;
+                case "name":
+                    category.setName(JsonFields.nextString(in));
+                    break;
+                case "description":
+                    category.setDescription(JsonFields.nextString(in));
+                    break;
+                case "image_url":
+                    category.setImageUrl(JsonFields.nextString(in));
+                    break;
+                case "status":
+                    category.setStatus(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    category.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    category.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return category;
+    }
+
+    @Override
+    public void write(JsonWriter out, Category category) throws IOException {
+        out.beginObject();
+        out.name("id").value(category.getId());
+        out.name("name").value(category.getName());
+        out.name("description").value(category.getDescription());
+        out.name("image_url").value(category.getImageUrl());
+        out.name("status").value(category.getStatus());
+        out.name("created_at");
+        JsonFields.writeDate(out, category.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, category.getUpdatedAt());
+        out.endObject();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.ClientPage;
+import com.example.chancafe_q.model.Pagination;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * TypeAdapter escrito a mano para ClientPage (sin reflexión)
+ */
+final class ClientPageTypeAdapter extends TypeAdapter<ClientPage> {
+
+    private final TypeAdapter<List<Client>> clientsAdapter;
+    private final TypeAdapter<Pagination> paginationAdapter;
+
+    ClientPageTypeAdapter(TypeAdapter<List<Client>> clientsAdapter, TypeAdapter<Pagination> paginationAdapter) {
+        this.clientsAdapter = clientsAdapter;
+        this.paginationAdapter = paginationAdapter;
+    }
+
+    @Override
+    public ClientPage read(JsonReader in) throws IOException {
+        ClientPage page = new ClientPage();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "clients":
+                    page.setClients(clientsAdapter.read(in));
+                    break;
+                case "pagination":
+                    page.setPagination(paginationAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return page;
+    }
+
+    @Override
+    public void write(JsonWriter out, ClientPage page) throws IOException {
+        out.beginObject();
+        out.name("clients");
+        clientsAdapter.write(out, page.getClients());
+        out.name("pagination");
+        paginationAdapter.write(out, page.getPagination());
+        out.endObject();
+    }
+}
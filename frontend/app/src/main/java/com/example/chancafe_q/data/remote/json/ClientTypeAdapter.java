@@ -0,0 +1,150 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Client;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para Client (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class ClientTypeAdapter extends TypeAdapter<Client> {
+
+    @Override
+    public Client read(JsonReader in) throws IOException {
+        Client client = new Client();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    client.setId(JsonFields.nextInt(in, client.getId()));
+                    break;
+                case "first_name":
+                    client.setFirstName(JsonFields.nextString(in));
+                    break;
+                case "last_name":
+                    client.setLastName(JsonFields.nextString(in));
+                    break;
+                case "document_type":
+                    client.setDocumentType(JsonFields.nextString(in));
+                    break;
+                case "document_number":
+                    client.setDocumentNumber(JsonFields.nextString(in));
+                    break;
+                case "email":
+                    client.setEmail(JsonFields.nextString(in));
+                    break;
+                case "phone":
+                    client.setPhone(JsonFields.nextString(in));
+                    break;
+                case "address":
+                    client.setAddress(JsonFields.nextString(in));
+                    break;
+                case "client_type":
+                    client.setClientType(JsonFields.nextString(in));
+                    break;
+                case "business_name":
+                    client.setBusinessName(JsonFields.nextString(in));
+                    break;
+                case "phone_secondary":
+                    client.setPhoneSecondary(JsonFields.nextString(in));
+                    break;
+                case "district":
+                    client.setDistrict(JsonFields.nextString(in));
+                    break;
+                case "province":
+                    client.setProvince(JsonFields.nextString(in));
+                    break;
+                case "department":
+                    client.setDepartment(JsonFields.nextString(in));
+                    break;
+                case "postal_code":
+                    client.setPostalCode(JsonFields.nextString(in));
+                    break;
+                case "payment_terms":
+                    client.setPaymentTerms(JsonFields.nextInteger(in));
+                    break;
+                case "contact_method":
+                    client.setContactMethod(JsonFields.nextString(in));
+                    break;
+                case "contact_preference":
+                    client.setContactPreference(JsonFields.nextString(in));
+                    break;
+                case "notes":
+                    client.setNotes(JsonFields.nextString(in));
+                    break;
+                case "website":
+                    client.setWebsite(JsonFields.nextString(in));
+                    break;
+                case "industry":
+                    client.setIndustry(JsonFields.nextString(in));
+                    break;
+                case "company_size":
+                    client.setCompanySize(JsonFields.nextString(in));
+                    break;
+                case "tax_id":
+                    client.setTaxId(JsonFields.nextString(in));
+                    break;
+                case "credit_limit":
+                    client.setCreditLimit(JsonFields.nextDouble(in, client.getCreditLimit()));
+                    break;
+                case "assigned_user_id":
+                    client.setAssignedUserId(JsonFields.nextInteger(in));
+                    break;
+                case "status":
+                    client.setStatus(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    client.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    client.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return client;
+    }
+
+    @Override
+    public void write(JsonWriter out, Client client) throws IOException {
+        out.beginObject();
+        out.name("id").value(client.getId());
+        out.name("first_name").value(client.getFirstName());
+        out.name("last_name").value(client.getLastName());
+        out.name("document_type").value(client.getDocumentType());
+        out.name("document_number").value(client.getDocumentNumber());
+        out.name("email").value(client.getEmail());
+        out.name("phone").value(client.getPhone());
+        out.name("address").value(client.getAddress());
+        out.name("client_type").value(client.getClientType());
+        out.name("business_name").value(client.getBusinessName());
+        out.name("phone_secondary").value(client.getPhoneSecondary());
+        out.name("district").value(client.getDistrict());
+        out.name("province").value(client.getProvince());
+        out.name("department").value(client.getDepartment());
+        out.name("postal_code").value(client.getPostalCode());
+        out.name("payment_terms").value(client.getPaymentTerms());
+        out.name("contact_method").value(client.getContactMethod());
+        out.name("contact_preference").value(client.getContactPreference());
+        out.name("notes").value(client.getNotes());
+        out.name("website").value(client.getWebsite());
+        out.name("industry").value(client.getIndustry());
+        out.name("company_size").value(client.getCompanySize());
+        out.name("tax_id").value(client.getTaxId());
+        out.name("credit_limit").value(client.getCreditLimit());
+        out.name("assigned_user_id").value(client.getAssignedUserId());
+        out.name("status").value(client.getStatus());
+        out.name("created_at");
+        JsonFields.writeDate(out, client.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, client.getUpdatedAt());
+        out.endObject();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.CreditRequest;
+import com.example.chancafe_q.model.User;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para CreditRequest (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class CreditRequestTypeAdapter extends TypeAdapter<CreditRequest> {
+
+    private final TypeAdapter<Client> clientAdapter;
+    private final TypeAdapter<User> userAdapter;
+
+    CreditRequestTypeAdapter(TypeAdapter<Client> clientAdapter, TypeAdapter<User> userAdapter) {
+        this.clientAdapter = clientAdapter;
+        this.userAdapter = userAdapter;
+    }
+
+    @Override
+    public CreditRequest read(JsonReader in) throws IOException {
+        CreditRequest creditRequest = new CreditRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    creditRequest.setId(JsonFields.nextInt(in, creditRequest.getId()));
+                    break;
+                case "client_id":
+                    creditRequest.setClientId(JsonFields.nextInt(in, creditRequest.getClientId()));
+                    break;
+                case "user_id":
+                    creditRequest.setUserId(JsonFields.nextInt(in, creditRequest.getUserId()));
+                    break;
+                case "requested_amount":
+                    creditRequest.setRequestedAmount(JsonFields.nextDouble(in, creditRequest.getRequestedAmount()));
+                    break;
+                case "requested_terms":
+                    creditRequest.setRequestedTerms(JsonFields.nextInt(in, creditRequest.getRequestedTerms()));
+                    break;
+                case "monthly_income":
+                    creditRequest.setMonthlyIncome(JsonFields.nextDouble(in, creditRequest.getMonthlyIncome()));
+                    break;
+                case "current_debts":
+                    creditRequest.setCurrentDebts(JsonFields.nextDouble(in, creditRequest.getCurrentDebts()));
+                    break;
+                case "purpose":
+                    creditRequest.setPurpose(JsonFields.nextString(in));
+                    break;
+                case "risk_level":
+                    creditRequest.setRiskLevel(JsonFields.nextString(in));
+                    break;
+                case "status":
+                    creditRequest.setStatus(JsonFields.nextString(in));
+                    break;
+                case "approved_amount":
+                    creditRequest.setApprovedAmount(JsonFields.nextDoubleObject(in));
+                    break;
+                case "approved_terms":
+                    creditRequest.setApprovedTerms(JsonFields.nextInteger(in));
+                    break;
+                case "rejection_reason":
+                    creditRequest.setRejectionReason(JsonFields.nextString(in));
+                    break;
+                case "expires_at":
+                    creditRequest.setExpiresAt(JsonFields.nextDate(in));
+                    break;
+                case "notes":
+                    creditRequest.setNotes(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    creditRequest.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    creditRequest.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                case "client":
+                    creditRequest.setClient(clientAdapter.read(in));
+                    break;
+                case "user":
+                    creditRequest.setUser(userAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return creditRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, CreditRequest creditRequest) throws IOException {
+        out.beginObject();
+        out.name("id").value(creditRequest.getId());
+        out.name("client_id").value(creditRequest.getClientId());
+        out.name("user_id").value(creditRequest.getUserId());
+        out.name("requested_amount").value(creditRequest.getRequestedAmount());
+        out.name("requested_terms").value(creditRequest.getRequestedTerms());
+        out.name("monthly_income").value(creditRequest.getMonthlyIncome());
+        out.name("current_debts").value(creditRequest.getCurrentDebts());
+        out.name("purpose").value(creditRequest.getPurpose());
+        out.name("risk_level").value(creditRequest.getRiskLevel());
+        out.name("status").value(creditRequest.getStatus());
+        out.name("approved_amount").value(creditRequest.getApprovedAmount());
+        out.name("approved_terms").value(creditRequest.getApprovedTerms());
+        out.name("rejection_reason").value(creditRequest.getRejectionReason());
+        out.name("expires_at");
+        JsonFields.writeDate(out, creditRequest.getExpiresAt());
+        out.name("notes").value(creditRequest.getNotes());
+        out.name("created_at");
+        JsonFields.writeDate(out, creditRequest.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, creditRequest.getUpdatedAt());
+        out.name("client");
+        clientAdapter.write(out, creditRequest.getClient());
+        out.name("user");
+        userAdapter.write(out, creditRequest.getUser());
+        out.endObject();
+    }
+}
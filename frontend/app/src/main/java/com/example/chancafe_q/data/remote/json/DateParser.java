@@ -0,0 +1,166 @@
+package com.example.chancafe_q.data.remote.json;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Parser/formateador de fechas sin estado compartido (seguro entre hilos)
+ *
+ * Reemplaza al SimpleDateFormat "yyyy-MM-dd HH:mm:ss" de Gson, que sincroniza
+ * internamente y crea objetos Calendar en cada llamada. Acepta los formatos que
+ * envía el backend:
+ * - "yyyy-MM-dd HH:mm:ss" (hora local del dispositivo)
+ * - "yyyy-MM-ddTHH:mm:ss[.SSS][Z|±HH:MM]" (ISO 8601, hora local si no trae zona)
+ * - "yyyy-MM-dd" (medianoche local)
+ */
+public final class DateParser {
+
+    private DateParser() {
+        // Clase de utilidades
+    }
+
+    /**
+     * Devuelve los milisegundos epoch del texto, o lanza IllegalArgumentException
+     */
+    public static long parseMillis(String text) {
+        int length = text.length();
+        if (length < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new IllegalArgumentException("Fecha inválida: " + text);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        long days = daysFromCivil(year, month, day);
+
+        // Solo fecha: medianoche local
+        if (length == 10) {
+            return toUtc(days * 86_400_000L);
+        }
+
+        char separator = text.charAt(10);
+        if ((separator != ' ' && separator != 'T') || length < 19
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw new IllegalArgumentException("Fecha inválida: " + text);
+        }
+
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+        int pos = 19;
+
+        // Fracción de segundo (se conservan milisegundos)
+        int millis = 0;
+        if (pos < length && text.charAt(pos) == '.') {
+            pos++;
+            int scale = 100;
+            while (pos < length && Character.isDigit(text.charAt(pos))) {
+                millis += (text.charAt(pos) - '0') * scale;
+                scale /= 10;
+                pos++;
+            }
+        }
+
+        long wallMillis = days * 86_400_000L + hour * 3_600_000L + minute * 60_000L + second * 1_000L + millis;
+
+        if (pos == length) {
+            // Sin zona horaria: hora local
+            return toUtc(wallMillis);
+        }
+
+        char zoneChar = text.charAt(pos);
+        if (zoneChar == 'Z' && pos + 1 == length) {
+            return wallMillis;
+        }
+        if ((zoneChar == '+' || zoneChar == '-') && pos + 3 <= length) {
+            int offsetHours = digits(text, pos + 1, pos + 3);
+            int offsetMinutes = 0;
+            int minutesStart = pos + 3;
+            if (minutesStart < length && text.charAt(minutesStart) == ':') {
+                minutesStart++;
+            }
+            if (minutesStart + 2 <= length) {
+                offsetMinutes = digits(text, minutesStart, minutesStart + 2);
+            }
+            long offset = (offsetHours * 60L + offsetMinutes) * 60_000L;
+            return zoneChar == '+' ? wallMillis - offset : wallMillis + offset;
+        }
+
+        throw new IllegalArgumentException("Zona horaria inválida: " + text);
+    }
+
+    public static Date parse(String text) {
+        return new Date(parseMillis(text));
+    }
+
+    /**
+     * Formatea en "yyyy-MM-dd HH:mm:ss" con la zona local (formato que espera el backend)
+     */
+    public static String format(Date date) {
+        long utcMillis = date.getTime();
+        long wallMillis = utcMillis + TimeZone.getDefault().getOffset(utcMillis);
+
+        long days = Math.floorDiv(wallMillis, 86_400_000L);
+        long millisOfDay = Math.floorMod(wallMillis, 86_400_000L);
+
+        // Algoritmo civil_from_days (H. Hinnant)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+
+        int secondOfDay = (int) (millisOfDay / 1000);
+        char[] out = new char[19];
+        put(out, 0, year, 4);
+        out[4] = '-';
+        put(out, 5, month, 2);
+        out[7] = '-';
+        put(out, 8, day, 2);
+        out[10] = ' ';
+        put(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        put(out, 14, (secondOfDay / 60) % 60, 2);
+        out[16] = ':';
+        put(out, 17, secondOfDay % 60, 2);
+        return new String(out);
+    }
+
+    private static long toUtc(long wallMillis) {
+        TimeZone zone = TimeZone.getDefault();
+        return wallMillis - zone.getOffset(wallMillis - zone.getRawOffset());
+    }
+
+    // Algoritmo days_from_civil (H. Hinnant)
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Fecha inválida: " + text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void put(char[] out, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
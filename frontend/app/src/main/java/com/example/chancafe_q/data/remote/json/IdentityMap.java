@@ -0,0 +1,196 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.Supplier;
+import com.example.chancafe_q.model.User;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Mapa de identidad: una sola instancia por tipo e id para las entidades anidadas
+ *
+ * Cada cotización trae su Client y su User, cada solicitud de crédito también, y cada
+ * producto su Category y su Supplier; sin esto una lista de 5.000 cotizaciones de 50
+ * clientes tendría 5.000 copias del mismo cliente. Al deserializar, la entidad anidada
+ * se resuelve a la instancia canónica; si la recién leída es igual o más nueva, sus
+ * campos se copian en la canónica, así todas las pantallas que la tienen ven el cambio.
+ *
+ * Las instancias se guardan con WeakReference: cuando ninguna lista las retiene el GC
+ * las libera y la entrada se limpia sola. Los objetos compartidos deben tratarse como
+ * de solo lectura fuera de este mapa.
+ */
+public class IdentityMap {
+
+    private static final IdentityMap instance = createDefault();
+
+    private final Map<Class<?>, Kind<?>> kinds = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private long hits;
+    private long updates;
+
+    /**
+     * Mapa compartido por el Gson de ApiClient
+     */
+    public static IdentityMap getInstance() {
+        return instance;
+    }
+
+    /**
+     * Mapa con las entidades que se repiten anidadas en las respuestas
+     */
+    public static IdentityMap createDefault() {
+        IdentityMap map = new IdentityMap();
+        map.register(Client.class, Client::getId, Client::getUpdatedAt, Client::copyFrom);
+        map.register(User.class, User::getId, User::getUpdatedAt, User::copyFrom);
+        map.register(Category.class, Category::getId, Category::getUpdatedAt, Category::copyFrom);
+        map.register(Supplier.class, Supplier::getId, Supplier::getUpdatedAt, Supplier::copyFrom);
+        return map;
+    }
+
+    public synchronized <T> void register(Class<T> type, ToIntFunction<T> id, Function<T, Date> updatedAt,
+                                          BiConsumer<T, T> copy) {
+        kinds.put(type, new Kind<>(id, updatedAt, copy));
+    }
+
+    public synchronized boolean handles(Class<?> type) {
+        return kinds.containsKey(type);
+    }
+
+    /**
+     * Devuelve la instancia canónica para el registro leído
+     * Si ya había una, recibe los campos de la leída salvo que la leída sea más vieja;
+     * si no, la leída pasa a ser la canónica. Sin id (0 o negativo) no se comparte.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T intern(Class<T> type, T read) {
+        Kind<T> kind = (Kind<T>) kinds.get(type);
+        if (read == null || kind == null) {
+            return read;
+        }
+        int id = kind.id.applyAsInt(read);
+        if (id <= 0) {
+            return read;
+        }
+        expungeCollected();
+
+        Entry<T> entry = kind.entries.get(id);
+        T canonical = entry != null ? entry.get() : null;
+        if (canonical == null) {
+            kind.entries.put(id, new Entry<>(read, kind, id, collected));
+            return read;
+        }
+        hits++;
+        if (canonical != read && !isOlder(kind.updatedAt.apply(read), kind.updatedAt.apply(canonical))) {
+            kind.copy.accept(canonical, read);
+            updates++;
+        }
+        return canonical;
+    }
+
+    /**
+     * Lleva a la instancia compartida (si existe) un registro obtenido por otra vía,
+     * p. ej. el cliente que devolvió una edición; no crea entradas nuevas
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> void refresh(Class<T> type, T fresh) {
+        Kind<T> kind = (Kind<T>) kinds.get(type);
+        if (fresh == null || kind == null) {
+            return;
+        }
+        Entry<T> entry = kind.entries.get(kind.id.applyAsInt(fresh));
+        T canonical = entry != null ? entry.get() : null;
+        if (canonical != null && canonical != fresh) {
+            kind.copy.accept(canonical, fresh);
+            updates++;
+        }
+    }
+
+    /**
+     * Instancia canónica viva para el tipo e id, o null
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(Class<T> type, int id) {
+        Kind<T> kind = (Kind<T>) kinds.get(type);
+        Entry<T> entry = kind != null ? kind.entries.get(id) : null;
+        return entry != null ? entry.get() : null;
+    }
+
+    /**
+     * Entradas vivas (las liberadas por el GC se descuentan al consultar)
+     */
+    public synchronized int size() {
+        expungeCollected();
+        int size = 0;
+        for (Kind<?> kind : kinds.values()) {
+            size += kind.entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * Entidades leídas que se resolvieron a una instancia ya existente
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Veces que una instancia compartida recibió datos más nuevos
+     */
+    public synchronized long getUpdates() {
+        return updates;
+    }
+
+    public synchronized void clear() {
+        for (Kind<?> kind : kinds.values()) {
+            kind.entries.clear();
+        }
+    }
+
+    private static boolean isOlder(Date read, Date canonical) {
+        return read != null && canonical != null && read.before(canonical);
+    }
+
+    private void expungeCollected() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            Entry<?> entry = (Entry<?>) reference;
+            // Solo si la entrada no fue reemplazada por otra instancia con el mismo id
+            if (entry.kind.entries.get(entry.id) == entry) {
+                entry.kind.entries.remove(entry.id);
+            }
+        }
+    }
+
+    private static final class Kind<T> {
+        final ToIntFunction<T> id;
+        final Function<T, Date> updatedAt;
+        final BiConsumer<T, T> copy; // (canónica, leída)
+        final Map<Integer, Entry<T>> entries = new HashMap<>();
+
+        Kind(ToIntFunction<T> id, Function<T, Date> updatedAt, BiConsumer<T, T> copy) {
+            this.id = id;
+            this.updatedAt = updatedAt;
+            this.copy = copy;
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        final Kind<T> kind;
+        final int id;
+
+        Entry(T referent, Kind<T> kind, int id, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.kind = kind;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Lee con el adapter del tipo y devuelve la instancia canónica del IdentityMap
+ */
+final class InterningTypeAdapter<T> extends TypeAdapter<T> {
+
+    private final TypeAdapter<T> delegate;
+    private final Class<T> type;
+    private final IdentityMap identityMap;
+
+    InterningTypeAdapter(TypeAdapter<T> delegate, Class<T> type, IdentityMap identityMap) {
+        this.delegate = delegate;
+        this.type = type;
+        this.identityMap = identityMap;
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        return identityMap.intern(type, delegate.read(in));
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        delegate.write(out, value);
+    }
+}
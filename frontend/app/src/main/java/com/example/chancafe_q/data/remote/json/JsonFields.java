@@ -0,0 +1,87 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Lectura/escritura de campos con la misma semántica que el Gson reflexivo:
+ * un null explícito deja en null los campos objeto y conserva el valor por
+ * defecto de los primitivos.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+        // Clase de utilidades
+    }
+
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        if (skipNull(in)) {
+            return null;
+        }
+        // nextString también acepta números y booleanos como texto
+        if (in.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static int nextInt(JsonReader in, int defaultValue) throws IOException {
+        return skipNull(in) ? defaultValue : in.nextInt();
+    }
+
+    static Integer nextInteger(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextInt();
+    }
+
+    static double nextDouble(JsonReader in, double defaultValue) throws IOException {
+        return skipNull(in) ? defaultValue : in.nextDouble();
+    }
+
+    static Double nextDoubleObject(JsonReader in) throws IOException {
+        return skipNull(in) ? null : in.nextDouble();
+    }
+
+    static boolean nextBoolean(JsonReader in, boolean defaultValue) throws IOException {
+        if (skipNull(in)) {
+            return defaultValue;
+        }
+        // Gson acepta "true"/"false" entre comillas en modo lenient
+        if (in.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static Date nextDate(JsonReader in) throws IOException {
+        if (skipNull(in)) {
+            return null;
+        }
+        String text = in.nextString();
+        try {
+            return DateParser.parse(text);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Failed parsing '" + text + "' as Date; at path " + in.getPreviousPath(), e);
+        }
+    }
+
+    static void writeDate(JsonWriter out, Date value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(DateParser.format(value));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.LoginRequest;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para LoginRequest (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class LoginRequestTypeAdapter extends TypeAdapter<LoginRequest> {
+
+    @Override
+    public LoginRequest read(JsonReader in) throws IOException {
+        LoginRequest loginRequest = new LoginRequest();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "email":
+                    loginRequest.setEmail(JsonFields.nextString(in));
+                    break;
+                case "password":
+                    loginRequest.setPassword(JsonFields.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return loginRequest;
+    }
+
+    @Override
+    public void write(JsonWriter out, LoginRequest loginRequest) throws IOException {
+        out.beginObject();
+        out.name("email").value(loginRequest.getEmail());
+        out.name("password").value(loginRequest.getPassword());
+        out.endObject();
+    }
+}
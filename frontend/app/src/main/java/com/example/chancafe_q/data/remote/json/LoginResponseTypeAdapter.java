@@ -0,0 +1,56 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.LoginResponse;
+import com.example.chancafe_q.model.User;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para LoginResponse (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class LoginResponseTypeAdapter extends TypeAdapter<LoginResponse> {
+
+    private final TypeAdapter<User> userAdapter;
+
+    LoginResponseTypeAdapter(TypeAdapter<User> userAdapter) {
+        this.userAdapter = userAdapter;
+    }
+
+    @Override
+    public LoginResponse read(JsonReader in) throws IOException {
+        LoginResponse loginResponse = new LoginResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "user":
+                    loginResponse.setUser(userAdapter.read(in));
+                    break;
+                case "token":
+                    loginResponse.setToken(JsonFields.nextString(in));
+                    break;
+                case "refreshToken":
+                    loginResponse.setRefreshToken(JsonFields.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return loginResponse;
+    }
+
+    @Override
+    public void write(JsonWriter out, LoginResponse loginResponse) throws IOException {
+        out.beginObject();
+        out.name("user");
+        userAdapter.write(out, loginResponse.getUser());
+        out.name("token").value(loginResponse.getToken());
+        out.name("refreshToken").value(loginResponse.getRefreshToken());
+        out.endObject();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.ClientPage;
+import com.example.chancafe_q.model.CreditRequest;
+import com.example.chancafe_q.model.LoginRequest;
+import com.example.chancafe_q.model.LoginResponse;
+import com.example.chancafe_q.model.Pagination;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.model.QuoteItem;
+import com.example.chancafe_q.model.Supplier;
+import com.example.chancafe_q.model.User;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Registra los TypeAdapters escritos a mano para los modelos de la app
+ *
+ * Evita que Gson construya adapters por reflexión (getDeclaredFields, lectura
+ * de anotaciones y Field.set por cada campo), lo que reduce el tiempo de la
+ * primera deserialización y el costo por objeto en listas grandes.
+ * Los tipos anidados se piden al Gson para que pasen por la misma fábrica.
+ *
+ * Los clientes, usuarios, categorías y proveedores anidados (en cotizaciones,
+ * solicitudes de crédito y productos) se resuelven con el IdentityMap a una sola
+ * instancia por id.
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final IdentityMap identityMap; // null: sin compartir instancias
+
+    public ModelTypeAdapterFactory() {
+        this(IdentityMap.getInstance());
+    }
+
+    public ModelTypeAdapterFactory(IdentityMap identityMap) {
+        this.identityMap = identityMap;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+
+        if (rawType == Client.class) {
+            adapter = new ClientTypeAdapter();
+        } else if (rawType == User.class) {
+            adapter = new UserTypeAdapter();
+        } else if (rawType == Category.class) {
+            adapter = new CategoryTypeAdapter();
+        } else if (rawType == Supplier.class) {
+            adapter = new SupplierTypeAdapter();
+        } else if (rawType == Product.class) {
+            adapter = new ProductTypeAdapter(nested(gson, Category.class), nested(gson, Supplier.class));
+        } else if (rawType == QuoteItem.class) {
+            adapter = new QuoteItemTypeAdapter(gson.getAdapter(Product.class));
+        } else if (rawType == Quote.class) {
+            adapter = new QuoteTypeAdapter(
+                    nested(gson, Client.class),
+                    nested(gson, User.class),
+                    gson.getAdapter(new TypeToken<List<QuoteItem>>() {}));
+        } else if (rawType == CreditRequest.class) {
+            adapter = new CreditRequestTypeAdapter(nested(gson, Client.class), nested(gson, User.class));
+        } else if (rawType == LoginRequest.class) {
+            adapter = new LoginRequestTypeAdapter();
+        } else if (rawType == LoginResponse.class) {
+            adapter = new LoginResponseTypeAdapter(gson.getAdapter(User.class));
+        } else if (rawType == Pagination.class) {
+            adapter = new PaginationTypeAdapter();
+        } else if (rawType == ClientPage.class) {
+            adapter = new ClientPageTypeAdapter(
+                    gson.getAdapter(new TypeToken<List<Client>>() {}),
+                    gson.getAdapter(Pagination.class));
+        } else if (rawType == ApiResponse.class) {
+            adapter = new ApiResponseTypeAdapter<>(gson.getAdapter(TypeToken.get(dataType(type.getType()))));
+        } else {
+            return null;
+        }
+
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+    /**
+     * Adapter para una entidad anidada: pasa por el IdentityMap si el tipo se comparte
+     */
+    private <T> TypeAdapter<T> nested(Gson gson, Class<T> type) {
+        TypeAdapter<T> adapter = gson.getAdapter(type);
+        if (identityMap == null || !identityMap.handles(type)) {
+            return adapter;
+        }
+        return new InterningTypeAdapter<>(adapter, type, identityMap);
+    }
+
+    /**
+     * Tipo de "data" en ApiResponse<T>; Object si se usó el tipo crudo
+     */
+    private static Type dataType(Type responseType) {
+        if (responseType instanceof ParameterizedType) {
+            return ((ParameterizedType) responseType).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Pagination;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para Pagination (sin reflexión)
+ */
+final class PaginationTypeAdapter extends TypeAdapter<Pagination> {
+
+    @Override
+    public Pagination read(JsonReader in) throws IOException {
+        Pagination pagination = new Pagination();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "totalCount":
+                    pagination.setTotalCount(JsonFields.nextInt(in, pagination.getTotalCount()));
+                    break;
+                case "totalPages":
+                    pagination.setTotalPages(JsonFields.nextInt(in, pagination.getTotalPages()));
+                    break;
+                case "currentPage":
+                    pagination.setCurrentPage(JsonFields.nextInt(in, pagination.getCurrentPage()));
+                    break;
+                case "pageSize":
+                    pagination.setPageSize(JsonFields.nextInt(in, pagination.getPageSize()));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return pagination;
+    }
+
+    @Override
+    public void write(JsonWriter out, Pagination pagination) throws IOException {
+        out.beginObject();
+        out.name("totalCount").value(pagination.getTotalCount());
+        out.name("totalPages").value(pagination.getTotalPages());
+        out.name("currentPage").value(pagination.getCurrentPage());
+        out.name("pageSize").value(pagination.getPageSize());
+        out.endObject();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.Supplier;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para Product (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class ProductTypeAdapter extends TypeAdapter<Product> {
+
+    private final TypeAdapter<Category> categoryAdapter;
+    private final TypeAdapter<Supplier> supplierAdapter;
+
+    ProductTypeAdapter(TypeAdapter<Category> categoryAdapter, TypeAdapter<Supplier> supplierAdapter) {
+        this.categoryAdapter = categoryAdapter;
+        this.supplierAdapter = supplierAdapter;
+    }
+
+    @Override
+    public Product read(JsonReader in) throws IOException {
+        Product product = new Product();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    product.setId(JsonFields.nextInt(in, product.getId()));
+                    break;
+                case "name":
+                    product.setName(JsonFields.nextString(in));
+                    break;
+                case "description":
+                    product.setDescription(JsonFields.nextString(in));
+                    break;
+                case "sku":
+                    product.setSku(JsonFields.nextString(in));
+                    break;
+                case "category_id":
+                    product.setCategoryId(JsonFields.nextInt(in, product.getCategoryId()));
+                    break;
+                case "supplier_id":
+                    product.setSupplierId(JsonFields.nextInt(in, product.getSupplierId()));
+                    break;
+                case "price":
+                    product.setPrice(JsonFields.nextDouble(in, product.getPrice()));
+                    break;
+                case "cost_price":
+                    product.setCostPrice(JsonFields.nextDouble(in, product.getCostPrice()));
+                    break;
+                case "stock":
+                    product.setStock(JsonFields.nextInt(in, product.getStock()));
+                    break;
+                case "min_stock":
+                    product.setMinStock(JsonFields.nextInt(in, product.getMinStock()));
+                    break;
+                case "unit":
+                    product.setUnit(JsonFields.nextString(in));
+                    break;
+                case "image_url":
+                    product.setImageUrl(JsonFields.nextString(in));
+                    break;
+                case "status":
+                    product.setStatus(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    product.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    product.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                case "category":
+                    product.setCategory(categoryAdapter.read(in));
+                    break;
+                case "supplier":
+                    product.setSupplier(supplierAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return product;
+    }
+
+    @Override
+    public void write(JsonWriter out, Product product) throws IOException {
+        out.beginObject();
+        out.name("id").value(product.getId());
+        out.name("name").value(product.getName());
+        out.name("description").value(product.getDescription());
+        out.name("sku").value(product.getSku());
+        out.name("category_id").value(product.getCategoryId());
+        out.name("supplier_id").value(product.getSupplierId());
+        out.name("price").value(product.getPrice());
+        out.name("cost_price").value(product.getCostPrice());
+        out.name("stock").value(product.getStock());
+        out.name("min_stock").value(product.getMinStock());
+        out.name("unit").value(product.getUnit());
+        out.name("image_url").value(product.getImageUrl());
+        out.name("status").value(product.getStatus());
+        out.name("created_at");
+        JsonFields.writeDate(out, product.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, product.getUpdatedAt());
+        out.name("category");
+        categoryAdapter.write(out, product.getCategory());
+        out.name("supplier");
+        supplierAdapter.write(out, product.getSupplier());
+        out.endObject();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.QuoteItem;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para QuoteItem (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ *
+ * total_price se asigna al final porque setQuantity/setUnitPrice lo recalculan.
+ */
+final class QuoteItemTypeAdapter extends TypeAdapter<QuoteItem> {
+
+    private final TypeAdapter<Product> productAdapter;
+
+    QuoteItemTypeAdapter(TypeAdapter<Product> productAdapter) {
+        this.productAdapter = productAdapter;
+    }
+
+    @Override
+    public QuoteItem read(JsonReader in) throws IOException {
+        QuoteItem quoteItem = new QuoteItem();
+        double totalPrice = quoteItem.getTotalPrice();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    quoteItem.setId(JsonFields.nextInt(in, quoteItem.getId()));
+                    break;
+                case "quote_id":
+                    quoteItem.setQuoteId(JsonFields.nextInt(in, quoteItem.getQuoteId()));
+                    break;
+                case "product_id":
+                    quoteItem.setProductId(JsonFields.nextInteger(in));
+                    break;
+                case "description":
+                    quoteItem.setDescription(JsonFields.nextString(in));
+                    break;
+                case "quantity":
+                    quoteItem.setQuantity(JsonFields.nextInt(in, quoteItem.getQuantity()));
+                    break;
+                case "unit_price":
+                    quoteItem.setUnitPrice(JsonFields.nextDouble(in, quoteItem.getUnitPrice()));
+                    break;
+                case "total_price":
+                    totalPrice = JsonFields.nextDouble(in, totalPrice);
+                    break;
+                case "notes":
+                    quoteItem.setNotes(JsonFields.nextString(in));
+                    break;
+                case "product":
+                    quoteItem.setProduct(productAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        quoteItem.setTotalPrice(totalPrice);
+        return quoteItem;
+    }
+
+    @Override
+    public void write(JsonWriter out, QuoteItem quoteItem) throws IOException {
+        out.beginObject();
+        out.name("id").value(quoteItem.getId());
+        out.name("quote_id").value(quoteItem.getQuoteId());
+        out.name("product_id").value(quoteItem.getProductId());
+        out.name("description").value(quoteItem.getDescription());
+        out.name("quantity").value(quoteItem.getQuantity());
+        out.name("unit_price").value(quoteItem.getUnitPrice());
+        out.name("total_price").value(quoteItem.getTotalPrice());
+        out.name("notes").value(quoteItem.getNotes());
+        out.name("product");
+        productAdapter.write(out, quoteItem.getProduct());
+        out.endObject();
+    }
+}
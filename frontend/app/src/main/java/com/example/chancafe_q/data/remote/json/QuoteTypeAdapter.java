@@ -0,0 +1,140 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.model.QuoteItem;
+import com.example.chancafe_q.model.User;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * TypeAdapter escrito a mano para Quote (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class QuoteTypeAdapter extends TypeAdapter<Quote> {
+
+    private final TypeAdapter<Client> clientAdapter;
+    private final TypeAdapter<User> userAdapter;
+    private final TypeAdapter<List<QuoteItem>> quoteItemListAdapter;
+
+    QuoteTypeAdapter(TypeAdapter<Client> clientAdapter, TypeAdapter<User> userAdapter, TypeAdapter<List<QuoteItem>> quoteItemListAdapter) {
+        this.clientAdapter = clientAdapter;
+        this.userAdapter = userAdapter;
+        this.quoteItemListAdapter = quoteItemListAdapter;
+    }
+
+    @Override
+    public Quote read(JsonReader in) throws IOException {
+        Quote quote = new Quote();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    quote.setId(JsonFields.nextInt(in, quote.getId()));
+                    break;
+                case "client_id":
+                    quote.setClientId(JsonFields.nextInt(in, quote.getClientId()));
+                    break;
+                case "user_id":
+                    quote.setUserId(JsonFields.nextInt(in, quote.getUserId()));
+                    break;
+                case "quote_number":
+                    quote.setQuoteNumber(JsonFields.nextString(in));
+                    break;
+                case "description":
+                    quote.setDescription(JsonFields.nextString(in));
+                    break;
+                case "subtotal":
+                    quote.setSubtotal(JsonFields.nextDouble(in, quote.getSubtotal()));
+                    break;
+                case "discount_percentage":
+                    quote.setDiscountPercentage(JsonFields.nextDouble(in, quote.getDiscountPercentage()));
+                    break;
+                case "discount_amount":
+                    quote.setDiscountAmount(JsonFields.nextDouble(in, quote.getDiscountAmount()));
+                    break;
+                case "tax_percentage":
+                    quote.setTaxPercentage(JsonFields.nextDouble(in, quote.getTaxPercentage()));
+                    break;
+                case "tax_amount":
+                    quote.setTaxAmount(JsonFields.nextDouble(in, quote.getTaxAmount()));
+                    break;
+                case "total_amount":
+                    quote.setTotalAmount(JsonFields.nextDouble(in, quote.getTotalAmount()));
+                    break;
+                case "status":
+                    quote.setStatus(JsonFields.nextString(in));
+                    break;
+                case "valid_until":
+                    quote.setValidUntil(JsonFields.nextDate(in));
+                    break;
+                case "revision":
+                    quote.setRevision(JsonFields.nextInt(in, quote.getRevision()));
+                    break;
+                case "pdf_generated":
+                    quote.setPdfGenerated(JsonFields.nextBoolean(in, quote.isPdfGenerated()));
+                    break;
+                case "pdf_url":
+                    quote.setPdfUrl(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    quote.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    quote.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                case "client":
+                    quote.setClient(clientAdapter.read(in));
+                    break;
+                case "user":
+                    quote.setUser(userAdapter.read(in));
+                    break;
+                case "quote_items":
+                    quote.setQuoteItems(quoteItemListAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return quote;
+    }
+
+    @Override
+    public void write(JsonWriter out, Quote quote) throws IOException {
+        out.beginObject();
+        out.name("id").value(quote.getId());
+        out.name("client_id").value(quote.getClientId());
+        out.name("user_id").value(quote.getUserId());
+        out.name("quote_number").value(quote.getQuoteNumber());
+        out.name("description").value(quote.getDescription());
+        out.name("subtotal").value(quote.getSubtotal());
+        out.name("discount_percentage").value(quote.getDiscountPercentage());
+        out.name("discount_amount").value(quote.getDiscountAmount());
+        out.name("tax_percentage").value(quote.getTaxPercentage());
+        out.name("tax_amount").value(quote.getTaxAmount());
+        out.name("total_amount").value(quote.getTotalAmount());
+        out.name("status").value(quote.getStatus());
+        out.name("valid_until");
+        JsonFields.writeDate(out, quote.getValidUntil());
+        out.name("revision").value(quote.getRevision());
+        out.name("pdf_generated").value(quote.isPdfGenerated());
+        out.name("pdf_url").value(quote.getPdfUrl());
+        out.name("created_at");
+        JsonFields.writeDate(out, quote.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, quote.getUpdatedAt());
+        out.name("client");
+        clientAdapter.write(out, quote.getClient());
+        out.name("user");
+        userAdapter.write(out, quote.getUser());
+        out.name("quote_items");
+        quoteItemListAdapter.write(out, quote.getQuoteItems());
+        out.endObject();
+    }
+}
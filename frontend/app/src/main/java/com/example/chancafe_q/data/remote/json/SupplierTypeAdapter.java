@@ -0,0 +1,86 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.Supplier;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para Supplier (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ */
+final class SupplierTypeAdapter extends TypeAdapter<Supplier> {
+
+    @Override
+    public Supplier read(JsonReader in) throws IOException {
+        Supplier supplier = new Supplier();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    supplier.setId(JsonFields.nextInt(in, supplier.getId()));
+                    break;
+                case "name":
+                    supplier.setName(JsonFields.nextString(in));
+                    break;
+                case "ruc":
+                    supplier.setRuc(JsonFields.nextString(in));
+                    break;
+                case "address":
+                    supplier.setAddress(JsonFields.nextString(in));
+                    break;
+                case "phone":
+                    supplier.setPhone(JsonFields.nextString(in));
+                    break;
+                case "email":
+                    supplier.setEmail(JsonFields.nextString(in));
+                    break;
+                case "contact_person":
+                    supplier.setContactPerson(JsonFields.nextString(in));
+                    break;
+                case "payment_terms":
+                    supplier.setPaymentTerms(JsonFields.nextString(in));
+                    break;
+                case "status":
+                    supplier.setStatus(JsonFields.nextString(in));
+                    break;
+                case "notes":
+                    supplier.setNotes(JsonFields.nextString(in));
+                    break;
+                case "created_at":
+                    supplier.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    supplier.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return supplier;
+    }
+
+    @Override
+    public void write(JsonWriter out, Supplier supplier) throws IOException {
+        out.beginObject();
+        out.name("id").value(supplier.getId());
+        out.name("name").value(supplier.getName());
+        out.name("ruc").value(supplier.getRuc());
+        out.name("address").value(supplier.getAddress());
+        out.name("phone").value(supplier.getPhone());
+        out.name("email").value(supplier.getEmail());
+        out.name("contact_person").value(supplier.getContactPerson());
+        out.name("payment_terms").value(supplier.getPaymentTerms());
+        out.name("status").value(supplier.getStatus());
+        out.name("notes").value(supplier.getNotes());
+        out.name("created_at");
+        JsonFields.writeDate(out, supplier.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, supplier.getUpdatedAt());
+        out.endObject();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.User;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter escrito a mano para User (sin reflexión)
+ * Nombres JSON iguales a los @SerializedName del modelo
+ *
+ * full_name solo se escribe si vino del servidor; getFullName() lo calcula
+ * a partir de nombre y apellido cuando falta.
+ */
+final class UserTypeAdapter extends TypeAdapter<User> {
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        User user = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    user.setId(JsonFields.nextInt(in, user.getId()));
+                    break;
+                case "user_code":
+                    user.setUserCode(JsonFields.nextString(in));
+                    break;
+                case "first_name":
+                    user.setFirstName(JsonFields.nextString(in));
+                    break;
+                case "last_name":
+                    user.setLastName(JsonFields.nextString(in));
+                    break;
+                case "full_name":
+                    user.setFullName(JsonFields.nextString(in));
+                    break;
+                case "email":
+                    user.setEmail(JsonFields.nextString(in));
+                    break;
+                case "password":
+                    user.setPassword(JsonFields.nextString(in));
+                    break;
+                case "phone":
+                    user.setPhone(JsonFields.nextString(in));
+                    break;
+                case "role":
+                    user.setRole(JsonFields.nextString(in));
+                    break;
+                case "branch_office":
+                    user.setBranchOffice(JsonFields.nextString(in));
+                    break;
+                case "status":
+                    user.setStatus(JsonFields.nextString(in));
+                    break;
+                case "avatar_url":
+                    user.setAvatarUrl(JsonFields.nextString(in));
+                    break;
+                case "hire_date":
+                    user.setHireDate(JsonFields.nextDate(in));
+                    break;
+                case "commission_rate":
+                    user.setCommissionRate(JsonFields.nextString(in));
+                    break;
+                case "last_login":
+                    user.setLastLogin(JsonFields.nextString(in));
+                    break;
+                case "isActive":
+                    user.setIsActiveFlag(JsonFields.nextBoolean(in, user.getIsActiveFlag()));
+                    break;
+                case "isAdmin":
+                    user.setIsAdminFlag(JsonFields.nextBoolean(in, user.getIsAdminFlag()));
+                    break;
+                case "created_at":
+                    user.setCreatedAt(JsonFields.nextDate(in));
+                    break;
+                case "updated_at":
+                    user.setUpdatedAt(JsonFields.nextDate(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return user;
+    }
+
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        out.beginObject();
+        out.name("id").value(user.getId());
+        out.name("user_code").value(user.getUserCode());
+        out.name("first_name").value(user.getFirstName());
+        out.name("last_name").value(user.getLastName());
+        String fullName = user.getFullName();
+        String computedName = (user.getFirstName() != null ? user.getFirstName() : "") + " "
+                + (user.getLastName() != null ? user.getLastName() : "");
+        if (!fullName.equals(computedName)) {
+            out.name("full_name").value(fullName);
+        }
+        out.name("email").value(user.getEmail());
+        out.name("password").value(user.getPassword());
+        out.name("phone").value(user.getPhone());
+        out.name("role").value(user.getRole());
+        out.name("branch_office").value(user.getBranchOffice());
+        out.name("status").value(user.getStatus());
+        out.name("avatar_url").value(user.getAvatarUrl());
+        out.name("hire_date");
+        JsonFields.writeDate(out, user.getHireDate());
+        out.name("commission_rate").value(user.getCommissionRate());
+        out.name("last_login").value(user.getLastLogin());
+        out.name("isActive").value(user.getIsActiveFlag());
+        out.name("isAdmin").value(user.getIsAdminFlag());
+        out.name("created_at");
+        JsonFields.writeDate(out, user.getCreatedAt());
+        out.name("updated_at");
+        JsonFields.writeDate(out, user.getUpdatedAt());
+        out.endObject();
+    }
+}
@@ -92,6 +92,20 @@ public class Category {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Copia todos los campos de otra copia del mismo registro
+     * La usa el IdentityMap para actualizar la instancia compartida sin reemplazarla
+     */
+    public void copyFrom(Category other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.imageUrl = other.imageUrl;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Métodos de utilidad
     public boolean isActive() {
         return "active".equals(status);
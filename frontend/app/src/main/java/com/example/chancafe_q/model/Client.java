@@ -319,6 +319,41 @@ public class Client implements java.io.Serializable {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Copia todos los campos de otra copia del mismo registro
+     * La usa el IdentityMap para actualizar la instancia compartida sin reemplazarla
+     */
+    public void copyFrom(Client other) {
+        this.id = other.id;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.documentType = other.documentType;
+        this.documentNumber = other.documentNumber;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.address = other.address;
+        this.clientType = other.clientType;
+        this.businessName = other.businessName;
+        this.phoneSecondary = other.phoneSecondary;
+        this.district = other.district;
+        this.province = other.province;
+        this.department = other.department;
+        this.postalCode = other.postalCode;
+        this.paymentTerms = other.paymentTerms;
+        this.contactMethod = other.contactMethod;
+        this.contactPreference = other.contactPreference;
+        this.notes = other.notes;
+        this.website = other.website;
+        this.industry = other.industry;
+        this.companySize = other.companySize;
+        this.taxId = other.taxId;
+        this.creditLimit = other.creditLimit;
+        this.assignedUserId = other.assignedUserId;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Métodos de utilidad
     public String getFullName() {
         if (clientType != null && clientType.equals("business") && businessName != null) {
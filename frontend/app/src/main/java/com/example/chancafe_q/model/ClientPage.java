@@ -0,0 +1,38 @@
+package com.example.chancafe_q.model;
+
+import java.util.List;
+
+/**
+ * Página de clientes: data de GET clients?page=&limit=
+ */
+public class ClientPage {
+    private List<Client> clients;
+    private Pagination pagination;
+
+    // Constructor vacío
+    public ClientPage() {
+    }
+
+    // Constructor con parámetros
+    public ClientPage(List<Client> clients, Pagination pagination) {
+        this.clients = clients;
+        this.pagination = pagination;
+    }
+
+    // Getters y Setters
+    public List<Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<Client> clients) {
+        this.clients = clients;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public void setPagination(Pagination pagination) {
+        this.pagination = pagination;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.chancafe_q.model;
+
+/**
+ * Metadatos de paginación que devuelve el backend junto a una página de resultados
+ * Las páginas empiezan en 1
+ */
+public class Pagination {
+    private int totalCount;
+    private int totalPages;
+    private int currentPage;
+    private int pageSize;
+
+    // Constructor vacío
+    public Pagination() {
+    }
+
+    // Constructor con parámetros
+    public Pagination(int totalCount, int totalPages, int currentPage, int pageSize) {
+        this.totalCount = totalCount;
+        this.totalPages = totalPages;
+        this.currentPage = currentPage;
+        this.pageSize = pageSize;
+    }
+
+    // Getters y Setters
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    // Métodos de utilidad
+    public boolean hasNextPage() {
+        return currentPage < totalPages;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagination{" +
+                "totalCount=" + totalCount +
+                ", totalPages=" + totalPages +
+                ", currentPage=" + currentPage +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+}
@@ -1,6 +1,14 @@
 package com.example.chancafe_q.model;
 
+import com.example.chancafe_q.model.pricing.Discount;
+import com.example.chancafe_q.model.pricing.Money;
+import com.example.chancafe_q.model.pricing.PricingPolicy;
+import com.example.chancafe_q.model.pricing.QuotePricing;
+import com.example.chancafe_q.model.pricing.TaxRule;
 import com.google.gson.annotations.SerializedName;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -24,6 +32,15 @@ public class Quote {
     @SerializedName("subtotal")
     private double subtotal;
     
+    @SerializedName("discount_percentage")
+    private double discountPercentage;
+    
+    @SerializedName("discount_amount")
+    private double discountAmount;
+    
+    @SerializedName("tax_percentage")
+    private double taxPercentage;
+    
     @SerializedName("tax_amount")
     private double taxAmount;
     
@@ -55,12 +72,18 @@ public class Quote {
     
     @SerializedName("quote_items")
     private List<QuoteItem> quoteItems;
+    
+    // Totales incrementales de los ítems; se crea en el primer cálculo
+    private transient QuotePricing<QuoteItem> pricing;
 
     // Constructor vacío
     public Quote() {
         this.status = "draft";
         this.revision = 1;
         this.subtotal = 0.0;
+        this.discountPercentage = 0.0;
+        this.discountAmount = 0.0;
+        this.taxPercentage = 18.0;
         this.taxAmount = 0.0;
         this.totalAmount = 0.0;
         this.pdfGenerated = false;
@@ -123,6 +146,43 @@ public class Quote {
         this.subtotal = subtotal;
     }
 
+    public double getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public void setDiscountPercentage(double discountPercentage) {
+        this.discountPercentage = discountPercentage;
+        onDocumentDiscountChanged();
+    }
+
+    /**
+     * Con discount_percentage es el monto que resulta del porcentaje; sin él, un monto fijo
+     */
+    public double getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(double discountAmount) {
+        this.discountAmount = discountAmount;
+        onDocumentDiscountChanged();
+    }
+
+    public double getTaxPercentage() {
+        return taxPercentage;
+    }
+
+    public void setTaxPercentage(double taxPercentage) {
+        if (this.taxPercentage == taxPercentage) {
+            return;
+        }
+        this.taxPercentage = taxPercentage;
+        if (pricing != null) {
+            // La tasa es parte de la política: se rearma el cálculo con los ítems actuales
+            pricing = null;
+            calculateTotals();
+        }
+    }
+
     public double getTaxAmount() {
         return taxAmount;
     }
@@ -211,12 +271,48 @@ public class Quote {
         this.user = user;
     }
 
+    /**
+     * Vista de solo lectura: los ítems se agregan y quitan con addItem/removeItem
+     */
     public List<QuoteItem> getQuoteItems() {
-        return quoteItems;
+        return quoteItems != null ? Collections.unmodifiableList(quoteItems) : null;
     }
 
     public void setQuoteItems(List<QuoteItem> quoteItems) {
-        this.quoteItems = quoteItems;
+        if (this.quoteItems != null) {
+            for (QuoteItem item : this.quoteItems) {
+                item.detach(this);
+            }
+        }
+        this.quoteItems = quoteItems != null ? new ArrayList<>(quoteItems) : null;
+        pricing = null;
+    }
+
+    public void addItem(QuoteItem item) {
+        if (quoteItems == null) {
+            quoteItems = new ArrayList<>();
+        }
+        quoteItems.add(item);
+        if (pricing != null) {
+            item.attach(this);
+            onItemChanged(item);
+        } else {
+            calculateTotals();
+        }
+    }
+
+    public boolean removeItem(QuoteItem item) {
+        if (quoteItems == null || !quoteItems.remove(item)) {
+            return false;
+        }
+        item.detach(this);
+        if (pricing != null) {
+            pricing.removeLine(item);
+            applyTotals();
+        } else {
+            calculateTotals();
+        }
+        return true;
     }
 
     // Métodos de utilidad
@@ -247,14 +343,81 @@ public class Quote {
         }
     }
 
+    /**
+     * Actualiza subtotal, descuento, impuesto y total en céntimos exactos
+     *
+     * La primera llamada arma el cálculo con todos los ítems (O(n)); desde ahí addItem,
+     * removeItem y los setters de cantidad y precio de cada ítem lo actualizan en O(1) y
+     * dejan los totales al día, sin volver a recorrer la cotización.
+     */
     public void calculateTotals() {
-        if (quoteItems != null) {
-            subtotal = quoteItems.stream()
-                    .mapToDouble(item -> item.getQuantity() * item.getUnitPrice())
-                    .sum();
-            taxAmount = subtotal * 0.18; // IGV 18%
-            totalAmount = subtotal + taxAmount;
+        if (quoteItems == null) {
+            return;
+        }
+        if (pricing == null) {
+            pricing = new QuotePricing<>(pricingPolicy());
+            for (QuoteItem item : quoteItems) {
+                item.attach(this);
+                pricing.setLine(item, item.getQuantity(), Money.toCents(item.getUnitPrice()));
+            }
+        }
+        applyTotals();
+    }
+
+    /**
+     * Cálculo incremental en curso; null antes del primer calculateTotals
+     */
+    public QuotePricing<QuoteItem> getPricing() {
+        return pricing;
+    }
+
+    /**
+     * IGV según tax_percentage y descuento global según discount_percentage (o, sin
+     * porcentaje, discount_amount), como en recalculateQuoteTotals del backend
+     */
+    private PricingPolicy pricingPolicy() {
+        int taxBasisPoints = (int) Math.round(taxPercentage * 100);
+        TaxRule tax = taxBasisPoints == 1_800 ? TaxRule.IGV : TaxRule.percent("IGV", Math.max(0, taxBasisPoints));
+        return new PricingPolicy(tax, PricingPolicy.TaxScope.DOCUMENT, RoundingMode.HALF_UP, documentDiscount());
+    }
+
+    private Discount documentDiscount() {
+        if (discountPercentage > 0) {
+            int basisPoints = (int) Math.round(discountPercentage * 100);
+            return Discount.percent(Math.min(basisPoints, Money.BASIS_POINTS));
+        }
+        return discountAmount > 0 ? Discount.fixed(Money.toCents(discountAmount)) : Discount.NONE;
+    }
+
+    /**
+     * Llamado por QuoteItem al cambiar su cantidad o precio
+     */
+    void onItemChanged(QuoteItem item) {
+        if (pricing != null) {
+            pricing.setLine(item, item.getQuantity(), Money.toCents(item.getUnitPrice()));
+            applyTotals();
+        }
+    }
+
+    private void onDocumentDiscountChanged() {
+        if (pricing != null) {
+            pricing.setDocumentDiscount(documentDiscount());
+            applyTotals();
+        }
+    }
+
+    /**
+     * Campos con el significado del backend: subtotal antes del descuento global,
+     * impuesto sobre el subtotal ya descontado
+     */
+    private void applyTotals() {
+        long discountCents = pricing.getDocumentDiscountCents();
+        subtotal = Money.toAmount(pricing.getSubtotalCents() + discountCents);
+        if (discountPercentage > 0) {
+            discountAmount = Money.toAmount(discountCents);
         }
+        taxAmount = Money.toAmount(pricing.getTaxCents());
+        totalAmount = Money.toAmount(pricing.getTotalCents());
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.example.chancafe_q.model;
 
+import com.example.chancafe_q.model.pricing.Money;
 import com.google.gson.annotations.SerializedName;
 
 /**
@@ -27,6 +28,9 @@ public class QuoteItem {
     
     // Relación
     private Product product;
+    
+    // Cotización cuyos totales se actualizan al editar este ítem
+    private transient Quote quote;
 
     // Constructor vacío
     public QuoteItem() {
@@ -42,7 +46,8 @@ public class QuoteItem {
         this.description = description;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
-        this.totalPrice = quantity * unitPrice;
+        this.totalPrice = lineTotal(quantity, unitPrice);
+        notifyQuote();
     }
 
     // Getters y Setters
@@ -84,7 +89,8 @@ public class QuoteItem {
 
     public void setQuantity(int quantity) {
         this.quantity = quantity;
-        this.totalPrice = quantity * unitPrice;
+        this.totalPrice = lineTotal(quantity, unitPrice);
+        notifyQuote();
     }
 
     public double getUnitPrice() {
@@ -93,7 +99,8 @@ public class QuoteItem {
 
     public void setUnitPrice(double unitPrice) {
         this.unitPrice = unitPrice;
-        this.totalPrice = quantity * unitPrice;
+        this.totalPrice = lineTotal(quantity, unitPrice);
+        notifyQuote();
     }
 
     public double getTotalPrice() {
@@ -122,7 +129,30 @@ public class QuoteItem {
 
     // Métodos de utilidad
     public void calculateTotal() {
-        this.totalPrice = this.quantity * this.unitPrice;
+        this.totalPrice = lineTotal(quantity, unitPrice);
+    }
+
+    void attach(Quote quote) {
+        this.quote = quote;
+    }
+
+    void detach(Quote quote) {
+        if (this.quote == quote) {
+            this.quote = null;
+        }
+    }
+
+    private void notifyQuote() {
+        if (quote != null) {
+            quote.onItemChanged(this);
+        }
+    }
+
+    /**
+     * Cantidad x precio en céntimos exactos (3 x 0.10 da 0.30, no 0.30000000000000004)
+     */
+    private static double lineTotal(int quantity, double unitPrice) {
+        return Money.toAmount(Money.times(Money.toCents(unitPrice), quantity));
     }
 
     public String getDisplayDescription() {
@@ -142,6 +142,25 @@ public class Supplier {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Copia todos los campos de otra copia del mismo registro
+     * La usa el IdentityMap para actualizar la instancia compartida sin reemplazarla
+     */
+    public void copyFrom(Supplier other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.ruc = other.ruc;
+        this.address = other.address;
+        this.phone = other.phone;
+        this.email = other.email;
+        this.contactPerson = other.contactPerson;
+        this.paymentTerms = other.paymentTerms;
+        this.status = other.status;
+        this.notes = other.notes;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Métodos de utilidad
     public boolean isActive() {
         return "active".equals(status);
@@ -252,6 +252,32 @@ public class User {
         this.isAdminFlag = isAdminFlag;
     }
 
+    /**
+     * Copia todos los campos de otra copia del mismo registro
+     * La usa el IdentityMap para actualizar la instancia compartida sin reemplazarla
+     */
+    public void copyFrom(User other) {
+        this.id = other.id;
+        this.userCode = other.userCode;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.fullName = other.fullName;
+        this.email = other.email;
+        this.password = other.password;
+        this.phone = other.phone;
+        this.role = other.role;
+        this.branchOffice = other.branchOffice;
+        this.status = other.status;
+        this.avatarUrl = other.avatarUrl;
+        this.hireDate = other.hireDate;
+        this.commissionRate = other.commissionRate;
+        this.lastLogin = other.lastLogin;
+        this.isActiveFlag = other.isActiveFlag;
+        this.isAdminFlag = other.isAdminFlag;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Métodos de utilidad
     public boolean isActive() {
         // Priorizar el flag isActive de la API
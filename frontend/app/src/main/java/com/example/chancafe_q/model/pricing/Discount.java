@@ -0,0 +1,47 @@
+package com.example.chancafe_q.model.pricing;
+
+import java.math.RoundingMode;
+
+/**
+ * Descuento sobre un monto en céntimos (el bruto de una línea o el subtotal del documento)
+ * El resultado se limita a [0, monto]: un descuento nunca deja un importe negativo.
+ */
+public interface Discount {
+
+    Discount NONE = (cents, mode) -> 0;
+
+    /**
+     * Céntimos que se descuentan de amountCents (>= 0)
+     */
+    long amountOff(long amountCents, RoundingMode mode);
+
+    /**
+     * Porcentaje en puntos básicos (500 = 5%)
+     */
+    static Discount percent(int basisPoints) {
+        if (basisPoints < 0 || basisPoints > Money.BASIS_POINTS) {
+            throw new IllegalArgumentException("Porcentaje fuera de rango: " + basisPoints);
+        }
+        return (cents, mode) -> Money.percentOf(cents, basisPoints, mode);
+    }
+
+    /**
+     * Monto fijo, hasta el total del importe
+     */
+    static Discount fixed(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Descuento negativo: " + cents);
+        }
+        return (amount, mode) -> Math.min(cents, amount);
+    }
+
+    /**
+     * amountOff acotado a [0, amountCents]
+     */
+    static long apply(Discount discount, long amountCents, RoundingMode mode) {
+        if (discount == null || amountCents <= 0) {
+            return 0;
+        }
+        return Math.max(0, Math.min(amountCents, discount.amountOff(amountCents, mode)));
+    }
+}
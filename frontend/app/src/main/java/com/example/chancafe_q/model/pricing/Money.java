@@ -0,0 +1,125 @@
+package com.example.chancafe_q.model.pricing;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Montos en céntimos (long) y sus operaciones exactas
+ *
+ * Los cálculos de precios se hacen en céntimos enteros: sumar miles de líneas no acumula
+ * error y cada redondeo ocurre en un único lugar, con el RoundingMode elegido. Los double
+ * de los modelos (lo que viaja en el JSON) se convierten solo en los bordes.
+ */
+public final class Money {
+
+    /**
+     * Denominador de los porcentajes en puntos básicos (1800 = 18%)
+     */
+    public static final int BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Monto decimal a céntimos, redondeando medio céntimo hacia arriba
+     * Usa la representación decimal más corta del double: 1.005 son 101 céntimos
+     */
+    public static long toCents(double amount) {
+        // Caso común (ya viene en céntimos): el producto queda a un error mínimo de un entero
+        double scaled = amount * 100;
+        long rounded = Math.round(scaled);
+        if (Math.abs(scaled - rounded) < 1e-6) {
+            return rounded;
+        }
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Céntimos al double más cercano, para los campos de los modelos
+     */
+    public static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Precio unitario por cantidad; falla con ArithmeticException si no entra en un long
+     */
+    public static long times(long unitCents, int quantity) {
+        return Math.multiplyExact(unitCents, (long) quantity);
+    }
+
+    /**
+     * Porcentaje (en puntos básicos) de un monto, redondeado a céntimos
+     */
+    public static long percentOf(long cents, int basisPoints, RoundingMode mode) {
+        return divide(Math.multiplyExact(cents, (long) basisPoints), BASIS_POINTS, mode);
+    }
+
+    /**
+     * numerator / denominator redondeado con mode (denominator > 0)
+     */
+    public static long divide(long numerator, long denominator, RoundingMode mode) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Divisor no positivo: " + denominator);
+        }
+        long quotient = numerator / denominator; // Trunca hacia cero
+        long remainder = numerator % denominator;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = numerator < 0 ? -1 : 1;
+        // Compara el resto con la mitad del divisor sin desbordar
+        long rest = Math.abs(remainder);
+        int half = Long.compare(rest, denominator - rest);
+        boolean awayFromZero;
+        switch (mode) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = sign > 0;
+                break;
+            case FLOOR:
+                awayFromZero = sign < 0;
+                break;
+            case HALF_UP:
+                awayFromZero = half >= 0;
+                break;
+            case HALF_DOWN:
+                awayFromZero = half > 0;
+                break;
+            case HALF_EVEN:
+                awayFromZero = half > 0 || (half == 0 && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Se necesita redondear " + numerator + "/" + denominator);
+        }
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    /**
+     * floor(a * b / c) con a, b >= 0, c > 0 y b <= c, sin desbordar el producto intermedio
+     */
+    static long multiplyDivideFloor(long a, long b, long c) {
+        try {
+            return Math.multiplyExact(a, b) / c;
+        } catch (ArithmeticException overflow) {
+            return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValue();
+        }
+    }
+
+    /**
+     * a * b mod c con a, b >= 0 y c > 0, sin desbordar el producto intermedio
+     */
+    static long multiplyMod(long a, long b, long c) {
+        try {
+            return Math.multiplyExact(a, b) % c;
+        } catch (ArithmeticException overflow) {
+            return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(BigInteger.valueOf(c)).longValue();
+        }
+    }
+}
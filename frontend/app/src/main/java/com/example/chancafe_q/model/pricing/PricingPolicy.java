@@ -0,0 +1,61 @@
+package com.example.chancafe_q.model.pricing;
+
+import java.math.RoundingMode;
+
+/**
+ * Reglas con que QuotePricing calcula una cotización: impuesto por defecto de las
+ * líneas, si el impuesto se redondea por línea o sobre el documento, el modo de
+ * redondeo de impuestos y descuentos, y el descuento global del documento
+ */
+public final class PricingPolicy {
+
+    /**
+     * Dónde se redondea el impuesto
+     */
+    public enum TaxScope {
+        LINE,     // Cada línea redondea su impuesto; el del documento es la suma
+        DOCUMENT  // Se redondea una vez por grupo de impuesto sobre la base total
+    }
+
+    private final TaxRule defaultTax;
+    private final TaxScope taxScope;
+    private final RoundingMode roundingMode;
+    private final Discount documentDiscount;
+
+    public PricingPolicy(TaxRule defaultTax, TaxScope taxScope, RoundingMode roundingMode, Discount documentDiscount) {
+        if (defaultTax == null || taxScope == null || roundingMode == null) {
+            throw new IllegalArgumentException("Impuesto, alcance y redondeo son obligatorios");
+        }
+        if (roundingMode == RoundingMode.UNNECESSARY) {
+            throw new IllegalArgumentException("Los impuestos y porcentajes necesitan un redondeo");
+        }
+        this.defaultTax = defaultTax;
+        this.taxScope = taxScope;
+        this.roundingMode = roundingMode;
+        this.documentDiscount = documentDiscount != null ? documentDiscount : Discount.NONE;
+    }
+
+    /**
+     * IGV 18% sobre el subtotal, medio céntimo hacia arriba y sin descuento global
+     * (el cálculo que hacía Quote.calculateTotals)
+     */
+    public static PricingPolicy standard() {
+        return new PricingPolicy(TaxRule.IGV, TaxScope.DOCUMENT, RoundingMode.HALF_UP, Discount.NONE);
+    }
+
+    public TaxRule getDefaultTax() {
+        return defaultTax;
+    }
+
+    public TaxScope getTaxScope() {
+        return taxScope;
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    public Discount getDocumentDiscount() {
+        return documentDiscount;
+    }
+}
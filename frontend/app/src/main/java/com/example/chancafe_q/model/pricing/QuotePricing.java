@@ -0,0 +1,269 @@
+package com.example.chancafe_q.model.pricing;
+
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totales de una cotización en céntimos exactos, actualizados línea por línea
+ *
+ * Cada línea (cantidad x precio unitario, menos su descuento) se calcula una sola vez al
+ * agregarla o editarla, y sus importes se suman o restan de acumulados por grupo de
+ * impuesto: editar, agregar o quitar una línea cuesta O(1) sin importar el tamaño de la
+ * cotización. Los totales se arman al leerlos, en O(grupos de impuesto) (IGV, exonerado...).
+ *
+ * El descuento del documento se aplica sobre la suma de los netos y reduce la base
+ * imponible; se reparte entre los grupos de impuesto en proporción a su neto (resto mayor,
+ * así las partes suman exacto). Con impuesto por línea, al grupo se le resta el impuesto
+ * de su parte del descuento.
+ *
+ * Las líneas se identifican por clave (p. ej. el QuoteItem). No es thread-safe.
+ */
+public final class QuotePricing<K> {
+
+    private final PricingPolicy policy;
+    private final RoundingMode mode;
+    private Discount documentDiscount;
+
+    private final Map<K, Line> lines = new HashMap<>();
+    private final TreeMap<String, Group> groups = new TreeMap<>(); // Por código: orden fijo para el reparto
+    private long grossCents;
+    private long lineDiscountCents;
+    private long netCents;
+
+    // Totales del documento; se recalculan al leerlos después de un cambio
+    private boolean stale;
+    private long documentDiscountCents;
+    private long subtotalCents;
+    private long taxCents;
+
+    // Trabajo hecho (para tests): líneas calculadas y grupos recorridos al refrescar
+    private long linesComputed;
+    private long groupsVisited;
+
+    public QuotePricing(PricingPolicy policy) {
+        this.policy = policy;
+        this.mode = policy.getRoundingMode();
+        this.documentDiscount = policy.getDocumentDiscount();
+    }
+
+    public PricingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Agrega o reemplaza una línea sin descuento y con el impuesto por defecto
+     */
+    public void setLine(K key, int quantity, long unitPriceCents) {
+        setLine(key, quantity, unitPriceCents, Discount.NONE, null);
+    }
+
+    /**
+     * Agrega o reemplaza una línea; taxRule null usa el impuesto por defecto de la política
+     */
+    public void setLine(K key, int quantity, long unitPriceCents, Discount discount, TaxRule taxRule) {
+        if (quantity < 0 || unitPriceCents < 0) {
+            throw new IllegalArgumentException("Cantidad y precio no pueden ser negativos");
+        }
+        TaxRule rule = taxRule != null ? taxRule : policy.getDefaultTax();
+        long gross = Money.times(unitPriceCents, quantity);
+        long discounted = Discount.apply(discount, gross, mode);
+        long net = gross - discounted;
+        long tax = policy.getTaxScope() == PricingPolicy.TaxScope.LINE ? rule.taxOn(net, mode) : 0;
+
+        linesComputed++;
+        Line line = new Line(rule, gross, discounted, net, tax);
+        Line previous = lines.put(key, line);
+        if (previous != null) {
+            subtract(previous);
+        }
+        add(line);
+    }
+
+    public boolean removeLine(K key) {
+        Line previous = lines.remove(key);
+        if (previous == null) {
+            return false;
+        }
+        subtract(previous);
+        return true;
+    }
+
+    public void clear() {
+        lines.clear();
+        groups.clear();
+        grossCents = 0;
+        lineDiscountCents = 0;
+        netCents = 0;
+        stale = true;
+    }
+
+    /**
+     * Cambia el descuento global; no recalcula las líneas
+     */
+    public void setDocumentDiscount(Discount discount) {
+        documentDiscount = discount != null ? discount : Discount.NONE;
+        stale = true;
+    }
+
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    /**
+     * Suma de cantidad x precio, antes de descuentos
+     */
+    public long getGrossCents() {
+        return grossCents;
+    }
+
+    public long getLineDiscountCents() {
+        return lineDiscountCents;
+    }
+
+    public long getDocumentDiscountCents() {
+        refresh();
+        return documentDiscountCents;
+    }
+
+    /**
+     * Base imponible: netos de las líneas menos el descuento del documento
+     */
+    public long getSubtotalCents() {
+        refresh();
+        return subtotalCents;
+    }
+
+    public long getTaxCents() {
+        refresh();
+        return taxCents;
+    }
+
+    public long getTotalCents() {
+        refresh();
+        return subtotalCents + taxCents;
+    }
+
+    long getLinesComputed() {
+        return linesComputed;
+    }
+
+    long getGroupsVisited() {
+        return groupsVisited;
+    }
+
+    private void add(Line line) {
+        Group group = groups.get(line.rule.getCode());
+        if (group == null) {
+            group = new Group(line.rule);
+            groups.put(line.rule.getCode(), group);
+        }
+        group.lines++;
+        group.netCents += line.netCents;
+        group.lineTaxCents += line.taxCents;
+        grossCents += line.grossCents;
+        lineDiscountCents += line.discountCents;
+        netCents += line.netCents;
+        stale = true;
+    }
+
+    private void subtract(Line line) {
+        Group group = groups.get(line.rule.getCode());
+        if (--group.lines == 0) {
+            groups.remove(line.rule.getCode());
+        } else {
+            group.netCents -= line.netCents;
+            group.lineTaxCents -= line.taxCents;
+        }
+        grossCents -= line.grossCents;
+        lineDiscountCents -= line.discountCents;
+        netCents -= line.netCents;
+        stale = true;
+    }
+
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        documentDiscountCents = Discount.apply(documentDiscount, netCents, mode);
+        Group[] byCode = groups.values().toArray(new Group[0]);
+        long[] shares = prorate(documentDiscountCents, byCode);
+        groupsVisited += byCode.length;
+        long tax = 0;
+        for (int i = 0; i < byCode.length; i++) {
+            Group group = byCode[i];
+            if (policy.getTaxScope() == PricingPolicy.TaxScope.DOCUMENT) {
+                tax += group.rule.taxOn(group.netCents - shares[i], mode);
+            } else {
+                tax += Math.max(0, group.lineTaxCents - group.rule.taxOn(shares[i], mode));
+            }
+        }
+        subtotalCents = netCents - documentDiscountCents;
+        taxCents = tax;
+        stale = false;
+    }
+
+    /**
+     * Reparte discount entre los grupos en proporción a su neto: cada uno recibe la parte
+     * entera y los céntimos sobrantes van a los de mayor resto (a igual resto, el de
+     * código menor)
+     */
+    private long[] prorate(long discount, Group[] byCode) {
+        long[] shares = new long[byCode.length];
+        if (discount == 0) {
+            return shares;
+        }
+        long[] remainders = new long[byCode.length];
+        long leftover = discount;
+        for (int i = 0; i < byCode.length; i++) {
+            shares[i] = Money.multiplyDivideFloor(discount, byCode[i].netCents, netCents);
+            remainders[i] = Money.multiplyMod(discount, byCode[i].netCents, netCents);
+            leftover -= shares[i];
+        }
+        for (; leftover > 0; leftover--) {
+            int largest = 0;
+            for (int i = 1; i < byCode.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            shares[largest]++;
+            remainders[largest] = -1;
+        }
+        return shares;
+    }
+
+    /**
+     * Importes ya calculados de una línea; se restan tal cual al editarla o quitarla
+     */
+    private static final class Line {
+        final TaxRule rule;
+        final long grossCents;
+        final long discountCents;
+        final long netCents;
+        final long taxCents; // Solo con impuesto por línea
+
+        Line(TaxRule rule, long grossCents, long discountCents, long netCents, long taxCents) {
+            this.rule = rule;
+            this.grossCents = grossCents;
+            this.discountCents = discountCents;
+            this.netCents = netCents;
+            this.taxCents = taxCents;
+        }
+    }
+
+    /**
+     * Acumulados de las líneas con un mismo impuesto
+     */
+    private static final class Group {
+        final TaxRule rule;
+        int lines;
+        long netCents;
+        long lineTaxCents;
+
+        Group(TaxRule rule) {
+            this.rule = rule;
+        }
+    }
+}
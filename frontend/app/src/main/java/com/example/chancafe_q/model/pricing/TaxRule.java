@@ -0,0 +1,52 @@
+package com.example.chancafe_q.model.pricing;
+
+import java.math.RoundingMode;
+
+/**
+ * Impuesto sobre una base imponible en céntimos
+ *
+ * Las líneas con la misma regla (mismo código) forman un grupo: con redondeo por
+ * documento el impuesto se calcula una vez sobre la base del grupo. Dos reglas con el
+ * mismo código deben calcular lo mismo.
+ */
+public interface TaxRule {
+
+    /**
+     * IGV de Perú, 18%
+     */
+    TaxRule IGV = percent("IGV", 1_800);
+
+    /**
+     * Operaciones exoneradas o inafectas
+     */
+    TaxRule EXEMPT = percent("EXO", 0);
+
+    String getCode();
+
+    long taxOn(long baseCents, RoundingMode mode);
+
+    /**
+     * Tasa fija en puntos básicos (1800 = 18%)
+     */
+    static TaxRule percent(String code, int basisPoints) {
+        if (basisPoints < 0) {
+            throw new IllegalArgumentException("Tasa negativa: " + basisPoints);
+        }
+        return new TaxRule() {
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public long taxOn(long baseCents, RoundingMode mode) {
+                return Money.percentOf(baseCents, basisPoints, mode);
+            }
+
+            @Override
+            public String toString() {
+                return code + " " + basisPoints / 100.0 + "%";
+            }
+        };
+    }
+}
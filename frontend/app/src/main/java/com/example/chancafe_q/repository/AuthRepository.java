@@ -18,6 +18,18 @@ public class AuthRepository {
     private static AuthRepository instance;
     private ApiService apiService;
 
+    // Sin mensaje propio: se publica la respuesta del backend tal cual
+    private final NetworkBoundResource<Void, LoginResponse> loginResource =
+            new NetworkBoundResource<Void, LoginResponse>(null)
+                    .withStore((key, data) -> {
+                        // Guardar token (y refresh token si viene) antes de avisar a la UI
+                        if (data != null && data.getToken() != null) {
+                            ApiClient.setTokens(data.getToken(), data.getRefreshToken());
+                        }
+                    });
+    private final NetworkBoundResource<Void, User> registerResource = new NetworkBoundResource<>(null);
+    private final NetworkBoundResource<Void, User> profileResource = new NetworkBoundResource<>(null);
+
     private AuthRepository() {
         apiService = ApiClient.getApiService();
     }
@@ -33,96 +45,22 @@ public class AuthRepository {
      * Realiza login con la API real
      */
     public MutableLiveData<ApiResponse<LoginResponse>> login(LoginRequest loginRequest) {
-        MutableLiveData<ApiResponse<LoginResponse>> result = new MutableLiveData<>();
-
-        Call<ApiResponse<LoginResponse>> call = apiService.login(loginRequest);
-        
-        call.enqueue(new Callback<ApiResponse<LoginResponse>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<LoginResponse>> call, Response<ApiResponse<LoginResponse>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<LoginResponse> apiResponse = response.body();
-                    
-                    // Guardar token si el login fue exitoso
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null && apiResponse.getData().getToken() != null) {
-                        ApiClient.setAuthToken(apiResponse.getData().getToken());
-                    }
-                    
-                    result.postValue(apiResponse);
-                } else {
-                    // Error de servidor
-                    ApiResponse<LoginResponse> errorResponse = new ApiResponse<>(
-                            false,
-                            "Error del servidor: " + response.code(),
-                            null,
-                            response.code()
-                    );
-                    result.postValue(errorResponse);
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ApiResponse<LoginResponse>> call, Throwable t) {
-                // Error de conexión
-                ApiResponse<LoginResponse> errorResponse = new ApiResponse<>(
-                        false,
-                        "Error de conexión: " + t.getMessage(),
-                        null,
-                        500
-                );
-                result.postValue(errorResponse);
-            }
-        });
-
-        return result;
+        return loginResource.fetch(apiService.login(loginRequest));
     }
 
     /**
      * Registra un nuevo usuario
      */
     public MutableLiveData<ApiResponse<User>> register(User user) {
-        MutableLiveData<ApiResponse<User>> result = new MutableLiveData<>();
-
-        Call<ApiResponse<User>> call = apiService.register(user);
-        
-        call.enqueue(new Callback<ApiResponse<User>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<User>> call, Response<ApiResponse<User>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    result.postValue(response.body());
-                } else {
-                    ApiResponse<User> errorResponse = new ApiResponse<>(
-                            false,
-                            "Error del servidor: " + response.code(),
-                            null,
-                            response.code()
-                    );
-                    result.postValue(errorResponse);
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ApiResponse<User>> call, Throwable t) {
-                ApiResponse<User> errorResponse = new ApiResponse<>(
-                        false,
-                        "Error de conexión: " + t.getMessage(),
-                        null,
-                        500
-                );
-                result.postValue(errorResponse);
-            }
-        });
-
-        return result;
+        return registerResource.fetch(apiService.register(user));
     }
 
     /**
      * Obtiene el perfil del usuario actual
      */
     public MutableLiveData<ApiResponse<User>> getUserProfile() {
-        MutableLiveData<ApiResponse<User>> result = new MutableLiveData<>();
-
         if (!ApiClient.isAuthenticated()) {
+            MutableLiveData<ApiResponse<User>> result = new MutableLiveData<>();
             ApiResponse<User> errorResponse = new ApiResponse<>(
                     false,
                     "No hay sesión activa",
@@ -133,42 +71,7 @@ public class AuthRepository {
             return result;
         }
 
-        Call<ApiResponse<User>> call = apiService.getUserProfile();
-        
-        call.enqueue(new Callback<ApiResponse<User>>() {
-            @Override
-            public void onResponse(Call<ApiResponse<User>> call, Response<ApiResponse<User>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    result.postValue(response.body());
-                } else {
-                    // Si es 401, limpiar el token
-                    if (response.code() == 401) {
-                        ApiClient.clearAuthToken();
-                    }
-                    
-                    ApiResponse<User> errorResponse = new ApiResponse<>(
-                            false,
-                            "Error del servidor: " + response.code(),
-                            null,
-                            response.code()
-                    );
-                    result.postValue(errorResponse);
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ApiResponse<User>> call, Throwable t) {
-                ApiResponse<User> errorResponse = new ApiResponse<>(
-                        false,
-                        "Error de conexión: " + t.getMessage(),
-                        null,
-                        500
-                );
-                result.postValue(errorResponse);
-            }
-        });
-
-        return result;
+        return profileResource.fetch(apiService.getUserProfile());
     }
 
     /**
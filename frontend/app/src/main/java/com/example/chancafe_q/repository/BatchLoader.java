@@ -0,0 +1,188 @@
+package com.example.chancafe_q.repository;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.model.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agrupa búsquedas individuales por id en una sola request (estilo DataLoader)
+ *
+ * Las llamadas a load(id) que llegan dentro de la misma ventana (un frame, ~16 ms) se
+ * juntan, se eliminan duplicados y se resuelven con una sola llamada al BatchFunction.
+ * Un id pedido varias veces en la misma ventana, o mientras su lote sigue en vuelo,
+ * recibe el mismo future y no cuesta nada adicional.
+ */
+public class BatchLoader<K, V> {
+
+    /**
+     * Carga un lote de ids; los ids ausentes en el resultado se resuelven con null
+     * Se invoca en un hilo de fondo, por lo que puede hacer I/O bloqueante
+     */
+    public interface BatchFunction<K, V> {
+        Map<K, V> load(List<K> keys) throws Exception;
+    }
+
+    private static final ScheduledExecutorService executor =
+            Executors.newScheduledThreadPool(3, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "batch-loader-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private final BatchFunction<K, V> batchFunction;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    // Pedidos de la ventana actual y lotes ya enviados que aún no responden
+    private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestedCount = new AtomicLong();
+    private final AtomicLong dedupedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    public BatchLoader(long windowMillis, int maxBatchSize, BatchFunction<K, V> batchFunction) {
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * Pide un id; el future se completa cuando llega el lote que lo contiene
+     */
+    public CompletableFuture<V> load(K key) {
+        requestedCount.incrementAndGet();
+
+        boolean scheduleFlush;
+        CompletableFuture<V> future;
+        synchronized (pending) {
+            future = pending.get(key);
+            if (future == null) {
+                future = inFlight.get(key);
+            }
+            if (future != null) {
+                dedupedCount.incrementAndGet();
+                return future;
+            }
+            future = new CompletableFuture<>();
+            scheduleFlush = pending.isEmpty();
+            pending.put(key, future);
+        }
+
+        if (scheduleFlush) {
+            executor.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Pide varios ids a la vez (quedan en la misma ventana)
+     */
+    public List<CompletableFuture<V>> loadMany(List<K> keys) {
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            futures.add(load(key));
+        }
+        return futures;
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (pending) {
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            inFlight.putAll(batch);
+        }
+
+        List<K> keys = new ArrayList<>(batch.keySet());
+        for (int start = 0; start < keys.size(); start += maxBatchSize) {
+            List<K> chunk = keys.subList(start, Math.min(keys.size(), start + maxBatchSize));
+            if (start == 0) {
+                dispatch(chunk, batch);
+            } else {
+                // Los lotes adicionales salen en paralelo
+                final List<K> copy = new ArrayList<>(chunk);
+                executor.execute(() -> dispatch(copy, batch));
+            }
+        }
+    }
+
+    private void dispatch(List<K> keys, Map<K, CompletableFuture<V>> batch) {
+        batchCount.incrementAndGet();
+        Map<K, V> result;
+        try {
+            result = batchFunction.load(Collections.unmodifiableList(keys));
+        } catch (Exception e) {
+            for (K key : keys) {
+                inFlight.remove(key);
+                batch.get(key).completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (K key : keys) {
+            inFlight.remove(key);
+            batch.get(key).complete(result != null ? result.get(key) : null);
+        }
+    }
+
+    /**
+     * Total de load() recibidos
+     */
+    public long getRequestedCount() {
+        return requestedCount.get();
+    }
+
+    /**
+     * load() que se resolvieron con un future ya existente (sin costo de red)
+     */
+    public long getDedupedCount() {
+        return dedupedCount.get();
+    }
+
+    /**
+     * Requests de lote enviadas
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Adapta el future al patrón de los repositorios: LiveData con ApiResponse
+     */
+    public static <V> MutableLiveData<ApiResponse<V>> toLiveData(CompletableFuture<V> future,
+                                                                 String successMessage,
+                                                                 String notFoundMessage) {
+        MutableLiveData<ApiResponse<V>> result = new MutableLiveData<>();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                result.postValue(new ApiResponse<>(false, "Error de conexión: " + cause.getMessage(), null, 500));
+            } else if (value == null) {
+                result.postValue(new ApiResponse<>(false, notFoundMessage, null, 404));
+            } else {
+                result.postValue(new ApiResponse<>(true, successMessage, value, 200));
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.model.Client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Índice en memoria de los clientes para los filtros del listado
+ *
+ * Cada cliente ocupa un slot y cada valor de cada campo indexado (estado, tipo, tipo
+ * de documento, asesor, departamento, tramo de crédito) tiene un BitSet con los slots
+ * que lo cumplen. Un filtro se resuelve con AND/OR/ANDNOT sobre esos bitmaps: con
+ * 100.000 clientes son ~1.600 palabras de 64 bits por operación, sin tocar la red ni
+ * recorrer los clientes. Solo al armar la lista resultado se leen los slots marcados.
+ *
+ * Los cambios son incrementales: put (alta o edición) mueve los bits del slot solo en
+ * los campos que cambiaron y remove libera el slot para la próxima alta. El orden del
+ * resultado es el de los slots: el de la lista con que se armó y las altas al final.
+ *
+ * Los valores indexados se copian al indexar, así que modificar después el Client (p.
+ * ej. la instancia compartida del IdentityMap) no desordena el índice hasta el próximo put.
+ *
+ * Los mismos slots alimentan la búsqueda por texto (ClientTextIndex), que puede
+ * combinarse con un filtro.
+ */
+public class ClientIndex {
+
+    /**
+     * Límites inferiores (en soles) de los tramos de límite de crédito
+     */
+    static final double[] CREDIT_BUCKETS = {0, 1_000, 5_000, 10_000, 25_000, 50_000, 100_000};
+
+    /**
+     * Campos indexados
+     */
+    public enum Field {
+        STATUS(Client::getStatus),
+        CLIENT_TYPE(Client::getClientType),
+        DOCUMENT_TYPE(Client::getDocumentType),
+        ASSIGNED_USER(Client::getAssignedUserId),
+        DEPARTMENT(Client::getDepartment),
+        CREDIT_BUCKET(client -> creditBucketOf(client.getCreditLimit()));
+
+        private final Function<Client, Object> extractor;
+
+        Field(Function<Client, Object> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private Client[] clients = new Client[64];
+    private double[] creditLimits = new double[64];
+    private Object[][] values = new Object[FIELDS.length][64]; // Valor indexado por campo y slot
+    private final List<Map<Object, BitSet>> bitmaps = new ArrayList<>(FIELDS.length);
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final ClientTextIndex text = new ClientTextIndex();
+    private boolean loaded;
+
+    public ClientIndex() {
+        for (int i = 0; i < FIELDS.length; i++) {
+            bitmaps.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Tramo de CREDIT_BUCKETS al que pertenece un límite de crédito
+     */
+    public static int creditBucketOf(double creditLimit) {
+        int bucket = Arrays.binarySearch(CREDIT_BUCKETS, creditLimit);
+        return bucket >= 0 ? bucket : Math.max(0, -bucket - 2);
+    }
+
+    /**
+     * Reemplaza todo el contenido (carga inicial o listado completo de la red)
+     */
+    public synchronized void replaceAll(Collection<Client> all) {
+        live.clear();
+        slotById.clear();
+        for (Map<Object, BitSet> field : bitmaps) {
+            field.clear();
+        }
+        Arrays.fill(clients, null);
+        for (Object[] fieldValues : values) {
+            Arrays.fill(fieldValues, null);
+        }
+        text.clear();
+        for (Client client : all) {
+            put(client);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Alta o edición; solo se mueven los bits de los campos que cambiaron
+     */
+    public synchronized void put(Client client) {
+        if (client == null) {
+            return;
+        }
+        Integer slot = slotById.get(client.getId());
+        if (slot == null) {
+            slot = live.nextClearBit(0);
+            ensureCapacity(slot + 1);
+            slotById.put(client.getId(), slot);
+            live.set(slot);
+            for (int f = 0; f < FIELDS.length; f++) {
+                Object value = FIELDS[f].extractor.apply(client);
+                values[f][slot] = value;
+                bitmap(f, value).set(slot);
+            }
+        } else {
+            for (int f = 0; f < FIELDS.length; f++) {
+                Object value = FIELDS[f].extractor.apply(client);
+                Object previous = values[f][slot];
+                if (!equal(previous, value)) {
+                    clearBit(f, previous, slot);
+                    values[f][slot] = value;
+                    bitmap(f, value).set(slot);
+                }
+            }
+        }
+        clients[slot] = client;
+        creditLimits[slot] = client.getCreditLimit();
+        text.put(slot, client);
+    }
+
+    public synchronized void putAll(Collection<Client> changed) {
+        for (Client client : changed) {
+            put(client);
+        }
+    }
+
+    public synchronized void remove(int clientId) {
+        Integer slot = slotById.remove(clientId);
+        if (slot == null) {
+            return;
+        }
+        for (int f = 0; f < FIELDS.length; f++) {
+            clearBit(f, values[f][slot], slot);
+            values[f][slot] = null;
+        }
+        live.clear(slot);
+        clients[slot] = null;
+        text.remove(slot);
+    }
+
+    /**
+     * Un alta local que recibió su id definitivo conserva su slot
+     */
+    public synchronized void changeId(int oldId, int newId) {
+        Integer slot = slotById.remove(oldId);
+        if (slot != null) {
+            slotById.put(newId, slot);
+        }
+    }
+
+    /**
+     * Indica si ya se cargó el contenido completo (replaceAll); antes de eso un filtro
+     * respondería sobre un subconjunto
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * El contenido dejó de estar al día (p. ej. una sincronización escribió en la base):
+     * la próxima consulta debe recargarlo con replaceAll
+     */
+    public synchronized void markStale() {
+        loaded = false;
+    }
+
+    public synchronized int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Clientes que cumplen el filtro, en el orden de los slots
+     */
+    public synchronized List<Client> query(Filter filter) {
+        BitSet matches = filter.evaluate(this);
+        List<Client> result = new ArrayList<>(matches.cardinality());
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            result.add(clients[slot]);
+        }
+        return result;
+    }
+
+    /**
+     * Búsqueda aproximada por nombre, razón social, documento, email o teléfono, sin
+     * tildes ni mayúsculas, de la mejor coincidencia a la peor
+     * filter restringe los candidatos (null: todos los clientes)
+     */
+    public synchronized List<Client> search(String query, Filter filter, int limit) {
+        int[] slots = text.search(query, filter != null ? filter.evaluate(this) : null, limit);
+        List<Client> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(clients[slot]);
+        }
+        return result;
+    }
+
+    /**
+     * Candidatos que la última búsqueda comparó con el texto (acotado, sin importar el tamaño)
+     */
+    synchronized int getLastSearchVerifiedCount() {
+        return text.getLastVerifiedCount();
+    }
+
+    public synchronized int count(Filter filter) {
+        return filter.evaluate(this).cardinality();
+    }
+
+    /**
+     * Cantidad de clientes por valor de un campo (p. ej. por estado), para estadísticas
+     */
+    public synchronized Map<Object, Integer> countBy(Field field) {
+        Map<Object, Integer> counts = new HashMap<>();
+        for (Map.Entry<Object, BitSet> entry : bitmaps.get(field.ordinal()).entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+
+    private BitSet bitmap(int field, Object value) {
+        return bitmaps.get(field).computeIfAbsent(value, key -> new BitSet());
+    }
+
+    private void clearBit(int field, Object value, int slot) {
+        BitSet bits = bitmaps.get(field).get(value);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                bitmaps.get(field).remove(value);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= clients.length) {
+            return;
+        }
+        int grown = Math.max(capacity, clients.length * 2);
+        clients = Arrays.copyOf(clients, grown);
+        creditLimits = Arrays.copyOf(creditLimits, grown);
+        for (int f = 0; f < FIELDS.length; f++) {
+            values[f] = Arrays.copyOf(values[f], grown);
+        }
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Filtro componible; se evalúa a un BitSet nuevo con los slots que lo cumplen
+     */
+    public abstract static class Filter {
+
+        abstract BitSet evaluate(ClientIndex index);
+
+        /**
+         * Todos los clientes
+         */
+        public static Filter all() {
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    return (BitSet) index.live.clone();
+                }
+            };
+        }
+
+        /**
+         * El campo vale alguno de los valores (OR dentro del campo)
+         */
+        public static Filter is(Field field, Object... accepted) {
+            Object[] copy = accepted.clone();
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    BitSet result = new BitSet();
+                    Map<Object, BitSet> fieldBitmaps = index.bitmaps.get(field.ordinal());
+                    for (Object value : copy) {
+                        BitSet bits = fieldBitmaps.get(value);
+                        if (bits != null) {
+                            result.or(bits);
+                        }
+                    }
+                    return result;
+                }
+            };
+        }
+
+        /**
+         * Límite de crédito en [min, max): los tramos completos salen de sus bitmaps y
+         * solo los slots de los tramos de los bordes se comparan uno a uno
+         */
+        public static Filter creditBetween(double min, double max) {
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    BitSet result = new BitSet();
+                    if (!(min < max)) {
+                        return result;
+                    }
+                    Map<Object, BitSet> buckets = index.bitmaps.get(Field.CREDIT_BUCKET.ordinal());
+                    int first = creditBucketOf(min);
+                    int last = creditBucketOf(Math.nextDown(max));
+                    for (int bucket = first; bucket <= last; bucket++) {
+                        BitSet bits = buckets.get(bucket);
+                        if (bits == null) {
+                            continue;
+                        }
+                        boolean whole = CREDIT_BUCKETS[bucket] >= min && (bucket + 1 < CREDIT_BUCKETS.length
+                                ? CREDIT_BUCKETS[bucket + 1] <= max : max == Double.POSITIVE_INFINITY);
+                        if (whole) {
+                            result.or(bits);
+                            continue;
+                        }
+                        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                            double credit = index.creditLimits[slot];
+                            if (credit >= min && credit < max) {
+                                result.set(slot);
+                            }
+                        }
+                    }
+                    return result;
+                }
+            };
+        }
+
+        public static Filter and(Filter... filters) {
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    if (filters.length == 0) {
+                        return (BitSet) index.live.clone();
+                    }
+                    BitSet result = filters[0].evaluate(index);
+                    for (int i = 1; i < filters.length && !result.isEmpty(); i++) {
+                        result.and(filters[i].evaluate(index));
+                    }
+                    return result;
+                }
+            };
+        }
+
+        public static Filter or(Filter... filters) {
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    BitSet result = new BitSet();
+                    for (Filter filter : filters) {
+                        result.or(filter.evaluate(index));
+                    }
+                    return result;
+                }
+            };
+        }
+
+        public static Filter not(Filter filter) {
+            return new Filter() {
+                @Override
+                BitSet evaluate(ClientIndex index) {
+                    BitSet result = (BitSet) index.live.clone();
+                    result.andNot(filter.evaluate(index));
+                    return result;
+                }
+            };
+        }
+    }
+}
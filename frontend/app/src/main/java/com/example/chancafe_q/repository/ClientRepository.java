@@ -1,24 +1,149 @@
 package com.example.chancafe_q.repository;
 
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.dao.ClientDao;
+import com.example.chancafe_q.data.local.entity.ClientEntity;
+import com.example.chancafe_q.data.local.entity.ClientStamp;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
 import com.example.chancafe_q.data.remote.ApiClient;
 import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.data.remote.PriorityScheduler;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.data.remote.StreamingListDecoder;
+import com.example.chancafe_q.data.remote.json.IdentityMap;
 import com.example.chancafe_q.model.ApiResponse;
 import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.ClientPage;
 import com.example.chancafe_q.utils.NetworkUtils;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
 
 /**
  * Repositorio para manejo de clientes con la API
  * Ejemplo de uso de NetworkUtils para simplificar las llamadas
+ *
+ * Si hay base local (Room), el listado es cache-first: se muestran las filas guardadas
+ * al instante, se refresca desde la red en segundo plano y solo se escribe el diff.
+ * Las altas y ediciones se aplican primero en la base local y se encolan en el outbox,
+ * que las envía cuando hay conexión.
  */
 public class ClientRepository {
+    private static final String TAG = "ClientRepository";
+    private static final int FIRST_CHUNK_SIZE = 50;
+    private static final int MAX_CHUNK_SIZE = 2000;
+    private static final long BATCH_WINDOW_MS = 16; // Un frame
+    private static final int MAX_BATCH_SIZE = 100;
+
     private static ClientRepository instance;
     private ApiService apiService;
+    private final ClientDao clientDao; // null sin base local
+    private final SyncEngine syncEngine; // null sin base local
+    private final Outbox outbox; // null sin base local
+    private final Gson gson = ApiClient.getGson();
+    private final StreamingListDecoder<Client> clientDecoder;
+    private final ExecutorService streamExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private MutableLiveData<ApiResponse<List<Client>>> clientsInFlight;
+    // Restaura por lotes los clientes cuyo cambio descartó el outbox
+    private final BatchLoader<Integer, Client> clientLoader;
+    // Cambia cada vez que se escriben clientes en la base local
+    private final MutableLiveData<Long> localClientsVersion = new MutableLiveData<>();
+    // Filtros del listado sin red; se mantiene al día con cada escritura local
+    private final ClientIndex clientIndex = new ClientIndex();
+
+    // Recursos de red: se configuran una vez y cada llamada solo crea su resultado
+    private final NetworkBoundResource<Integer, Client> clientById;
+    private final NetworkBoundResource<String, Client> clientByDocument;
+    private final NetworkBoundResource<Void, ClientPage> clientsPage =
+            new NetworkBoundResource<>("Clientes obtenidos exitosamente");
+    private final NetworkBoundResource<Void, List<Client>> activeClients =
+            new NetworkBoundResource<>("Clientes activos obtenidos exitosamente");
+    private final NetworkBoundResource<Void, List<Client>> clientsByType =
+            new NetworkBoundResource<>("Clientes por tipo obtenidos exitosamente");
+    private final NetworkBoundResource<Void, Object> clientStats =
+            new NetworkBoundResource<Void, Object>("Estadísticas obtenidas exitosamente")
+                    .withPriority(RequestPriority.PREFETCH);
+    private final NetworkBoundResource<Client, Client> clientCreated;
+    private final NetworkBoundResource<Client, Client> clientUpdated;
+    private final NetworkBoundResource<Integer, Void> clientDeleted;
+    private final NetworkBoundResource<Integer, Client> clientStatusChanged;
+    private final NetworkBoundResource<Integer, Client> creditLimitUpdated;
 
     private ClientRepository() {
-        apiService = ApiClient.getApiService();
+        this(ApiClient.getApiService(), localClientDao(), SyncEngine.getInstance(), Outbox.getInstance());
+    }
+
+    ClientRepository(ApiService apiService, ClientDao clientDao, SyncEngine syncEngine, Outbox outbox) {
+        this.apiService = apiService;
+        this.clientDao = clientDao;
+        this.syncEngine = syncEngine;
+        this.outbox = clientDao != null ? outbox : null;
+        clientDecoder = new StreamingListDecoder<>(ApiClient.getGson(), Client.class, FIRST_CHUNK_SIZE, MAX_CHUNK_SIZE);
+        clientLoader = new BatchLoader<>(BATCH_WINDOW_MS, MAX_BATCH_SIZE,
+                new IdBatchFetcher<>(ids -> apiService.getClientsByIds(ids), clientDecoder, Client::getId));
+        if (this.outbox != null) {
+            this.outbox.setListener(SyncEngine.CLIENTS, new OutboxListener());
+        }
+
+        clientById = new NetworkBoundResource<Integer, Client>("Cliente obtenido exitosamente")
+                .withFetcher(apiService::getClientById)
+                .withStore(new ClientByIdStore())
+                .withFreshness(SyncEngine.CLIENTS);
+        clientByDocument = new NetworkBoundResource<String, Client>("Cliente encontrado")
+                .withFetcher(apiService::getClientByDocument)
+                .withStore(new ClientByDocumentStore())
+                .withFreshness(SyncEngine.CLIENTS);
+        // El backend envuelve el cliente; sin id no se puede guardar (lo trae la próxima sincronización)
+        clientCreated = new NetworkBoundResource<Client, Client>("Cliente creado exitosamente")
+                .withSuccessCode(201)
+                .withStore((sent, data) -> {
+                    if (data != null && data.getId() > 0) {
+                        upsertLocal(data);
+                    }
+                });
+        // Si la respuesta no trae el cliente se guarda el que se envió
+        clientUpdated = new NetworkBoundResource<Client, Client>("Cliente actualizado exitosamente")
+                .withStore((sent, data) -> {
+                    Client saved = data != null && data.getId() == sent.getId() ? data : sent;
+                    if (saved.getId() > 0) {
+                        upsertLocal(saved);
+                    }
+                });
+        clientDeleted = new NetworkBoundResource<Integer, Void>("Cliente eliminado exitosamente")
+                .withStore((clientId, data) -> {
+                    clientIndex.remove(clientId);
+                    if (clientDao != null) {
+                        clientDao.deleteById(clientId);
+                        localClientsVersion.postValue(System.currentTimeMillis());
+                    }
+                });
+        clientStatusChanged = new NetworkBoundResource<Integer, Client>("Status del cliente actualizado exitosamente")
+                .withStore(this::saveReturnedClient);
+        creditLimitUpdated = new NetworkBoundResource<Integer, Client>("Límite de crédito actualizado exitosamente")
+                .withStore(this::saveReturnedClient);
     }
 
     public static synchronized ClientRepository getInstance() {
@@ -28,413 +153,767 @@ public class ClientRepository {
         return instance;
     }
 
+    private static ClientDao localClientDao() {
+        AppDatabase database = AppDatabase.getInstanceIfCreated();
+        return database != null ? database.clientDao() : null;
+    }
+
+    /**
+     * Indica si hay base local (los listados pueden mostrarse sin conexión)
+     */
+    public boolean hasLocalStore() {
+        return clientDao != null;
+    }
+
+    /**
+     * Indica si las altas y ediciones se encolan (funcionan sin conexión)
+     */
+    public boolean queuesMutations() {
+        return outbox != null;
+    }
+
+    /**
+     * Cambios de clientes que el backend rechazó, para reintentar o descartar
+     */
+    public LiveData<List<OutboxEntity>> getOutboxConflicts() {
+        return outbox != null ? outbox.getConflicts() : new MutableLiveData<>(Collections.emptyList());
+    }
+
+    public void retryOutboxEntry(long entryId) {
+        if (outbox != null) {
+            outbox.retry(entryId);
+        }
+    }
+
+    public void discardOutboxEntry(long entryId) {
+        if (outbox != null) {
+            outbox.discard(entryId);
+        }
+    }
+
+    /**
+     * Se publica después de cada escritura en la base local (sincronización o edición)
+     * Las listas que leen de la base lo observan para volver a leer sus páginas
+     */
+    public LiveData<Long> getLocalClientsVersion() {
+        return localClientsVersion;
+    }
+
     /**
      * Obtiene todos los clientes
+     * Si hay filas locales se publican primero (código 206); la lista de la red se
+     * decodifica en streaming (parciales 206 solo si no había caché) y al final se
+     * publica completa (código 200) y se guarda el diff en la base local.
+     * Si ya hay una carga en curso, se devuelve el mismo LiveData.
      */
-    public MutableLiveData<ApiResponse<List<Client>>> getClients() {
+    public synchronized MutableLiveData<ApiResponse<List<Client>>> getClients() {
+        if (clientsInFlight != null) {
+            return clientsInFlight;
+        }
+
         MutableLiveData<ApiResponse<List<Client>>> result = new MutableLiveData<>();
+        clientsInFlight = result;
 
-        NetworkUtils.executeCall(
-            apiService.getAllClients(),
-            new NetworkUtils.ApiCallback<List<Client>>() {
-                @Override
-                public void onSuccess(List<Client> data) {
-                    ApiResponse<List<Client>> response = new ApiResponse<>(
-                        true, 
-                        "Clientes obtenidos exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
+        Call<ResponseBody> call = apiService.streamAllClients();
+        LoadState state = new LoadState();
+        if (clientDao != null) {
+            diskExecutor.execute(() -> postCachedClients(result, state));
+        }
+        streamExecutor.execute(() -> {
+            try {
+                streamClients(call, result, state);
+            } finally {
+                synchronized (ClientRepository.this) {
+                    clientsInFlight = null;
                 }
+            }
+        });
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<List<Client>> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+        return result;
+    }
+
+    /**
+     * Trae a la base local solo los clientes creados, modificados o borrados desde la
+     * última sincronización; si algo cambió, las listas locales vuelven a leer sus páginas
+     */
+    public void syncClients() {
+        if (syncEngine == null) {
+            return;
+        }
+        syncEngine.syncAsync(SyncEngine.CLIENTS, new NetworkUtils.ApiCallback<SyncEngine.SyncResult>() {
+            @Override
+            public void onSuccess(SyncEngine.SyncResult result) {
+                if (result.getChangedCount() > 0) {
+                    clientIndex.markStale(); // Se recarga de la base en el próximo filtro
+                    clientById.invalidateAll();
+                    clientByDocument.invalidateAll();
+                    localClientsVersion.postValue(System.currentTimeMillis());
                 }
             }
-        );
 
-        return result;
+            @Override
+            public void onError(String message, int errorCode) {
+                Log.w(TAG, message);
+            }
+        });
     }
 
     /**
-     * Obtiene un cliente específico por ID
+     * Publica las filas locales mientras la red sigue en curso
      */
-    public MutableLiveData<ApiResponse<Client>> getClient(int clientId) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
+    private void postCachedClients(MutableLiveData<ApiResponse<List<Client>>> result, LoadState state) {
+        List<Client> cached;
+        try {
+            cached = toModels(clientDao.getAll());
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Local client read failed", e);
+            return;
+        }
+        if (cached.isEmpty()) {
+            return;
+        }
+        synchronized (state) {
+            // Si la red ya respondió, la caché llegaría tarde y pisaría datos nuevos
+            if (!state.networkDone) {
+                state.showingCache.set(true);
+                result.postValue(new ApiResponse<>(
+                    true,
+                    "Clientes guardados, actualizando...",
+                    Collections.unmodifiableList(cached),
+                    206
+                ));
+            }
+        }
+    }
 
-        NetworkUtils.executeCall(
-            apiService.getClientById(clientId),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Cliente obtenido exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
+    private void streamClients(Call<ResponseBody> call, MutableLiveData<ApiResponse<List<Client>>> result,
+                               LoadState state) {
+        try {
+            Response<ResponseBody> response = call.execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                if (response.code() == 401) {
+                    ApiClient.clearAuthToken();
                 }
+                postFinal(result, state, new ApiResponse<>(
+                    false,
+                    NetworkUtils.getHttpErrorMessage(response.code()),
+                    null,
+                    response.code()
+                ));
+                return;
+            }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+            // Solo se publica el primer bloque y la lista final: copiar lo cargado en cada
+            // bloque costaría O(n²) y postValue descartaría casi todas esas copias
+            List<Client> loaded = new ArrayList<>();
+            boolean[] firstPagePosted = {false};
+            ApiResponse<Integer> envelope = clientDecoder.decode(response.body(), chunk -> {
+                loaded.addAll(chunk);
+                if (firstPagePosted[0] || state.showingCache.get()) {
+                    return; // Una lista parcial más corta que la caché sería un retroceso
+                }
+                firstPagePosted[0] = true;
+                result.postValue(new ApiResponse<>(
+                    true,
+                    "Cargando clientes...",
+                    Collections.unmodifiableList(new ArrayList<>(chunk)),
+                    206
+                ));
+            });
+
+            if (envelope.isSuccess()) {
+                postFinal(result, state, new ApiResponse<>(
+                    true,
+                    "Clientes obtenidos exitosamente",
+                    Collections.unmodifiableList(loaded),
+                    200
+                ));
+                if (clientDao != null) {
+                    diskExecutor.execute(() -> syncLocalClients(loaded));
+                } else {
+                    clientIndex.replaceAll(loaded);
                 }
+            } else {
+                postFinal(result, state, new ApiResponse<>(
+                    false,
+                    envelope.getMessage(),
+                    null,
+                    envelope.getCode()
+                ));
             }
-        );
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Client stream failed", e);
+            postFinal(result, state, new ApiResponse<>(
+                false,
+                "Error de conexión: " + e.getMessage(),
+                null,
+                500
+            ));
+        }
+    }
 
-        return result;
+    private static void postFinal(MutableLiveData<ApiResponse<List<Client>>> result, LoadState state,
+                                  ApiResponse<List<Client>> response) {
+        synchronized (state) {
+            state.networkDone = true;
+            result.postValue(response);
+        }
     }
 
     /**
-     * Crea un nuevo cliente
+     * Escribe en la base local solo lo que cambió respecto a la lista del backend:
+     * filas nuevas o con otro updated_at se actualizan y las que ya no existen se borran
+     * Devuelve el número de filas escritas o borradas
      */
-    public MutableLiveData<ApiResponse<Client>> createClient(Client client) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
-
-        NetworkUtils.logRequest("POST", "clients", client);
-
-        NetworkUtils.executeCall(
-            apiService.createClient(client),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Cliente creado exitosamente", 
-                        data, 
-                        201
-                    );
-                    result.postValue(response);
+    int syncLocalClients(List<Client> remote) {
+        try {
+            // Las altas sin enviar (id negativo) y las filas con cambios en el outbox no se tocan
+            Set<Integer> pending = outbox != null ? outbox.getPendingTargetIds(SyncEngine.CLIENTS) : Collections.emptySet();
+            Map<Integer, Long> localStamps = new HashMap<>();
+            for (ClientStamp stamp : clientDao.getStamps()) {
+                if (stamp.id > 0 && !pending.contains(stamp.id)) {
+                    localStamps.put(stamp.id, stamp.updatedAt);
                 }
+            }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+            List<ClientEntity> upserts = new ArrayList<>();
+            List<Client> changed = new ArrayList<>();
+            for (Client client : remote) {
+                if (pending.contains(client.getId())) {
+                    continue;
+                }
+                boolean known = localStamps.containsKey(client.getId());
+                Long localStamp = localStamps.remove(client.getId());
+                Long remoteStamp = client.getUpdatedAt() != null ? client.getUpdatedAt().getTime() : null;
+                // Sin updated_at no hay forma de saber si cambió: se reescribe
+                if (!known || remoteStamp == null || !Objects.equals(localStamp, remoteStamp)) {
+                    upserts.add(ClientEntity.fromModel(client));
+                    changed.add(client);
                 }
             }
-        );
+            List<Integer> deletedIds = new ArrayList<>(localStamps.keySet());
 
-        return result;
+            if (upserts.isEmpty() && deletedIds.isEmpty()) {
+                return 0;
+            }
+            clientDao.applyDiff(upserts, deletedIds);
+            clientIndex.putAll(changed);
+            for (int deletedId : deletedIds) {
+                clientIndex.remove(deletedId);
+            }
+            localClientsVersion.postValue(System.currentTimeMillis());
+            return upserts.size() + deletedIds.size();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Local client sync failed", e);
+            return 0;
+        }
     }
 
     /**
-     * Actualiza un cliente existente
+     * Guarda un cliente local tras una escritura exitosa en el backend
      */
-    public MutableLiveData<ApiResponse<Client>> updateClient(int clientId, Client client) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
+    private void saveLocal(Client saved) {
+        clientIndex.put(saved);
+        updateLocal(() -> clientDao.upsert(ClientEntity.fromModel(saved)));
+    }
 
-        NetworkUtils.logRequest("PUT", "clients/" + clientId, client);
+    /**
+     * Olvida las copias en memoria de un cliente que se modificó (los documentos no se
+     * conocen por id, así que se olvidan todos)
+     */
+    private void forgetClient(int clientId) {
+        clientById.invalidate(clientId);
+        clientByDocument.invalidateAll();
+    }
 
-        NetworkUtils.executeCall(
-            apiService.updateClient(clientId, client),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Cliente actualizado exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
-                }
+    /**
+     * Lleva un cliente que llegó de la red a las cotizaciones y solicitudes en memoria
+     * que lo comparten y, con base local, lo guarda; corre en el executor de disco del pipeline
+     */
+    private void upsertLocal(Client client) {
+        IdentityMap.getInstance().refresh(Client.class, client);
+        clientIndex.put(client);
+        if (clientDao == null) {
+            return;
+        }
+        clientDao.upsert(ClientEntity.fromModel(client));
+        localClientsVersion.postValue(System.currentTimeMillis());
+    }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
-                }
+    /**
+     * Guarda el cliente que devolvió una escritura si es el que se modificó
+     * Si la respuesta no lo trae, la próxima sincronización trae el cambio
+     */
+    private void saveReturnedClient(int clientId, Client data) {
+        if (data != null && data.getId() == clientId) {
+            upsertLocal(data);
+        }
+    }
+
+    private void updateLocal(Runnable write) {
+        if (clientDao == null) {
+            return;
+        }
+        diskExecutor.execute(() -> {
+            try {
+                write.run();
+                localClientsVersion.postValue(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local client write failed", e);
             }
-        );
+        });
+    }
 
+    /**
+     * Aplica un cambio en la base local y lo encola en el outbox en una sola transacción
+     * Responde 202 sin esperar a la red; el envío y los conflictos los maneja el outbox
+     */
+    private MutableLiveData<ApiResponse<Client>> enqueueMutation(String message, Supplier<Client> change) {
+        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
+        diskExecutor.execute(() -> {
+            try {
+                AtomicReference<Client> applied = new AtomicReference<>();
+                outbox.commit(() -> applied.set(change.get()));
+                clientIndex.put(applied.get());
+                localClientsVersion.postValue(System.currentTimeMillis());
+                result.postValue(new ApiResponse<>(true, message, applied.get(), 202));
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local client mutation failed", e);
+                result.postValue(new ApiResponse<>(false, "No se pudo guardar el cambio", null, 500));
+            }
+        });
         return result;
     }
 
+    private Client localClient(int clientId) {
+        ClientEntity entity = clientDao.getById(clientId);
+        return entity != null ? entity.toModel() : null;
+    }
+
+    private static List<Client> toModels(List<ClientEntity> entities) {
+        List<Client> clients = new ArrayList<>(entities.size());
+        for (ClientEntity entity : entities) {
+            clients.add(entity.toModel());
+        }
+        return clients;
+    }
+
     /**
-     * Elimina un cliente
+     * Obtiene una página de clientes (page empieza en 1)
      */
-    public MutableLiveData<ApiResponse<Void>> deleteClient(int clientId) {
-        MutableLiveData<ApiResponse<Void>> result = new MutableLiveData<>();
+    public MutableLiveData<ApiResponse<ClientPage>> getClientsPage(int page, int limit) {
+        return clientsPage.fetch(apiService.getClientsPage(page, limit));
+    }
 
-        NetworkUtils.logRequest("DELETE", "clients/" + clientId, null);
+    /**
+     * Crea una lista paginada de clientes con ventana acotada de páginas en memoria
+     * Las respuestas se entregan en mainExecutor (el hilo principal en la app)
+     */
+    public PagingSource<Client> newClientPagingSource(int pageSize, int maxPages, int prefetchDistance,
+                                                      Executor mainExecutor) {
+        return new PagingSource<>(pageSize, maxPages, prefetchDistance, this::loadClientsPage, mainExecutor);
+    }
 
-        NetworkUtils.executeCall(
-            apiService.deleteClient(clientId),
-            new NetworkUtils.ApiCallback<Void>() {
-                @Override
-                public void onSuccess(Void data) {
-                    ApiResponse<Void> response = new ApiResponse<>(
-                        true, 
-                        "Cliente eliminado exitosamente", 
-                        null, 
-                        200
-                    );
-                    result.postValue(response);
+    /**
+     * Búsqueda por documento mientras se escribe; con base local responde sin red si el
+     * cliente ya está guardado
+     */
+    public ClientSearch newClientSearch(long debounceMillis, int minLength, Executor mainExecutor) {
+        return new ClientSearch(debounceMillis, minLength, new ClientSearch.Lookup() {
+            @Override
+            public Client findLocal(String document) {
+                if (clientDao == null) {
+                    return null;
                 }
-
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Void> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+                try {
+                    ClientEntity entity = clientDao.getByDocument(document);
+                    return entity != null ? entity.toModel() : null;
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Local client search failed", e);
+                    return null;
                 }
             }
-        );
 
-        return result;
+            @Override
+            public Call<ApiResponse<Client>> newRemoteCall(String document) {
+                return apiService.getClientByDocument(document);
+            }
+        }, Executors.newSingleThreadScheduledExecutor(), mainExecutor);
     }
 
-    /**
-     * Obtiene clientes activos
-     */
-    public MutableLiveData<ApiResponse<List<Client>>> getActiveClients() {
-        MutableLiveData<ApiResponse<List<Client>>> result = new MutableLiveData<>();
+    private void loadClientsPage(int page, int pageSize, RequestPriority priority,
+                                 PagingSource.PageCallback<Client> callback) {
+        if (clientDao == null) {
+            loadRemoteClientsPage(page, pageSize, priority, callback);
+            return;
+        }
+        // Con clientes guardados las páginas salen de la base local (milisegundos)
+        diskExecutor.execute(() -> {
+            try {
+                int totalCount = clientDao.count();
+                if (totalCount > 0) {
+                    callback.onPage(toModels(clientDao.getPage((page - 1) * pageSize, pageSize)), totalCount);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local client page failed", e);
+            }
+            loadRemoteClientsPage(page, pageSize, priority, callback);
+        });
+    }
 
+    private void loadRemoteClientsPage(int page, int pageSize, RequestPriority priority,
+                                       PagingSource.PageCallback<Client> callback) {
         NetworkUtils.executeCall(
-            apiService.getActiveClients(),
-            new NetworkUtils.ApiCallback<List<Client>>() {
+            apiService.getClientsPage(page, pageSize),
+            priority,
+            new NetworkUtils.ApiCallback<ClientPage>() {
                 @Override
-                public void onSuccess(List<Client> data) {
-                    ApiResponse<List<Client>> response = new ApiResponse<>(
-                        true, 
-                        "Clientes activos obtenidos exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
+                public void onSuccess(ClientPage data) {
+                    List<Client> clients = data != null && data.getClients() != null
+                            ? data.getClients() : Collections.<Client>emptyList();
+                    // Sin metadatos de paginación el backend devolvió la lista completa
+                    int totalCount = data != null && data.getPagination() != null
+                            ? data.getPagination().getTotalCount()
+                            : (page - 1) * pageSize + clients.size();
+                    callback.onPage(clients, totalCount);
                 }
 
                 @Override
                 public void onError(String message, int errorCode) {
-                    ApiResponse<List<Client>> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+                    callback.onError(message, errorCode);
                 }
             }
         );
+    }
 
-        return result;
+    /**
+     * Obtiene un cliente específico por ID
+     */
+    public MutableLiveData<ApiResponse<Client>> getClient(int clientId) {
+        return clientById.load(clientId);
+    }
+
+    /**
+     * Crea un nuevo cliente
+     */
+    public MutableLiveData<ApiResponse<Client>> createClient(Client client) {
+        if (outbox != null) {
+            String payload = gson.toJson(client);
+            return enqueueMutation("Cliente guardado", () -> {
+                // Id temporal negativo hasta que el backend asigne el definitivo
+                Integer minId = clientDao.minId();
+                int localId = Math.min(minId != null ? minId : 0, 0) - 1;
+                Client local = gson.fromJson(payload, Client.class);
+                local.setId(localId);
+                clientDao.upsert(ClientEntity.fromModel(local));
+                outbox.enqueue(OutboxOperation.CLIENT_CREATE, localId, payload);
+                return local;
+            });
+        }
+
+        NetworkUtils.logRequest("POST", "clients", client);
+
+        return clientCreated.fetch(client, apiService.createClient(client));
+    }
+
+    /**
+     * Actualiza un cliente existente
+     */
+    public MutableLiveData<ApiResponse<Client>> updateClient(int clientId, Client client) {
+        forgetClient(clientId);
+        if (outbox != null) {
+            String payload = gson.toJson(client);
+            return enqueueMutation("Cliente actualizado", () -> {
+                Client local = gson.fromJson(payload, Client.class);
+                local.setId(clientId);
+                clientDao.upsert(ClientEntity.fromModel(local));
+                outbox.enqueue(OutboxOperation.CLIENT_UPDATE, clientId, payload);
+                return local;
+            });
+        }
+
+        NetworkUtils.logRequest("PUT", "clients/" + clientId, client);
+
+        return clientUpdated.fetch(client, apiService.updateClient(clientId, client));
+    }
+
+    /**
+     * Elimina un cliente
+     */
+    public MutableLiveData<ApiResponse<Void>> deleteClient(int clientId) {
+        forgetClient(clientId);
+        NetworkUtils.logRequest("DELETE", "clients/" + clientId, null);
+
+        return clientDeleted.fetch(clientId, apiService.deleteClient(clientId));
+    }
+
+    /**
+     * Obtiene clientes activos
+     */
+    public MutableLiveData<ApiResponse<List<Client>>> getActiveClients() {
+        return activeClients.fetch(apiService.getActiveClients());
     }
 
     /**
      * Obtiene clientes por tipo
      */
     public MutableLiveData<ApiResponse<List<Client>>> getClientsByType(String type) {
-        MutableLiveData<ApiResponse<List<Client>>> result = new MutableLiveData<>();
+        return clientsByType.fetch(apiService.getClientsByType(type));
+    }
 
-        NetworkUtils.executeCall(
-            apiService.getClientsByType(type),
-            new NetworkUtils.ApiCallback<List<Client>>() {
-                @Override
-                public void onSuccess(List<Client> data) {
-                    ApiResponse<List<Client>> response = new ApiResponse<>(
-                        true, 
-                        "Clientes de tipo " + type + " obtenidos exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
-                }
+    /**
+     * Clientes que cumplen una combinación de filtros (estado, tipo, documento, asesor,
+     * departamento, crédito), resuelta con el índice en memoria sin ir a la red
+     * El índice se arma una vez desde la base local o, sin ella, desde el listado completo
+     */
+    public MutableLiveData<ApiResponse<List<Client>>> filterClients(ClientIndex.Filter filter) {
+        return fromIndex(() -> new ApiResponse<>(true, "Clientes filtrados",
+                Collections.unmodifiableList(clientIndex.query(filter)), 200));
+    }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<List<Client>> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+    /**
+     * Búsqueda aproximada por nombre, razón social, documento, email o teléfono con el
+     * índice en memoria (pensada para cada tecla); filter puede ser null
+     */
+    public MutableLiveData<ApiResponse<List<Client>>> searchClients(String query, ClientIndex.Filter filter, int limit) {
+        return fromIndex(() -> new ApiResponse<>(true, "Clientes encontrados",
+                Collections.unmodifiableList(clientIndex.search(query, filter, limit)), 200));
+    }
+
+    private MutableLiveData<ApiResponse<List<Client>>> fromIndex(Supplier<ApiResponse<List<Client>>> answer) {
+        MutableLiveData<ApiResponse<List<Client>>> result = new MutableLiveData<>();
+        if (clientIndex.isLoaded()) {
+            result.postValue(answer.get());
+            return result;
+        }
+        if (clientDao == null) {
+            loadIndexFromNetwork(answer, result);
+            return result;
+        }
+        diskExecutor.execute(() -> {
+            try {
+                if (!clientIndex.isLoaded()) { // Otra consulta pudo cargarlo mientras tanto
+                    List<Client> local = toModels(clientDao.getAll());
+                    if (!local.isEmpty()) {
+                        clientIndex.replaceAll(local);
+                    }
                 }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local client index load failed", e);
             }
-        );
-
+            if (clientIndex.isLoaded()) {
+                result.postValue(answer.get());
+            } else {
+                loadIndexFromNetwork(answer, result);
+            }
+        });
         return result;
     }
 
     /**
-     * Obtiene estadísticas de clientes
+     * Sin filas locales el índice se arma con el listado completo, decodificado con
+     * StreamingListDecoder (acepta "data": [...] y "data": {"clients": [...]})
      */
-    public MutableLiveData<ApiResponse<Object>> getClientStats() {
-        MutableLiveData<ApiResponse<Object>> result = new MutableLiveData<>();
+    private void loadIndexFromNetwork(Supplier<ApiResponse<List<Client>>> answer,
+                                      MutableLiveData<ApiResponse<List<Client>>> result) {
+        Call<ResponseBody> call = apiService.streamAllClients();
+        streamExecutor.execute(() -> {
+            // Descarga completa en segundo plano: cupo bulk hasta terminar de decodificar
+            try (PriorityScheduler.Permit permit = ApiClient.getScheduler().acquire(RequestPriority.BULK)) {
+                Response<ResponseBody> response = call.execute();
+                if (!response.isSuccessful() || response.body() == null) {
+                    ResponseBody errorBody = response.errorBody();
+                    if (errorBody != null) {
+                        errorBody.close();
+                    }
+                    if (response.code() == 401) {
+                        ApiClient.clearAuthToken();
+                    }
+                    result.postValue(new ApiResponse<>(
+                        false,
+                        NetworkUtils.getHttpErrorMessage(response.code()),
+                        null,
+                        response.code()
+                    ));
+                    return;
+                }
 
-        NetworkUtils.executeCall(
-            apiService.getClientStats(),
-            new NetworkUtils.ApiCallback<Object>() {
-                @Override
-                public void onSuccess(Object data) {
-                    ApiResponse<Object> response = new ApiResponse<>(
-                        true, 
-                        "Estadísticas obtenidas exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
+                List<Client> loaded = new ArrayList<>();
+                ApiResponse<Integer> envelope = clientDecoder.decode(response.body(), loaded::addAll);
+                if (!envelope.isSuccess()) {
+                    result.postValue(new ApiResponse<>(false, envelope.getMessage(), null, envelope.getCode()));
+                    return;
                 }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Object> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+                clientIndex.replaceAll(loaded);
+                result.postValue(answer.get());
+                if (clientDao != null) {
+                    diskExecutor.execute(() -> syncLocalClients(loaded)); // La tabla estaba vacía
                 }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Client index load failed", e);
+                result.postValue(new ApiResponse<>(false, "Error de conexión: " + e.getMessage(), null, 500));
             }
-        );
+        });
+    }
 
-        return result;
+    /**
+     * Índice de filtros y búsqueda (para consultas síncronas o conteos por campo)
+     */
+    public ClientIndex getClientIndex() {
+        return clientIndex;
+    }
+
+    /**
+     * Obtiene estadísticas de clientes
+     */
+    public MutableLiveData<ApiResponse<Object>> getClientStats() {
+        return clientStats.fetch(apiService.getClientStats());
     }
 
     /**
      * Cambia el status de un cliente
      */
     public MutableLiveData<ApiResponse<Client>> changeClientStatus(int clientId, String status) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
-
         // Crear objeto con el nuevo status
         java.util.Map<String, String> statusData = new java.util.HashMap<>();
         statusData.put("status", status);
+        forgetClient(clientId);
+
+        if (outbox != null) {
+            String payload = gson.toJson(statusData);
+            return enqueueMutation("Status del cliente actualizado", () -> {
+                clientDao.updateStatus(clientId, status);
+                outbox.enqueue(OutboxOperation.CLIENT_STATUS, clientId, payload);
+                return localClient(clientId);
+            });
+        }
 
-        NetworkUtils.executeCall(
-            apiService.changeClientStatus(clientId, statusData),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Status del cliente actualizado exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
-                }
-
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
-                }
-            }
-        );
-
-        return result;
+        return clientStatusChanged.fetch(clientId, apiService.changeClientStatus(clientId, statusData));
     }
 
     /**
      * Actualiza el límite de crédito de un cliente
      */
     public MutableLiveData<ApiResponse<Client>> updateCreditLimit(int clientId, double creditLimit) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
-
         // Crear objeto con el nuevo límite de crédito
         java.util.Map<String, Double> creditData = new java.util.HashMap<>();
         creditData.put("creditLimit", creditLimit);
+        forgetClient(clientId);
+
+        if (outbox != null) {
+            String payload = gson.toJson(creditData);
+            return enqueueMutation("Límite de crédito actualizado", () -> {
+                clientDao.updateCreditLimit(clientId, creditLimit);
+                outbox.enqueue(OutboxOperation.CLIENT_CREDIT_LIMIT, clientId, payload);
+                return localClient(clientId);
+            });
+        }
 
-        NetworkUtils.executeCall(
-            apiService.updateCreditLimit(clientId, creditData),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Límite de crédito actualizado exitosamente", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
-                }
-
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
-                }
-            }
-        );
-
-        return result;
+        return creditLimitUpdated.fetch(clientId, apiService.updateCreditLimit(clientId, creditData));
     }
 
     /**
      * Busca cliente por documento
      */
     public MutableLiveData<ApiResponse<Client>> getClientByDocument(String document) {
-        MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
+        return clientByDocument.load(document);
+    }
 
-        NetworkUtils.executeCall(
-            apiService.getClientByDocument(document),
-            new NetworkUtils.ApiCallback<Client>() {
-                @Override
-                public void onSuccess(Client data) {
-                    ApiResponse<Client> response = new ApiResponse<>(
-                        true, 
-                        "Cliente encontrado", 
-                        data, 
-                        200
-                    );
-                    result.postValue(response);
+    /**
+     * Lleva a la base local lo que confirmó el backend para las entradas del outbox
+     * Se llama dentro de la transacción del outbox, en un hilo de fondo
+     */
+    private final class OutboxListener implements Outbox.Listener {
+        @Override
+        public void onApplied(OutboxEntity entry, int serverId, JsonObject record, boolean settled) {
+            forgetClient(serverId);
+            if (entry.targetId < 0 && serverId > 0) {
+                // El alta ya tiene id definitivo: la fila temporal pasa a usarlo
+                ClientEntity local = clientDao.getById(entry.targetId);
+                clientDao.deleteById(entry.targetId);
+                clientIndex.changeId(entry.targetId, serverId);
+                if (local != null) {
+                    local.id = serverId;
+                    clientDao.upsert(local);
+                    clientIndex.put(local.toModel());
+                }
+            }
+            // Con cambios aún en cola la versión optimista sigue siendo la más nueva
+            if (settled && record != null) {
+                Client saved = gson.fromJson(record, Client.class);
+                if (saved != null && saved.getId() == serverId) {
+                    IdentityMap.getInstance().refresh(Client.class, saved);
+                    clientDao.upsert(ClientEntity.fromModel(saved));
+                    clientIndex.put(saved);
                 }
+            }
+            localClientsVersion.postValue(System.currentTimeMillis());
+        }
 
-                @Override
-                public void onError(String message, int errorCode) {
-                    ApiResponse<Client> errorResponse = new ApiResponse<>(
-                        false, 
-                        message, 
-                        null, 
-                        errorCode
-                    );
-                    result.postValue(errorResponse);
+        @Override
+        public void onDiscarded(OutboxEntity entry) {
+            if (entry.targetId < 0) {
+                clientDao.deleteById(entry.targetId);
+                clientIndex.remove(entry.targetId);
+                localClientsVersion.postValue(System.currentTimeMillis());
+                return;
+            }
+            // El cambio optimista ya no vale: se vuelve a la versión del backend
+            // Un flush rechazado descarta varias entradas seguidas: se piden juntas con "?ids="
+            forgetClient(entry.targetId);
+            clientLoader.load(entry.targetId).whenComplete((data, error) -> {
+                if (error != null) {
+                    Log.w(TAG, "Could not restore client " + entry.targetId + ": " + error.getMessage());
+                } else if (data != null) {
+                    saveLocal(data);
                 }
+            });
+        }
+    }
+
+    /**
+     * Cliente por id: se muestra el guardado mientras se consulta la red
+     */
+    private final class ClientByIdStore implements NetworkBoundResource.LocalStore<Integer, Client> {
+        @Override
+        public Client load(Integer clientId) {
+            return clientDao != null ? localClient(clientId) : null;
+        }
+
+        @Override
+        public void save(Integer clientId, Client data) {
+            saveReturnedClient(clientId, data);
+        }
+    }
+
+    /**
+     * Cliente por documento: se muestra el guardado mientras se consulta la red
+     */
+    private final class ClientByDocumentStore implements NetworkBoundResource.LocalStore<String, Client> {
+        @Override
+        public Client load(String document) {
+            if (clientDao == null) {
+                return null;
             }
-        );
+            ClientEntity entity = clientDao.getByDocument(document);
+            return entity != null ? entity.toModel() : null;
+        }
 
-        return result;
+        @Override
+        public void save(String document, Client data) {
+            if (data != null && data.getId() > 0) {
+                upsertLocal(data);
+            }
+        }
+    }
+
+    /**
+     * Estado compartido entre la lectura local y la descarga de una misma carga
+     */
+    private static final class LoadState {
+        final AtomicBoolean showingCache = new AtomicBoolean();
+        boolean networkDone; // Protegido por el monitor de la instancia
     }
 }
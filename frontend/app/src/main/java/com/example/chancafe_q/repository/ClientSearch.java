@@ -0,0 +1,223 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+
+/**
+ * Búsqueda de clientes por documento mientras se escribe
+ *
+ * - Debounce: cada tecla reprograma la búsqueda; solo sale la consulta que quedó quieta
+ *   debounceMillis.
+ * - Al salir una consulta nueva se cancela la Call anterior si sigue en vuelo.
+ * - Gana la última: una respuesta se entrega solo si su consulta sigue siendo la más
+ *   reciente que salió (se verifica en el hilo principal, justo antes de entregarla).
+ * - Si el cliente ya está en la base local se responde desde ahí, sin red.
+ *
+ * Una sesión va desde la primera tecla hasta que se vacía el campo (o close()); al
+ * terminar se informan las requests que se ahorraron frente a buscar en cada tecla.
+ * El estado vive en el hilo del scheduler (debe ser de un solo hilo); el Listener se
+ * llama en mainExecutor.
+ */
+public class ClientSearch {
+
+    /**
+     * Fuentes de la búsqueda; findLocal se llama fuera del hilo principal
+     */
+    public interface Lookup {
+        Client findLocal(String document); // null si no está guardado
+        Call<ApiResponse<Client>> newRemoteCall(String document);
+    }
+
+    public interface Listener {
+        void onResult(String query, ApiResponse<Client> response);
+        default void onSessionEnded(SearchStats stats) {} // Opcional (métricas)
+    }
+
+    private final long debounceMillis;
+    private final int minLength;
+    private final Lookup lookup;
+    private final ScheduledExecutorService scheduler;
+    private final Executor mainExecutor;
+    private volatile Listener listener;
+
+    private final AtomicLong latestQuery = new AtomicLong(); // Generación de la última tecla
+    private final AtomicLong latestFired = new AtomicLong(); // Generación de la última consulta que salió
+
+    // Solo se usan en el hilo del scheduler
+    private ScheduledFuture<?> pending;
+    private InFlight inFlight;
+    private String lastFiredQuery;
+    private SearchStats session;
+
+    public ClientSearch(long debounceMillis, int minLength, Lookup lookup,
+                        ScheduledExecutorService scheduler, Executor mainExecutor) {
+        this.debounceMillis = debounceMillis;
+        this.minLength = minLength;
+        this.lookup = lookup;
+        this.scheduler = scheduler;
+        this.mainExecutor = mainExecutor;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Texto actual del campo de búsqueda (se llama en cada tecla)
+     */
+    public void search(String text) {
+        String query = text != null ? text.trim() : "";
+        long generation = latestQuery.incrementAndGet();
+        scheduler.execute(() -> accept(query, generation));
+    }
+
+    /**
+     * Termina la sesión en curso, cancela lo pendiente y libera el scheduler (en onCleared)
+     * Después de close la búsqueda ya no se puede usar
+     */
+    public void close() {
+        long generation = latestQuery.incrementAndGet();
+        scheduler.execute(() -> accept("", generation));
+        scheduler.shutdown();
+    }
+
+    private void accept(String query, long generation) {
+        if (pending != null && pending.cancel(false)) {
+            session.debounced++;
+        }
+        pending = null;
+
+        if (query.length() < minLength) {
+            // Nada que buscar: lo que esté en vuelo ya no le sirve a nadie
+            latestFired.set(generation);
+            cancelInFlight();
+            lastFiredQuery = null;
+            if (query.isEmpty() && session != null) {
+                SearchStats ended = session;
+                session = null;
+                Listener current = listener;
+                if (current != null) {
+                    mainExecutor.execute(() -> current.onSessionEnded(ended));
+                }
+            }
+            return;
+        }
+
+        if (session == null) {
+            session = new SearchStats();
+        }
+        session.queries++;
+        pending = scheduler.schedule(() -> fire(query, generation), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(String query, long generation) {
+        pending = null;
+        if (generation != latestQuery.get()) {
+            session.debounced++; // Llegó otra tecla mientras se esperaba
+            return;
+        }
+        if (query.equals(lastFiredQuery)) {
+            session.repeated++; // Misma consulta que la anterior: su respuesta sigue valiendo
+            return;
+        }
+        lastFiredQuery = query;
+        latestFired.set(generation);
+        cancelInFlight();
+
+        Client local = lookup.findLocal(query);
+        if (local != null) {
+            session.localHits++;
+            deliver(generation, query, new ApiResponse<>(true, "Cliente encontrado", local, 200));
+            return;
+        }
+
+        InFlight call = new InFlight(lookup.newRemoteCall(query));
+        inFlight = call;
+        session.sent++;
+        NetworkUtils.executeCall(call.call, RequestPriority.INTERACTIVE, new NetworkUtils.ApiCallback<Client>() {
+            @Override
+            public void onSuccess(Client data) {
+                call.done = true;
+                deliver(generation, query, new ApiResponse<>(true, "Cliente encontrado", data, 200));
+            }
+
+            @Override
+            public void onError(String message, int errorCode) {
+                call.done = true;
+                deliver(generation, query, new ApiResponse<>(false, message, null, errorCode));
+            }
+        });
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null && !inFlight.done) {
+            // Si se sumó a un getClientByDocument en vuelo, los demás llamadores siguen esperando
+            NetworkUtils.cancel(inFlight.call);
+            if (session != null) {
+                session.cancelled++;
+            }
+        }
+        inFlight = null;
+    }
+
+    private void deliver(long generation, String query, ApiResponse<Client> response) {
+        mainExecutor.execute(() -> {
+            Listener current = listener;
+            if (current != null && generation == latestFired.get()) {
+                current.onResult(query, response);
+            }
+        });
+    }
+
+    private static final class InFlight {
+        final Call<ApiResponse<Client>> call;
+        volatile boolean done;
+
+        InFlight(Call<ApiResponse<Client>> call) {
+            this.call = call;
+        }
+    }
+
+    /**
+     * Métricas de una sesión de búsqueda
+     */
+    public static final class SearchStats {
+        private int queries;
+        private int debounced;
+        private int repeated;
+        private int localHits;
+        private int sent;
+        private int cancelled;
+
+        public int getQueries() { return queries; }
+        public int getDebounced() { return debounced; }
+        public int getRepeated() { return repeated; }
+        public int getLocalHits() { return localHits; }
+        public int getSent() { return sent; }
+        public int getCancelled() { return cancelled; }
+
+        /**
+         * Requests que no salieron frente a buscar en cada tecla válida
+         */
+        public int getRequestsSaved() {
+            return queries - sent;
+        }
+
+        @Override
+        public String toString() {
+            return queries + " consultas, " + sent + " requests (" + getRequestsSaved() + " ahorradas: "
+                    + debounced + " por debounce, " + localHits + " locales, " + repeated + " repetidas), "
+                    + cancelled + " canceladas";
+        }
+    }
+}
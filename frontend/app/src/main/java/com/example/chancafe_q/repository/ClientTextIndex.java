@@ -0,0 +1,352 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.local.FtsQuery;
+import com.example.chancafe_q.model.Client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de texto de ClientIndex: n-gramas por slot sobre nombre, razón social, email,
+ * documento y teléfonos
+ *
+ * Cada palabra plegada (minúsculas, sin tildes) se indexa con un espacio delante: sus
+ * trigramas (" ma", "mar", "ari"...) más el bigrama inicial (" m") para las consultas
+ * de una letra. Los números también se indexan sin separadores ("987 654 321" ->
+ * "987654321"), así se encuentran escribiéndolos de corrido.
+ *
+ * Una consulta cuenta por slot cuántos de sus n-gramas comparte; los que más comparten
+ * se verifican contra el texto plegado (palabra exacta, prefijo de palabra, subcadena)
+ * y los n-gramas en común desempatan y dejan pasar errores de tipeo ("peres" -> "pérez").
+ * No es thread-safe: ClientIndex lo usa bajo su lock.
+ */
+final class ClientTextIndex {
+    private static final int MAX_VERIFIED = 256; // Candidatos que pasan la comparación con el texto
+    private static final int MAX_COMPARED = 4 * MAX_VERIFIED; // Comparaciones por consulta, pasen o no
+    private static final int MAX_TERMS = 8;
+    private static final long BIGRAM = 1L << 48;
+
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private String[] texts = new String[64]; // " palabra palabra ... " por slot
+    private int[] counts = new int[64]; // N-gramas compartidos; se vuelve a 0 tras cada consulta
+    private final IntList touched = new IntList();
+    private int lastVerified; // Candidatos comparados con el texto en la última consulta
+
+    void put(int slot, Client client) {
+        ensureCapacity(slot + 1);
+        String text = textOf(client);
+        if (text.equals(texts[slot])) {
+            return; // Cambió otro campo (estado, crédito...): nada que reindexar
+        }
+        remove(slot);
+        texts[slot] = text;
+        for (long gram : gramsOf(text)) {
+            postings.computeIfAbsent(gram, key -> new IntList()).add(slot);
+        }
+    }
+
+    void remove(int slot) {
+        if (slot >= texts.length || texts[slot] == null) {
+            return;
+        }
+        for (long gram : gramsOf(texts[slot])) {
+            IntList slots = postings.get(gram);
+            if (slots != null && slots.removeValue(slot) && slots.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        texts[slot] = null;
+    }
+
+    void clear() {
+        postings.clear();
+        Arrays.fill(texts, null);
+    }
+
+    /**
+     * Slots que coinciden con la consulta, del mejor al peor (como mucho limit)
+     * allowed restringe a esos slots (null: todos)
+     */
+    int[] search(String query, BitSet allowed, int limit) {
+        List<String> terms = terms(query);
+        lastVerified = 0;
+        if (terms.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        // Con términos más largos, una inicial suelta ("maria p") no recorre la lista de todas
+        // las palabras con esa letra: solo se verifica como prefijo al puntuar
+        boolean onlyInitials = true;
+        for (String term : terms) {
+            onlyInitials &= term.length() == 1;
+        }
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (onlyInitials || term.length() > 1) {
+                addQueryGrams(term, grams);
+            }
+        }
+        try {
+            for (long gram : grams) {
+                IntList slots = postings.get(gram);
+                if (slots == null) {
+                    continue;
+                }
+                for (int i = 0; i < slots.size; i++) {
+                    int slot = slots.values[i];
+                    if (allowed != null && !allowed.get(slot)) {
+                        continue;
+                    }
+                    if (counts[slot]++ == 0) {
+                        touched.add(slot);
+                    }
+                }
+            }
+            return rank(terms, grams.size(), limit);
+        } finally {
+            for (int i = 0; i < touched.size; i++) {
+                counts[touched.values[i]] = 0;
+            }
+            touched.size = 0;
+        }
+    }
+
+    private int[] rank(List<String> terms, int queryGrams, int limit) {
+        // Solo se verifican los que más n-gramas comparten (los conteos van de 1 a queryGrams)
+        int[] histogram = new int[queryGrams + 1];
+        for (int i = 0; i < touched.size; i++) {
+            histogram[counts[touched.values[i]]]++;
+        }
+        int level = queryGrams;
+        int selected = histogram[level];
+        while (level > 1 && selected < MAX_VERIFIED) {
+            selected += histogram[--level];
+        }
+
+        Terms padded = new Terms(terms);
+        long[] scored = new long[Math.min(selected, MAX_VERIFIED)];
+        int found = 0;
+        // Primero los que superan el nivel de corte y después los que lo igualan, hasta el tope
+        for (int i = 0; i < touched.size && found < scored.length && lastVerified < MAX_COMPARED; i++) {
+            int slot = touched.values[i];
+            if (counts[slot] > level) {
+                found = score(slot, padded, queryGrams, scored, found);
+            }
+        }
+        for (int i = 0; i < touched.size && found < scored.length && lastVerified < MAX_COMPARED; i++) {
+            int slot = touched.values[i];
+            if (counts[slot] == level) {
+                found = score(slot, padded, queryGrams, scored, found);
+            }
+        }
+
+        Arrays.sort(scored, 0, found);
+        int[] result = new int[Math.min(limit, found)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (0xFFFFFFFFL - (scored[found - 1 - i] & 0xFFFFFFFFL));
+        }
+        return result;
+    }
+
+    /**
+     * Compara el texto del slot con cada término y, si pasa, agrega su puntaje a scored
+     * Devuelve la nueva cantidad de puntajes
+     */
+    private int score(int slot, Terms terms, int queryGrams, long[] scored, int found) {
+        lastVerified++;
+        int shared = counts[slot];
+        String text = texts[slot];
+        int bonus = 0;
+        for (int t = 0; t < terms.plain.length; t++) {
+            if (text.contains(terms.words[t])) {
+                bonus += 4;
+            } else if (text.contains(terms.prefixes[t])) {
+                bonus += 3;
+            } else if (text.contains(terms.plain[t])) {
+                bonus += 2;
+            }
+        }
+        // Sin el texto en ninguna palabra, solo pasa si comparte al menos la mitad de los n-gramas
+        if (bonus == 0 && (queryGrams < 3 || shared * 2 < queryGrams)) {
+            return found;
+        }
+        long score = bonus * 64L + shared;
+        // Puntaje en los bits altos y slot invertido en los bajos: a igual puntaje, el primero de la lista
+        scored[found] = (score << 32) | (0xFFFFFFFFL - slot);
+        return found + 1;
+    }
+
+    int getLastVerifiedCount() {
+        return lastVerified;
+    }
+
+    /**
+     * Texto plegado del cliente: palabras únicas separadas y rodeadas por espacios
+     */
+    static String textOf(Client client) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(client.getFullName(), tokens);
+        addWords(client.getBusinessName(), tokens);
+        addWords(client.getEmail(), tokens);
+        addNumber(client.getDocumentNumber(), tokens);
+        addNumber(client.getPhone(), tokens);
+        addNumber(client.getPhoneSecondary(), tokens);
+
+        StringBuilder text = new StringBuilder(" ");
+        for (String token : tokens) {
+            text.append(token).append(' ');
+        }
+        return text.toString();
+    }
+
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query != null) {
+            Set<String> unique = new LinkedHashSet<>();
+            addWords(query, unique);
+            for (String term : unique) {
+                if (terms.size() == MAX_TERMS) {
+                    break;
+                }
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static void addWords(String value, Set<String> tokens) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String folded = FtsQuery.fold(value);
+        int length = folded.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                tokens.add(folded.substring(start, i));
+            }
+        }
+    }
+
+    private static void addNumber(String value, Set<String> tokens) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        addWords(value, tokens);
+        StringBuilder compact = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                compact.append(Character.toLowerCase(c));
+            }
+        }
+        if (compact.length() > 0) {
+            tokens.add(compact.toString());
+        }
+    }
+
+    /**
+     * N-gramas únicos de un texto indexado
+     */
+    private static Set<Long> gramsOf(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        int start = 1;
+        while (start < text.length()) {
+            int end = text.indexOf(' ', start);
+            if (end > start) {
+                grams.add(bigram(text.charAt(start)));
+                addTrigrams(text, start, end, grams);
+            }
+            start = end + 1;
+        }
+        return grams;
+    }
+
+    /**
+     * Una letra busca por inicial; más letras, por los trigramas (el primero ancla el
+     * inicio de palabra)
+     */
+    private static void addQueryGrams(String term, Set<Long> grams) {
+        if (term.length() == 1) {
+            grams.add(bigram(term.charAt(0)));
+        } else {
+            addTrigrams(" " + term, 1, term.length() + 1, grams);
+        }
+    }
+
+    // Trigramas de la palabra text[start, end) con el espacio que la precede
+    private static void addTrigrams(String text, int start, int end, Set<Long> grams) {
+        for (int i = start - 1; i + 2 < end; i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static long bigram(char first) {
+        return BIGRAM | ((long) ' ' << 16) | first;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= texts.length) {
+            return;
+        }
+        int grown = Math.max(capacity, texts.length * 2);
+        texts = Arrays.copyOf(texts, grown);
+        counts = Arrays.copyOf(counts, grown);
+    }
+
+    /**
+     * Términos de la consulta tal cual, como prefijo de palabra (" ter") y como palabra (" ter ")
+     */
+    private static final class Terms {
+        final String[] plain;
+        final String[] prefixes;
+        final String[] words;
+
+        Terms(List<String> terms) {
+            plain = terms.toArray(new String[0]);
+            prefixes = new String[plain.length];
+            words = new String[plain.length];
+            for (int t = 0; t < plain.length; t++) {
+                prefixes[t] = " " + plain[t];
+                words[t] = prefixes[t] + " ";
+            }
+        }
+    }
+
+    /**
+     * Lista de ints sin boxing; el orden no importa (se quita intercambiando con el último)
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean removeValue(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.chancafe_q.repository;
+
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.CreditRequest;
+
+import java.util.List;
+
+/**
+ * Repositorio de solicitudes de crédito
+ * Con base local las altas y ediciones se guardan primero y se envían por el outbox
+ */
+public class CreditRequestRepository {
+
+    private static CreditRequestRepository instance;
+    private final ApiService apiService;
+    private final RecordMutations<CreditRequest> mutations; // null sin base local
+
+    // El estado cambia minuto a minuto: TTL corto y revalidación al volver a la app
+    private final NetworkBoundResource<Integer, CreditRequest> creditRequestById;
+    private final NetworkBoundResource<Void, List<CreditRequest>> creditRequestList;
+    private final NetworkBoundResource<Void, CreditRequest> created =
+            new NetworkBoundResource<Void, CreditRequest>("Solicitud de crédito creada exitosamente")
+                    .withSuccessCode(201);
+    private final NetworkBoundResource<Void, CreditRequest> updated =
+            new NetworkBoundResource<>("Solicitud de crédito actualizada exitosamente");
+
+    private CreditRequestRepository() {
+        apiService = ApiClient.getApiService();
+        mutations = RecordMutations.create(ApiClient.getGson(), SyncEngine.CREDIT_REQUESTS, CreditRequest.class,
+                CreditRequest::setId, CreditRequest::getUpdatedAt, id -> apiService.getCreditRequest(id));
+        creditRequestById = new NetworkBoundResource<Integer, CreditRequest>("Solicitud de crédito obtenida exitosamente")
+                .withFetcher(apiService::getCreditRequest)
+                .withFreshness(SyncEngine.CREDIT_REQUESTS);
+        creditRequestList = new NetworkBoundResource<Void, List<CreditRequest>>("Solicitudes de crédito obtenidas exitosamente")
+                .withFetcher(key -> apiService.getCreditRequests())
+                .withFreshness(SyncEngine.CREDIT_REQUESTS);
+    }
+
+    public static synchronized CreditRequestRepository getInstance() {
+        if (instance == null) {
+            instance = new CreditRequestRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Obtiene una solicitud de crédito (de memoria mientras esté fresca)
+     */
+    public MutableLiveData<ApiResponse<CreditRequest>> getCreditRequest(int creditRequestId) {
+        return creditRequestById.load(creditRequestId);
+    }
+
+    /**
+     * Obtiene todas las solicitudes de crédito (de memoria mientras estén frescas)
+     */
+    public MutableLiveData<ApiResponse<List<CreditRequest>>> getCreditRequests() {
+        return creditRequestList.load(null);
+    }
+
+    /**
+     * Crea una solicitud de crédito; con base local responde 202 y se envía por el outbox
+     */
+    public MutableLiveData<ApiResponse<CreditRequest>> createCreditRequest(CreditRequest creditRequest) {
+        creditRequestList.invalidateAll();
+        if (mutations != null) {
+            return mutations.create(OutboxOperation.CREDIT_REQUEST_CREATE, creditRequest, "Solicitud de crédito guardada");
+        }
+        return created.fetch(apiService.createCreditRequest(creditRequest));
+    }
+
+    /**
+     * Actualiza una solicitud de crédito; con base local responde 202 y se envía por el outbox
+     */
+    public MutableLiveData<ApiResponse<CreditRequest>> updateCreditRequest(int creditRequestId, CreditRequest creditRequest) {
+        creditRequestById.invalidate(creditRequestId);
+        creditRequestList.invalidateAll();
+        if (mutations != null) {
+            return mutations.update(OutboxOperation.CREDIT_REQUEST_UPDATE, creditRequestId, creditRequest,
+                    "Solicitud de crédito actualizada");
+        }
+        return updated.fetch(apiService.updateCreditRequest(creditRequestId, creditRequest));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.utils.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de políticas de frescura por recurso (los nombres de SyncEngine)
+ *
+ * Los valores por defecto salen de Configuration.FreshnessConfig; override permite
+ * cambiarlos en tiempo de ejecución (p. ej. en tests o por configuración remota).
+ * También lleva la cuenta de las veces que la app volvió a primer plano, para las
+ * políticas que revalidan al recuperar el foco.
+ */
+public final class FreshnessPolicies {
+
+    private static final Map<String, FreshnessPolicy> overrides = new HashMap<>();
+    private static final AtomicLong focusEpoch = new AtomicLong();
+
+    private FreshnessPolicies() {
+    }
+
+    /**
+     * Política vigente del recurso
+     */
+    public static FreshnessPolicy get(String resource) {
+        synchronized (overrides) {
+            FreshnessPolicy override = overrides.get(resource);
+            if (override != null) {
+                return override;
+            }
+        }
+        return new FreshnessPolicy(
+                Configuration.FreshnessConfig.getTtlSeconds(resource) * 1000,
+                Configuration.FreshnessConfig.getStaleSeconds(resource) * 1000,
+                Configuration.FreshnessConfig.revalidatesOnFocus(resource));
+    }
+
+    /**
+     * Reemplaza la política del recurso; null vuelve a la de Configuration
+     */
+    public static void override(String resource, FreshnessPolicy policy) {
+        synchronized (overrides) {
+            if (policy != null) {
+                overrides.put(resource, policy);
+            } else {
+                overrides.remove(resource);
+            }
+        }
+    }
+
+    /**
+     * La app volvió a primer plano: lo obtenido antes cuenta como stale para las
+     * políticas con revalidateOnFocus
+     */
+    public static void onFocus() {
+        focusEpoch.incrementAndGet();
+    }
+
+    public static long getFocusEpoch() {
+        return focusEpoch.get();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.chancafe_q.repository;
+
+/**
+ * Política de frescura de un recurso (stale-while-revalidate)
+ *
+ * - Dentro del TTL el valor guardado se sirve sin ir a la red.
+ * - En la ventana stale (TTL + staleWindow) se sirve al instante y se revalida en
+ *   segundo plano; el valor nuevo llega por el mismo LiveData.
+ * - Pasada la ventana el valor ya no se muestra y se espera a la red.
+ *
+ * Con revalidateOnFocus, un valor aún dentro del TTL pasa a stale si la app volvió a
+ * primer plano desde que se obtuvo.
+ */
+public final class FreshnessPolicy {
+
+    public enum State { FRESH, STALE, EXPIRED }
+
+    // Sin caché: siempre se consulta la red (el comportamiento sin política)
+    public static final FreshnessPolicy ALWAYS_LIVE = new FreshnessPolicy(0, 0, false);
+
+    private final long ttlMillis;
+    private final long staleWindowMillis;
+    private final boolean revalidateOnFocus;
+
+    public FreshnessPolicy(long ttlMillis, long staleWindowMillis, boolean revalidateOnFocus) {
+        if (ttlMillis < 0 || staleWindowMillis < 0) {
+            throw new IllegalArgumentException("ttl y ventana stale no pueden ser negativos");
+        }
+        this.ttlMillis = ttlMillis;
+        this.staleWindowMillis = staleWindowMillis;
+        this.revalidateOnFocus = revalidateOnFocus;
+    }
+
+    /**
+     * Estado de un valor con la antigüedad dada
+     *
+     * @param focusedSinceFetch si la app volvió a primer plano después de obtenerlo
+     */
+    public State evaluate(long ageMillis, boolean focusedSinceFetch) {
+        if (ageMillis < ttlMillis && !(revalidateOnFocus && focusedSinceFetch)) {
+            return State.FRESH;
+        }
+        if (ageMillis < ttlMillis + staleWindowMillis) {
+            return State.STALE;
+        }
+        return State.EXPIRED;
+    }
+
+    /**
+     * false si nunca se sirve nada guardado (no vale la pena recordar valores)
+     */
+    public boolean caches() {
+        return ttlMillis + staleWindowMillis > 0;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getStaleWindowMillis() {
+        return staleWindowMillis;
+    }
+
+    public boolean revalidatesOnFocus() {
+        return revalidateOnFocus;
+    }
+
+    @Override
+    public String toString() {
+        return "FreshnessPolicy{ttl=" + ttlMillis + "ms, stale=" + staleWindowMillis
+                + "ms, revalidateOnFocus=" + revalidateOnFocus + '}';
+    }
+}
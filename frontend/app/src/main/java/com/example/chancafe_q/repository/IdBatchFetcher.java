@@ -0,0 +1,86 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.PriorityScheduler;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.data.remote.StreamingListDecoder;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * BatchFunction para endpoints de lista con filtro "?ids=1,2,3"
+ *
+ * El cuerpo se decodifica con StreamingListDecoder, que acepta tanto "data": [...]
+ * como "data": {"clients": [...]}. Los elementos se indexan por id y se descartan los
+ * que no se pidieron, así el resultado es correcto aunque el servidor ignore el filtro.
+ */
+class IdBatchFetcher<V> implements BatchLoader.BatchFunction<Integer, V> {
+
+    interface CallFactory {
+        Call<ResponseBody> create(String ids);
+    }
+
+    interface IdExtractor<V> {
+        int idOf(V item);
+    }
+
+    private final CallFactory callFactory;
+    private final StreamingListDecoder<V> decoder;
+    private final IdExtractor<V> idExtractor;
+
+    IdBatchFetcher(CallFactory callFactory, StreamingListDecoder<V> decoder, IdExtractor<V> idExtractor) {
+        this.callFactory = callFactory;
+        this.decoder = decoder;
+        this.idExtractor = idExtractor;
+    }
+
+    @Override
+    public Map<Integer, V> load(List<Integer> keys) throws IOException {
+        StringBuilder ids = new StringBuilder();
+        for (Integer key : keys) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(key);
+        }
+
+        Set<Integer> requested = new HashSet<>(keys);
+        Map<Integer, V> byId = new HashMap<>(keys.size() * 2);
+        ApiResponse<Integer> envelope;
+        try (PriorityScheduler.Permit permit = ApiClient.getScheduler().acquire(RequestPriority.BULK)) {
+            Response<ResponseBody> response = callFactory.create(ids.toString()).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                // Cerrar el cuerpo de error para devolver la conexión al pool
+                ResponseBody errorBody = response.errorBody();
+                if (errorBody != null) {
+                    errorBody.close();
+                }
+                throw new IOException(NetworkUtils.getHttpErrorMessage(response.code()));
+            }
+
+            envelope = decoder.decode(response.body(), chunk -> {
+                for (V item : chunk) {
+                    int id = idExtractor.idOf(item);
+                    if (requested.contains(id)) {
+                        byId.put(id, item);
+                    }
+                }
+            });
+        }
+        if (!envelope.isSuccess()) {
+            throw new IOException(envelope.getMessage());
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.chancafe_q.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Pipeline genérico de un recurso: caché local → ¿consultar la red? → red → guardar → publicar
+ *
+ * Se configura una vez por recurso (en el constructor del repositorio) y cada llamada
+ * solo crea su resultado: ese mismo LiveData hace de callback de Retrofit y de tarea de
+ * disco, así que no hay clases anónimas ni wrappers intermedios por request.
+ *
+ * Estados que se publican:
+ * - 206 con la copia local mientras se consulta la red (cargando)
+ * - éxito con el mensaje y código del recurso, o la respuesta del backend tal cual si
+ *   el recurso no define mensaje
+ * - success=false con el error; data trae la copia local si la había
+ *
+ * Las lecturas y escrituras locales de todos los recursos corren en un único executor
+ * de disco compartido.
+ *
+ * Con una política de frescura (withFreshness), load() recuerda en memoria lo último que
+ * trajo la red por clave: dentro del TTL lo publica sin red y en la ventana stale lo
+ * publica como 206 y revalida, de modo que el valor nuevo llega por el mismo LiveData.
+ */
+public class NetworkBoundResource<K, T> {
+    private static final String TAG = "NetworkBoundResource";
+    private static final String LOADING_MESSAGE = "Datos guardados, actualizando...";
+    private static final ExecutorService DISK_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final int MAX_REMEMBERED = 100;
+
+    /**
+     * Arma la llamada de red para una clave
+     */
+    public interface Fetcher<K, T> {
+        Call<ApiResponse<T>> fetch(K key);
+    }
+
+    /**
+     * Copia local del recurso; todos los métodos corren en el executor de disco
+     */
+    public interface LocalStore<K, T> {
+        /**
+         * Copia local o null si no hay
+         */
+        default T load(K key) {
+            return null;
+        }
+
+        /**
+         * false si la copia local alcanza y no hace falta ir a la red
+         */
+        default boolean shouldFetch(K key, T cached) {
+            return true;
+        }
+
+        /**
+         * Guarda lo que trajo la red; se publica después de guardar
+         */
+        void save(K key, T data);
+    }
+
+    private final String successMessage; // null: se publica la respuesta del backend
+    private int successCode = 200;
+    private RequestPriority priority = RequestPriority.INTERACTIVE;
+    private Fetcher<K, T> fetcher;
+    private LocalStore<K, T> store;
+    private String freshnessResource; // null: sin política, siempre se consulta la red
+    private LongSupplier clock = System::currentTimeMillis;
+
+    // Último valor de la red por clave, para las políticas de frescura (LRU acotado)
+    private final Map<K, Remembered<T>> remembered = new LinkedHashMap<K, Remembered<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Remembered<T>> eldest) {
+            return size() > MAX_REMEMBERED;
+        }
+    };
+    private final AtomicLong freshHits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    public NetworkBoundResource(String successMessage) {
+        this.successMessage = successMessage;
+    }
+
+    public NetworkBoundResource<K, T> withSuccessCode(int successCode) {
+        this.successCode = successCode;
+        return this;
+    }
+
+    public NetworkBoundResource<K, T> withPriority(RequestPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Llamada que usa load(); fetch() recibe la llamada ya armada
+     */
+    public NetworkBoundResource<K, T> withFetcher(Fetcher<K, T> fetcher) {
+        this.fetcher = fetcher;
+        return this;
+    }
+
+    public NetworkBoundResource<K, T> withStore(LocalStore<K, T> store) {
+        this.store = store;
+        return this;
+    }
+
+    /**
+     * Aplica a load() la política de frescura del recurso (ver FreshnessPolicies)
+     * Se consulta en cada llamada, así los cambios de política valen de inmediato
+     */
+    public NetworkBoundResource<K, T> withFreshness(String resource) {
+        this.freshnessResource = resource;
+        return this;
+    }
+
+    NetworkBoundResource<K, T> withClock(LongSupplier clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    /**
+     * Pipeline completo: lee la copia local, decide si ir a la red y guarda lo que llegue
+     */
+    public MutableLiveData<ApiResponse<T>> load(K key) {
+        Result<K, T> result = new Result<>(this, key);
+        result.remember = freshnessResource != null;
+        if (result.remember && serveRemembered(result, FreshnessPolicies.get(freshnessResource))) {
+            return result;
+        }
+        if (store != null) {
+            DISK_EXECUTOR.execute(result);
+        } else {
+            result.start(fetcher.fetch(key));
+        }
+        return result;
+    }
+
+    /**
+     * Envía una llamada ya armada (escrituras, llamadas con varios parámetros) sin leer
+     * la copia local; si hay LocalStore, lo que llegue se guarda bajo key
+     */
+    public MutableLiveData<ApiResponse<T>> fetch(K key, Call<ApiResponse<T>> call) {
+        Result<K, T> result = new Result<>(this, key);
+        result.loaded = true;
+        result.start(call);
+        return result;
+    }
+
+    public MutableLiveData<ApiResponse<T>> fetch(Call<ApiResponse<T>> call) {
+        return fetch(null, call);
+    }
+
+    /**
+     * Olvida el valor recordado (p. ej. tras modificarlo); el próximo load va a la red
+     */
+    public void invalidate(K key) {
+        synchronized (remembered) {
+            remembered.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (remembered) {
+            remembered.clear();
+        }
+    }
+
+    /**
+     * Llamadas respondidas desde memoria sin salir a la red
+     */
+    public long getFreshHits() {
+        return freshHits.get();
+    }
+
+    /**
+     * Llamadas que publicaron un valor stale y lo revalidaron en segundo plano
+     */
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    /**
+     * Publica el valor recordado según su estado; devuelve true si ya no hace falta
+     * nada más (fresco, o stale con la revalidación ya en curso)
+     */
+    private boolean serveRemembered(Result<K, T> result, FreshnessPolicy policy) {
+        Remembered<T> entry;
+        synchronized (remembered) {
+            entry = remembered.get(result.key);
+        }
+        if (entry == null) {
+            return false;
+        }
+        boolean focused = entry.focusEpoch != FreshnessPolicies.getFocusEpoch();
+        switch (policy.evaluate(clock.getAsLong() - entry.fetchedAt, focused)) {
+            case FRESH:
+                freshHits.incrementAndGet();
+                result.fetched = entry.value;
+                result.publish();
+                return true;
+            case STALE:
+                revalidations.incrementAndGet();
+                result.loaded = true;
+                result.cached = entry.value;
+                result.postValue(new ApiResponse<>(true, LOADING_MESSAGE, entry.value, 206));
+                result.start(fetcher.fetch(result.key));
+                return true;
+            default:
+                // Vencido: ni el valor recordado ni la copia local se muestran como vigentes
+                invalidate(result.key);
+                result.loaded = true;
+                result.start(fetcher.fetch(result.key));
+                return true;
+        }
+    }
+
+    private void remember(K key, T value) {
+        if (value == null || !FreshnessPolicies.get(freshnessResource).caches()) {
+            return;
+        }
+        synchronized (remembered) {
+            remembered.put(key, new Remembered<>(value, clock.getAsLong(), FreshnessPolicies.getFocusEpoch()));
+        }
+    }
+
+    private static final class Remembered<T> {
+        final T value;
+        final long fetchedAt;
+        final long focusEpoch;
+
+        Remembered(T value, long fetchedAt, long focusEpoch) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+            this.focusEpoch = focusEpoch;
+        }
+    }
+
+    /**
+     * Resultado de una llamada y a la vez su callback de red y su tarea de disco
+     */
+    private static final class Result<K, T> extends RequestLiveData<ApiResponse<T>>
+            implements Runnable, Callback<ApiResponse<T>>, NetworkUtils.ApiCallback<T> {
+        private final NetworkBoundResource<K, T> resource;
+        private final K key;
+        private boolean loaded; // false: falta leer la caché; true: lo que sigue es guardar
+        private boolean remember; // Lo que traiga la red se recuerda para la política de frescura
+        private T cached;
+        private T fetched;
+        private ApiResponse<T> body;
+
+        Result(NetworkBoundResource<K, T> resource, K key) {
+            this.resource = resource;
+            this.key = key;
+        }
+
+        void start(Call<ApiResponse<T>> call) {
+            NetworkUtils.enqueue(attach(call), resource.priority, this);
+        }
+
+        // Executor de disco: primero la lectura de la caché, después el guardado
+        @Override
+        public void run() {
+            if (!loaded) {
+                loaded = true;
+                readCache();
+            } else {
+                saveAndPublish();
+            }
+        }
+
+        private void readCache() {
+            try {
+                cached = resource.store.load(key);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local read failed", e);
+            }
+            if (cached != null) {
+                if (!resource.store.shouldFetch(key, cached)) {
+                    fetched = cached;
+                    publish();
+                    return;
+                }
+                postValue(new ApiResponse<>(true, LOADING_MESSAGE, cached, 206));
+            }
+            start(resource.fetcher.fetch(key));
+        }
+
+        private void saveAndPublish() {
+            try {
+                resource.store.save(key, fetched);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local write failed", e);
+            }
+            publish();
+        }
+
+        private void publish() {
+            if (resource.successMessage == null && body != null) {
+                postValue(body);
+            } else {
+                postValue(new ApiResponse<>(true, resource.successMessage, fetched, resource.successCode));
+            }
+        }
+
+        @Override
+        public void onResponse(Call<ApiResponse<T>> call, Response<ApiResponse<T>> response) {
+            body = response.body();
+            NetworkUtils.deliverResponse(response, this);
+        }
+
+        @Override
+        public void onFailure(Call<ApiResponse<T>> call, Throwable t) {
+            NetworkUtils.deliverFailure(call, t, this);
+        }
+
+        @Override
+        public void onSuccess(T data) {
+            fetched = data;
+            if (remember) {
+                resource.remember(key, data);
+            }
+            if (resource.store != null) {
+                DISK_EXECUTOR.execute(this);
+            } else {
+                publish();
+            }
+        }
+
+        @Override
+        public void onError(String message, int errorCode) {
+            postValue(new ApiResponse<>(false, message, cached, errorCode));
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.chancafe_q.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.dao.OutboxDao;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.data.remote.PriorityScheduler;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.utils.Configuration;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * Cola persistente de mutaciones (outbox)
+ *
+ * Los repositorios escriben el cambio en la base local y lo encolan en la misma
+ * transacción, así funciona igual con o sin conexión. Un drenador en segundo plano
+ * reenvía la cola: las entradas de una misma entidad van en orden y se detienen ante
+ * el primer error; entidades distintas se envían en paralelo. Los errores de red y 5xx
+ * se reintentan con backoff exponencial (con la misma Idempotency-Key); un 4xx es un
+ * conflicto que se publica para que el usuario lo reintente o lo descarte.
+ */
+public class Outbox {
+    private static final String TAG = "Outbox";
+
+    /**
+     * Aplica en la base local el resultado de las entradas de un recurso
+     */
+    public interface Listener {
+        /**
+         * El backend aceptó la entrada; se llama dentro de la transacción que la borra
+         * serverId es el id definitivo (en altas, el asignado por el backend; 0 si no vino),
+         * record el objeto devuelto (o null) y settled indica que no quedan cambios
+         * locales de la entidad en la cola
+         */
+        void onApplied(OutboxEntity entry, int serverId, JsonObject record, boolean settled);
+
+        /**
+         * El usuario descartó una entrada en conflicto: revertir el cambio optimista
+         */
+        default void onDiscarded(OutboxEntity entry) {}
+    }
+
+    private static Outbox instance;
+    private final ApiService apiService;
+    private final OutboxDao outboxDao;
+    private final SyncEngine.TransactionRunner transaction;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService drainScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Listener> listeners = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final MutableLiveData<List<OutboxEntity>> conflicts = new MutableLiveData<>(Collections.emptyList());
+    private final MutableLiveData<Integer> pendingCount = new MutableLiveData<>(0);
+
+    // Solo se usan en drainScheduler
+    private long retryDelayMillis;
+    private ScheduledFuture<?> scheduledRetry;
+
+    Outbox(ApiService apiService, OutboxDao outboxDao, SyncEngine.TransactionRunner transaction, int parallelism) {
+        this.apiService = apiService;
+        this.outboxDao = outboxDao;
+        this.transaction = transaction;
+        this.senders = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * Outbox de la app, o null si todavía no hay base local
+     */
+    public static synchronized Outbox getInstance() {
+        if (instance == null) {
+            AppDatabase database = AppDatabase.getInstanceIfCreated();
+            if (database == null) {
+                return null;
+            }
+            instance = new Outbox(ApiClient.getApiService(), database.outboxDao(),
+                    database::runInTransaction, Configuration.OutboxConfig.getParallelism());
+        }
+        return instance;
+    }
+
+    public static String entityKey(String resource, int localId) {
+        return resource + ":" + localId;
+    }
+
+    public void setListener(String resource, Listener listener) {
+        listeners.put(resource, listener);
+    }
+
+    /**
+     * Entradas en conflicto esperando que el usuario las reintente o descarte
+     */
+    public LiveData<List<OutboxEntity>> getConflicts() {
+        return conflicts;
+    }
+
+    public LiveData<Integer> getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Ids con cambios locales aún sin confirmar; la sincronización no debe pisarlos
+     * Consulta la base: llamar fuera del hilo principal
+     */
+    public Set<Integer> getPendingTargetIds(String resource) {
+        return new HashSet<>(outboxDao.getTargetIds(resource));
+    }
+
+    /**
+     * Escribe el cambio optimista y sus entradas de cola en una sola transacción
+     * (fuera del hilo principal) y luego pide un envío
+     */
+    public void commit(Runnable changes) {
+        transaction.run(changes);
+        drain();
+    }
+
+    /**
+     * Agrega una mutación a la cola; llamar dentro de commit
+     * targetId es el id local de la entidad (negativo si aún no existe en el backend)
+     */
+    public OutboxEntity enqueue(OutboxOperation operation, int targetId, String payload) {
+        String entityKey = outboxDao.findEntityKey(operation.getResource(), targetId);
+        OutboxEntity entry = new OutboxEntity();
+        entry.resource = operation.getResource();
+        entry.entityKey = entityKey != null ? entityKey : entityKey(operation.getResource(), targetId);
+        entry.operation = operation.name();
+        entry.targetId = targetId;
+        entry.payload = payload;
+        entry.idempotencyKey = UUID.randomUUID().toString();
+        entry.createdAt = System.currentTimeMillis();
+        entry.id = outboxDao.insert(entry);
+        return entry;
+    }
+
+    /**
+     * Pide un envío de la cola; varias llamadas seguidas se agrupan en una sola pasada
+     */
+    public void drain() {
+        if (drainQueued.compareAndSet(false, true)) {
+            drainScheduler.execute(this::runDrain);
+        }
+    }
+
+    /**
+     * Vuelve a poner en cola una entrada en conflicto (p. ej. tras corregir el dato)
+     */
+    public void retry(long entryId) {
+        drainScheduler.execute(() -> {
+            outboxDao.setStatus(entryId, OutboxEntity.STATUS_PENDING, null);
+            retryDelayMillis = 0;
+            drain();
+        });
+    }
+
+    /**
+     * Descarta una entrada en conflicto; si era un alta se descarta toda la entidad
+     */
+    public void discard(long entryId) {
+        drainScheduler.execute(() -> {
+            OutboxEntity entry = outboxDao.getById(entryId);
+            if (entry == null) {
+                return;
+            }
+            transaction.run(() -> {
+                if (OutboxOperation.valueOf(entry.operation).isCreate()) {
+                    outboxDao.deleteEntity(entry.entityKey);
+                } else {
+                    outboxDao.delete(entry.id);
+                }
+                Listener listener = listeners.get(entry.resource);
+                if (listener != null) {
+                    listener.onDiscarded(entry);
+                }
+            });
+            drain();
+        });
+    }
+
+    private void runDrain() {
+        drainQueued.set(false);
+        DrainResult result;
+        try {
+            result = drainNow();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Outbox drain failed", e);
+            result = null;
+        }
+        conflicts.postValue(outboxDao.getConflicts());
+        pendingCount.postValue(outboxDao.countPending());
+
+        if (result != null && result.failure != null) {
+            Log.e(TAG, "Outbox flush failed", result.failure);
+        }
+        if (result != null && result.getRetried() == 0) {
+            retryDelayMillis = 0;
+            return;
+        }
+        // Backoff exponencial hasta el tope; un drain() explícito (p. ej. volvió la red) no espera
+        retryDelayMillis = retryDelayMillis == 0
+                ? Configuration.OutboxConfig.getBaseRetryMillis()
+                : Math.min(retryDelayMillis * 2, Configuration.OutboxConfig.getMaxRetryMillis());
+        if (scheduledRetry != null) {
+            scheduledRetry.cancel(false);
+        }
+        scheduledRetry = drainScheduler.schedule(this::drain, retryDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Una pasada por la cola en el hilo actual; espera a que terminen todas las entidades
+     */
+    DrainResult drainNow() {
+        Map<String, List<OutboxEntity>> byEntity = new LinkedHashMap<>();
+        for (OutboxEntity entry : outboxDao.getReady()) {
+            List<OutboxEntity> entries = byEntity.get(entry.entityKey);
+            if (entries == null) {
+                entries = new ArrayList<>();
+                byEntity.put(entry.entityKey, entries);
+            }
+            entries.add(entry);
+        }
+
+        DrainResult result = new DrainResult();
+        List<Future<?>> flushes = new ArrayList<>(byEntity.size());
+        for (List<OutboxEntity> entries : byEntity.values()) {
+            flushes.add(senders.submit(() -> flush(entries, result)));
+        }
+        for (Future<?> flush : flushes) {
+            try {
+                flush.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // Se reintenta en la próxima pasada; runDrain registra el error
+                result.retried.incrementAndGet();
+                result.failure = e.getCause();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Envía en orden las entradas de una entidad; se detiene en la primera que no se aplica
+     */
+    private void flush(List<OutboxEntity> entries, DrainResult result) {
+        for (int i = 0; i < entries.size(); i++) {
+            OutboxEntity entry = entries.get(i);
+            OutboxOperation operation = OutboxOperation.valueOf(entry.operation);
+
+            int code;
+            String body;
+            try (PriorityScheduler.Permit permit = ApiClient.getScheduler().acquire(RequestPriority.BULK)) {
+                Response<ResponseBody> response = operation.newCall(apiService, entry).execute();
+                code = response.code();
+                ResponseBody responseBody = response.isSuccessful() ? response.body() : response.errorBody();
+                body = responseBody != null ? responseBody.string() : null;
+            } catch (IOException e) {
+                // La request pudo haber llegado: el reintento lleva la misma Idempotency-Key
+                outboxDao.recordFailure(entry.id, e.getMessage());
+                result.retried.incrementAndGet();
+                return;
+            }
+
+            if (code >= 200 && code < 300) {
+                int serverId = applied(entry, operation, body);
+                if (operation.isCreate() && serverId > 0) {
+                    for (OutboxEntity later : entries.subList(i + 1, entries.size())) {
+                        later.targetId = serverId;
+                    }
+                }
+                result.applied.incrementAndGet();
+            } else if (isConflict(code)) {
+                outboxDao.setStatus(entry.id, OutboxEntity.STATUS_CONFLICT, errorMessage(body, code));
+                result.conflicts.incrementAndGet();
+                return;
+            } else {
+                outboxDao.recordFailure(entry.id, "HTTP " + code);
+                result.retried.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private int applied(OutboxEntity entry, OutboxOperation operation, String body) {
+        JsonObject record = recordFrom(body);
+        int serverId = entry.targetId;
+        if (operation.isCreate()) {
+            serverId = record != null && record.has("id") && !record.get("id").isJsonNull()
+                    ? record.get("id").getAsInt() : 0;
+        }
+
+        final int resolvedId = serverId;
+        transaction.run(() -> {
+            outboxDao.delete(entry.id);
+            // Los cambios posteriores a un alta apuntan al id definitivo
+            if (operation.isCreate() && resolvedId > 0) {
+                outboxDao.retarget(entry.entityKey, resolvedId);
+            }
+            Listener listener = listeners.get(entry.resource);
+            if (listener != null) {
+                listener.onApplied(entry, resolvedId, record, outboxDao.countForEntity(entry.entityKey) == 0);
+            }
+        });
+        return resolvedId;
+    }
+
+    /**
+     * 4xx que reintentar no arregla (validación, 404, 409 por versión); 401, 408 y 429 sí se reintentan
+     */
+    static boolean isConflict(int code) {
+        return code >= 400 && code < 500 && code != 401 && code != 408 && code != 429;
+    }
+
+    /**
+     * Objeto de "data"; acepta el envoltorio del backend ({"client": {...}})
+     */
+    static JsonObject recordFrom(String body) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonElement root = JsonParser.parseString(body);
+            JsonElement data = root.isJsonObject() ? root.getAsJsonObject().get("data") : null;
+            if (data == null || !data.isJsonObject()) {
+                return null;
+            }
+            JsonObject object = data.getAsJsonObject();
+            if (object.has("id")) {
+                return object;
+            }
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                if (member.getValue().isJsonObject() && member.getValue().getAsJsonObject().has("id")) {
+                    return member.getValue().getAsJsonObject();
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String errorMessage(String body, int code) {
+        try {
+            JsonElement root = body != null ? JsonParser.parseString(body) : null;
+            if (root != null && root.isJsonObject() && root.getAsJsonObject().has("message")) {
+                return root.getAsJsonObject().get("message").getAsString();
+            }
+        } catch (RuntimeException e) {
+            // Cuerpo que no es JSON: se informa el código
+        }
+        return "HTTP " + code;
+    }
+
+    /**
+     * Resultado de una pasada: entradas aplicadas, pendientes de reintento y en conflicto
+     */
+    static final class DrainResult {
+        private final AtomicInteger applied = new AtomicInteger();
+        private final AtomicInteger retried = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+        private volatile Throwable failure;
+
+        int getApplied() { return applied.get(); }
+        int getRetried() { return retried.get(); }
+        int getConflicts() { return conflicts.get(); }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.data.remote.ApiService;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * Mutaciones que pueden encolarse en el outbox y la llamada que las reenvía
+ */
+public enum OutboxOperation {
+    CLIENT_CREATE(SyncEngine.CLIENTS, true) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.createClientIdempotent(entry.idempotencyKey, body);
+        }
+    },
+    CLIENT_UPDATE(SyncEngine.CLIENTS, false) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.updateClientIdempotent(entry.idempotencyKey, entry.targetId, body);
+        }
+    },
+    CLIENT_STATUS(SyncEngine.CLIENTS, false) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.changeClientStatusIdempotent(entry.idempotencyKey, entry.targetId, body);
+        }
+    },
+    CLIENT_CREDIT_LIMIT(SyncEngine.CLIENTS, false) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.updateCreditLimitIdempotent(entry.idempotencyKey, entry.targetId, body);
+        }
+    },
+    QUOTE_CREATE(SyncEngine.QUOTES, true) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.createQuoteIdempotent(entry.idempotencyKey, body);
+        }
+    },
+    QUOTE_UPDATE(SyncEngine.QUOTES, false) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.updateQuoteIdempotent(entry.idempotencyKey, entry.targetId, body);
+        }
+    },
+    CREDIT_REQUEST_CREATE(SyncEngine.CREDIT_REQUESTS, true) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.createCreditRequestIdempotent(entry.idempotencyKey, body);
+        }
+    },
+    CREDIT_REQUEST_UPDATE(SyncEngine.CREDIT_REQUESTS, false) {
+        @Override
+        Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body) {
+            return api.updateCreditRequestIdempotent(entry.idempotencyKey, entry.targetId, body);
+        }
+    };
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final String resource;
+    private final boolean create;
+
+    OutboxOperation(String resource, boolean create) {
+        this.resource = resource;
+        this.create = create;
+    }
+
+    abstract Call<ResponseBody> call(ApiService api, OutboxEntity entry, RequestBody body);
+
+    /**
+     * Request lista para enviar (la misma Idempotency-Key en cada intento)
+     */
+    Call<ResponseBody> newCall(ApiService api, OutboxEntity entry) {
+        return call(api, entry, RequestBody.create(entry.payload != null ? entry.payload : "{}", JSON));
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * Alta de una entidad: el backend asigna el id definitivo
+     */
+    public boolean isCreate() {
+        return create;
+    }
+}
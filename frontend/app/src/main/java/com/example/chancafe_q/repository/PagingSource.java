@@ -0,0 +1,390 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.remote.RequestPriority;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lista paginada con ventana acotada de páginas en memoria
+ *
+ * El tamaño que ve el adapter es el total informado por el backend desde la primera
+ * página; las posiciones de páginas aún no cargadas (o ya descartadas) son placeholders
+ * (get devuelve null) y piden su página al enlazarse. Cerca del borde de lo cargado se
+ * pide la página vecina con prioridad PREFETCH. Solo se retienen maxPages páginas: al
+ * cargar una nueva se descarta la más lejana a la zona visible, por lo que la memoria no
+ * crece con el número de clientes sino con el tamaño de la ventana.
+ *
+ * No es thread-safe: todos los métodos y el Listener se usan en el hilo principal;
+ * las respuestas del PageLoader se reenvían a ese hilo con el Executor recibido.
+ */
+public class PagingSource<T> {
+
+    /**
+     * Carga una página (número base 1) y responde por el callback desde cualquier hilo
+     */
+    public interface PageLoader<T> {
+        void loadPage(int page, int pageSize, RequestPriority priority, PageCallback<T> callback);
+    }
+
+    public interface PageCallback<T> {
+        void onPage(List<T> items, int totalCount);
+        void onError(String message, int code);
+    }
+
+    /**
+     * Cambios en el rango de posiciones, con la misma semántica que los notify del adapter
+     */
+    public interface Listener {
+        void onItemRangeInserted(int positionStart, int itemCount);
+        void onItemRangeChanged(int positionStart, int itemCount);
+        void onItemRangeRemoved(int positionStart, int itemCount);
+        void onError(String message, int code);
+        default void onPageLoaded(int totalCount) {} // Opcional (p. ej. estado vacío)
+    }
+
+    private final int pageSize;
+    private final int maxPages;
+    private final int prefetchDistance;
+    private final PageLoader<T> loader;
+    private final Executor mainExecutor;
+
+    private final Map<Integer, List<T>> pages = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private Listener listener;
+    private int totalCount = -1; // -1: primera página aún sin respuesta
+    private int anchorPage;
+    private int generation;
+
+    private long firstPageRequestedAt;
+    private long timeToFirstPageMillis = -1;
+    private int loadedPageCount;
+    private int droppedPageCount;
+
+    public PagingSource(int pageSize, int maxPages, int prefetchDistance,
+                        PageLoader<T> loader, Executor mainExecutor) {
+        if (pageSize <= 0 || maxPages < 2) {
+            throw new IllegalArgumentException("pageSize > 0 y maxPages >= 2");
+        }
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.prefetchDistance = Math.min(prefetchDistance, pageSize);
+        this.loader = loader;
+        this.mainExecutor = mainExecutor;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Pide la primera página si todavía no se pidió
+     */
+    public void start() {
+        if (totalCount < 0 && loading.isEmpty()) {
+            firstPageRequestedAt = System.nanoTime();
+            request(0, RequestPriority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Descarta todo lo cargado y vuelve a empezar desde la primera página
+     */
+    public void invalidate() {
+        int removed = size();
+        generation++;
+        pages.clear();
+        loading.clear();
+        totalCount = -1;
+        anchorPage = 0;
+        timeToFirstPageMillis = -1;
+        if (removed > 0 && listener != null) {
+            listener.onItemRangeRemoved(0, removed);
+        }
+        start();
+    }
+
+    /**
+     * Vuelve a pedir las páginas retenidas sin vaciar la lista (los datos de origen cambiaron)
+     * Las filas siguen mostrando los valores anteriores hasta que llega cada página
+     */
+    public void refresh() {
+        if (totalCount < 0) {
+            return; // La primera página aún no llegó y ya traerá los datos nuevos
+        }
+        generation++;
+        loading.clear();
+        for (int page : new ArrayList<>(pages.keySet())) {
+            loading.add(page);
+            fetch(page, RequestPriority.INTERACTIVE);
+        }
+        if (pages.isEmpty()) {
+            request(anchorPage, RequestPriority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Número de posiciones (incluye placeholders); 0 hasta que llega la primera página
+     */
+    public int size() {
+        return Math.max(totalCount, 0);
+    }
+
+    /**
+     * Elemento en la posición o null si su página no está en memoria (se pide)
+     */
+    public T get(int position) {
+        int page = position / pageSize;
+        if (!pages.containsKey(page)) {
+            anchorPage = page;
+            request(page, RequestPriority.INTERACTIVE);
+        }
+        prefetchAround(position);
+        return peek(position);
+    }
+
+    /**
+     * Elemento en la posición o null si su página no está en memoria, sin pedirla ni
+     * mover la precarga
+     */
+    public T peek(int position) {
+        int page = position / pageSize;
+        List<T> items = pages.get(page);
+        int offset = position - page * pageSize;
+        return items != null && offset < items.size() ? items.get(offset) : null;
+    }
+
+    /**
+     * Rango visible reportado por el scroll: fija el ancla de la ventana y precarga vecinos
+     */
+    public void onVisibleRangeChanged(int firstVisible, int lastVisible) {
+        if (firstVisible < 0 || lastVisible < firstVisible) {
+            return;
+        }
+        anchorPage = ((firstVisible + lastVisible) / 2) / pageSize;
+        for (int page = firstVisible / pageSize; page <= lastVisible / pageSize; page++) {
+            request(page, RequestPriority.INTERACTIVE);
+        }
+        prefetchAround(lastVisible);
+        prefetchAround(firstVisible);
+    }
+
+    /**
+     * Recorre los elementos de las páginas retenidas (p. ej. para soltar lo derivado de
+     * páginas que salieron de la ventana)
+     */
+    public void forEachLoaded(Consumer<? super T> action) {
+        for (List<T> items : pages.values()) {
+            for (T item : items) {
+                action.accept(item);
+            }
+        }
+    }
+
+    /**
+     * Posición del primer elemento cargado que cumple el predicado, o -1
+     */
+    public int indexOf(Predicate<T> predicate) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> items = entry.getValue();
+            for (int i = 0; i < items.size(); i++) {
+                if (predicate.test(items.get(i))) {
+                    return entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reemplaza un elemento cargado (edición local)
+     */
+    public void set(int position, T item) {
+        List<T> items = pages.get(position / pageSize);
+        int offset = position % pageSize;
+        if (items == null || offset >= items.size()) {
+            return;
+        }
+        items.set(offset, item);
+        if (listener != null) {
+            listener.onItemRangeChanged(position, 1);
+        }
+    }
+
+    /**
+     * Quita un elemento cargado; las páginas siguientes quedan corridas y se vuelven a pedir
+     */
+    public void remove(int position) {
+        int page = position / pageSize;
+        List<T> items = pages.get(page);
+        int offset = position % pageSize;
+        if (items == null || offset >= items.size()) {
+            return;
+        }
+        items.remove(offset);
+        totalCount--;
+
+        Iterator<Map.Entry<Integer, List<T>>> iterator = pages.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() > page) {
+                iterator.remove();
+            }
+        }
+        generation++; // Las respuestas en vuelo traen offsets anteriores al borrado
+        loading.clear();
+
+        // La página quedó con un hueco al final: se vuelve a pedir para completarla
+        if ((page + 1) * pageSize <= totalCount) {
+            loading.add(page);
+            fetch(page, RequestPriority.INTERACTIVE);
+        }
+
+        if (listener != null) {
+            listener.onItemRangeRemoved(position, 1);
+            int shifted = totalCount - position;
+            if (shifted > 0) {
+                listener.onItemRangeChanged(position, shifted);
+            }
+        }
+    }
+
+    private void prefetchAround(int position) {
+        int last = size() - 1;
+        int next = Math.min(position + prefetchDistance, last);
+        int previous = Math.max(position - prefetchDistance, 0);
+        int page = position / pageSize;
+        if (next >= 0 && next / pageSize != page) {
+            request(next / pageSize, RequestPriority.PREFETCH);
+        }
+        if (previous / pageSize != page) {
+            request(previous / pageSize, RequestPriority.PREFETCH);
+        }
+    }
+
+    private void request(int page, RequestPriority priority) {
+        if (page < 0 || (totalCount >= 0 && page * pageSize >= totalCount)
+                || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        fetch(page, priority);
+    }
+
+    private void fetch(int page, RequestPriority priority) {
+        final int requestGeneration = generation;
+        loader.loadPage(page + 1, pageSize, priority, new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> items, int total) {
+                mainExecutor.execute(() -> onPageLoaded(requestGeneration, page, items, total));
+            }
+
+            @Override
+            public void onError(String message, int code) {
+                mainExecutor.execute(() -> onPageFailed(requestGeneration, page, message, code));
+            }
+        });
+    }
+
+    private void onPageLoaded(int requestGeneration, int page, List<T> items, int total) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(page);
+        pages.put(page, new ArrayList<>(items));
+        loadedPageCount++;
+
+        int previousSize = size();
+        boolean first = totalCount < 0;
+        totalCount = total;
+        if (first) {
+            timeToFirstPageMillis = (System.nanoTime() - firstPageRequestedAt) / 1_000_000;
+        }
+
+        if (listener != null) {
+            int newSize = size();
+            if (newSize > previousSize) {
+                listener.onItemRangeInserted(previousSize, newSize - previousSize);
+            } else if (newSize < previousSize) {
+                listener.onItemRangeRemoved(newSize, previousSize - newSize);
+            }
+            int start = page * pageSize;
+            int count = Math.min(items.size(), newSize - start);
+            if (!first && count > 0) {
+                listener.onItemRangeChanged(start, count);
+            }
+            listener.onPageLoaded(newSize);
+        }
+
+        trimToWindow();
+    }
+
+    private void onPageFailed(int requestGeneration, int page, String message, int code) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(page);
+        if (listener != null) {
+            listener.onError(message, code);
+        }
+    }
+
+    /**
+     * Descarta las páginas más lejanas al ancla hasta quedar dentro de la ventana
+     */
+    private void trimToWindow() {
+        while (pages.size() > maxPages) {
+            int farthest = -1;
+            for (int page : pages.keySet()) {
+                if (farthest < 0 || Math.abs(page - anchorPage) > Math.abs(farthest - anchorPage)) {
+                    farthest = page;
+                }
+            }
+            List<T> dropped = pages.remove(farthest);
+            droppedPageCount++;
+            if (listener != null && !dropped.isEmpty()) {
+                listener.onItemRangeChanged(farthest * pageSize, dropped.size());
+            }
+        }
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Elementos retenidos en memoria (cota: maxPages * pageSize)
+     */
+    public int getRetainedItemCount() {
+        int count = 0;
+        for (List<T> items : pages.values()) {
+            count += items.size();
+        }
+        return count;
+    }
+
+    public int getRetainedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Milisegundos entre start() y la llegada de la primera página; -1 si aún no llegó
+     */
+    public long getTimeToFirstPageMillis() {
+        return timeToFirstPageMillis;
+    }
+
+    public int getLoadedPageCount() {
+        return loadedPageCount;
+    }
+
+    public int getDroppedPageCount() {
+        return droppedPageCount;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.chancafe_q.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.FtsQuery;
+import com.example.chancafe_q.data.local.FtsRanker;
+import com.example.chancafe_q.data.local.dao.ProductDao;
+import com.example.chancafe_q.data.local.dao.SyncStateDao;
+import com.example.chancafe_q.data.local.entity.ProductSearchRow;
+import com.example.chancafe_q.data.local.entity.SyncStateEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.data.remote.StreamingListDecoder;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.utils.Configuration;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repositorio de productos
+ *
+ * Con base local, la búsqueda se resuelve contra una copia del catálogo indexada con FTS4
+ * (prefijos, sin tildes, resultados rankeados) sin ir a la red. La búsqueda del backend
+ * solo se usa si la copia local está vencida o vacía.
+ */
+public class ProductRepository {
+    private static final String TAG = "ProductRepository";
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_CHUNK_SIZE = 2000;
+    private static final int SEARCH_LIMIT = 50;
+    static final String SYNC_RESOURCE = SyncEngine.PRODUCTS;
+
+    // Pesos por columna de products_fts: nombre, sku, descripción, categoría, proveedor
+    private static final double[] COLUMN_WEIGHTS = {4.0, 3.0, 1.0, 1.5, 1.0};
+
+    private static ProductRepository instance;
+    private ApiService apiService;
+    private final ProductDao productDao; // null sin base local
+    private final SyncStateDao syncStateDao;
+    private final SyncEngine syncEngine;
+    private final StreamingListDecoder<Product> decoder;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean catalogRefreshing = new AtomicBoolean();
+
+    // Detalle y categorías: se sirven desde memoria según su política de frescura
+    private final NetworkBoundResource<Integer, Product> productById;
+    private final NetworkBoundResource<Void, List<Category>> categories;
+
+    private ProductRepository() {
+        this(ApiClient.getApiService(), AppDatabase.getInstanceIfCreated());
+    }
+
+    private ProductRepository(ApiService apiService, AppDatabase database) {
+        this(apiService,
+                database != null ? database.productDao() : null,
+                database != null ? database.syncStateDao() : null,
+                SyncEngine.getInstance());
+    }
+
+    /**
+     * Para tests y benchmarks: DAOs de una base en memoria
+     */
+    ProductRepository(ApiService apiService, ProductDao productDao, SyncStateDao syncStateDao, SyncEngine syncEngine) {
+        this.apiService = apiService;
+        this.productDao = productDao;
+        this.syncStateDao = syncStateDao;
+        this.syncEngine = syncEngine;
+        decoder = new StreamingListDecoder<>(ApiClient.getGson(), Product.class, MAX_BATCH_SIZE, MAX_CHUNK_SIZE);
+        productById = new NetworkBoundResource<Integer, Product>("Producto obtenido exitosamente")
+                .withFetcher(apiService::getProduct)
+                .withFreshness(SyncEngine.PRODUCTS);
+        categories = new NetworkBoundResource<Void, List<Category>>("Categorías obtenidas exitosamente")
+                .withFetcher(key -> apiService.getCategories())
+                .withFreshness(SyncEngine.CATEGORIES);
+    }
+
+    public static synchronized ProductRepository getInstance() {
+        if (instance == null) {
+            instance = new ProductRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Obtiene un producto; dentro de su TTL no sale a la red y luego se revalida en
+     * segundo plano (206 con el valor anterior, 200 con el nuevo)
+     */
+    public MutableLiveData<ApiResponse<Product>> getProduct(int productId) {
+        return productById.load(productId);
+    }
+
+    /**
+     * Obtiene las categorías; cambian muy poco, así que casi siempre salen de memoria
+     */
+    public MutableLiveData<ApiResponse<List<Category>>> getCategories() {
+        return categories.load(null);
+    }
+
+    /**
+     * Busca productos por nombre, SKU, descripción, categoría o proveedor
+     * Con catálogo local vigente responde desde el índice FTS; si está vencido pide la
+     * búsqueda al backend (y refresca la copia en segundo plano), y si la red falla
+     * usa igual la copia local.
+     */
+    public MutableLiveData<ApiResponse<List<Product>>> searchProducts(String query) {
+        MutableLiveData<ApiResponse<List<Product>>> result = new MutableLiveData<>();
+
+        if (productDao == null) {
+            searchRemote(query, result, false);
+            return result;
+        }
+
+        diskExecutor.execute(() -> {
+            try {
+                if (isCatalogFresh()) {
+                    result.postValue(new ApiResponse<>(true, "Productos encontrados", searchLocal(query, SEARCH_LIMIT), 200));
+                    return;
+                }
+                refreshCatalog();
+                searchRemote(query, result, productDao.count() > 0);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local product search failed", e);
+                searchRemote(query, result, false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Búsqueda contra el índice local; hay que llamarla fuera del hilo principal
+     */
+    public List<Product> searchLocal(String query, int limit) {
+        String match = FtsQuery.build(query);
+        if (match == null || productDao == null) {
+            return Collections.emptyList();
+        }
+
+        List<ProductSearchRow> rows = productDao.search(match);
+        int size = rows.size();
+        double[] scores = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = FtsRanker.score(rows.get(i).matchInfo, COLUMN_WEIGHTS);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            String nameA = rows.get(a).product.name;
+            String nameB = rows.get(b).product.name;
+            return nameA == null ? (nameB == null ? 0 : 1) : (nameB == null ? -1 : nameA.compareToIgnoreCase(nameB));
+        });
+
+        int count = Math.min(limit, size);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(rows.get(order[i]).product.toModel());
+        }
+        return products;
+    }
+
+    private void searchRemote(String query, MutableLiveData<ApiResponse<List<Product>>> result, boolean localFallback) {
+        NetworkUtils.executeCall(
+            apiService.searchProducts(query),
+            RequestPriority.INTERACTIVE,
+            new NetworkUtils.ApiCallback<List<Product>>() {
+                @Override
+                public void onSuccess(List<Product> data) {
+                    result.postValue(new ApiResponse<>(true, "Productos encontrados", data, 200));
+                }
+
+                @Override
+                public void onError(String message, int errorCode) {
+                    if (localFallback) {
+                        // Sin red: mejor el catálogo guardado (aunque vencido) que nada
+                        diskExecutor.execute(() -> result.postValue(new ApiResponse<>(
+                            true,
+                            "Resultados del catálogo guardado",
+                            searchLocal(query, SEARCH_LIMIT),
+                            200
+                        )));
+                        return;
+                    }
+                    result.postValue(new ApiResponse<>(false, message, null, errorCode));
+                }
+            }
+        );
+    }
+
+    private boolean isCatalogFresh() {
+        SyncStateEntity state = syncStateDao.get(SYNC_RESOURCE);
+        long maxAgeMillis = Configuration.CacheConfig.getLocalCatalogMaxAge() * 1000L;
+        return state != null
+                && System.currentTimeMillis() - state.syncedAt < maxAgeMillis
+                && productDao.count() > 0;
+    }
+
+    /**
+     * Refresca la copia local solo si está vencida (p. ej. al abrir la pantalla de productos)
+     */
+    public void refreshCatalogIfStale() {
+        if (productDao == null) {
+            return;
+        }
+        diskExecutor.execute(() -> {
+            try {
+                if (!isCatalogFresh()) {
+                    refreshCatalog();
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Catalog state read failed", e);
+            }
+        });
+    }
+
+    /**
+     * Trae los cambios del catálogo desde la última sincronización (una sola a la vez)
+     */
+    public void refreshCatalog() {
+        if (syncEngine == null || !catalogRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        syncExecutor.execute(() -> {
+            try {
+                syncEngine.sync(SYNC_RESOURCE);
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Catalog sync failed", e);
+            } finally {
+                catalogRefreshing.set(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.chancafe_q.repository;
+
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import retrofit2.Call;
+
+/**
+ * Repositorio de cotizaciones
+ */
+public class QuoteRepository {
+    private static QuoteRepository instance;
+    private ApiService apiService;
+    private final RecordMutations<Quote> mutations; // null sin base local
+
+    private QuoteRepository() {
+        apiService = ApiClient.getApiService();
+        mutations = RecordMutations.create(ApiClient.getGson(), SyncEngine.QUOTES, Quote.class,
+                Quote::setId, Quote::getUpdatedAt, id -> apiService.getQuote(id));
+    }
+
+    public static synchronized QuoteRepository getInstance() {
+        if (instance == null) {
+            instance = new QuoteRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Crea una cotización; con base local se guarda y se envía por el outbox (202)
+     */
+    public MutableLiveData<ApiResponse<Quote>> createQuote(Quote quote) {
+        if (mutations != null) {
+            return mutations.create(OutboxOperation.QUOTE_CREATE, quote, "Cotización guardada");
+        }
+        return send(apiService.createQuote(quote), "Cotización creada exitosamente", 201);
+    }
+
+    /**
+     * Actualiza una cotización; con base local se guarda y se envía por el outbox (202)
+     */
+    public MutableLiveData<ApiResponse<Quote>> updateQuote(int quoteId, Quote quote) {
+        if (mutations != null) {
+            return mutations.update(OutboxOperation.QUOTE_UPDATE, quoteId, quote, "Cotización actualizada");
+        }
+        return send(apiService.updateQuote(quoteId, quote), "Cotización actualizada exitosamente", 200);
+    }
+
+    private static MutableLiveData<ApiResponse<Quote>> send(Call<ApiResponse<Quote>> call, String message, int code) {
+        MutableLiveData<ApiResponse<Quote>> result = new MutableLiveData<>();
+        NetworkUtils.executeCall(call, new NetworkUtils.ApiCallback<Quote>() {
+            @Override
+            public void onSuccess(Quote data) {
+                result.postValue(new ApiResponse<>(true, message, data, code));
+            }
+
+            @Override
+            public void onError(String message, int errorCode) {
+                result.postValue(new ApiResponse<>(false, message, null, errorCode));
+            }
+        });
+        return result;
+    }
+}
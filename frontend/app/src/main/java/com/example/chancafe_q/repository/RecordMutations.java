@@ -0,0 +1,160 @@
+package com.example.chancafe_q.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.dao.CachedRecordDao;
+import com.example.chancafe_q.data.local.entity.CachedRecordEntity;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.utils.NetworkUtils;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+
+/**
+ * Altas y ediciones encoladas en el outbox para un recurso guardado en cached_records
+ * (cotizaciones, solicitudes de crédito): el registro se escribe localmente y se envía
+ * cuando hay conexión. Lo que confirma el backend reemplaza la copia optimista.
+ */
+final class RecordMutations<T> implements Outbox.Listener {
+    private static final String TAG = "RecordMutations";
+
+    private final CachedRecordDao dao;
+    private final Outbox outbox;
+    private final Gson gson;
+    private final String resource;
+    private final Class<T> type;
+    private final ObjIntConsumer<T> setId;
+    private final Function<T, Date> updatedAt;
+    private final IntFunction<Call<ApiResponse<T>>> fetch;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    RecordMutations(CachedRecordDao dao, Outbox outbox, Gson gson, String resource, Class<T> type,
+                    ObjIntConsumer<T> setId, Function<T, Date> updatedAt, IntFunction<Call<ApiResponse<T>>> fetch) {
+        this.dao = dao;
+        this.outbox = outbox;
+        this.gson = gson;
+        this.resource = resource;
+        this.type = type;
+        this.setId = setId;
+        this.updatedAt = updatedAt;
+        this.fetch = fetch;
+        outbox.setListener(resource, this);
+    }
+
+    /**
+     * Mutaciones del recurso, o null si no hay base local (se usa la API directa)
+     */
+    static <T> RecordMutations<T> create(Gson gson, String resource, Class<T> type, ObjIntConsumer<T> setId,
+                                         Function<T, Date> updatedAt, IntFunction<Call<ApiResponse<T>>> fetch) {
+        AppDatabase database = AppDatabase.getInstanceIfCreated();
+        Outbox outbox = Outbox.getInstance();
+        if (database == null || outbox == null) {
+            return null;
+        }
+        return new RecordMutations<>(database.cachedRecordDao(), outbox, gson, resource, type, setId, updatedAt, fetch);
+    }
+
+    /**
+     * Alta con id temporal negativo hasta que el backend asigne el definitivo
+     */
+    MutableLiveData<ApiResponse<T>> create(OutboxOperation operation, T model, String message) {
+        String payload = gson.toJson(model);
+        return commit(message, () -> {
+            Integer minId = dao.minId(resource);
+            int localId = Math.min(minId != null ? minId : 0, 0) - 1;
+            T local = gson.fromJson(payload, type);
+            setId.accept(local, localId);
+            save(localId, local);
+            outbox.enqueue(operation, localId, payload);
+            return local;
+        });
+    }
+
+    MutableLiveData<ApiResponse<T>> update(OutboxOperation operation, int id, T model, String message) {
+        String payload = gson.toJson(model);
+        return commit(message, () -> {
+            T local = gson.fromJson(payload, type);
+            setId.accept(local, id);
+            save(id, local);
+            outbox.enqueue(operation, id, payload);
+            return local;
+        });
+    }
+
+    private MutableLiveData<ApiResponse<T>> commit(String message, Supplier<T> change) {
+        MutableLiveData<ApiResponse<T>> result = new MutableLiveData<>();
+        diskExecutor.execute(() -> {
+            try {
+                AtomicReference<T> applied = new AtomicReference<>();
+                outbox.commit(() -> applied.set(change.get()));
+                result.postValue(new ApiResponse<>(true, message, applied.get(), 202));
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Local " + resource + " mutation failed", e);
+                result.postValue(new ApiResponse<>(false, "No se pudo guardar el cambio", null, 500));
+            }
+        });
+        return result;
+    }
+
+    private void save(int id, T model) {
+        dao.upsertAll(Collections.singletonList(
+                CachedRecordEntity.fromModel(gson, resource, id, updatedAt.apply(model), model)));
+    }
+
+    @Override
+    public void onApplied(OutboxEntity entry, int serverId, JsonObject record, boolean settled) {
+        if (entry.targetId < 0 && serverId > 0) {
+            CachedRecordEntity local = dao.getById(resource, entry.targetId);
+            dao.deleteByIds(resource, Collections.singletonList(entry.targetId));
+            if (local != null) {
+                T model = local.toModel(gson, type);
+                setId.accept(model, serverId);
+                save(serverId, model);
+            }
+        }
+        if (settled && record != null && serverId > 0) {
+            T saved = gson.fromJson(record, type);
+            if (saved != null) {
+                save(serverId, saved);
+            }
+        }
+    }
+
+    @Override
+    public void onDiscarded(OutboxEntity entry) {
+        if (entry.targetId < 0) {
+            dao.deleteByIds(resource, Collections.singletonList(entry.targetId));
+            return;
+        }
+        // Se vuelve a la versión del backend
+        NetworkUtils.executeCall(fetch.apply(entry.targetId), RequestPriority.PREFETCH,
+                new NetworkUtils.ApiCallback<T>() {
+                    @Override
+                    public void onSuccess(T data) {
+                        if (data != null) {
+                            diskExecutor.execute(() -> save(entry.targetId, data));
+                        }
+                    }
+
+                    @Override
+                    public void onError(String message, int errorCode) {
+                        Log.w(TAG, "Could not restore " + resource + " " + entry.targetId + ": " + message);
+                    }
+                });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.chancafe_q.repository;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import retrofit2.Call;
+
+/**
+ * Resultado de una request que conoce su Call y puede cancelarla
+ *
+ * Solo para resultados de un único llamador: los LiveData compartidos (p. ej. la
+ * carga de clientes en curso que reciben varias pantallas) no se cancelan.
+ */
+public class RequestLiveData<T> extends MutableLiveData<T> {
+
+    private volatile Call<?> call;
+    private volatile boolean cancelled;
+
+    /**
+     * Asocia la Call que producirá el resultado; devuelve la misma Call para encadenar
+     * Si el resultado ya se canceló (p. ej. mientras se leía la caché), la Call nace cancelada
+     */
+    public <C extends Call<?>> C attach(C call) {
+        this.call = call;
+        if (cancelled) {
+            call.cancel();
+        }
+        return call;
+    }
+
+    /**
+     * Cancela la Call si sigue en curso; el resultado recibe el error de cancelación
+     * Si la Call se agrupó con otras idénticas, solo este resultado deja de esperar
+     */
+    public void cancel() {
+        cancelled = true;
+        Call<?> current = call;
+        if (current != null) {
+            NetworkUtils.cancel(current);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.chancafe_q.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+import com.example.chancafe_q.data.local.AppDatabase;
+import com.example.chancafe_q.data.local.dao.CachedRecordDao;
+import com.example.chancafe_q.data.local.dao.ClientDao;
+import com.example.chancafe_q.data.local.dao.OutboxDao;
+import com.example.chancafe_q.data.local.dao.ProductDao;
+import com.example.chancafe_q.data.local.dao.SyncStateDao;
+import com.example.chancafe_q.data.local.entity.CachedRecordEntity;
+import com.example.chancafe_q.data.local.entity.ClientEntity;
+import com.example.chancafe_q.data.local.entity.ProductEntity;
+import com.example.chancafe_q.data.local.entity.SyncStateEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ChangeSetDecoder;
+import com.example.chancafe_q.data.remote.ChangeSetDecoder.ChangeSet;
+import com.example.chancafe_q.data.remote.PriorityScheduler;
+import com.example.chancafe_q.data.remote.RequestPriority;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.CreditRequest;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.model.Supplier;
+import com.example.chancafe_q.utils.Configuration;
+import com.example.chancafe_q.utils.NetworkUtils;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Sincronización incremental de la base local por recurso
+ *
+ * Cada recurso guarda en sync_state la marca (watermark) que devolvió el servidor en la
+ * última sincronización y pide solo lo cambiado desde entonces (updated_since). Las filas
+ * nuevas o modificadas, los tombstones y la nueva marca de cada lote se aplican en una
+ * sola transacción: si la app se cierra a mitad de camino, se retoma desde el último lote
+ * aplicado. Sin marca (primera vez) o si el backend responde la lista completa, la tabla
+ * local se reemplaza. Así el costo de un refresco depende de lo que cambió y no del
+ * tamaño del recurso.
+ */
+public class SyncEngine {
+    private static final String TAG = "SyncEngine";
+
+    public static final String CLIENTS = "clients";
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String QUOTES = "quotes";
+    public static final String CREDIT_REQUESTS = "credit_requests";
+
+    /**
+     * Request de cambios de un recurso; watermark null pide la lista completa
+     */
+    public interface ChangesCall {
+        Call<ResponseBody> changedSince(String watermark, int limit);
+    }
+
+    /**
+     * Tabla local de un recurso (se llama dentro de la transacción del lote)
+     */
+    public interface LocalStore<T> {
+        void clear();
+        void apply(List<T> upserts, List<Integer> deletedIds);
+    }
+
+    public interface TransactionRunner {
+        void run(Runnable body);
+    }
+
+    private static SyncEngine instance;
+    private final SyncStateDao syncStateDao;
+    private final TransactionRunner transaction;
+    private final Gson gson;
+    private final int batchSize;
+    private final Map<String, Resource<?>> resources = new LinkedHashMap<>();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor();
+
+    SyncEngine(SyncStateDao syncStateDao, TransactionRunner transaction, Gson gson, int batchSize) {
+        this.syncStateDao = syncStateDao;
+        this.transaction = transaction;
+        this.gson = gson;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Motor con los recursos de la app, o null si todavía no hay base local
+     */
+    public static synchronized SyncEngine getInstance() {
+        if (instance == null) {
+            AppDatabase database = AppDatabase.getInstanceIfCreated();
+            if (database == null) {
+                return null;
+            }
+            instance = new SyncEngine(database.syncStateDao(), database::runInTransaction,
+                    ApiClient.getGson(), Configuration.SyncConfig.getBatchSize());
+            instance.registerDefaults(database);
+        }
+        return instance;
+    }
+
+    private void registerDefaults(AppDatabase database) {
+        OutboxDao outboxDao = database.outboxDao();
+        ClientDao clientDao = database.clientDao();
+        register(CLIENTS, Client.class,
+                (since, limit) -> ApiClient.getApiService().getClientChanges(since, limit),
+                new LocalStore<Client>() {
+                    @Override
+                    public void clear() {
+                        clientDao.deleteSynced();
+                    }
+
+                    @Override
+                    public void apply(List<Client> upserts, List<Integer> deletedIds) {
+                        Set<Integer> pending = new HashSet<>(outboxDao.getTargetIds(CLIENTS));
+                        List<ClientEntity> entities = new ArrayList<>(upserts.size());
+                        for (Client client : upserts) {
+                            if (!pending.contains(client.getId())) {
+                                entities.add(ClientEntity.fromModel(client));
+                            }
+                        }
+                        clientDao.applyDiff(entities, deletedIds);
+                    }
+                });
+
+        ProductDao productDao = database.productDao();
+        register(PRODUCTS, Product.class,
+                (since, limit) -> ApiClient.getApiService().getProductChanges(since, limit),
+                new LocalStore<Product>() {
+                    @Override
+                    public void clear() {
+                        productDao.deleteAll();
+                    }
+
+                    @Override
+                    public void apply(List<Product> upserts, List<Integer> deletedIds) {
+                        List<ProductEntity> entities = new ArrayList<>(upserts.size());
+                        for (Product product : upserts) {
+                            entities.add(ProductEntity.fromModel(product));
+                        }
+                        productDao.applyChanges(entities, deletedIds);
+                    }
+                });
+
+        CachedRecordDao records = database.cachedRecordDao();
+        register(CATEGORIES, Category.class,
+                (since, limit) -> ApiClient.getApiService().getCategoryChanges(since, limit),
+                recordStore(records, outboxDao, CATEGORIES, Category::getId, Category::getUpdatedAt));
+        register(SUPPLIERS, Supplier.class,
+                (since, limit) -> ApiClient.getApiService().getSupplierChanges(since, limit),
+                recordStore(records, outboxDao, SUPPLIERS, Supplier::getId, Supplier::getUpdatedAt));
+        register(QUOTES, Quote.class,
+                (since, limit) -> ApiClient.getApiService().getQuoteChanges(since, limit),
+                recordStore(records, outboxDao, QUOTES, Quote::getId, Quote::getUpdatedAt));
+        register(CREDIT_REQUESTS, CreditRequest.class,
+                (since, limit) -> ApiClient.getApiService().getCreditRequestChanges(since, limit),
+                recordStore(records, outboxDao, CREDIT_REQUESTS, CreditRequest::getId, CreditRequest::getUpdatedAt));
+    }
+
+    /**
+     * Guarda los registros de un recurso sin tabla propia como JSON en cached_records
+     * Las filas con cambios locales aún en el outbox no se pisan hasta que se envíen
+     */
+    private <T> LocalStore<T> recordStore(CachedRecordDao dao, OutboxDao outboxDao, String resource,
+                                          ToIntFunction<T> id, Function<T, Date> updatedAt) {
+        return new LocalStore<T>() {
+            @Override
+            public void clear() {
+                dao.deleteSynced(resource);
+            }
+
+            @Override
+            public void apply(List<T> upserts, List<Integer> deletedIds) {
+                Set<Integer> pending = new HashSet<>(outboxDao.getTargetIds(resource));
+                List<CachedRecordEntity> entities = new ArrayList<>(upserts.size());
+                for (T item : upserts) {
+                    if (pending.contains(id.applyAsInt(item))) {
+                        continue;
+                    }
+                    entities.add(CachedRecordEntity.fromModel(gson, resource,
+                            id.applyAsInt(item), updatedAt.apply(item), item));
+                }
+                dao.applyChanges(resource, entities, deletedIds);
+            }
+        };
+    }
+
+    public synchronized <T> void register(String name, Class<T> type, ChangesCall changes, LocalStore<T> store) {
+        resources.put(name, new Resource<>(name, new ChangeSetDecoder<>(gson, type), changes, store));
+    }
+
+    /**
+     * Sincroniza un recurso en el hilo actual (nunca el principal) hasta agotar los cambios
+     * Dos llamadas sobre el mismo recurso se ejecutan una después de la otra
+     */
+    public SyncResult sync(String name) throws IOException {
+        Resource<?> resource;
+        synchronized (this) {
+            resource = resources.get(name);
+        }
+        if (resource == null) {
+            throw new IllegalArgumentException("Recurso sin registrar: " + name);
+        }
+        synchronized (resource) {
+            return run(resource);
+        }
+    }
+
+    /**
+     * Sincroniza un recurso en segundo plano
+     */
+    public void syncAsync(String name, NetworkUtils.ApiCallback<SyncResult> callback) {
+        syncExecutor.execute(() -> {
+            try {
+                callback.onSuccess(sync(name));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Sync of " + name + " failed", e);
+                callback.onError("Error de sincronización: " + e.getMessage(), 500);
+            }
+        });
+    }
+
+    /**
+     * Sincroniza todos los recursos en orden; la falla de uno no detiene a los demás
+     */
+    public MutableLiveData<ApiResponse<List<SyncResult>>> syncAll() {
+        MutableLiveData<ApiResponse<List<SyncResult>>> result = new MutableLiveData<>();
+        List<String> names;
+        synchronized (this) {
+            names = new ArrayList<>(resources.keySet());
+        }
+
+        syncExecutor.execute(() -> {
+            List<SyncResult> results = new ArrayList<>();
+            List<String> failed = new ArrayList<>();
+            for (String name : names) {
+                try {
+                    results.add(sync(name));
+                } catch (IOException | RuntimeException e) {
+                    Log.w(TAG, "Sync of " + name + " failed", e);
+                    failed.add(name);
+                }
+            }
+            result.postValue(failed.isEmpty()
+                    ? new ApiResponse<>(true, "Datos sincronizados", results, 200)
+                    : new ApiResponse<>(false, "No se pudo sincronizar: " + String.join(", ", failed), results, 500));
+        });
+        return result;
+    }
+
+    private <T> SyncResult run(Resource<T> resource) throws IOException {
+        long startedAt = System.nanoTime();
+        SyncStateEntity state = syncStateDao.get(resource.name);
+        String since = state != null ? state.watermark : null;
+        SyncResult result = new SyncResult(resource.name);
+
+        boolean firstBatch = true;
+        while (true) {
+            ChangeSet<T> changes;
+            // El cupo bulk se suelta recién con el lote decodificado: la conexión sigue en uso
+            try (PriorityScheduler.Permit permit = ApiClient.getScheduler().acquire(RequestPriority.BULK)) {
+                Response<ResponseBody> response = resource.changes.changedSince(since, batchSize).execute();
+                result.requests++;
+                if (!response.isSuccessful() || response.body() == null) {
+                    throw new IOException("HTTP " + response.code() + " al sincronizar " + resource.name);
+                }
+
+                try (ResponseBody body = response.body()) {
+                    changes = resource.decoder.decode(body);
+                }
+            }
+            if (!changes.isSuccess()) {
+                throw new IOException(changes.getMessage() != null ? changes.getMessage() : "Respuesta sin éxito");
+            }
+
+            // Primera descarga o backend sin soporte incremental: lo que no vino ya no existe
+            boolean replace = changes.isSnapshot() || (since == null && firstBatch);
+            String watermark = changes.getWatermark();
+            long syncedAt = System.currentTimeMillis();
+            transaction.run(() -> {
+                if (replace) {
+                    resource.store.clear();
+                }
+                resource.store.apply(changes.getItems(), changes.getDeletedIds());
+                syncStateDao.upsert(new SyncStateEntity(resource.name, syncedAt, watermark));
+            });
+
+            result.upserted += changes.getItems().size();
+            result.deleted += changes.getDeletedIds().size();
+            result.full |= replace;
+            firstBatch = false;
+
+            // Una marca que no avanza cortaría en un ciclo infinito
+            if (!changes.hasMore() || watermark == null || watermark.equals(since)) {
+                break;
+            }
+            since = watermark;
+        }
+
+        result.elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        return result;
+    }
+
+    private static final class Resource<T> {
+        final String name;
+        final ChangeSetDecoder<T> decoder;
+        final ChangesCall changes;
+        final LocalStore<T> store;
+
+        Resource(String name, ChangeSetDecoder<T> decoder, ChangesCall changes, LocalStore<T> store) {
+            this.name = name;
+            this.decoder = decoder;
+            this.changes = changes;
+            this.store = store;
+        }
+    }
+
+    /**
+     * Resumen de una sincronización: filas escritas, tombstones y requests hechas
+     */
+    public static final class SyncResult {
+        private final String resource;
+        private int upserted;
+        private int deleted;
+        private int requests;
+        private boolean full;
+        private long elapsedMillis;
+
+        SyncResult(String resource) {
+            this.resource = resource;
+        }
+
+        public String getResource() { return resource; }
+        public int getUpserted() { return upserted; }
+        public int getDeleted() { return deleted; }
+        public int getRequests() { return requests; }
+        public boolean isFull() { return full; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * Filas escritas o borradas (0: la base local ya estaba al día)
+         */
+        public int getChangedCount() {
+            return upserted + deleted;
+        }
+
+        @Override
+        public String toString() {
+            return resource + ": " + upserted + " actualizados, " + deleted + " borrados, "
+                    + requests + " requests" + (full ? " (completa)" : "") + ", " + elapsedMillis + " ms";
+        }
+    }
+}
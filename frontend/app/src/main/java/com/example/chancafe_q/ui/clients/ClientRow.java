@@ -0,0 +1,89 @@
+package com.example.chancafe_q.ui.clients;
+
+import com.example.chancafe_q.model.Client;
+
+/**
+ * Fila ya formateada de la lista de clientes
+ *
+ * Se arma una vez cuando llegan los datos (en el hilo de fondo de ClientsAdapter) y es
+ * inmutable: al hacer scroll el bind solo asigna los textos, sin concatenar ni crear
+ * Strings. Es además la copia que compara el diff, así que una edición de la instancia
+ * compartida del IdentityMap se ve como cambio aunque el Client sea el mismo objeto.
+ */
+final class ClientRow {
+
+    /**
+     * Destino del bind; lo implementa ClientViewHolder con sus TextView
+     */
+    interface RowView {
+        void showRow(CharSequence name, CharSequence document, CharSequence contact);
+    }
+
+    final Client client;
+    final int id;
+    final CharSequence name; // Nombre con indicadores de tipo y estado
+    final CharSequence document;
+    final CharSequence contact;
+
+    private ClientRow(Client client, CharSequence name, CharSequence document, CharSequence contact) {
+        this.client = client;
+        this.id = client.getId();
+        this.name = name;
+        this.document = document;
+        this.contact = contact;
+    }
+
+    static ClientRow of(Client client) {
+        String displayName = client.getFullName();
+        if (displayName.trim().isEmpty()) {
+            displayName = "Cliente sin nombre";
+        }
+        String typeIndicator = client.isBusiness() ? " 🏢" : " 👤"; // 🏢 para empresa, 👤 para persona
+        String statusIndicator = "";
+        switch (client.getStatus() != null ? client.getStatus() : "active") {
+            case "active":
+                statusIndicator = " ✅";
+                break;
+            case "inactive":
+                statusIndicator = " ⏸️";
+                break;
+            case "suspended":
+                statusIndicator = " ⚠️";
+                break;
+            case "blacklisted":
+                statusIndicator = " ❌";
+                break;
+        }
+
+        String documentType = client.getDocumentType() != null ? client.getDocumentType() : "DOC";
+        String documentNumber = client.getDocumentNumber() != null ? client.getDocumentNumber() : "Sin documento";
+
+        // Email o, si no hay, teléfono
+        String contactInfo;
+        if (client.getEmail() != null && !client.getEmail().isEmpty()) {
+            contactInfo = "📧 " + client.getEmail();
+        } else if (client.getPhone() != null && !client.getPhone().isEmpty()) {
+            contactInfo = "📞 " + client.getPhone();
+        } else {
+            contactInfo = "Sin información de contacto";
+        }
+
+        return new ClientRow(client, displayName + typeIndicator + statusIndicator,
+                documentType + ": " + documentNumber, contactInfo);
+    }
+
+    void bindTo(RowView view) {
+        view.showRow(name, document, contact);
+    }
+
+    /**
+     * Mismo texto en pantalla: la fila no necesita volver a dibujarse
+     */
+    boolean hasSameText(ClientRow other) {
+        return sameText(name, other.name) && sameText(document, other.document) && sameText(contact, other.contact);
+    }
+
+    private static boolean sameText(CharSequence a, CharSequence b) {
+        return a == b || a.toString().contentEquals(b);
+    }
+}
@@ -20,10 +20,21 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.chancafe_q.R;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.model.ApiResponse;
 import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.ClientIndex;
+import com.example.chancafe_q.repository.PagingSource;
+import com.example.chancafe_q.repository.SyncEngine;
+import com.example.chancafe_q.utils.Configuration;
 import com.example.chancafe_q.viewmodel.ClientViewModel;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Activity para gestión de clientes
  */
@@ -42,6 +53,13 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
     private RecyclerView rvClients;
     private ProgressBar progressBar;
     private View layoutEmpty;
+    private AlertDialog conflictDialog;
+
+    // Filtros del menú: estado (null = todos) AND alguno de los tipos marcados
+    private String statusFilter;
+    private final Set<String> typeFilters = new LinkedHashSet<>();
+    // La búsqueda local encontró clientes: la de documento en el backend ya no hace falta
+    private boolean showingLocalMatches;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -82,8 +100,21 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
         clientsAdapter = new ClientsAdapter();
         clientsAdapter.setOnClientClickListener(this);
         
-        rvClients.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvClients.setLayoutManager(layoutManager);
         rvClients.setAdapter(clientsAdapter);
+        
+        // En modo paginado el rango visible decide qué páginas se precargan y cuáles se descartan
+        rvClients.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (clientsAdapter.isPaged()) {
+                    clientsAdapter.onVisibleRangeChanged(
+                            layoutManager.findFirstVisibleItemPosition(),
+                            layoutManager.findLastVisibleItemPosition());
+                }
+            }
+        });
     }
 
     private void setupObservers() {
@@ -109,6 +140,35 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
                 clientViewModel.clearMessages();
             }
         });
+
+        // Coincidencias del índice local (en cada tecla)
+        clientViewModel.getLocalSearchResults().observe(this, this::showLocalMatches);
+
+        // Resultado de la búsqueda por documento (solo llega el de la última consulta)
+        clientViewModel.getSearchResult().observe(this, this::showSearchResult);
+
+        // Cambios guardados sin conexión que el backend rechazó
+        clientViewModel.getOutboxConflicts().observe(this, this::showOutboxConflict);
+    }
+
+    private void showOutboxConflict(List<OutboxEntity> conflicts) {
+        if (conflicts == null || (conflictDialog != null && conflictDialog.isShowing())) {
+            return;
+        }
+        for (OutboxEntity conflict : conflicts) {
+            if (!SyncEngine.CLIENTS.equals(conflict.resource)) {
+                continue;
+            }
+            String reason = conflict.lastError != null ? conflict.lastError : "El servidor rechazó el cambio";
+            conflictDialog = new AlertDialog.Builder(this)
+                    .setTitle("No se pudo guardar un cambio")
+                    .setMessage(reason)
+                    .setCancelable(false)
+                    .setPositiveButton("Reintentar", (dialog, which) -> clientViewModel.retryOutboxEntry(conflict.id))
+                    .setNegativeButton("Descartar cambio", (dialog, which) -> clientViewModel.discardOutboxEntry(conflict.id))
+                    .show();
+            return;
+        }
     }
 
     private void setupClickListeners() {
@@ -118,7 +178,7 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
             showAddClientDialog();
         });
 
-        // Búsqueda por documento
+        // Búsqueda por nombre, documento, email o teléfono
         etSearch.addTextChangedListener(new TextWatcher() {
             @Override
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
@@ -128,11 +188,11 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
 
             @Override
             public void afterTextChanged(Editable s) {
+                // Índice local en cada tecla; el backend, cuando se deja de escribir
                 String query = s.toString().trim();
-                if (query.length() >= 3) {
-                    searchClientByDocument(query);
-                } else if (query.isEmpty()) {
-                    loadClients();
+                clientViewModel.search(query);
+                if (query.isEmpty()) {
+                    showCurrentFilter();
                 }
             }
         });
@@ -141,79 +201,127 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
         toolbar.setNavigationOnClickListener(v -> onBackPressed());
     }
 
+    /**
+     * Listado general paginado: primera página al instante, el resto al hacer scroll
+     */
     private void loadClients() {
-        clientViewModel.getClients().observe(this, response -> {
-            if (response != null) {
-                if (response.isSuccess() && response.getData() != null) {
-                    clientsAdapter.updateClients(response.getData());
-                    
-                    // Mostrar/ocultar empty state
-                    if (response.getData().isEmpty()) {
-                        layoutEmpty.setVisibility(View.VISIBLE);
-                        rvClients.setVisibility(View.GONE);
-                    } else {
-                        layoutEmpty.setVisibility(View.GONE);
-                        rvClients.setVisibility(View.VISIBLE);
-                    }
-                }
+        PagingSource<Client> pagedClients = clientViewModel.getPagedClients();
+        clientsAdapter.setPagedSource(pagedClients, new PagingSource.Listener() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {}
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {}
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {}
+
+            @Override
+            public void onError(String message, int code) {
+                Toast.makeText(ClientsActivity.this, message, Toast.LENGTH_LONG).show();
             }
-        });
-    }
 
-    private void searchClientByDocument(String document) {
-        clientViewModel.getClientByDocument(document).observe(this, response -> {
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                // Crear una lista con un solo cliente para mostrar en el adapter
-                java.util.List<Client> singleClientList = new java.util.ArrayList<>();
-                singleClientList.add(response.getData());
-                clientsAdapter.updateClients(singleClientList);
-                
-                // Mostrar/ocultar empty state
-                layoutEmpty.setVisibility(View.GONE);
-                rvClients.setVisibility(View.VISIBLE);
-            } else if (response != null && !response.isSuccess()) {
-                // Si no se encuentra el cliente, mostrar lista vacía
-                clientsAdapter.updateClients(new java.util.ArrayList<>());
-                layoutEmpty.setVisibility(View.VISIBLE);
-                rvClients.setVisibility(View.GONE);
+            @Override
+            public void onPageLoaded(int totalCount) {
+                updateEmptyState(totalCount == 0);
             }
         });
+        
+        // Al volver a una lista ya cargada (p. ej. tras limpiar la búsqueda) no se espera a la red
+        if (pagedClients.size() > 0) {
+            updateEmptyState(false);
+        }
     }
 
-    private void loadActiveClients() {
-        clientViewModel.getActiveClients().observe(this, response -> {
-            if (response != null) {
-                if (response.isSuccess() && response.getData() != null) {
-                    clientsAdapter.updateClients(response.getData());
-                    
-                    // Mostrar/ocultar empty state
-                    if (response.getData().isEmpty()) {
-                        layoutEmpty.setVisibility(View.VISIBLE);
-                        rvClients.setVisibility(View.GONE);
-                    } else {
-                        layoutEmpty.setVisibility(View.GONE);
-                        rvClients.setVisibility(View.VISIBLE);
-                    }
-                }
-            }
-        });
+    /**
+     * Descarta las páginas cargadas y vuelve a pedir el listado (tras crear/editar o refrescar)
+     */
+    private void reloadClients() {
+        if (isFiltering()) {
+            loadFilteredClients(); // El índice ya tiene las escrituras locales
+            return;
+        }
+        // invalidate() ya pide la primera página; al enlazar la fuente, start() no la repite
+        clientViewModel.getPagedClients().invalidate();
+        if (!clientsAdapter.isPaged()) {
+            loadClients();
+        }
     }
 
-    private void loadClientsByType(String type) {
-        clientViewModel.getClientsByType(type).observe(this, response -> {
-            if (response != null) {
-                if (response.isSuccess() && response.getData() != null) {
-                    clientsAdapter.updateClients(response.getData());
-                    
-                    // Mostrar/ocultar empty state
-                    if (response.getData().isEmpty()) {
-                        layoutEmpty.setVisibility(View.VISIBLE);
-                        rvClients.setVisibility(View.GONE);
-                    } else {
-                        layoutEmpty.setVisibility(View.GONE);
-                        rvClients.setVisibility(View.VISIBLE);
-                    }
-                }
+    private boolean isFiltering() {
+        return statusFilter != null || !typeFilters.isEmpty();
+    }
+
+    /**
+     * Sin filtros, el listado paginado; con filtros, el resultado del índice en memoria
+     */
+    private void showCurrentFilter() {
+        if (isFiltering()) {
+            loadFilteredClients();
+        } else {
+            loadClients();
+        }
+    }
+
+    private void updateEmptyState(boolean empty) {
+        layoutEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+        rvClients.setVisibility(empty ? View.GONE : View.VISIBLE);
+    }
+
+    private void showLocalMatches(ApiResponse<List<Client>> response) {
+        showingLocalMatches = false;
+        if (response == null || !response.isSuccess() || response.getData() == null
+                || etSearch.getText().toString().trim().isEmpty()) {
+            return;
+        }
+        if (!response.getData().isEmpty()) {
+            showingLocalMatches = true;
+            clientsAdapter.updateClients(response.getData());
+            updateEmptyState(false);
+        }
+    }
+
+    private void showSearchResult(ApiResponse<Client> response) {
+        // Un resultado retenido de una búsqueda ya borrada (p. ej. al rotar) no se muestra
+        if (response == null || etSearch.getText().toString().trim().length()
+                < Configuration.SearchConfig.getMinQueryLength()) {
+            return;
+        }
+        // Sin coincidencias locales (p. ej. un cliente que aún no se sincronizó) vale la del backend
+        if (showingLocalMatches) {
+            return;
+        }
+        if (response.isSuccess() && response.getData() != null) {
+            // Crear una lista con un solo cliente para mostrar en el adapter
+            java.util.List<Client> singleClientList = new java.util.ArrayList<>();
+            singleClientList.add(response.getData());
+            clientsAdapter.updateClients(singleClientList);
+            
+            // Mostrar/ocultar empty state
+            layoutEmpty.setVisibility(View.GONE);
+            rvClients.setVisibility(View.VISIBLE);
+        } else if (!response.isSuccess()) {
+            // Si no se encuentra el cliente, mostrar lista vacía
+            clientsAdapter.updateClients(new java.util.ArrayList<>());
+            layoutEmpty.setVisibility(View.VISIBLE);
+            rvClients.setVisibility(View.GONE);
+        }
+    }
+
+    private void loadFilteredClients() {
+        List<ClientIndex.Filter> filters = new ArrayList<>();
+        if (statusFilter != null) {
+            filters.add(ClientIndex.Filter.is(ClientIndex.Field.STATUS, statusFilter));
+        }
+        if (!typeFilters.isEmpty()) {
+            filters.add(ClientIndex.Filter.is(ClientIndex.Field.CLIENT_TYPE, typeFilters.toArray()));
+        }
+        ClientIndex.Filter filter = ClientIndex.Filter.and(filters.toArray(new ClientIndex.Filter[0]));
+
+        clientViewModel.filterClients(filter).observe(this, response -> {
+            if (response != null && response.isSuccess() && response.getData() != null) {
+                clientsAdapter.updateClients(response.getData());
+                updateEmptyState(response.getData().isEmpty());
             }
         });
     }
@@ -382,53 +490,45 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
         int id = item.getItemId();
         
         if (id == R.id.filter_all) {
-            loadClients();
+            item.setChecked(true);
+            statusFilter = null;
+            showCurrentFilter();
             return true;
         } else if (id == R.id.filter_active) {
-            loadActiveClients();
+            item.setChecked(true);
+            statusFilter = "active";
+            showCurrentFilter();
             return true;
         } else if (id == R.id.filter_inactive) {
-            loadClientsByStatus("inactive");
+            item.setChecked(true);
+            statusFilter = "inactive";
+            showCurrentFilter();
             return true;
         } else if (id == R.id.filter_individual) {
-            loadClientsByType("individual");
+            toggleTypeFilter(item, "individual");
             return true;
         } else if (id == R.id.filter_business) {
-            loadClientsByType("business");
+            toggleTypeFilter(item, "business");
             return true;
         } else if (id == R.id.action_stats) {
             showClientStats();
             return true;
         } else if (id == R.id.action_refresh) {
-            loadClients();
+            reloadClients();
             return true;
         }
         
         return super.onOptionsItemSelected(item);
     }
 
-    private void loadClientsByStatus(String status) {
-        // Filtrar clientes por estado usando la API general y luego filtrar localmente
-        clientViewModel.getClients().observe(this, response -> {
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                java.util.List<Client> filteredClients = new java.util.ArrayList<>();
-                for (Client client : response.getData()) {
-                    if (status.equals(client.getStatus())) {
-                        filteredClients.add(client);
-                    }
-                }
-                clientsAdapter.updateClients(filteredClients);
-                
-                // Mostrar/ocultar empty state
-                if (filteredClients.isEmpty()) {
-                    layoutEmpty.setVisibility(View.VISIBLE);
-                    rvClients.setVisibility(View.GONE);
-                } else {
-                    layoutEmpty.setVisibility(View.GONE);
-                    rvClients.setVisibility(View.VISIBLE);
-                }
-            }
-        });
+    private void toggleTypeFilter(MenuItem item, String type) {
+        item.setChecked(!item.isChecked());
+        if (item.isChecked()) {
+            typeFilters.add(type);
+        } else {
+            typeFilters.remove(type);
+        }
+        showCurrentFilter();
     }
 
     private void showClientStats() {
@@ -453,7 +553,7 @@ public class ClientsActivity extends AppCompatActivity implements ClientsAdapter
         if (resultCode == RESULT_OK) {
             if (requestCode == REQUEST_ADD_CLIENT || requestCode == REQUEST_EDIT_CLIENT) {
                 // Recargar la lista de clientes después de agregar o editar
-                loadClients();
+                reloadClients();
             }
         }
     }
@@ -1,5 +1,7 @@
 package com.example.chancafe_q.ui.clients;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -7,21 +9,63 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.chancafe_q.R;
 import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.PagingSource;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
 
 /**
  * Adapter para la lista de clientes
+ *
+ * Trabaja en dos modos: lista en memoria (updateClients, usado por búsquedas y filtros)
+ * o respaldado por un PagingSource (listado general), donde solo una ventana de páginas
+ * está en memoria y las posiciones aún no cargadas se muestran como placeholder.
+ *
+ * Cada cliente se muestra a través de un ClientRow ya formateado, así el bind durante el
+ * scroll solo asigna textos. En modo lista los cambios se aplican en orden en un hilo de
+ * fondo: ahí se arman las filas, se buscan por id (mapa id -> posición, rearmado una vez
+ * por lista nueva) y un AsyncListDiffer calcula el diff contra la lista mostrada; al
+ * terminar se notifican solo las filas insertadas, quitadas, movidas o cambiadas. En
+ * modo paginado las filas se arman al llegar cada página.
  */
 public class ClientsAdapter extends RecyclerView.Adapter<ClientsAdapter.ClientViewHolder> {
 
-    private List<Client> clients = new ArrayList<>();
+    // Un solo hilo para todas las listas: los cambios y sus diffs quedan en orden
+    private static final ExecutorService rowExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "client-rows");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AsyncListDiffer<ClientRow> differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+            new AsyncDifferConfig.Builder<>(new ClientDiffCallback()).setBackgroundThreadExecutor(rowExecutor).build());
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private int listGeneration; // Cambia al pasar a modo paginado: descarta cambios de lista pendientes
+
+    // Solo se usan en rowExecutor
+    private List<ClientRow> latest = Collections.emptyList(); // Última lista armada (el diff puede seguir en curso)
+    private final Map<Integer, Integer> positionsById = new HashMap<>(); // Posiciones en latest
+    private boolean positionsStale;
+
+    private final Map<Integer, ClientRow> pagedRows = new HashMap<>(); // Filas de las páginas retenidas, por id
     private OnClientClickListener listener;
+    private PagingSource<Client> pagedSource; // null en modo lista
+    private PagingSource.Listener pageListener;
 
     public interface OnClientClickListener {
         void onClientClick(Client client);
@@ -33,37 +77,248 @@ public class ClientsAdapter extends RecyclerView.Adapter<ClientsAdapter.ClientVi
         this.listener = listener;
     }
 
+    /**
+     * Respalda el adapter con una lista paginada; pageListener recibe los mismos eventos
+     * (después de notificar al RecyclerView) para manejar estado vacío y errores
+     */
+    public void setPagedSource(PagingSource<Client> source, PagingSource.Listener pageListener) {
+        detachPagedSource();
+        clearList(); // Quita las filas de la lista antes de que cuente el PagingSource
+        this.pagedSource = source;
+        this.pageListener = pageListener;
+        source.setListener(new PagingSource.Listener() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                formatPagedRows(positionStart, itemCount);
+                notifyItemRangeInserted(positionStart, itemCount);
+                if (ClientsAdapter.this.pageListener != null) {
+                    ClientsAdapter.this.pageListener.onItemRangeInserted(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                formatPagedRows(positionStart, itemCount);
+                releaseDroppedRows(); // Páginas que salieron de la ventana
+                notifyItemRangeChanged(positionStart, itemCount);
+                if (ClientsAdapter.this.pageListener != null) {
+                    ClientsAdapter.this.pageListener.onItemRangeChanged(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                releaseDroppedRows();
+                notifyItemRangeRemoved(positionStart, itemCount);
+                if (ClientsAdapter.this.pageListener != null) {
+                    ClientsAdapter.this.pageListener.onItemRangeRemoved(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onError(String message, int code) {
+                if (ClientsAdapter.this.pageListener != null) {
+                    ClientsAdapter.this.pageListener.onError(message, code);
+                }
+            }
+
+            @Override
+            public void onPageLoaded(int totalCount) {
+                if (ClientsAdapter.this.pageListener != null) {
+                    ClientsAdapter.this.pageListener.onPageLoaded(totalCount);
+                }
+            }
+        });
+        notifyDataSetChanged();
+        source.start();
+    }
+
+    public boolean isPaged() {
+        return pagedSource != null;
+    }
+
+    /**
+     * Rango visible del RecyclerView (desde el scroll listener) para precargar y fijar la ventana
+     */
+    public void onVisibleRangeChanged(int firstVisible, int lastVisible) {
+        if (pagedSource != null) {
+            pagedSource.onVisibleRangeChanged(firstVisible, lastVisible);
+        }
+    }
+
+    private void detachPagedSource() {
+        if (pagedSource != null) {
+            pagedSource.setListener(null);
+            pagedSource = null;
+            pageListener = null;
+            pagedRows.clear();
+        }
+    }
+
+    /**
+     * Las páginas llegan en el hilo principal: cada fila se formatea una vez, al llegar
+     * (o al cambiar), y no en cada bind; las posiciones sin página se saltean
+     */
+    private void formatPagedRows(int positionStart, int itemCount) {
+        for (int position = positionStart; position < positionStart + itemCount; position++) {
+            Client client = pagedSource.peek(position);
+            if (client != null) {
+                pagedRows.put(client.getId(), ClientRow.of(client));
+            }
+        }
+    }
+
+    /**
+     * Suelta las filas de clientes que ya no están en ninguna página retenida, así las
+     * filas quedan acotadas por la misma ventana que PagingSource
+     */
+    private void releaseDroppedRows() {
+        int retainedCount = pagedSource.getRetainedItemCount();
+        if (pagedRows.size() <= retainedCount) {
+            return;
+        }
+        Set<Integer> retained = new HashSet<>(retainedCount * 2);
+        pagedSource.forEachLoaded(client -> retained.add(client.getId()));
+        pagedRows.keySet().retainAll(retained);
+    }
+
+    /**
+     * Muestra una lista nueva; si reemplaza a la actual en vez de actualizarla se muestra
+     * sin diff (ver ClientDiffCallback.isReplacement)
+     */
     public void updateClients(List<Client> newClients) {
-        this.clients.clear();
-        if (newClients != null) {
-            this.clients.addAll(newClients);
+        if (pagedSource != null) {
+            detachPagedSource();
+            notifyDataSetChanged(); // El differ está vacío: la lista entra completa sin diff
         }
-        notifyDataSetChanged();
+        List<Client> snapshot = newClients != null ? new ArrayList<>(newClients) : new ArrayList<>();
+        apply(rows -> {
+            List<ClientRow> next = new ArrayList<>(snapshot.size());
+            for (Client client : snapshot) {
+                next.add(ClientRow.of(client));
+            }
+            return next;
+        });
     }
 
     public void addClient(Client client) {
-        clients.add(0, client);
-        notifyItemInserted(0);
+        if (pagedSource != null) {
+            pagedSource.invalidate(); // El orden lo define el backend
+            return;
+        }
+        apply(rows -> {
+            List<ClientRow> next = new ArrayList<>(rows.size() + 1);
+            next.add(ClientRow.of(client));
+            next.addAll(rows);
+            return next;
+        });
     }
 
     public void updateClient(Client updatedClient) {
-        for (int i = 0; i < clients.size(); i++) {
-            if (clients.get(i).getId() == updatedClient.getId()) {
-                clients.set(i, updatedClient);
-                notifyItemChanged(i);
-                break;
+        if (pagedSource != null) {
+            int position = pagedSource.indexOf(c -> c.getId() == updatedClient.getId());
+            if (position >= 0) {
+                pagedSource.set(position, updatedClient);
             }
+            return;
         }
+        // La fila se arma de nuevo aunque sea la misma instancia (IdentityMap) ya modificada:
+        // el diff compara contra el texto de la fila anterior
+        apply(rows -> {
+            int position = positionOf(updatedClient.getId());
+            if (position < 0) {
+                return null;
+            }
+            List<ClientRow> next = new ArrayList<>(rows);
+            next.set(position, ClientRow.of(updatedClient));
+            return next;
+        });
     }
 
     public void removeClient(Client clientToRemove) {
-        for (int i = 0; i < clients.size(); i++) {
-            if (clients.get(i).getId() == clientToRemove.getId()) {
-                clients.remove(i);
-                notifyItemRemoved(i);
-                break;
+        if (pagedSource != null) {
+            int position = pagedSource.indexOf(c -> c.getId() == clientToRemove.getId());
+            if (position >= 0) {
+                pagedSource.remove(position);
             }
+            return;
         }
+        apply(rows -> {
+            int position = positionOf(clientToRemove.getId());
+            if (position < 0) {
+                return null;
+            }
+            List<ClientRow> next = new ArrayList<>(rows);
+            next.remove(position);
+            return next;
+        });
+    }
+
+    /**
+     * Aplica un cambio sobre la última lista armada en rowExecutor y entrega el resultado
+     * al differ en el hilo principal; change devuelve null si no hay nada que cambiar
+     */
+    private void apply(UnaryOperator<List<ClientRow>> change) {
+        int generation = listGeneration;
+        rowExecutor.execute(() -> {
+            List<ClientRow> next = change.apply(latest);
+            if (next == null) {
+                return;
+            }
+            boolean replacement = ClientDiffCallback.isReplacement(positions(), next);
+            latest = next;
+            positionsStale = true;
+            mainHandler.post(() -> {
+                if (generation != listGeneration || pagedSource != null) {
+                    return; // Se pasó a modo paginado mientras se armaba
+                }
+                if (replacement) {
+                    differ.submitList(null);
+                }
+                differ.submitList(next);
+            });
+        });
+    }
+
+    private void clearList() {
+        listGeneration++;
+        differ.submitList(null);
+        rowExecutor.execute(() -> {
+            latest = Collections.emptyList();
+            positionsStale = true;
+        });
+    }
+
+    private int positionOf(int clientId) {
+        Integer position = positions().get(clientId);
+        return position != null ? position : -1;
+    }
+
+    private Map<Integer, Integer> positions() {
+        if (positionsStale) {
+            positionsById.clear();
+            for (int i = 0; i < latest.size(); i++) {
+                positionsById.put(latest.get(i).id, i);
+            }
+            positionsStale = false;
+        }
+        return positionsById;
+    }
+
+    private ClientRow rowAt(int position) {
+        if (pagedSource == null) {
+            return differ.getCurrentList().get(position);
+        }
+        Client client = pagedSource.get(position);
+        if (client == null) {
+            return null;
+        }
+        ClientRow row = pagedRows.get(client.getId());
+        if (row == null || row.client != client) {
+            row = ClientRow.of(client); // No debería pasar: las filas se arman al llegar la página
+            pagedRows.put(client.getId(), row);
+        }
+        return row;
     }
 
     @NonNull
@@ -71,21 +326,54 @@ public class ClientsAdapter extends RecyclerView.Adapter<ClientsAdapter.ClientVi
     public ClientViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_client, parent, false);
-        return new ClientViewHolder(view);
+        ClientViewHolder holder = new ClientViewHolder(view);
+        // Los listeners se crean una vez por holder y buscan el cliente de la posición actual
+        holder.itemView.setOnClickListener(v -> {
+            Client client = clientOf(holder);
+            if (client != null) {
+                listener.onClientClick(client);
+            }
+        });
+        holder.btnEdit.setOnClickListener(v -> {
+            Client client = clientOf(holder);
+            if (client != null) {
+                listener.onEditClick(client);
+            }
+        });
+        holder.btnDelete.setOnClickListener(v -> {
+            Client client = clientOf(holder);
+            if (client != null) {
+                listener.onDeleteClick(client);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ClientViewHolder holder, int position) {
-        Client client = clients.get(position);
-        holder.bind(client, listener);
+        ClientRow row = rowAt(position);
+        if (row == null) {
+            holder.bindPlaceholder(); // Página aún no cargada: get() ya la pidió
+            return;
+        }
+        holder.bind(row);
     }
 
     @Override
     public int getItemCount() {
-        return clients.size();
+        return pagedSource != null ? pagedSource.size() : differ.getCurrentList().size();
+    }
+
+    private Client clientOf(ClientViewHolder holder) {
+        int position = holder.getAdapterPosition();
+        if (listener == null || position == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        ClientRow row = rowAt(position);
+        return row != null ? row.client : null;
     }
 
-    public static class ClientViewHolder extends RecyclerView.ViewHolder {
+    public static class ClientViewHolder extends RecyclerView.ViewHolder implements ClientRow.RowView {
         private TextView tvClientName;
         private TextView tvClientDocument;
         private TextView tvClientEmail;
@@ -101,70 +389,28 @@ public class ClientsAdapter extends RecyclerView.Adapter<ClientsAdapter.ClientVi
             btnDelete = itemView.findViewById(R.id.btn_delete);
         }
 
-        public void bind(Client client, OnClientClickListener listener) {
-            // Mostrar nombre completo
-            String displayName = client.getFullName();
-            if (displayName.trim().isEmpty()) {
-                displayName = "Cliente sin nombre";
-            }
-            
-            // Agregar indicador de tipo de cliente
-            String typeIndicator = client.isBusiness() ? " 🏢" : " 👤"; // 🏢 para empresa, 👤 para persona
-            String statusIndicator = "";
-            switch (client.getStatus() != null ? client.getStatus() : "active") {
-                case "active":
-                    statusIndicator = " ✅";
-                    break;
-                case "inactive":
-                    statusIndicator = " ⏸️";
-                    break;
-                case "suspended":
-                    statusIndicator = " ⚠️";
-                    break;
-                case "blacklisted":
-                    statusIndicator = " ❌";
-                    break;
-            }
-            
-            tvClientName.setText(displayName + typeIndicator + statusIndicator);
-
-            // Mostrar documento
-            String documentType = client.getDocumentType() != null ? client.getDocumentType() : "DOC";
-            String documentNumber = client.getDocumentNumber() != null ? client.getDocumentNumber() : "Sin documento";
-            String documentText = documentType + ": " + documentNumber;
-            tvClientDocument.setText(documentText);
-
-            // Mostrar email o teléfono
-            String contactInfo;
-            if (client.getEmail() != null && !client.getEmail().isEmpty()) {
-                contactInfo = "📧 " + client.getEmail();
-            } else if (client.getPhone() != null && !client.getPhone().isEmpty()) {
-                contactInfo = "📞 " + client.getPhone();
-            } else {
-                contactInfo = "Sin información de contacto";
-            }
-            tvClientEmail.setText(contactInfo);
-
-            // Click en el item completo
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onClientClick(client);
-                }
-            });
+        public void bindPlaceholder() {
+            tvClientName.setText("Cargando...");
+            tvClientDocument.setText("");
+            tvClientEmail.setText("");
+            btnEdit.setVisibility(View.INVISIBLE);
+            btnDelete.setVisibility(View.INVISIBLE);
+        }
 
-            // Click en editar
-            btnEdit.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onEditClick(client);
-                }
-            });
+        /**
+         * Solo asigna los textos ya formateados de la fila
+         */
+        void bind(ClientRow row) {
+            btnEdit.setVisibility(View.VISIBLE);
+            btnDelete.setVisibility(View.VISIBLE);
+            row.bindTo(this);
+        }
 
-            // Click en eliminar
-            btnDelete.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onDeleteClick(client);
-                }
-            });
+        @Override
+        public void showRow(CharSequence name, CharSequence document, CharSequence contact) {
+            tvClientName.setText(name);
+            tvClientDocument.setText(document);
+            tvClientEmail.setText(contact);
         }
     }
 }
@@ -7,12 +7,17 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.chancafe_q.R;
+import com.example.chancafe_q.model.ApiResponse;
 import com.example.chancafe_q.model.User;
+import com.example.chancafe_q.repository.SyncEngine;
 import com.example.chancafe_q.viewmodel.DashboardViewModel;
 
+import java.util.List;
+
 /**
  * Activity para la pantalla principal del Dashboard
  * Muestra las opciones principales del asesor
@@ -47,6 +52,11 @@ public class DashboardActivity extends AppCompatActivity {
         setupUserData();
         setupObservers();
         setupClickListeners();
+        
+        // Solo al entrar al panel, no al recrear la actividad
+        if (savedInstanceState == null) {
+            syncLocalData();
+        }
     }
 
     /**
@@ -120,6 +130,22 @@ public class DashboardActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Sincroniza la base local en segundo plano; una falla solo se avisa
+     * (las pantallas siguen mostrando lo guardado)
+     */
+    private void syncLocalData() {
+        LiveData<ApiResponse<List<SyncEngine.SyncResult>>> sync = dashboardViewModel.syncLocalData();
+        if (sync == null) {
+            return;
+        }
+        sync.observe(this, response -> {
+            if (response != null && !response.isSuccess()) {
+                Toast.makeText(this, response.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
     /**
      * Actualiza la UI con la información del usuario
      */
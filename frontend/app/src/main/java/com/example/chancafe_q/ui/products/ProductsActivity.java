@@ -1,33 +1,90 @@
 package com.example.chancafe_q.ui.products;
 
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.chancafe_q.R;
+import com.example.chancafe_q.viewmodel.ProductViewModel;
 
 /**
  * Activity para gestión de productos
+ * La búsqueda corre sobre el catálogo local (FTS) y recurre al backend si está desactualizado
  */
 public class ProductsActivity extends AppCompatActivity {
 
+    private ProductViewModel productViewModel;
+    private ProductsAdapter productsAdapter;
+
+    // Views
+    private EditText etSearch;
+    private RecyclerView rvProducts;
+    private TextView tvEmpty;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        
-        // Layout temporal simple
-        setContentView(R.layout.activity_simple);
-        
+        setContentView(R.layout.activity_products);
+
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
         if (getSupportActionBar() != null) {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
-            getSupportActionBar().setTitle("Productos");
+            getSupportActionBar().setDisplayShowHomeEnabled(true);
         }
-        
-        Toast.makeText(this, "Productos - Funcionalidad en desarrollo", Toast.LENGTH_LONG).show();
+
+        etSearch = findViewById(R.id.et_search);
+        rvProducts = findViewById(R.id.rv_products);
+        tvEmpty = findViewById(R.id.tv_empty);
+
+        productsAdapter = new ProductsAdapter();
+        rvProducts.setLayoutManager(new LinearLayoutManager(this));
+        rvProducts.setAdapter(productsAdapter);
+
+        productViewModel = new ViewModelProvider(this).get(ProductViewModel.class);
+        setupObservers();
+
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                productViewModel.search(s.toString());
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {}
+        });
+    }
+
+    private void setupObservers() {
+        productViewModel.getSearchResults().observe(this, products -> {
+            productsAdapter.updateProducts(products);
+            boolean empty = products == null || products.isEmpty();
+            tvEmpty.setText(etSearch.getText().toString().trim().isEmpty()
+                    ? "Escribe para buscar en el catálogo"
+                    : "No se encontraron productos");
+            tvEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+            rvProducts.setVisibility(empty ? View.GONE : View.VISIBLE);
+        });
+
+        productViewModel.getErrorMessage().observe(this, error -> {
+            if (error != null) {
+                Toast.makeText(this, error, Toast.LENGTH_SHORT).show();
+                productViewModel.clearMessages();
+            }
+        });
     }
 
     @Override
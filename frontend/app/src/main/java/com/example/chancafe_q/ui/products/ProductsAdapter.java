@@ -0,0 +1,89 @@
+package com.example.chancafe_q.ui.products;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.chancafe_q.R;
+import com.example.chancafe_q.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Adapter para los resultados de búsqueda de productos
+ */
+public class ProductsAdapter extends RecyclerView.Adapter<ProductsAdapter.ProductViewHolder> {
+
+    private final List<Product> products = new ArrayList<>();
+
+    public void updateProducts(List<Product> newProducts) {
+        this.products.clear();
+        if (newProducts != null) {
+            this.products.addAll(newProducts);
+        }
+        notifyDataSetChanged();
+    }
+
+    @NonNull
+    @Override
+    public ProductViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_product, parent, false);
+        return new ProductViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
+        holder.bind(products.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return products.size();
+    }
+
+    public static class ProductViewHolder extends RecyclerView.ViewHolder {
+        private TextView tvProductName;
+        private TextView tvProductSku;
+        private TextView tvProductSupplier;
+        private TextView tvProductPrice;
+        private TextView tvProductStock;
+
+        public ProductViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvProductName = itemView.findViewById(R.id.tv_product_name);
+            tvProductSku = itemView.findViewById(R.id.tv_product_sku);
+            tvProductSupplier = itemView.findViewById(R.id.tv_product_supplier);
+            tvProductPrice = itemView.findViewById(R.id.tv_product_price);
+            tvProductStock = itemView.findViewById(R.id.tv_product_stock);
+        }
+
+        public void bind(Product product) {
+            tvProductName.setText(product.getName() != null ? product.getName() : "Producto sin nombre");
+
+            // SKU y categoría en una línea
+            String sku = product.getSku() != null ? product.getSku() : "Sin SKU";
+            String category = product.getCategoryName();
+            tvProductSku.setText(category != null && !category.isEmpty()
+                    ? "SKU: " + sku + " · " + category
+                    : "SKU: " + sku);
+
+            String supplier = product.getSupplierName();
+            if (supplier != null && !supplier.isEmpty()) {
+                tvProductSupplier.setText(supplier);
+                tvProductSupplier.setVisibility(View.VISIBLE);
+            } else {
+                tvProductSupplier.setVisibility(View.GONE);
+            }
+
+            tvProductPrice.setText(String.format(Locale.US, "S/ %.2f", product.getPrice()));
+            tvProductStock.setText("Stock: " + product.getStock());
+        }
+    }
+}
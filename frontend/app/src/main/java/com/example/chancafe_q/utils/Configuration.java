@@ -79,6 +79,213 @@ public class Configuration {
         public static boolean isLoggingEnabled() {
             return isDevelopment(); // Solo logs en desarrollo
         }
+        
+        // Límites del Dispatcher compartido por toda la app
+        public static int getMaxRequests() {
+            return 32;
+        }
+        
+        public static int getMaxRequestsPerHost() {
+            return isDevelopment() ? 8 : 6; // Un solo backend: evitar saturarlo
+        }
+        
+        // Pool de conexiones (reutiliza TLS entre pantallas)
+        public static int getMaxIdleConnections() {
+            return 5;
+        }
+        
+        public static int getKeepAliveMinutes() {
+            return 5;
+        }
+    }
+    
+    /**
+     * Configuraciones del caché HTTP en disco
+     */
+    public static class CacheConfig {
+        public static long getCacheSizeBytes() {
+            return 20L * 1024 * 1024; // 20 MB
+        }
+        
+        // Frescura (en segundos) de los endpoints de catálogo
+        public static int getProductsMaxAge() {
+            return isDevelopment() ? 60 : 5 * 60; // El stock cambia durante el día
+        }
+        
+        // Antigüedad máxima (en segundos) de la copia local del catálogo para buscar sin red
+        public static int getLocalCatalogMaxAge() {
+            return isDevelopment() ? 10 * 60 : 6 * 60 * 60;
+        }
+        
+        public static int getCategoriesMaxAge() {
+            return 60 * 60;
+        }
+        
+        public static int getSuppliersMaxAge() {
+            return 60 * 60;
+        }
+    }
+    
+    /**
+     * Cupos del planificador de requests por prioridad
+     * La suma no debe superar getMaxRequestsPerHost para que OkHttp no las encole
+     */
+    public static class SchedulerConfig {
+        public static int getInteractiveConcurrency() {
+            return 4;
+        }
+        
+        public static int getPrefetchConcurrency() {
+            return 1;
+        }
+        
+        public static int getBulkConcurrency() {
+            return 1;
+        }
+    }
+    
+    /**
+     * Reintentos y circuit breaker de la capa de red
+     */
+    public static class ResilienceConfig {
+        // Reintentos adicionales para métodos idempotentes (0 = sin reintentos)
+        public static int getMaxRetries() {
+            return 2;
+        }
+        
+        public static long getBaseBackoffMillis() {
+            return 300;
+        }
+        
+        public static long getMaxBackoffMillis() {
+            return isDevelopment() ? 2_000 : 5_000;
+        }
+        
+        // Tope para un Retry-After del servidor (no bloquear la UI esperando)
+        public static long getMaxRetryAfterMillis() {
+            return 10_000;
+        }
+        
+        // Fallas consecutivas que abren el circuito de una ruta
+        public static int getFailureThreshold() {
+            return 5;
+        }
+        
+        // Tiempo con el circuito abierto antes de la prueba half-open
+        public static long getOpenMillis() {
+            return isDevelopment() ? 10_000 : 30_000;
+        }
+    }
+    
+    /**
+     * Listados paginados (tamaño de página y ventana de páginas en memoria)
+     */
+    public static class PagingConfig {
+        public static int getClientPageSize() {
+            return 50;
+        }
+        
+        // Páginas retenidas; el resto se descarta y vuelve a pedirse al regresar
+        public static int getMaxRetainedPages() {
+            return 5;
+        }
+        
+        // Elementos antes del borde de lo cargado en que se precarga la página vecina
+        public static int getPrefetchDistance() {
+            return 15;
+        }
+    }
+    
+    /**
+     * Búsqueda de clientes mientras se escribe
+     */
+    public static class SearchConfig {
+        // Pausa de tecleo tras la cual sale la búsqueda
+        public static long getDebounceMillis() {
+            return 300;
+        }
+        
+        public static int getMinQueryLength() {
+            return 3;
+        }
+        
+        // Resultados de la búsqueda por texto en el índice local (por tecla, sin debounce)
+        public static int getLocalResultLimit() {
+            return 50;
+        }
+    }
+    
+    /**
+     * Sincronización incremental con el backend (SyncEngine)
+     */
+    public static class SyncConfig {
+        // Cambios por request; si hay más, el backend responde has_more y se pide el siguiente lote
+        public static int getBatchSize() {
+            return 500;
+        }
+    }
+    
+    /**
+     * Reenvío de la cola de mutaciones guardadas sin conexión
+     */
+    public static class OutboxConfig {
+        // Entidades distintas que se envían a la vez (las de una misma entidad van en orden)
+        // En la red quedan además acotadas por el cupo BULK de SchedulerConfig
+        public static int getParallelism() {
+            return 3;
+        }
+        
+        public static long getBaseRetryMillis() {
+            return 2_000;
+        }
+        
+        public static long getMaxRetryMillis() {
+            return 5 * 60_000;
+        }
+    }
+    
+    /**
+     * Frescura de los datos servidos desde memoria (stale-while-revalidate), por recurso
+     * Dentro del TTL se sirven sin red; en la ventana stale se sirven al instante y se
+     * revalidan en segundo plano; pasada la ventana se espera a la red.
+     */
+    public static class FreshnessConfig {
+        public static long getTtlSeconds(String resource) {
+            switch (resource) {
+                case "categories":
+                case "suppliers":
+                    return 24 * 60 * 60; // Cambian cada mes
+                case "products":
+                    return 10 * 60; // El stock cambia cada hora
+                case "clients":
+                    return 2 * 60;
+                case "credit_requests":
+                    return 30; // El estado cambia minuto a minuto
+                default:
+                    return 0;
+            }
+        }
+        
+        public static long getStaleSeconds(String resource) {
+            switch (resource) {
+                case "categories":
+                case "suppliers":
+                    return 30 * 24 * 60 * 60;
+                case "products":
+                    return 60 * 60;
+                case "clients":
+                    return 24 * 60 * 60;
+                case "credit_requests":
+                    return 5 * 60;
+                default:
+                    return 0;
+            }
+        }
+        
+        // Al volver la app a primer plano lo que esté dentro del TTL se revalida igual
+        public static boolean revalidatesOnFocus(String resource) {
+            return !"categories".equals(resource) && !"suppliers".equals(resource);
+        }
     }
     
     /**
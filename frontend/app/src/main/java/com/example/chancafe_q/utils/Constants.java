@@ -23,7 +23,7 @@ public class Constants {
     
     // Database Constants (para futuro uso)
     public static final String DB_NAME = "chancafe_q_database";
-    public static final int DB_VERSION = 1;
+    public static final int DB_VERSION = 4;
     
     // Request Codes
     public static final int REQUEST_CODE_LOGIN = 1001;
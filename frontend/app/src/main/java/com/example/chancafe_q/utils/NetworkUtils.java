@@ -6,6 +6,10 @@ import android.net.NetworkInfo;
 import android.util.Log;
 
 import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.CircuitOpenException;
+import com.example.chancafe_q.data.remote.RequestCancelledException;
+import com.example.chancafe_q.data.remote.RequestCoalescer;
+import com.example.chancafe_q.data.remote.RequestPriority;
 import com.example.chancafe_q.model.ApiResponse;
 
 import retrofit2.Call;
@@ -19,6 +23,7 @@ import com.example.chancafe_q.utils.Configuration;
  */
 public class NetworkUtils {
     private static final String TAG = "NetworkUtils";
+    private static final RequestCoalescer coalescer = new RequestCoalescer(ApiClient.getScheduler());
 
     /**
      * Verifica si hay conexión a internet
@@ -46,66 +51,131 @@ public class NetworkUtils {
 
     /**
      * Wrapper genérico para llamadas API que maneja errores comunes
+     * Las llamadas sin prioridad explícita se tratan como interactivas
      */
     public static <T> void executeCall(Call<ApiResponse<T>> call, ApiCallback<T> callback) {
+        executeCall(call, RequestPriority.INTERACTIVE, callback);
+    }
+
+    /**
+     * Igual que executeCall, indicando la clase de prioridad de la llamada
+     * Los GET idénticos en curso se agrupan en una sola request de red
+     */
+    public static <T> void executeCall(Call<ApiResponse<T>> call, RequestPriority priority, ApiCallback<T> callback) {
         callback.onLoading();
         
-        call.enqueue(new Callback<ApiResponse<T>>() {
+        Callback<ApiResponse<T>> handler = new Callback<ApiResponse<T>>() {
             @Override
             public void onResponse(Call<ApiResponse<T>> call, Response<ApiResponse<T>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<T> apiResponse = response.body();
-                    
-                    if (apiResponse.isSuccess()) {
-                        callback.onSuccess(apiResponse.getData());
-                    } else {
-                        callback.onError(apiResponse.getMessage(), apiResponse.getStatusCode());
-                    }
-                } else {
-                    handleHttpError(response.code(), callback);
-                }
+                deliverResponse(response, callback);
             }
 
             @Override
             public void onFailure(Call<ApiResponse<T>> call, Throwable t) {
-                Log.e(TAG, "Network call failed", t);
-                callback.onError("Error de conexión: " + t.getMessage(), 500);
+                deliverFailure(call, t, callback);
             }
-        });
+        };
+        
+        enqueue(call, priority, handler);
+    }
+
+    /**
+     * Envía la llamada por el agrupador (GET) o el planificador sin traducir la respuesta
+     * Para quien implementa su propio Callback de Retrofit (p. ej. NetworkBoundResource)
+     */
+    public static <T> void enqueue(Call<ApiResponse<T>> call, RequestPriority priority, Callback<ApiResponse<T>> handler) {
+        if ("GET".equals(call.request().method())) {
+            coalescer.enqueue(call, handler, priority);
+        } else {
+            ApiClient.getScheduler().enqueue(call, handler, priority);
+        }
+    }
+
+    /**
+     * Cancela la llamada de un solo llamador (la Call que pasó a executeCall o enqueue)
+     * Si es un GET agrupado solo se quita su callback: los demás llamadores siguen
+     * esperando y la request de red se cancela cuando no queda ninguno
+     */
+    public static void cancel(Call<?> call) {
+        if (!coalescer.cancel(call)) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Traduce una respuesta de Retrofit a onSuccess / onError del callback
+     */
+    public static <T> void deliverResponse(Response<ApiResponse<T>> response, ApiCallback<T> callback) {
+        if (response.isSuccessful() && response.body() != null) {
+            ApiResponse<T> apiResponse = response.body();
+            
+            if (apiResponse.isSuccess()) {
+                callback.onSuccess(apiResponse.getData());
+            } else {
+                callback.onError(apiResponse.getMessage(), apiResponse.getStatusCode());
+            }
+        } else {
+            handleHttpError(response.code(), callback);
+        }
+    }
+
+    /**
+     * Traduce un fallo de Retrofit (red, circuito abierto o cancelación) a onError
+     */
+    public static <T> void deliverFailure(Call<?> call, Throwable t, ApiCallback<T> callback) {
+        if (t instanceof CircuitOpenException) {
+            // El backend falló repetidamente: no se llegó a enviar la request
+            callback.onError(t.getMessage(), 503);
+            return;
+        }
+        if (t instanceof RequestCancelledException || call.isCanceled()) {
+            // La cancelamos nosotros (p. ej. una búsqueda reemplazada): no es un error de red
+            callback.onError("Solicitud cancelada", 0);
+            return;
+        }
+        Log.e(TAG, "Network call failed", t);
+        callback.onError("Error de conexión: " + t.getMessage(), 500);
+    }
+
+    /**
+     * Agrupador de requests GET en vuelo (expuesto para métricas)
+     */
+    public static RequestCoalescer getRequestCoalescer() {
+        return coalescer;
     }
 
     /**
      * Maneja errores HTTP comunes
      */
     private static <T> void handleHttpError(int errorCode, ApiCallback<T> callback) {
-        String errorMessage;
+        if (errorCode == 401) {
+            // Limpiar token si es 401
+            ApiClient.clearAuthToken();
+        }
         
+        callback.onError(getHttpErrorMessage(errorCode), errorCode);
+    }
+
+    /**
+     * Mensaje legible para un código HTTP de error
+     */
+    public static String getHttpErrorMessage(int errorCode) {
         switch (errorCode) {
             case 400:
-                errorMessage = "Datos inválidos";
-                break;
+                return "Datos inválidos";
             case 401:
-                errorMessage = "No autorizado - Sesión expirada";
-                // Limpiar token si es 401
-                ApiClient.clearAuthToken();
-                break;
+                return "No autorizado - Sesión expirada";
             case 403:
-                errorMessage = "Acceso denegado";
-                break;
+                return "Acceso denegado";
             case 404:
-                errorMessage = "Recurso no encontrado";
-                break;
+                return "Recurso no encontrado";
             case 500:
-                errorMessage = "Error interno del servidor";
-                break;
+                return "Error interno del servidor";
             case 503:
-                errorMessage = "Servicio no disponible";
-                break;
+                return "Servicio no disponible";
             default:
-                errorMessage = "Error del servidor: " + errorCode;
+                return "Error del servidor: " + errorCode;
         }
-        
-        callback.onError(errorMessage, errorCode);
     }
 
     /**
@@ -1,14 +1,23 @@
 package com.example.chancafe_q.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
 import com.example.chancafe_q.model.ApiResponse;
 import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.ClientIndex;
 import com.example.chancafe_q.repository.ClientRepository;
+import com.example.chancafe_q.repository.ClientSearch;
+import com.example.chancafe_q.repository.PagingSource;
+import com.example.chancafe_q.utils.Configuration;
 import com.example.chancafe_q.utils.NetworkUtils;
 
 import java.util.List;
@@ -18,14 +27,34 @@ import java.util.List;
  * Ejemplo de implementación usando el patrón MVVM con Repository
  */
 public class ClientViewModel extends AndroidViewModel {
+    private static final String TAG = "ClientViewModel";
     
     private ClientRepository clientRepository;
     
+    // Observers y requests de este ViewModel; se liberan en onCleared
+    private final RequestRegistry requests = new RequestRegistry();
+    
     // LiveData para la UI
     private MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<String> successMessage = new MutableLiveData<>();
     
+    // Lista paginada: vive en el ViewModel para conservar las páginas al rotar
+    private PagingSource<Client> pagedClients;
+    private final Observer<Long> localClientsObserver = version -> {
+        if (pagedClients != null && version != null) {
+            pagedClients.refresh();
+        }
+    };
+    
+    // Búsqueda mientras se escribe: una sola registración, gana la última consulta
+    private ClientSearch clientSearch;
+    private final MutableLiveData<ApiResponse<Client>> searchResult = new MutableLiveData<>();
+    private ClientSearch.SearchStats lastSearchStats;
+    // Búsqueda por texto en el índice local: solo se publica la de la última tecla
+    private final MutableLiveData<ApiResponse<List<Client>>> localSearchResults = new MutableLiveData<>();
+    private long localSearchGeneration;
+    
     public ClientViewModel(@NonNull Application application) {
         super(application);
         clientRepository = ClientRepository.getInstance();
@@ -40,8 +69,8 @@ public class ClientViewModel extends AndroidViewModel {
      * Obtiene todos los clientes
      */
     public LiveData<ApiResponse<List<Client>>> getClients() {
-        // Verificar conexión antes de hacer la llamada
-        if (!NetworkUtils.isNetworkAvailable(getApplication())) {
+        // Verificar conexión antes de hacer la llamada (con base local se muestran los guardados)
+        if (!clientRepository.hasLocalStore() && !NetworkUtils.isNetworkAvailable(getApplication())) {
             MutableLiveData<ApiResponse<List<Client>>> result = new MutableLiveData<>();
             ApiResponse<List<Client>> errorResponse = new ApiResponse<>(
                 false, 
@@ -58,7 +87,10 @@ public class ClientViewModel extends AndroidViewModel {
         MutableLiveData<ApiResponse<List<Client>>> result = clientRepository.getClients();
         
         // Observar el resultado para manejar loading
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
+            if (response != null && response.getCode() == 206) {
+                return; // Resultado parcial: la lista sigue llegando
+            }
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -72,6 +104,107 @@ public class ClientViewModel extends AndroidViewModel {
         return result;
     }
     
+    /**
+     * Lista paginada de clientes (prefetch al hacer scroll y ventana acotada en memoria)
+     * La primera página se pide al llamar a start() sobre la fuente
+     * Las páginas salen de la base local si hay clientes guardados; en paralelo se
+     * sincroniza con el backend y, si algo cambió, se vuelven a leer las páginas visibles
+     */
+    public PagingSource<Client> getPagedClients() {
+        if (pagedClients == null) {
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            pagedClients = clientRepository.newClientPagingSource(
+                Configuration.PagingConfig.getClientPageSize(),
+                Configuration.PagingConfig.getMaxRetainedPages(),
+                Configuration.PagingConfig.getPrefetchDistance(),
+                mainHandler::post
+            );
+            requests.observe(clientRepository.getLocalClientsVersion(), localClientsObserver);
+            if (NetworkUtils.isNetworkAvailable(getApplication())) {
+                clientRepository.syncClients(); // Solo los cambios desde la última sincronización
+            }
+        }
+        return pagedClients;
+    }
+    
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.clear();
+        if (clientSearch != null) {
+            clientSearch.close();
+        }
+    }
+    
+    /**
+     * Resultado de la búsqueda por documento; se observa una sola vez
+     * Solo llega la respuesta de la consulta más reciente
+     */
+    public LiveData<ApiResponse<Client>> getSearchResult() {
+        return searchResult;
+    }
+    
+    /**
+     * Coincidencias por nombre, documento, email o teléfono de la última tecla
+     * (null al vaciar el buscador)
+     */
+    public LiveData<ApiResponse<List<Client>>> getLocalSearchResults() {
+        return localSearchResults;
+    }
+    
+    /**
+     * Texto del buscador (en cada tecla): el índice local responde al instante por
+     * nombre, documento, email o teléfono; la búsqueda exacta por documento en el backend
+     * espera a que se deje de escribir y cancela la anterior
+     */
+    public void search(String query) {
+        if (clientSearch == null) {
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            clientSearch = clientRepository.newClientSearch(
+                Configuration.SearchConfig.getDebounceMillis(),
+                Configuration.SearchConfig.getMinQueryLength(),
+                mainHandler::post
+            );
+            clientSearch.setListener(new ClientSearch.Listener() {
+                @Override
+                public void onResult(String query, ApiResponse<Client> response) {
+                    searchResult.setValue(response);
+                }
+                
+                @Override
+                public void onSessionEnded(ClientSearch.SearchStats stats) {
+                    lastSearchStats = stats;
+                    Log.d(TAG, "Search session: " + stats);
+                }
+            });
+        }
+        clientSearch.search(query);
+        searchLocal(query);
+    }
+    
+    private void searchLocal(String query) {
+        long generation = ++localSearchGeneration;
+        if (query == null || query.trim().isEmpty()) {
+            localSearchResults.setValue(null);
+            return;
+        }
+        requests.observeResult(
+            clientRepository.searchClients(query, null, Configuration.SearchConfig.getLocalResultLimit()),
+            response -> {
+                if (generation == localSearchGeneration) {
+                    localSearchResults.setValue(response);
+                }
+            }
+        );
+    }
+    
+    /**
+     * Métricas de la última sesión de búsqueda terminada (null si aún no hubo)
+     */
+    public ClientSearch.SearchStats getLastSearchStats() {
+        return lastSearchStats;
+    }
+    
     /**
      * Obtiene un cliente específico
      */
@@ -92,9 +225,10 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.getClient(clientId);
         
-        result.observeForever(response -> {
-            isLoading.setValue(false);
-            if (response != null) {
+        requests.observeResult(result, response -> {
+            // 206: se muestra el cliente guardado y la red sigue en curso
+            isLoading.setValue(response != null && response.getCode() == 206);
+            if (response != null && response.getCode() != 206) {
                 if (response.isSuccess()) {
                     successMessage.setValue(response.getMessage());
                 } else {
@@ -110,7 +244,8 @@ public class ClientViewModel extends AndroidViewModel {
      * Crea un nuevo cliente
      */
     public LiveData<ApiResponse<Client>> createClient(Client client) {
-        if (!NetworkUtils.isNetworkAvailable(getApplication())) {
+        // Con outbox el cambio se guarda localmente y se envía al volver la conexión
+        if (!clientRepository.queuesMutations() && !NetworkUtils.isNetworkAvailable(getApplication())) {
             MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
             ApiResponse<Client> errorResponse = new ApiResponse<>(
                 false, 
@@ -139,7 +274,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.createClient(client);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -157,7 +292,8 @@ public class ClientViewModel extends AndroidViewModel {
      * Actualiza un cliente existente
      */
     public LiveData<ApiResponse<Client>> updateClient(int clientId, Client client) {
-        if (!NetworkUtils.isNetworkAvailable(getApplication())) {
+        // Con outbox el cambio se guarda localmente y se envía al volver la conexión
+        if (!clientRepository.queuesMutations() && !NetworkUtils.isNetworkAvailable(getApplication())) {
             MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
             ApiResponse<Client> errorResponse = new ApiResponse<>(
                 false, 
@@ -173,7 +309,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.updateClient(clientId, client);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -207,7 +343,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Void>> result = clientRepository.deleteClient(clientId);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -241,7 +377,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<List<Client>>> result = clientRepository.getActiveClients();
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -275,7 +411,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<List<Client>>> result = clientRepository.getClientsByType(type);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -289,6 +425,25 @@ public class ClientViewModel extends AndroidViewModel {
         return result;
     }
 
+    /**
+     * Clientes que cumplen los filtros del menú, resueltos en memoria sin red
+     * (solo la primera vez, sin base local, se descarga el listado para armar el índice)
+     */
+    public LiveData<ApiResponse<List<Client>>> filterClients(ClientIndex.Filter filter) {
+        isLoading.setValue(true);
+        
+        MutableLiveData<ApiResponse<List<Client>>> result = clientRepository.filterClients(filter);
+        
+        requests.observeResult(result, response -> {
+            isLoading.setValue(false);
+            if (response != null && !response.isSuccess()) {
+                errorMessage.setValue(response.getMessage());
+            }
+        });
+        
+        return result;
+    }
+    
     /**
      * Obtiene estadísticas de clientes
      */
@@ -309,7 +464,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Object>> result = clientRepository.getClientStats();
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -327,7 +482,8 @@ public class ClientViewModel extends AndroidViewModel {
      * Cambia el status de un cliente
      */
     public LiveData<ApiResponse<Client>> changeClientStatus(int clientId, String status) {
-        if (!NetworkUtils.isNetworkAvailable(getApplication())) {
+        // Con outbox el cambio se guarda localmente y se envía al volver la conexión
+        if (!clientRepository.queuesMutations() && !NetworkUtils.isNetworkAvailable(getApplication())) {
             MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
             ApiResponse<Client> errorResponse = new ApiResponse<>(
                 false, 
@@ -343,7 +499,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.changeClientStatus(clientId, status);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -361,7 +517,8 @@ public class ClientViewModel extends AndroidViewModel {
      * Actualiza el límite de crédito de un cliente
      */
     public LiveData<ApiResponse<Client>> updateCreditLimit(int clientId, double creditLimit) {
-        if (!NetworkUtils.isNetworkAvailable(getApplication())) {
+        // Con outbox el cambio se guarda localmente y se envía al volver la conexión
+        if (!clientRepository.queuesMutations() && !NetworkUtils.isNetworkAvailable(getApplication())) {
             MutableLiveData<ApiResponse<Client>> result = new MutableLiveData<>();
             ApiResponse<Client> errorResponse = new ApiResponse<>(
                 false, 
@@ -377,7 +534,7 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.updateCreditLimit(clientId, creditLimit);
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null) {
                 if (response.isSuccess()) {
@@ -423,9 +580,10 @@ public class ClientViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Client>> result = clientRepository.getClientByDocument(document);
         
-        result.observeForever(response -> {
-            isLoading.setValue(false);
-            if (response != null) {
+        requests.observeResult(result, response -> {
+            // 206: se muestra el cliente guardado y la red sigue en curso
+            isLoading.setValue(response != null && response.getCode() == 206);
+            if (response != null && response.getCode() != 206) {
                 if (response.isSuccess()) {
                     successMessage.setValue(response.getMessage());
                 } else {
@@ -437,6 +595,27 @@ public class ClientViewModel extends AndroidViewModel {
         return result;
     }
     
+    /**
+     * Cambios guardados sin conexión que el backend rechazó
+     */
+    public LiveData<List<OutboxEntity>> getOutboxConflicts() {
+        return clientRepository.getOutboxConflicts();
+    }
+    
+    /**
+     * Reenvía un cambio en conflicto (por ejemplo, después de corregir los datos)
+     */
+    public void retryOutboxEntry(long entryId) {
+        clientRepository.retryOutboxEntry(entryId);
+    }
+    
+    /**
+     * Descarta un cambio en conflicto y vuelve a la versión del backend
+     */
+    public void discardOutboxEntry(long entryId) {
+        clientRepository.discardOutboxEntry(entryId);
+    }
+    
     /**
      * Limpia los mensajes de error y éxito
      */
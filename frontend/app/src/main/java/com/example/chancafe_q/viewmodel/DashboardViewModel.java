@@ -3,7 +3,11 @@ package com.example.chancafe_q.viewmodel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import com.example.chancafe_q.model.ApiResponse;
 import com.example.chancafe_q.model.User;
+import com.example.chancafe_q.repository.SyncEngine;
+
+import java.util.List;
 
 /**
  * ViewModel para la pantalla de Dashboard
@@ -41,6 +45,15 @@ public class DashboardViewModel extends ViewModel {
         selectedMenuItem.setValue(menuItem);
     }
 
+    /**
+     * Trae a la base local los cambios de todos los recursos
+     * La vista lo pide al entrar al panel; sin base local devuelve null
+     */
+    public LiveData<ApiResponse<List<SyncEngine.SyncResult>>> syncLocalData() {
+        SyncEngine syncEngine = SyncEngine.getInstance();
+        return syncEngine != null ? syncEngine.syncAll() : null;
+    }
+
     /**
      * Obtiene el mensaje de bienvenida personalizado
      */
@@ -15,6 +15,8 @@ import com.example.chancafe_q.repository.AuthRepository;
  */
 public class LoginViewModel extends ViewModel {
     private AuthRepository authRepository;
+    // Observers y requests de este ViewModel; se liberan en onCleared
+    private final RequestRegistry requests = new RequestRegistry();
     private MutableLiveData<ApiResponse<LoginResponse>> loginResult;
     private MutableLiveData<Boolean> isLoading;
     private MutableLiveData<String> userCodeError;
@@ -65,12 +67,18 @@ public class LoginViewModel extends ViewModel {
         LoginRequest request = new LoginRequest(userCode.trim(), password);
 
         // Hacer llamada al repository
-        authRepository.login(request).observeForever(response -> {
+        requests.observeResult(authRepository.login(request), response -> {
             isLoading.setValue(false);
             loginResult.setValue(response);
         });
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.clear();
+    }
+
     /**
      * Obtiene el usuario desde el resultado del login
      */
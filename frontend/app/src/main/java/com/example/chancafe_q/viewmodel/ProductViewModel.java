@@ -0,0 +1,76 @@
+package com.example.chancafe_q.viewmodel;
+
+import android.app.Application;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.repository.ProductRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ViewModel para la pantalla de productos (búsqueda en el catálogo)
+ */
+public class ProductViewModel extends AndroidViewModel {
+    
+    private ProductRepository productRepository;
+    
+    // Observers y requests de este ViewModel; se liberan en onCleared
+    private final RequestRegistry requests = new RequestRegistry();
+    
+    // LiveData para la UI
+    private MutableLiveData<List<Product>> searchResults = new MutableLiveData<>(Collections.emptyList());
+    private MutableLiveData<String> errorMessage = new MutableLiveData<>();
+    
+    // Última consulta escrita: las respuestas de consultas anteriores se descartan
+    private String latestQuery = "";
+    
+    public ProductViewModel(@NonNull Application application) {
+        super(application);
+        productRepository = ProductRepository.getInstance();
+        productRepository.refreshCatalogIfStale();
+    }
+    
+    // Getters para LiveData
+    public LiveData<List<Product>> getSearchResults() { return searchResults; }
+    public LiveData<String> getErrorMessage() { return errorMessage; }
+    
+    /**
+     * Busca productos; con catálogo local la respuesta llega en milisegundos
+     */
+    public void search(String query) {
+        String trimmed = query != null ? query.trim() : "";
+        latestQuery = trimmed;
+        if (trimmed.isEmpty()) {
+            searchResults.setValue(Collections.emptyList());
+            return;
+        }
+        
+        LiveData<ApiResponse<List<Product>>> result = productRepository.searchProducts(trimmed);
+        requests.observeResult(result, response -> {
+            if (response == null || !trimmed.equals(latestQuery)) {
+                return;
+            }
+            if (response.isSuccess()) {
+                searchResults.setValue(response.getData() != null ? response.getData() : Collections.emptyList());
+            } else {
+                errorMessage.setValue(response.getMessage());
+            }
+        });
+    }
+    
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.clear();
+    }
+    
+    public void clearMessages() {
+        errorMessage.setValue(null);
+    }
+}
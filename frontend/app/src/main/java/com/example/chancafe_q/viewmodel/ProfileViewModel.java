@@ -17,6 +17,9 @@ public class ProfileViewModel extends AndroidViewModel {
     
     private AuthRepository authRepository;
     
+    // Observers y requests de este ViewModel; se liberan en onCleared
+    private final RequestRegistry requests = new RequestRegistry();
+    
     // LiveData para la UI
     private MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
@@ -45,7 +48,7 @@ public class ProfileViewModel extends AndroidViewModel {
 
         isLoading.setValue(true);
         
-        authRepository.getUserProfile().observeForever(response -> {
+        requests.observeResult(authRepository.getUserProfile(), response -> {
             isLoading.setValue(false);
             
             if (response != null) {
@@ -70,7 +73,7 @@ public class ProfileViewModel extends AndroidViewModel {
         
         MutableLiveData<ApiResponse<Void>> result = authRepository.logout();
         
-        result.observeForever(response -> {
+        requests.observeResult(result, response -> {
             isLoading.setValue(false);
             if (response != null && response.isSuccess()) {
                 successMessage.setValue("Sesión cerrada exitosamente");
@@ -80,6 +83,12 @@ public class ProfileViewModel extends AndroidViewModel {
         return result;
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.clear();
+    }
+
     /**
      * Obtiene los datos del usuario actual en memoria
      */
@@ -0,0 +1,139 @@
+package com.example.chancafe_q.viewmodel;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.repository.RequestLiveData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observers y requests de un ViewModel, atados a su onCleared()
+ *
+ * Reemplaza los observeForever sueltos: observeResult quita el observer en cuanto llega
+ * la respuesta final (las parciales 206 no cuentan) y observe lo mantiene hasta clear().
+ * clear() quita los observers que queden y cancela las requests aún en curso, así el
+ * ViewModel y las respuestas no quedan retenidos por LiveData que viven más que él.
+ *
+ * Solo se usa en el hilo principal (observeForever lo exige).
+ */
+public class RequestRegistry {
+
+    // Totales de todos los registros vivos, para detectar fugas en debug
+    private static final AtomicInteger totalObservers = new AtomicInteger();
+    private static final AtomicInteger totalInFlight = new AtomicInteger();
+
+    private final Set<Registration<?>> registrations = new LinkedHashSet<>();
+    private int inFlight;
+    private boolean cleared;
+
+    /**
+     * Observa un resultado de request hasta su respuesta final
+     * Si es un RequestLiveData, su Call se cancela si el ViewModel se destruye antes
+     */
+    public <T> void observeResult(LiveData<T> result, Observer<? super T> observer) {
+        register(new Registration<>(result, observer, true));
+    }
+
+    /**
+     * Observa un LiveData de larga vida (p. ej. de un repositorio) hasta clear()
+     */
+    public <T> void observe(LiveData<T> source, Observer<? super T> observer) {
+        register(new Registration<>(source, observer, false));
+    }
+
+    /**
+     * Quita todos los observers y cancela las requests en curso; llamar en onCleared()
+     */
+    public void clear() {
+        cleared = true;
+        for (Registration<?> registration : new ArrayList<>(registrations)) {
+            if (registration.inFlight && registration.source instanceof RequestLiveData) {
+                ((RequestLiveData<?>) registration.source).cancel();
+            }
+            registration.remove();
+        }
+    }
+
+    public int getObserverCount() {
+        return registrations.size();
+    }
+
+    /**
+     * Requests que aún no dieron su respuesta final
+     */
+    public int getInFlightCount() {
+        return inFlight;
+    }
+
+    public static int getTotalObserverCount() {
+        return totalObservers.get();
+    }
+
+    public static int getTotalInFlightCount() {
+        return totalInFlight.get();
+    }
+
+    private void register(Registration<?> registration) {
+        if (cleared) {
+            return; // El ViewModel ya se destruyó: nadie vería el resultado
+        }
+        registrations.add(registration);
+        totalObservers.incrementAndGet();
+        if (registration.inFlight) {
+            inFlight++;
+            totalInFlight.incrementAndGet();
+        }
+        registration.start();
+    }
+
+    /**
+     * Respuesta final: cualquier valor salvo null y los resultados parciales (206)
+     */
+    static boolean isFinal(Object value) {
+        return value != null && !(value instanceof ApiResponse && ((ApiResponse<?>) value).getCode() == 206);
+    }
+
+    private final class Registration<T> implements Observer<T> {
+        final LiveData<T> source;
+        final Observer<? super T> delegate;
+        final boolean untilFinal;
+        boolean inFlight;
+
+        Registration(LiveData<T> source, Observer<? super T> delegate, boolean untilFinal) {
+            this.source = source;
+            this.delegate = delegate;
+            this.untilFinal = untilFinal;
+            this.inFlight = untilFinal;
+        }
+
+        void start() {
+            source.observeForever(this);
+        }
+
+        @Override
+        public void onChanged(T value) {
+            delegate.onChanged(value);
+            if (untilFinal && isFinal(value)) {
+                remove();
+            }
+        }
+
+        void remove() {
+            if (!registrations.remove(this)) {
+                return;
+            }
+            source.removeObserver(this);
+            totalObservers.decrementAndGet();
+            if (inFlight) {
+                inFlight = false;
+                RequestRegistry.this.inFlight--;
+                totalInFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.chancafe_q;
+
+/**
+ * Categoría JUnit de los benchmarks y pruebas de memoria
+ *
+ * Miden tiempo o heap, así que no corren con la tarea de tests por defecto:
+ * ./gradlew testDebugUnitTest -Pbenchmarks corre solo esta categoría.
+ */
+public interface Benchmark {
+}
@@ -0,0 +1,56 @@
+package com.example.chancafe_q.data.local;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica la expresión MATCH (prefijos, sin tildes) y el orden del ranking por columnas
+ */
+public class FtsQueryTest {
+
+    private static final double[] WEIGHTS = {4.0, 3.0, 1.0, 1.5, 1.0};
+
+    @Test
+    public void build_foldsAccentsAndTurnsWordsIntoPrefixTerms() {
+        assertEquals("cafe* tostado*", FtsQuery.build("  Café TOSTADO "));
+        assertEquals("azucar* nandu*", FtsQuery.build("Azúcar, Ñandú"));
+        // Operadores y comillas de FTS nunca llegan a la expresión
+        assertEquals("cafe* or* te*", FtsQuery.build("\"café\" OR -té*"));
+        assertNull(FtsQuery.build(" ¿?¡! "));
+        assertNull(FtsQuery.build(null));
+    }
+
+    @Test
+    public void score_weightsNameMatchesAboveDescriptionMatches() {
+        // Una frase, 5 columnas, 1000 filas; 20 filas tienen el término
+        byte[] inName = matchInfo(1000, 0, 20);
+        byte[] inDescription = matchInfo(1000, 2, 20);
+
+        double nameScore = FtsRanker.score(inName, WEIGHTS);
+        double descriptionScore = FtsRanker.score(inDescription, WEIGHTS);
+
+        assertTrue(descriptionScore > 0);
+        assertTrue(nameScore > descriptionScore);
+        // Un término raro pesa más que uno común en la misma columna
+        assertTrue(FtsRanker.score(matchInfo(1000, 0, 2), WEIGHTS) > nameScore);
+        assertEquals(0, FtsRanker.score(null, WEIGHTS), 0.0);
+    }
+
+    /**
+     * Blob 'pcnx' con una coincidencia en la columna indicada
+     */
+    private static byte[] matchInfo(int rows, int column, int rowsWithHits) {
+        int columns = WEIGHTS.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (3 + 3 * columns)).order(ByteOrder.nativeOrder());
+        buffer.putInt(1).putInt(columns).putInt(rows);
+        for (int c = 0; c < columns; c++) {
+            boolean hit = c == column;
+            buffer.putInt(hit ? 1 : 0).putInt(hit ? rowsWithHits : 0).putInt(hit ? rowsWithHits : 0);
+        }
+        return buffer.array();
+    }
+}
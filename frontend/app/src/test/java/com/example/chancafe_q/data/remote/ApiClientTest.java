@@ -0,0 +1,68 @@
+package com.example.chancafe_q.data.remote;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que todos los repositorios compartan el mismo motor HTTP
+ */
+public class ApiClientTest {
+
+    private static final String EMPTY_LIST = "{\"success\":true,\"message\":\"ok\",\"data\":[]}";
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiClient.getHttpClient().connectionPool().evictAll();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        ApiClient.resetClient();
+    }
+
+    @Test
+    public void apiService_isCachedAcrossCallers() {
+        assertSame(ApiClient.getApiService(), ApiClient.getApiService());
+    }
+
+    @Test
+    public void connection_isReusedAcrossRepositories() throws Exception {
+        server.enqueue(new MockResponse().setBody(EMPTY_LIST));
+        server.enqueue(new MockResponse().setBody(EMPTY_LIST));
+
+        // Cada repositorio obtiene el servicio en su constructor
+        ApiService clientsService = ApiClient.getApiService();
+        clientsService.getAllClients().execute();
+
+        ApiService catalogService = ApiClient.getApiService();
+        catalogService.getCategories().execute();
+
+        // sequenceNumber > 0 indica que la request viajó por una conexión ya abierta
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(1, ApiClient.getHttpClient().connectionPool().connectionCount());
+    }
+
+    @Test
+    public void baseUrlSwitch_keepsSharedEngine() {
+        OkHttpClient before = ApiClient.getHttpClient();
+
+        ApiClient.setBaseUrl(server.url("/v2/").toString());
+
+        assertSame(before, ApiClient.getClient().callFactory());
+        assertEquals(server.url("/v2/"), ApiClient.getClient().baseUrl());
+    }
+}
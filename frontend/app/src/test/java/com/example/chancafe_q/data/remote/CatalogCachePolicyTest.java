@@ -0,0 +1,118 @@
+package com.example.chancafe_q.data.remote;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que el catálogo se sirva desde el caché HTTP y que HttpCacheStats lo cuente
+ */
+public class CatalogCachePolicyTest {
+
+    private static final String PRODUCTS = "{\"success\":true,\"message\":\"ok\",\"data\":[]}";
+
+    private MockWebServer server;
+    private File cacheDirectory;
+    private Cache cache;
+    private HttpCacheStats stats;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cacheDirectory = Files.createTempDirectory("http_cache").toFile();
+        cache = new Cache(cacheDirectory, 1024 * 1024);
+        stats = new HttpCacheStats();
+        // Mismo orden que ApiClient: estadísticas como interceptor de aplicación, política en la red
+        client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(stats)
+                .addNetworkInterceptor(new CatalogCachePolicy())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        cache.delete();
+    }
+
+    @Test
+    public void secondGetWithinMaxAge_isServedFromCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(PRODUCTS));
+
+        try (Response first = get("/api/products")) {
+            assertEquals(PRODUCTS, first.body().string());
+            assertNotNull(first.networkResponse());
+        }
+        try (Response second = get("/api/products")) {
+            assertEquals(PRODUCTS, second.body().string());
+            assertNull(second.networkResponse());
+            assertNotNull(second.cacheResponse());
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+        assertEquals(0, stats.getRevalidations());
+        assertEquals(PRODUCTS.length(), stats.getBytesSaved());
+    }
+
+    @Test
+    public void notModifiedRevalidation_countsAsConditionalHit() throws Exception {
+        // Age mayor al max-age de categorías: la copia queda vencida apenas se guarda
+        server.enqueue(new MockResponse().setBody(PRODUCTS)
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Age", "7200"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        try (Response first = get("/api/categories")) {
+            assertEquals(PRODUCTS, first.body().string());
+        }
+        try (Response second = get("/api/categories")) {
+            assertEquals(200, second.code());
+            assertEquals(PRODUCTS, second.body().string());
+            assertEquals(304, second.networkResponse().code());
+        }
+
+        server.takeRequest();
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getHits());
+        assertEquals(1, stats.getRevalidations());
+        assertEquals(PRODUCTS.length(), stats.getBytesSaved());
+    }
+
+    @Test
+    public void nonCatalogEndpoint_isNotCachedNorCounted() throws Exception {
+        server.enqueue(new MockResponse().setBody(PRODUCTS));
+        server.enqueue(new MockResponse().setBody(PRODUCTS));
+
+        get("/api/clients").close();
+        get("/api/clients").close();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, stats.getHits() + stats.getMisses() + stats.getRevalidations());
+    }
+
+    private Response get(String path) throws Exception {
+        Request request = new Request.Builder().url(server.url(path)).build();
+        return client.newCall(request).execute();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que las requests interactivas no esperen detrás del trabajo bulk en cola
+ */
+public class PrioritySchedulerTest {
+
+    private static final int BULK_REQUESTS = 200;
+    private static final long BULK_DELAY_MILLIS = 200;
+
+    private MockWebServer server;
+    private PriorityScheduler scheduler;
+    private final List<Call<?>> bulkCalls = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().contains("/clients/document/")) {
+                    return new MockResponse().setBody("{\"success\":true,\"data\":{\"id\":1}}");
+                }
+                return new MockResponse()
+                        .setHeadersDelay(BULK_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                        .setBody("{\"success\":true,\"data\":[]}");
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+        scheduler = new PriorityScheduler(4, 1, 2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Call<?> call : bulkCalls) {
+            call.cancel();
+        }
+        server.shutdown();
+        ApiClient.resetClient();
+    }
+
+    @Test
+    public void interactiveLatency_staysFlatWithBulkBacklog() throws Exception {
+        long baseline = interactiveLatencyMillis();
+
+        for (int i = 0; i < BULK_REQUESTS; i++) {
+            Call<ApiResponse<List<Client>>> call = ApiClient.getApiService().getAllClients();
+            bulkCalls.add(call);
+            scheduler.enqueue(call, new Callback<ApiResponse<List<Client>>>() {
+                @Override
+                public void onResponse(Call<ApiResponse<List<Client>>> call, Response<ApiResponse<List<Client>>> response) {
+                }
+
+                @Override
+                public void onFailure(Call<ApiResponse<List<Client>>> call, Throwable t) {
+                }
+            }, RequestPriority.BULK);
+        }
+        assertEquals(2, scheduler.getRunningCount(RequestPriority.BULK));
+
+        // Varias consultas interactivas mientras el backlog sigue en cola
+        long worst = 0;
+        for (int i = 0; i < 5; i++) {
+            worst = Math.max(worst, interactiveLatencyMillis());
+        }
+
+        // Con un dispatcher FIFO esperarían ~ (200 / 8) * 200 ms; aquí no pasan de un bulk
+        assertTrue("baseline=" + baseline + "ms worst=" + worst + "ms", worst < baseline + BULK_DELAY_MILLIS);
+        assertTrue(scheduler.getQueuedCount(RequestPriority.BULK) > BULK_REQUESTS - 20);
+    }
+
+    @Test
+    public void syncPermit_waitsForAFreeBulkSlot() throws Exception {
+        PriorityScheduler.Permit first = scheduler.acquire(RequestPriority.BULK);
+        PriorityScheduler.Permit second = scheduler.acquire(RequestPriority.BULK);
+        assertEquals(2, scheduler.getRunningCount(RequestPriority.BULK));
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try (PriorityScheduler.Permit third = scheduler.acquire(RequestPriority.BULK)) {
+                acquired.countDown();
+            } catch (InterruptedIOException e) {
+                // No debería pasar: nadie interrumpe este hilo
+            }
+        });
+        waiter.start();
+        awaitQueued(RequestPriority.BULK, 1);
+        assertEquals(1, acquired.getCount());
+
+        // El cupo interactivo no depende del bulk agotado
+        try (PriorityScheduler.Permit interactive = scheduler.acquire(RequestPriority.INTERACTIVE)) {
+            assertEquals(1, scheduler.getRunningCount(RequestPriority.INTERACTIVE));
+        }
+
+        first.close();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join(5_000);
+
+        // Cerrar dos veces no devuelve un cupo ajeno
+        second.close();
+        second.close();
+        assertEquals(0, scheduler.getRunningCount(RequestPriority.BULK));
+        assertEquals(0, scheduler.getRunningCount(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void interruptedPermitWait_leavesNoSlotBehind() throws Exception {
+        PriorityScheduler.Permit first = scheduler.acquire(RequestPriority.BULK);
+        PriorityScheduler.Permit second = scheduler.acquire(RequestPriority.BULK);
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            try (PriorityScheduler.Permit third = scheduler.acquire(RequestPriority.BULK)) {
+                fail("El cupo no debería asignarse");
+            } catch (InterruptedIOException e) {
+                interrupted.set(true);
+            }
+        });
+        waiter.start();
+        awaitQueued(RequestPriority.BULK, 1);
+        waiter.interrupt();
+        waiter.join(5_000);
+
+        assertTrue(interrupted.get());
+        assertEquals(0, scheduler.getQueuedCount(RequestPriority.BULK));
+        assertEquals(2, scheduler.getRunningCount(RequestPriority.BULK));
+
+        first.close();
+        second.close();
+        assertEquals(0, scheduler.getRunningCount(RequestPriority.BULK));
+    }
+
+    private void awaitQueued(RequestPriority priority, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueuedCount(priority) != expected) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private long interactiveLatencyMillis() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        final boolean[] ok = new boolean[1];
+        long start = System.nanoTime();
+
+        scheduler.enqueue(ApiClient.getApiService().getClientByDocument("44556677"),
+                new Callback<ApiResponse<Client>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<Client>> call, Response<ApiResponse<Client>> response) {
+                        ok[0] = response.isSuccessful();
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<Client>> call, Throwable t) {
+                        done.countDown();
+                    }
+                }, RequestPriority.INTERACTIVE);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(ok[0]);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
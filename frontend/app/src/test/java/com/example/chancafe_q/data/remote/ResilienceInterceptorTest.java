@@ -0,0 +1,152 @@
+package com.example.chancafe_q.data.remote;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica reintentos de métodos idempotentes y el ciclo del circuit breaker
+ */
+public class ResilienceInterceptorTest {
+
+    private static final long OPEN_MILLIS = 200;
+
+    private MockWebServer server;
+    private ResilienceInterceptor resilience;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        // 2 reintentos, backoff corto, Retry-After acotado a 100 ms, el circuito se abre con 3 fallas
+        resilience = new ResilienceInterceptor(2, 10, 50, 100, 3, OPEN_MILLIS);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(resilience)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void idempotentGet_isRetriedUntilSuccess() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        try (Response response = get("/api/clients")) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, resilience.getRetries());
+    }
+
+    @Test
+    public void post_isNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        Request request = new Request.Builder()
+                .url(server.url("/api/quotes"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, resilience.getRetries());
+    }
+
+    @Test
+    public void breaker_opensThenClosesAfterHalfOpenProbe() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        // 1 intento + 2 reintentos = 3 fallas: el circuito de la ruta queda abierto
+        try (Response response = get("/api/clients/15")) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitState(server.url("/api/clients/16")));
+
+        try {
+            get("/api/clients/16").close();
+            fail("Se esperaba CircuitOpenException");
+        } catch (CircuitOpenException expected) {
+            assertEquals(1, resilience.getShortCircuited());
+        }
+        assertEquals(3, server.getRequestCount());
+
+        // Otra ruta no se ve afectada
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = get("/api/products")) {
+            assertEquals(200, response.code());
+        }
+
+        // Vencida la espera, una prueba exitosa cierra el circuito
+        Thread.sleep(OPEN_MILLIS + 50);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.getCircuitState(server.url("/api/clients/1")));
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = get("/api/clients/1")) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitState(server.url("/api/clients/1")));
+    }
+
+    @Test
+    public void halfOpenProbe_isReleasedWhenTheChainThrows() throws Exception {
+        AtomicBoolean explode = new AtomicBoolean();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(resilience)
+                .addInterceptor(chain -> {
+                    if (explode.get()) {
+                        throw new IllegalStateException("Interceptor roto");
+                    }
+                    return chain.proceed(chain.request());
+                })
+                .build();
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        try (Response response = get("/api/clients")) {
+            assertEquals(503, response.code());
+        }
+        Thread.sleep(OPEN_MILLIS + 50);
+
+        // La prueba half-open falla con una RuntimeException: no debe quedar tomada
+        explode.set(true);
+        try {
+            get("/api/clients").close();
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.getCircuitState(server.url("/api/clients")));
+        }
+
+        explode.set(false);
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = get("/api/clients")) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitState(server.url("/api/clients")));
+        assertEquals(0, resilience.getShortCircuited());
+    }
+
+    private Response get(String path) throws Exception {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+}
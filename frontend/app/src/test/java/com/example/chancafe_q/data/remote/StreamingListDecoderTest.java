@@ -0,0 +1,226 @@
+package com.example.chancafe_q.data.remote;
+
+import com.example.chancafe_q.Benchmark;
+import com.example.chancafe_q.data.remote.json.ModelTypeAdapterFactory;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Decodificación incremental de listas: bloques geométricos, ambos envoltorios del
+ * backend y entrega del primer bloque antes de terminar de leer el cuerpo
+ */
+public class StreamingListDecoderTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .setLenient()
+            .create();
+
+    @Test
+    public void plainArrayEnvelope_deliversGeometricChunks() throws IOException {
+        StreamingListDecoder<Client> decoder = new StreamingListDecoder<>(gson, Client.class, 2, 8);
+        List<Integer> sizes = new ArrayList<>();
+        List<Client> all = new ArrayList<>();
+
+        ApiResponse<Integer> envelope = decoder.decode(body(json(clients(1, 20), false)), chunk -> {
+            sizes.add(chunk.size());
+            all.addAll(chunk);
+        });
+
+        assertTrue(envelope.isSuccess());
+        assertEquals("ok", envelope.getMessage());
+        assertEquals(Integer.valueOf(20), envelope.getData());
+        assertEquals(Arrays.asList(2, 4, 8, 6), sizes);
+        assertEquals(20, all.size());
+        assertEquals(1, all.get(0).getId());
+        assertEquals(20, all.get(19).getId());
+    }
+
+    @Test
+    public void backendClientsEnvelope_isDecodedLikeThePlainArray() throws IOException {
+        StreamingListDecoder<Client> decoder = new StreamingListDecoder<>(gson, Client.class, 4, 4);
+        List<Client> all = new ArrayList<>();
+
+        // GET /clients sin page: sendSuccess(res, { clients: result })
+        ApiResponse<Integer> envelope = decoder.decode(body(json(clients(1, 10), true)), all::addAll);
+
+        assertTrue(envelope.isSuccess());
+        assertEquals(Integer.valueOf(10), envelope.getData());
+        assertEquals(10, all.size());
+        assertEquals("Nombre5", all.get(4).getFirstName());
+    }
+
+    @Test
+    public void matchesFullMaterialization() throws IOException {
+        String payload = json(clients(1, 50), false);
+        List<Client> expected = gson.<ApiResponse<List<Client>>>fromJson(payload,
+                new TypeToken<ApiResponse<List<Client>>>() {}.getType()).getData();
+
+        List<Client> streamed = new ArrayList<>();
+        new StreamingListDecoder<>(gson, Client.class, 3, 16).decode(body(payload), streamed::addAll);
+
+        assertEquals(gson.toJson(expected), gson.toJson(streamed));
+    }
+
+    @Test
+    public void firstChunk_arrivesBeforeTheBodyIsFullyRead() throws IOException {
+        String payload = json(clients(1, 200), false);
+        TrickleSource source = new TrickleSource(payload, 64);
+        long[] remainingAtFirstChunk = {-1};
+
+        new StreamingListDecoder<>(gson, Client.class, 10, 50).decode(body(source), chunk -> {
+            if (remainingAtFirstChunk[0] < 0) {
+                remainingAtFirstChunk[0] = source.remaining();
+            }
+        });
+
+        assertTrue("El primer bloque debe llegar con bytes aún sin leer", remainingAtFirstChunk[0] > payload.length() / 2);
+        assertEquals(0, source.remaining());
+    }
+
+    @Test
+    public void nullDataAndUnknownFields_areSkipped() throws IOException {
+        String payload = "{\"success\":false,\"extra\":{\"a\":[1,2]},\"message\":\"sin datos\",\"code\":404,\"data\":null}";
+        List<Client> all = new ArrayList<>();
+
+        ApiResponse<Integer> envelope = new StreamingListDecoder<>(gson, Client.class, 2, 8).decode(body(payload), all::addAll);
+
+        assertFalse(envelope.isSuccess());
+        assertEquals("sin datos", envelope.getMessage());
+        assertEquals(404, envelope.getCode());
+        assertEquals(Integer.valueOf(0), envelope.getData());
+        assertTrue(all.isEmpty());
+    }
+
+    /**
+     * Benchmark: tiempo hasta el primer bloque frente a materializar toda la lista
+     * (el cuerpo llega en trozos de 1 KB, como desde un socket lento)
+     */
+    @Test
+    @Category(Benchmark.class)
+    public void fiveThousandClients_timeToFirstChunk() throws IOException {
+        String payload = json(clients(1, 5_000), true);
+        StreamingListDecoder<Client> decoder = new StreamingListDecoder<>(gson, Client.class, 20, 500);
+
+        for (int i = 0; i < 5; i++) {
+            decoder.decode(body(new TrickleSource(payload, 1024)), chunk -> { }); // Calentamiento del JIT
+        }
+
+        int runs = 10;
+        long[] firstChunk = new long[runs];
+        long[] total = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            long[] first = {0};
+            decoder.decode(body(new TrickleSource(payload, 1024)), chunk -> {
+                if (first[0] == 0) {
+                    first[0] = System.nanoTime() - start;
+                }
+            });
+            firstChunk[i] = first[0];
+            total[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(firstChunk);
+        Arrays.sort(total);
+
+        assertTrue(firstChunk[runs / 2] < total[runs / 2]);
+    }
+
+    private static List<String> clients(int from, int to) {
+        List<String> items = new ArrayList<>();
+        for (int id = from; id <= to; id++) {
+            items.add("{\"id\":" + id + ",\"first_name\":\"Nombre" + id + "\",\"last_name\":\"Apellido\"," +
+                    "\"document_type\":\"DNI\",\"document_number\":\"" + (40_000_000 + id) + "\"," +
+                    "\"credit_limit\":1500.5,\"status\":\"active\",\"created_at\":\"2024-03-05 14:22:09\"}");
+        }
+        return items;
+    }
+
+    private static String json(List<String> items, boolean clientsEnvelope) {
+        String array = "[" + String.join(",", items) + "]";
+        String data = clientsEnvelope ? "{\"clients\":" + array + "}" : array;
+        return "{\"success\":true,\"message\":\"ok\",\"data\":" + data + "}";
+    }
+
+    private static ResponseBody body(String payload) {
+        return ResponseBody.create(payload, JSON);
+    }
+
+    private static ResponseBody body(Source source) {
+        BufferedSource buffered = Okio.buffer(source);
+        return new ResponseBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public BufferedSource source() {
+                return buffered;
+            }
+        };
+    }
+
+    /**
+     * Fuente que entrega como máximo step bytes por lectura
+     */
+    private static final class TrickleSource implements Source {
+        private final Buffer data = new Buffer();
+        private final long step;
+
+        TrickleSource(String payload, long step) {
+            data.writeUtf8(payload);
+            this.step = step;
+        }
+
+        long remaining() {
+            return data.size();
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) {
+            if (data.size() == 0) {
+                return -1;
+            }
+            return data.read(sink, Math.min(byteCount, step));
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.chancafe_q.data.remote;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que un token vencido se renueve una sola vez bajo carga concurrente
+ */
+public class TokenAuthenticatorTest {
+
+    private static final int CALLERS = 50;
+    private static final String EMPTY_LIST = "{\"success\":true,\"message\":\"ok\",\"data\":[]}";
+
+    private MockWebServer server;
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+    private volatile String validToken = "fresh-token";
+    private volatile boolean refreshAllowed = true;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String auth = request.getHeader("Authorization");
+                if (request.getPath().endsWith("/auth/refresh")) {
+                    refreshCalls.incrementAndGet();
+                    if (!refreshAllowed || !"Bearer refresh-1".equals(auth)) {
+                        return new MockResponse().setResponseCode(401);
+                    }
+                    // El refresh tarda para que el resto de requests llegue a esperar
+                    return new MockResponse()
+                            .setHeadersDelay(300, TimeUnit.MILLISECONDS)
+                            .setBody("{\"success\":true,\"data\":{\"token\":\"" + validToken + "\",\"refreshToken\":\"refresh-2\"}}");
+                }
+                if (!("Bearer " + validToken).equals(auth)) {
+                    return new MockResponse().setResponseCode(401);
+                }
+                return new MockResponse().setBody(EMPTY_LIST);
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+        ApiClient.setTokens("expired-token", "refresh-1");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        ApiClient.clearAuthToken();
+        ApiClient.resetClient();
+    }
+
+    @Test
+    public void concurrent401s_shareSingleRefresh() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+        int ok = runConcurrently(successes);
+
+        assertEquals(CALLERS, ok);
+        assertEquals(1, refreshCalls.get());
+        assertEquals("fresh-token", ApiClient.getAuthToken());
+        assertEquals("refresh-2", ApiClient.getRefreshToken());
+    }
+
+    @Test
+    public void rejectedRefresh_clearsSessionOnce() throws Exception {
+        refreshAllowed = false;
+
+        AtomicInteger successes = new AtomicInteger();
+        int ok = runConcurrently(successes);
+
+        assertEquals(0, ok);
+        assertEquals(1, refreshCalls.get());
+        assertFalse(ApiClient.isAuthenticated());
+    }
+
+    private int runConcurrently(AtomicInteger successes) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CALLERS);
+
+        for (int i = 0; i < CALLERS; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    if (ApiClient.getApiService().getAllClients().execute().isSuccessful()) {
+                        successes.incrementAndGet();
+                    }
+                } catch (Exception ignored) {
+                    // Se cuenta como fallo
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        return successes.get();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.Product;
+import com.example.chancafe_q.model.Quote;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que las entidades anidadas se compartan por id, que los cambios lleguen a
+ * todas las cotizaciones que las tienen y mide el heap de una lista de 5.000 cotizaciones
+ */
+public class IdentityMapTest {
+
+    private static final int QUOTES = 5_000;
+    private static final int CLIENTS = 50;
+    private static final int USERS = 5;
+    private static final Type QUOTE_LIST = new TypeToken<ApiResponse<List<Quote>>>() {}.getType();
+
+    private final IdentityMap identityMap = IdentityMap.createDefault();
+    private final Gson interning = gson(identityMap);
+
+    @Test
+    public void nestedClients_resolveToOneInstancePerId() {
+        List<Quote> quotes = parse(interning, quotesJson(200, "2024-03-01 10:00:00", "Ana"));
+
+        for (Quote quote : quotes) {
+            Client first = quotes.get(quote.getClientId() - 1).getClient();
+            assertSame(first, quote.getClient());
+        }
+        assertEquals(CLIENTS + USERS, identityMap.size());
+        assertEquals(200 * 2 - CLIENTS - USERS, identityMap.getHits());
+    }
+
+    @Test
+    public void newerCopy_updatesEveryHolder() {
+        List<Quote> before = parse(interning, quotesJson(100, "2024-03-01 10:00:00", "Ana"));
+        Client shared = before.get(0).getClient();
+
+        // Otra pantalla carga las mismas cotizaciones después de que el cliente cambió
+        List<Quote> after = parse(interning, quotesJson(100, "2024-03-02 10:00:00", "Ana María"));
+
+        assertSame(shared, after.get(0).getClient());
+        assertEquals("Ana María", before.get(0).getClient().getFirstName());
+        assertEquals("Ana María", before.get(CLIENTS).getClient().getFirstName());
+
+        // Una respuesta más vieja (p. ej. de una caché) no pisa lo nuevo
+        parse(interning, quotesJson(100, "2024-02-01 10:00:00", "Ana"));
+        assertEquals("Ana María", shared.getFirstName());
+    }
+
+    @Test
+    public void refresh_reachesSharedInstanceWithoutCreatingEntries() {
+        List<Quote> quotes = parse(interning, quotesJson(10, "2024-03-01 10:00:00", "Ana"));
+        Client edited = new Client();
+        edited.setId(1);
+        edited.setFirstName("Editada");
+
+        identityMap.refresh(Client.class, edited);
+        Client unknown = new Client();
+        unknown.setId(999);
+        identityMap.refresh(Client.class, unknown);
+
+        assertEquals("Editada", quotes.get(0).getClient().getFirstName());
+        assertNull(identityMap.get(Client.class, 999));
+    }
+
+    @Test
+    public void productCategories_areShared() {
+        String json = "{\"success\":true,\"data\":[" +
+                "{\"id\":1,\"name\":\"Café\",\"category\":{\"id\":2,\"name\":\"Granos\"},\"supplier\":{\"id\":3,\"name\":\"Finca\"}}," +
+                "{\"id\":2,\"name\":\"Té\",\"category\":{\"id\":2,\"name\":\"Granos\"},\"supplier\":{\"id\":3,\"name\":\"Finca\"}}]}";
+        ApiResponse<List<Product>> response = interning.fromJson(json, new TypeToken<ApiResponse<List<Product>>>() {}.getType());
+
+        List<Product> products = response.getData();
+        assertSame(products.get(0).getCategory(), products.get(1).getCategory());
+        assertSame(products.get(0).getSupplier(), products.get(1).getSupplier());
+    }
+
+    @Test
+    public void unreferencedInstances_areEvicted() throws Exception {
+        parse(interning, quotesJson(100, "2024-03-01 10:00:00", "Ana"));
+        assertEquals(CLIENTS + USERS, identityMap.size());
+
+        // Nadie retiene la lista: el GC libera los clientes y sus entradas
+        for (int attempt = 0; attempt < 10 && identityMap.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertEquals(0, identityMap.size());
+    }
+
+    @Test
+    public void fiveThousandQuotes_heapBeforeAndAfter() {
+        String json = quotesJson(QUOTES, "2024-03-01 10:00:00", "Ana");
+        Gson plain = gson(null);
+
+        long base = usedHeap();
+        List<Quote> duplicated = parse(plain, json);
+        long duplicatedBytes = usedHeap() - base;
+        assertNotSame(duplicated.get(0).getClient(), duplicated.get(CLIENTS).getClient());
+        duplicated = null;
+
+        base = usedHeap();
+        List<Quote> shared = parse(interning, json);
+        long sharedBytes = usedHeap() - base;
+        assertSame(shared.get(0).getClient(), shared.get(CLIENTS).getClient());
+
+        assertTrue("con IdentityMap " + sharedBytes + " B, sin él " + duplicatedBytes + " B",
+                sharedBytes < duplicatedBytes * 3 / 4);
+        assertEquals(QUOTES, shared.size());
+    }
+
+    private static Gson gson(IdentityMap identityMap) {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory(identityMap))
+                .setDateFormat("yyyy-MM-dd HH:mm:ss")
+                .setLenient()
+                .create();
+    }
+
+    private static List<Quote> parse(Gson gson, String json) {
+        ApiResponse<List<Quote>> response = gson.fromJson(json, QUOTE_LIST);
+        return response.getData();
+    }
+
+    /**
+     * Cotizaciones que embeben su cliente y su asesor completos, como el listado del backend
+     */
+    private static String quotesJson(int count, String updatedAt, String firstName) {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"data\":[");
+        for (int i = 0; i < count; i++) {
+            int clientId = i % CLIENTS + 1;
+            int userId = i % USERS + 1;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"client_id\":").append(clientId)
+                    .append(",\"user_id\":").append(userId)
+                    .append(",\"quote_number\":\"COT-").append(i + 1).append('"')
+                    .append(",\"total_amount\":118.0,\"status\":\"draft\"")
+                    .append(",\"client\":{\"id\":").append(clientId)
+                    .append(",\"first_name\":\"").append(firstName).append('"')
+                    .append(",\"last_name\":\"Cliente ").append(clientId).append('"')
+                    .append(",\"document_type\":\"DNI\",\"document_number\":\"4455").append(1000 + clientId).append('"')
+                    .append(",\"email\":\"cliente").append(clientId).append("@example.com\"")
+                    .append(",\"phone\":\"999888").append(100 + clientId).append('"')
+                    .append(",\"address\":\"Av. Los Cafetales ").append(clientId).append(", Chanchamayo\"")
+                    .append(",\"client_type\":\"business\",\"business_name\":\"Comercial ").append(clientId).append(" S.A.C.\"")
+                    .append(",\"district\":\"La Merced\",\"province\":\"Chanchamayo\",\"department\":\"Junín\"")
+                    .append(",\"notes\":\"Cliente frecuente, prefiere entregas los lunes por la mañana\"")
+                    .append(",\"credit_limit\":15000.0,\"status\":\"active\"")
+                    .append(",\"updated_at\":\"").append(updatedAt).append("\"}")
+                    .append(",\"user\":{\"id\":").append(userId)
+                    .append(",\"user_code\":\"ASE0").append(userId).append('"')
+                    .append(",\"first_name\":\"Asesor\",\"last_name\":\"Número ").append(userId).append('"')
+                    .append(",\"email\":\"asesor").append(userId).append("@chancafe.com\"")
+                    .append(",\"role\":\"asesor\",\"branch_office\":\"Sede Central\"")
+                    .append(",\"updated_at\":\"").append(updatedAt).append("\"}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
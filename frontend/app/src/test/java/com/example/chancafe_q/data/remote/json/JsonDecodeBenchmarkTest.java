@@ -0,0 +1,178 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.Benchmark;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Throughput y memoria asignada del decodificado JSON: adapters escritos a mano frente al
+ * Gson reflexivo, y DateParser frente al SimpleDateFormat que reemplaza
+ *
+ * Se corre con ./gradlew test -Pbenchmarks
+ */
+@Category(Benchmark.class)
+public class JsonDecodeBenchmarkTest {
+
+    private static final int CLIENTS = 2_000;
+    private static final int DATES = 20_000;
+    private static final int WARMUP_ROUNDS = 15;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final Type CLIENT_LIST = new TypeToken<ApiResponse<List<Client>>>() {}.getType();
+
+    private final Gson generated = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .setLenient()
+            .create();
+
+    private final Gson reflective = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .setLenient()
+            .create();
+
+    private com.sun.management.ThreadMXBean allocations;
+    private long thread;
+
+    @Before
+    public void setUp() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        allocations = (com.sun.management.ThreadMXBean) threads;
+        thread = Thread.currentThread().getId();
+    }
+
+    @Test
+    public void clientList_generatedAdaptersDecodeFasterWithLessGarbage() {
+        String json = clientsJson(CLIENTS);
+        ApiResponse<List<Client>> expected = reflective.fromJson(json, CLIENT_LIST);
+        ApiResponse<List<Client>> actual = generated.fromJson(json, CLIENT_LIST);
+        assertEquals(CLIENTS, actual.getData().size());
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+
+        Measurement reflectiveRun = measure(() -> reflective.fromJson(json, CLIENT_LIST));
+        Measurement generatedRun = measure(() -> generated.fromJson(json, CLIENT_LIST));
+
+        assertTrue("reflexivo " + reflectiveRun + ", generado " + generatedRun,
+                generatedRun.bytes < reflectiveRun.bytes);
+        assertTrue("reflexivo " + reflectiveRun + ", generado " + generatedRun,
+                generatedRun.nanos < reflectiveRun.nanos);
+    }
+
+    @Test
+    public void dates_dateParserBeatsSimpleDateFormat() throws Exception {
+        List<String> texts = new ArrayList<>(DATES);
+        for (int i = 0; i < DATES; i++) {
+            texts.add(String.format(Locale.US, "2024-%02d-%02d %02d:%02d:%02d",
+                    1 + i % 12, 1 + i % 28, i % 24, i % 60, (i * 7) % 60));
+        }
+
+        // Mismo resultado que el formato que usaba Gson
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+        for (int i = 0; i < DATES; i += 997) {
+            assertEquals(format.parse(texts.get(i)), DateParser.parse(texts.get(i)));
+        }
+
+        Measurement simpleDateFormat = measure(() -> {
+            long sum = 0;
+            for (String text : texts) {
+                try {
+                    sum += format.parse(text).getTime();
+                } catch (ParseException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return sum;
+        });
+        Measurement dateParser = measure(() -> {
+            long sum = 0;
+            for (String text : texts) {
+                sum += DateParser.parseMillis(text);
+            }
+            return sum;
+        });
+
+        assertTrue("SimpleDateFormat " + simpleDateFormat + ", DateParser " + dateParser,
+                dateParser.bytes < simpleDateFormat.bytes);
+        assertTrue("SimpleDateFormat " + simpleDateFormat + ", DateParser " + dateParser,
+                dateParser.nanos < simpleDateFormat.nanos);
+    }
+
+    /**
+     * Mejor ronda (tiempo y bytes asignados) tras calentar el JIT
+     */
+    private Measurement measure(Work work) {
+        Object sink = null;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink = work.run();
+        }
+
+        Measurement best = new Measurement(Long.MAX_VALUE, Long.MAX_VALUE);
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long bytesBefore = allocations.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            sink = work.run();
+            long nanos = System.nanoTime() - start;
+            long bytes = allocations.getThreadAllocatedBytes(thread) - bytesBefore;
+            best = new Measurement(Math.min(best.nanos, nanos), Math.min(best.bytes, bytes));
+        }
+        assertNotNull(sink);
+        return best;
+    }
+
+    private static String clientsJson(int count) {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"message\":\"ok\",\"data\":[");
+        for (int id = 1; id <= count; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"first_name\":\"Ana\",\"last_name\":\"Quispe\",\"document_type\":\"DNI\"")
+                    .append(",\"document_number\":\"").append(44_556_676 + id).append('"')
+                    .append(",\"email\":\"ana").append(id).append("@correo.pe\",\"phone\":\"987654321\"")
+                    .append(",\"client_type\":\"individual\",\"payment_terms\":30,\"credit_limit\":1500.5")
+                    .append(",\"status\":\"active\",\"assigned_user_id\":").append(1 + id % 5)
+                    .append(",\"created_at\":\"2024-03-05 14:22:09\",\"updated_at\":\"2024-03-06 10:00:00\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private interface Work {
+        Object run();
+    }
+
+    private static final class Measurement {
+        final long nanos;
+        final long bytes;
+
+        Measurement(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String toString() {
+            return (nanos / 1_000) + " µs, " + (bytes / 1_024) + " KB";
+        }
+    }
+}
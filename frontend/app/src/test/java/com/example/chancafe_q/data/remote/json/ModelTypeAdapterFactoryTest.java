@@ -0,0 +1,91 @@
+package com.example.chancafe_q.data.remote.json;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.model.User;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara los adapters escritos a mano con el Gson reflexivo que reemplazan
+ */
+public class ModelTypeAdapterFactoryTest {
+
+    private static final String CLIENTS = "{\"success\":true,\"message\":\"ok\",\"data\":[" +
+            "{\"id\":7,\"first_name\":\"Ana\",\"last_name\":\"Díaz\",\"document_type\":\"DNI\"," +
+            "\"document_number\":\"44556677\",\"email\":null,\"payment_terms\":30,\"credit_limit\":1500.5," +
+            "\"assigned_user_id\":null,\"status\":\"blocked\",\"unknown\":{\"nested\":[1,2]}," +
+            "\"created_at\":\"2024-03-05 14:22:09\",\"updated_at\":\"2024-03-06T10:00:00.000Z\"}," +
+            "{\"id\":8,\"first_name\":\"Luis\",\"credit_limit\":null}]}";
+
+    private static final String QUOTE = "{\"success\":true,\"data\":{\"id\":3,\"client_id\":7," +
+            "\"quote_number\":\"COT-0003\",\"total_amount\":118.0,\"valid_until\":\"2024-04-01\"," +
+            "\"discount_percentage\":\"5.00\",\"tax_percentage\":\"18.00\"," +
+            "\"pdf_generated\":true,\"client\":{\"id\":7,\"first_name\":\"Ana\"}," +
+            "\"user\":{\"id\":1,\"full_name\":\"Admin\",\"isActive\":true,\"hire_date\":\"2023-01-15\"}," +
+            "\"quote_items\":[{\"id\":1,\"total_price\":20.0,\"quantity\":2,\"unit_price\":12.5," +
+            "\"product\":{\"id\":9,\"name\":\"Café\",\"category\":{\"id\":2,\"name\":\"Granos\"}}}]}}";
+
+    private final Gson generated = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .setLenient()
+            .create();
+
+    private final Gson reflective = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .setLenient()
+            .create();
+
+    @Test
+    public void clientList_matchesReflectiveDecoding() {
+        Type type = new TypeToken<ApiResponse<List<Client>>>() {}.getType();
+        ApiResponse<List<Client>> expected = reflective.fromJson(CLIENTS, type);
+        ApiResponse<List<Client>> actual = generated.fromJson(CLIENTS, type);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+        assertEquals(Integer.valueOf(30), actual.getData().get(0).getPaymentTerms());
+        assertEquals("active", actual.getData().get(1).getStatus());
+    }
+
+    @Test
+    public void nestedQuote_matchesReflectiveDecoding() {
+        Type type = new TypeToken<ApiResponse<Quote>>() {}.getType();
+        ApiResponse<Quote> expected = reflective.fromJson(QUOTE, type);
+        ApiResponse<Quote> actual = generated.fromJson(QUOTE, type);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+        // total_price del servidor no se pisa con quantity * unit_price
+        assertEquals(20.0, actual.getData().getQuoteItems().get(0).getTotalPrice(), 0.0);
+    }
+
+    @Test
+    public void serialization_matchesReflectiveOutput() {
+        Client client = new Client("Ana", "Díaz", "DNI", "44556677", "ana@example.com", null);
+        client.setPaymentTerms(15);
+        client.setCreatedAt(new Date(1_700_000_000_000L));
+
+        assertEquals(reflective.toJson(client), generated.toJson(client));
+
+        User user = new User("U01", "Ana", "Díaz", "ana@example.com", "asesor");
+        assertEquals(reflective.toJson(user), generated.toJson(user));
+    }
+
+    @Test
+    public void dateParser_roundTripsBackendFormat() {
+        Date date = DateParser.parse("2024-02-29 23:59:58");
+        assertEquals("2024-02-29 23:59:58", DateParser.format(date));
+        assertEquals(DateParser.parseMillis("2024-03-06T10:00:00Z"),
+                DateParser.parseMillis("2024-03-06T05:00:00-05:00"));
+    }
+}
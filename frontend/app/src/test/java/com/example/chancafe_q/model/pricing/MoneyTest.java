@@ -0,0 +1,80 @@
+package com.example.chancafe_q.model.pricing;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica la aritmética en céntimos contra BigDecimal con valores al azar
+ */
+public class MoneyTest {
+
+    private static final RoundingMode[] MODES = {RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING,
+            RoundingMode.FLOOR, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+
+    private final Random random = new Random(25);
+
+    @Test
+    public void divide_roundsLikeBigDecimal() {
+        for (int i = 0; i < 200_000; i++) {
+            long numerator = random.nextBoolean() ? random.nextInt(2_001) - 1_000 : random.nextLong() / 4;
+            long denominator = random.nextBoolean() ? 1 + random.nextInt(20) : 1 + (random.nextLong() >>> 2);
+            RoundingMode mode = MODES[random.nextInt(MODES.length)];
+            long expected = BigDecimal.valueOf(numerator)
+                    .divide(BigDecimal.valueOf(denominator), 0, mode).longValueExact();
+            assertEquals(numerator + "/" + denominator + " " + mode, expected, Money.divide(numerator, denominator, mode));
+        }
+        // Empates exactos
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(3, Money.divide(5, 2, RoundingMode.HALF_UP));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.CEILING));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void divide_unnecessaryFailsWhenInexact() {
+        Money.divide(1, 3, RoundingMode.UNNECESSARY);
+    }
+
+    @Test
+    public void toCents_matchesDecimalRounding() {
+        for (int i = 0; i < 200_000; i++) {
+            int decimals = random.nextInt(5);
+            double amount = BigDecimal.valueOf(random.nextInt(100_000_000), decimals).doubleValue();
+            long expected = BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP)
+                    .movePointRight(2).longValueExact();
+            assertEquals(String.valueOf(amount), expected, Money.toCents(amount));
+        }
+        assertEquals(101, Money.toCents(1.005));
+        assertEquals(30, Money.toCents(0.1 + 0.2));
+        assertEquals(-1_050, Money.toCents(-10.5));
+        assertEquals(0.3, Money.toAmount(Money.times(10, 3)), 0.0);
+    }
+
+    @Test
+    public void percentOf_usesBasisPoints() {
+        assertEquals(1_800, Money.percentOf(10_000, 1_800, RoundingMode.HALF_UP));
+        assertEquals(438, Money.percentOf(2_433, 1_800, RoundingMode.HALF_UP)); // 437.94
+        assertEquals(437, Money.percentOf(2_433, 1_800, RoundingMode.DOWN));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void times_failsOnOverflow() {
+        Money.times(Long.MAX_VALUE / 2, 3);
+    }
+
+    @Test
+    public void multiplyDivide_handlesLargeProducts() {
+        long a = 9_000_000_000_000L;
+        long b = 7_000_000_000_000L;
+        long c = 8_000_000_000_000L;
+        BigDecimal product = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b));
+        assertEquals(product.divide(BigDecimal.valueOf(c), 0, RoundingMode.FLOOR).longValueExact(),
+                Money.multiplyDivideFloor(a, b, c));
+        assertEquals(product.remainder(BigDecimal.valueOf(c)).longValueExact(), Money.multiplyMod(a, b, c));
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.chancafe_q.model.pricing;
+
+import com.example.chancafe_q.model.Quote;
+import com.example.chancafe_q.model.QuoteItem;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica el cálculo incremental de cotizaciones contra una implementación de
+ * referencia que recalcula todo con BigDecimal, con políticas y ediciones al azar
+ */
+public class QuotePricingTest {
+
+    private static final RoundingMode[] MODES = {RoundingMode.HALF_UP, RoundingMode.HALF_EVEN, RoundingMode.HALF_DOWN,
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR};
+    private static final TaxSpec[] TAXES = {new TaxSpec("EXO", 0), new TaxSpec("IGV", 1_800), new TaxSpec("ISC", 1_250)};
+
+    private final Random random = new Random(2025);
+
+    @Test
+    public void standardPolicy_addsIgvOnTheSubtotal() {
+        QuotePricing<String> pricing = new QuotePricing<>(PricingPolicy.standard());
+        pricing.setLine("café", 2, 1_050);
+        pricing.setLine("filtro", 1, 333);
+
+        assertEquals(2_433, pricing.getSubtotalCents());
+        assertEquals(438, pricing.getTaxCents()); // 437.94
+        assertEquals(2_871, pricing.getTotalCents());
+
+        pricing.setLine("café", 3, 1_050);
+        pricing.removeLine("filtro");
+        assertEquals(3_150, pricing.getSubtotalCents());
+        assertEquals(567, pricing.getTaxCents());
+    }
+
+    @Test
+    public void lineScope_roundsEachLine() {
+        PricingPolicy perLine = new PricingPolicy(TaxRule.IGV, PricingPolicy.TaxScope.LINE, RoundingMode.HALF_UP, null);
+        QuotePricing<Integer> pricing = new QuotePricing<>(perLine);
+        QuotePricing<Integer> perDocument = new QuotePricing<>(PricingPolicy.standard());
+        for (int i = 0; i < 3; i++) {
+            pricing.setLine(i, 1, 3); // 0.54 céntimos de IGV cada una
+            perDocument.setLine(i, 1, 3);
+        }
+        assertEquals(3, pricing.getTaxCents());
+        assertEquals(2, perDocument.getTaxCents()); // 1.62
+    }
+
+    @Test
+    public void documentDiscount_isSharedAcrossTaxGroups() {
+        PricingPolicy policy = new PricingPolicy(TaxRule.IGV, PricingPolicy.TaxScope.DOCUMENT, RoundingMode.HALF_UP,
+                Discount.fixed(1_000));
+        QuotePricing<String> pricing = new QuotePricing<>(policy);
+        pricing.setLine("gravado", 1, 6_000);
+        pricing.setLine("exonerado", 1, 4_000, Discount.NONE, TaxRule.EXEMPT);
+
+        // 600 del descuento van a la base gravada: IGV sobre 5.400
+        assertEquals(1_000, pricing.getDocumentDiscountCents());
+        assertEquals(9_000, pricing.getSubtotalCents());
+        assertEquals(972, pricing.getTaxCents());
+
+        pricing.setDocumentDiscount(Discount.percent(10_000));
+        assertEquals(0, pricing.getSubtotalCents());
+        assertEquals(0, pricing.getTaxCents());
+    }
+
+    @Test
+    public void lineDiscounts_neverGoNegative() {
+        QuotePricing<Integer> pricing = new QuotePricing<>(PricingPolicy.standard());
+        pricing.setLine(1, 2, 500, Discount.fixed(5_000), null);
+        pricing.setLine(2, 4, 250, Discount.percent(2_500), null);
+        assertEquals(2_000, pricing.getGrossCents());
+        assertEquals(1_250, pricing.getLineDiscountCents());
+        assertEquals(750, pricing.getSubtotalCents());
+    }
+
+    @Test
+    public void quote_totalsHaveNoFloatingDrift() {
+        Quote quote = new Quote(1, 1, "Cotización grande");
+        List<QuoteItem> items = new ArrayList<>();
+        double naive = 0;
+        for (int i = 0; i < 10_000; i++) {
+            items.add(new QuoteItem(1, "Muestra " + i, 3, 0.10));
+            naive += 3 * 0.10;
+        }
+        quote.setQuoteItems(items);
+        quote.calculateTotals();
+
+        assertNotEquals(3_000.0, naive, 0.0); // La suma en double se desvía
+        assertEquals(3_000.0, quote.getSubtotal(), 0.0);
+        assertEquals(540.0, quote.getTaxAmount(), 0.0);
+        assertEquals(3_540.0, quote.getTotalAmount(), 0.0);
+        assertEquals(0.3, items.get(0).getTotalPrice(), 0.0);
+
+        QuoteItem first = quote.getQuoteItems().get(0);
+        first.setUnitPrice(1.005); // Medio céntimo: se redondea a 1.01
+        assertEquals(3.03, first.getTotalPrice(), 0.0);
+        assertEquals(3_002.73, quote.getSubtotal(), 0.0); // El ítem actualiza la cotización
+    }
+
+    @Test
+    public void quote_usesItsOwnDiscountAndTax() {
+        Quote quote = new Quote(1, 1, "Con descuento");
+        quote.setDiscountPercentage(10);
+        quote.addItem(new QuoteItem(1, "Café", 4, 25.00));
+        QuoteItem filtro = new QuoteItem(1, "Filtro", 1, 0.05);
+        quote.addItem(filtro);
+
+        // Como recalculateQuoteTotals: subtotal antes del descuento, IGV sobre 90.04
+        assertEquals(100.05, quote.getSubtotal(), 0.0);
+        assertEquals(10.01, quote.getDiscountAmount(), 0.0);
+        assertEquals(16.21, quote.getTaxAmount(), 0.0);
+        assertEquals(106.25, quote.getTotalAmount(), 0.0);
+
+        assertTrue(quote.removeItem(filtro));
+        filtro.setQuantity(100); // Ya no pertenece a la cotización
+        assertEquals(100.0, quote.getSubtotal(), 0.0);
+        assertEquals(10.0, quote.getDiscountAmount(), 0.0);
+        assertEquals(106.2, quote.getTotalAmount(), 0.0);
+
+        quote.setDiscountPercentage(0);
+        quote.setDiscountAmount(20);
+        assertEquals(94.4, quote.getTotalAmount(), 0.0);
+
+        quote.setTaxPercentage(0);
+        assertEquals(0.0, quote.getTaxAmount(), 0.0);
+        assertEquals(80.0, quote.getTotalAmount(), 0.0);
+    }
+
+    /**
+     * Propiedad: tras cualquier secuencia de altas, ediciones, bajas y cambios de
+     * descuento global, los totales incrementales son los de la referencia
+     */
+    @Test
+    public void randomEdits_matchReferenceImplementation() {
+        for (int round = 0; round < 300; round++) {
+            PolicySpec policySpec = new PolicySpec(TAXES[random.nextInt(TAXES.length)],
+                    random.nextBoolean() ? PricingPolicy.TaxScope.LINE : PricingPolicy.TaxScope.DOCUMENT,
+                    MODES[random.nextInt(MODES.length)], randomDiscount(true));
+            QuotePricing<Integer> pricing = new QuotePricing<>(policySpec.toPolicy());
+            Map<Integer, LineSpec> lines = new HashMap<>();
+
+            for (int step = 0; step < 200; step++) {
+                int action = random.nextInt(20);
+                int key = random.nextInt(40);
+                if (action < 12) {
+                    LineSpec line = randomLine();
+                    lines.put(key, line);
+                    pricing.setLine(key, line.quantity, line.unitCents, line.discount.toDiscount(),
+                            line.tax != null ? line.tax.rule : null);
+                } else if (action < 18) {
+                    assertEquals(lines.remove(key) != null, pricing.removeLine(key));
+                } else {
+                    policySpec.documentDiscount = randomDiscount(true);
+                    pricing.setDocumentDiscount(policySpec.documentDiscount.toDiscount());
+                }
+
+                long[] expected = Reference.totals(new ArrayList<>(lines.values()), policySpec);
+                String context = "ronda " + round + ", paso " + step + ", " + policySpec;
+                assertEquals(context, expected[0], pricing.getDocumentDiscountCents());
+                assertEquals(context, expected[1], pricing.getSubtotalCents());
+                assertEquals(context, expected[2], pricing.getTaxCents());
+                assertEquals(context, expected[3], pricing.getTotalCents());
+                assertEquals(lines.size(), pricing.getLineCount());
+            }
+        }
+    }
+
+    /**
+     * Editar una línea recalcula solo esa línea y los grupos de impuesto, sin importar
+     * el tamaño de la cotización
+     */
+    @Test
+    public void editsRecomputeOnlyTheTouchedLine() {
+        QuotePricing<Integer> pricing = new QuotePricing<>(PricingPolicy.standard());
+        for (int i = 0; i < 10_000; i++) {
+            pricing.setLine(i, 1 + random.nextInt(50), random.nextInt(100_000));
+        }
+        pricing.setLine(-1, 1, 100, Discount.NONE, TaxRule.EXEMPT);
+        pricing.getTotalCents();
+
+        long lines = pricing.getLinesComputed();
+        long groups = pricing.getGroupsVisited();
+        pricing.setLine(42, 3, 999);
+        pricing.getTotalCents();
+        pricing.getTaxCents(); // Sin cambios: no se vuelve a refrescar
+        assertEquals(lines + 1, pricing.getLinesComputed());
+        assertEquals(groups + 2, pricing.getGroupsVisited()); // IGV y exonerado
+
+        Quote quote = new Quote(1, 1, "Cotización grande");
+        List<QuoteItem> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(new QuoteItem(1, "Ítem", 1 + random.nextInt(50), random.nextInt(100_000) / 100.0));
+        }
+        quote.setQuoteItems(items);
+        quote.calculateTotals();
+        QuotePricing<QuoteItem> quotePricing = quote.getPricing();
+        assertEquals(10_000, quotePricing.getLinesComputed());
+
+        quote.getQuoteItems().get(7).setQuantity(60);
+        quote.calculateTotals(); // Ya armado: no recorre los ítems
+        quote.addItem(new QuoteItem(1, "Nuevo", 1, 5.0));
+        assertTrue(quote.removeItem(quote.getQuoteItems().get(0)));
+        assertSame(quotePricing, quote.getPricing());
+        assertEquals(10_002, quotePricing.getLinesComputed());
+        assertEquals(10_000, quotePricing.getLineCount());
+    }
+
+    private LineSpec randomLine() {
+        int quantity = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(random.nextBoolean() ? 10 : 100_000);
+        long unitCents = random.nextBoolean() ? random.nextInt(1_000) : random.nextInt(100_000_000);
+        TaxSpec tax = random.nextInt(3) == 0 ? null : TAXES[random.nextInt(TAXES.length)];
+        return new LineSpec(quantity, unitCents, randomDiscount(false), tax);
+    }
+
+    private DiscountSpec randomDiscount(boolean document) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return new DiscountSpec(DiscountSpec.Kind.NONE, 0);
+            case 1:
+                return new DiscountSpec(DiscountSpec.Kind.PERCENT, random.nextInt(Money.BASIS_POINTS + 1));
+            default:
+                return new DiscountSpec(DiscountSpec.Kind.FIXED, random.nextInt(document ? 10_000_000 : 100_000));
+        }
+    }
+
+    /**
+     * Referencia: recalcula todo desde las líneas con BigDecimal, siguiendo la definición
+     * (descuento de línea, descuento global repartido por resto mayor, impuesto por grupo)
+     */
+    private static final class Reference {
+
+        static long[] totals(List<LineSpec> lines, PolicySpec policy) {
+            BigInteger net = BigInteger.ZERO;
+            TreeMap<String, BigInteger> netByCode = new TreeMap<>();
+            TreeMap<String, BigInteger> lineTaxByCode = new TreeMap<>();
+            Map<String, TaxSpec> taxByCode = new HashMap<>();
+            for (LineSpec line : lines) {
+                TaxSpec tax = line.tax != null ? line.tax : policy.defaultTax;
+                BigInteger gross = BigInteger.valueOf(line.unitCents).multiply(BigInteger.valueOf(line.quantity));
+                BigInteger lineNet = gross.subtract(line.discount.off(gross, policy.mode));
+                net = net.add(lineNet);
+                netByCode.merge(tax.code, lineNet, BigInteger::add);
+                lineTaxByCode.merge(tax.code, percent(lineNet, tax.basisPoints, policy.mode), BigInteger::add);
+                taxByCode.put(tax.code, tax);
+            }
+
+            BigInteger documentDiscount = policy.documentDiscount.off(net, policy.mode);
+            List<String> codes = new ArrayList<>(netByCode.keySet());
+            BigInteger[] shares = new BigInteger[codes.size()];
+            BigInteger[] remainders = new BigInteger[codes.size()];
+            BigInteger assigned = BigInteger.ZERO;
+            for (int i = 0; i < codes.size(); i++) {
+                if (net.signum() == 0) {
+                    shares[i] = BigInteger.ZERO;
+                    remainders[i] = BigInteger.ZERO;
+                } else {
+                    BigInteger[] division = documentDiscount.multiply(netByCode.get(codes.get(i))).divideAndRemainder(net);
+                    shares[i] = division[0];
+                    remainders[i] = division[1];
+                }
+                assigned = assigned.add(shares[i]);
+            }
+            for (BigInteger left = documentDiscount.subtract(assigned); left.signum() > 0; left = left.subtract(BigInteger.ONE)) {
+                int largest = 0;
+                for (int i = 1; i < codes.size(); i++) {
+                    if (remainders[i].compareTo(remainders[largest]) > 0) {
+                        largest = i;
+                    }
+                }
+                shares[largest] = shares[largest].add(BigInteger.ONE);
+                remainders[largest] = BigInteger.valueOf(-1);
+            }
+
+            BigInteger tax = BigInteger.ZERO;
+            for (int i = 0; i < codes.size(); i++) {
+                TaxSpec rule = taxByCode.get(codes.get(i));
+                if (policy.scope == PricingPolicy.TaxScope.DOCUMENT) {
+                    tax = tax.add(percent(netByCode.get(codes.get(i)).subtract(shares[i]), rule.basisPoints, policy.mode));
+                } else {
+                    BigInteger groupTax = lineTaxByCode.get(codes.get(i))
+                            .subtract(percent(shares[i], rule.basisPoints, policy.mode));
+                    tax = tax.add(groupTax.max(BigInteger.ZERO));
+                }
+            }
+            BigInteger subtotal = net.subtract(documentDiscount);
+            return new long[]{documentDiscount.longValueExact(), subtotal.longValueExact(),
+                    tax.longValueExact(), subtotal.add(tax).longValueExact()};
+        }
+
+        static BigInteger percent(BigInteger cents, int basisPoints, RoundingMode mode) {
+            return new BigDecimal(cents).multiply(BigDecimal.valueOf(basisPoints))
+                    .divide(BigDecimal.valueOf(Money.BASIS_POINTS), 0, mode).toBigIntegerExact();
+        }
+    }
+
+    private static final class TaxSpec {
+        final String code;
+        final int basisPoints;
+        final TaxRule rule;
+
+        TaxSpec(String code, int basisPoints) {
+            this.code = code;
+            this.basisPoints = basisPoints;
+            this.rule = TaxRule.percent(code, basisPoints);
+        }
+    }
+
+    private static final class DiscountSpec {
+        enum Kind { NONE, PERCENT, FIXED }
+
+        final Kind kind;
+        final long value;
+
+        DiscountSpec(Kind kind, long value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        Discount toDiscount() {
+            switch (kind) {
+                case PERCENT:
+                    return Discount.percent((int) value);
+                case FIXED:
+                    return Discount.fixed(value);
+                default:
+                    return Discount.NONE;
+            }
+        }
+
+        BigInteger off(BigInteger amount, RoundingMode mode) {
+            if (amount.signum() <= 0) {
+                return BigInteger.ZERO;
+            }
+            switch (kind) {
+                case PERCENT:
+                    return Reference.percent(amount, (int) value, mode).min(amount);
+                case FIXED:
+                    return BigInteger.valueOf(value).min(amount);
+                default:
+                    return BigInteger.ZERO;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + value;
+        }
+    }
+
+    private static final class LineSpec {
+        final int quantity;
+        final long unitCents;
+        final DiscountSpec discount;
+        final TaxSpec tax; // null: el de la política
+
+        LineSpec(int quantity, long unitCents, DiscountSpec discount, TaxSpec tax) {
+            this.quantity = quantity;
+            this.unitCents = unitCents;
+            this.discount = discount;
+            this.tax = tax;
+        }
+    }
+
+    private static final class PolicySpec {
+        final TaxSpec defaultTax;
+        final PricingPolicy.TaxScope scope;
+        final RoundingMode mode;
+        DiscountSpec documentDiscount;
+
+        PolicySpec(TaxSpec defaultTax, PricingPolicy.TaxScope scope, RoundingMode mode, DiscountSpec documentDiscount) {
+            this.defaultTax = defaultTax;
+            this.scope = scope;
+            this.mode = mode;
+            this.documentDiscount = documentDiscount;
+        }
+
+        PricingPolicy toPolicy() {
+            return new PricingPolicy(defaultTax.rule, scope, mode, documentDiscount.toDiscount());
+        }
+
+        @Override
+        public String toString() {
+            return defaultTax.code + " " + scope + " " + mode + " descuento " + documentDiscount;
+        }
+    }
+}
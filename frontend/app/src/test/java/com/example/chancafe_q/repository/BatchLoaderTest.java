@@ -0,0 +1,68 @@
+package com.example.chancafe_q.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que las búsquedas por id de una misma ventana salgan en un solo lote
+ */
+public class BatchLoaderTest {
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+
+    private final BatchLoader.BatchFunction<Integer, String> fetch = keys -> {
+        synchronized (batches) {
+            batches.add(new ArrayList<>(keys));
+        }
+        Map<Integer, String> result = new HashMap<>();
+        for (Integer key : keys) {
+            if (key != 404) {
+                result.put(key, "item-" + key);
+            }
+        }
+        return result;
+    };
+
+    @Test
+    public void lookupsInSameWindow_areDedupedIntoOneBatch() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(20, 100, fetch);
+
+        // 10 filas por cada uno de 5 ids distintos, como una lista de cotizaciones
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int row = 0; row < 50; row++) {
+            futures.add(loader.load(row % 5));
+        }
+
+        for (int row = 0; row < 50; row++) {
+            assertEquals("item-" + (row % 5), futures.get(row).get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, batches.size());
+        assertEquals(5, batches.get(0).size());
+        assertEquals(45, loader.getDedupedCount());
+    }
+
+    @Test
+    public void largeWindow_isSplitAndMissingIdsResolveToNull() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(20, 4, fetch);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int id = 0; id < 10; id++) {
+            futures.add(loader.load(id));
+        }
+        CompletableFuture<String> missing = loader.load(404);
+
+        for (int id = 0; id < 10; id++) {
+            assertEquals("item-" + id, futures.get(id).get(1, TimeUnit.SECONDS));
+        }
+        assertNull(missing.get(1, TimeUnit.SECONDS));
+        assertEquals(3, loader.getBatchCount());
+    }
+}
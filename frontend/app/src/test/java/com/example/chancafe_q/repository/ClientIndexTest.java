@@ -0,0 +1,223 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.ClientIndex.Field;
+import com.example.chancafe_q.repository.ClientIndex.Filter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica los filtros del índice de clientes contra un filtrado lineal, las
+ * actualizaciones incrementales y el tiempo de consulta con 100.000 clientes
+ */
+public class ClientIndexTest {
+
+    private static final String[] STATUSES = {"active", "inactive", "suspended", "blacklisted"};
+    private static final String[] TYPES = {"individual", "business"};
+    private static final String[] DOCUMENTS = {"DNI", "RUC", "CE", "PASAPORTE"};
+    private static final String[] DEPARTMENTS = {"Junín", "Lima", "Cusco", "Pasco", null};
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void combinations_matchLinearFilter() {
+        List<Client> clients = randomClients(5_000);
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(clients);
+
+        assertSameAs(clients, index, Filter.is(Field.STATUS, "inactive"),
+                client -> "inactive".equals(client.getStatus()));
+        assertSameAs(clients, index,
+                Filter.and(Filter.is(Field.STATUS, "active"), Filter.is(Field.CLIENT_TYPE, "individual", "business")),
+                client -> "active".equals(client.getStatus()));
+        assertSameAs(clients, index,
+                Filter.or(Filter.is(Field.DEPARTMENT, "Lima"),
+                        Filter.and(Filter.is(Field.DOCUMENT_TYPE, "RUC"), Filter.is(Field.ASSIGNED_USER, 3))),
+                client -> "Lima".equals(client.getDepartment())
+                        || ("RUC".equals(client.getDocumentType()) && Integer.valueOf(3).equals(client.getAssignedUserId())));
+        assertSameAs(clients, index, Filter.not(Filter.is(Field.STATUS, "blacklisted", "suspended")),
+                client -> !"blacklisted".equals(client.getStatus()) && !"suspended".equals(client.getStatus()));
+        assertSameAs(clients, index, Filter.is(Field.DEPARTMENT, (Object) null),
+                client -> client.getDepartment() == null);
+        assertSameAs(clients, index, Filter.all(), client -> true);
+    }
+
+    @Test
+    public void creditRange_usesBucketsAndExactEdges() {
+        List<Client> clients = randomClients(5_000);
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(clients);
+
+        assertSameAs(clients, index, Filter.creditBetween(1_000, 25_000),
+                client -> client.getCreditLimit() >= 1_000 && client.getCreditLimit() < 25_000);
+        assertSameAs(clients, index, Filter.creditBetween(2_500, 7_300),
+                client -> client.getCreditLimit() >= 2_500 && client.getCreditLimit() < 7_300);
+        assertSameAs(clients, index, Filter.creditBetween(50_000, Double.POSITIVE_INFINITY),
+                client -> client.getCreditLimit() >= 50_000);
+        assertEquals(0, index.count(Filter.creditBetween(10, 10)));
+        assertEquals(0, ClientIndex.creditBucketOf(-5));
+        assertEquals(1, ClientIndex.creditBucketOf(1_000));
+        assertEquals(6, ClientIndex.creditBucketOf(1_000_000));
+    }
+
+    @Test
+    public void incrementalChanges_keepIndexConsistent() {
+        List<Client> clients = randomClients(2_000);
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(clients);
+
+        // Ediciones, bajas y altas mezcladas
+        List<Client> current = new ArrayList<>(clients);
+        for (int i = 0; i < 3_000; i++) {
+            int action = random.nextInt(3);
+            if (action == 0 && !current.isEmpty()) {
+                Client removed = current.remove(random.nextInt(current.size()));
+                index.remove(removed.getId());
+            } else if (action == 1 && !current.isEmpty()) {
+                Client edited = copy(current.get(random.nextInt(current.size())));
+                edited.setStatus(pick(STATUSES));
+                edited.setCreditLimit(random.nextInt(120_000));
+                current.set(indexOf(current, edited.getId()), edited);
+                index.put(edited);
+            } else {
+                Client created = randomClient(10_000 + i);
+                current.add(created);
+                index.put(created);
+            }
+        }
+
+        assertEquals(current.size(), index.size());
+        for (String status : STATUSES) {
+            assertSameAs(current, index, Filter.and(Filter.is(Field.STATUS, status), Filter.is(Field.CLIENT_TYPE, "business")),
+                    client -> status.equals(client.getStatus()) && "business".equals(client.getClientType()));
+        }
+        assertSameAs(current, index, Filter.creditBetween(5_000, 60_000),
+                client -> client.getCreditLimit() >= 5_000 && client.getCreditLimit() < 60_000);
+
+        Map<Object, Integer> byStatus = index.countBy(Field.STATUS);
+        int total = 0;
+        for (int count : byStatus.values()) {
+            total += count;
+        }
+        assertEquals(current.size(), total);
+    }
+
+    @Test
+    public void localCreate_keepsSlotWhenItGetsServerId() {
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(randomClients(10));
+        Client local = randomClient(-1);
+        local.setStatus("active");
+        index.put(local);
+
+        index.changeId(-1, 500);
+        local.setId(500);
+        local.setStatus("inactive");
+        index.put(local);
+
+        assertEquals(11, index.size());
+        assertTrue(index.query(Filter.is(Field.STATUS, "inactive")).contains(local));
+        assertFalse(index.query(Filter.is(Field.STATUS, "active")).contains(local));
+    }
+
+    @Test
+    public void staleIndex_reportsNotLoaded() {
+        ClientIndex index = new ClientIndex();
+        index.put(randomClient(1));
+        assertFalse(index.isLoaded()); // Un put suelto no es el listado completo
+
+        index.replaceAll(randomClients(3));
+        assertTrue(index.isLoaded());
+        index.markStale();
+        assertFalse(index.isLoaded());
+    }
+
+    @Test
+    public void hundredThousandClients_matchLinearScan() {
+        List<Client> clients = randomClients(100_000);
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(clients);
+
+        Filter menuFilter = Filter.and(Filter.is(Field.STATUS, "inactive"), Filter.is(Field.CLIENT_TYPE, "business"));
+        Predicate<Client> linear = client -> "inactive".equals(client.getStatus()) && "business".equals(client.getClientType());
+
+        assertTrue(linearCount(clients, linear) > 0);
+        assertSameAs(clients, index, menuFilter, linear);
+        assertSameAs(clients, index, Filter.not(menuFilter), linear.negate());
+        assertEquals(100_000, index.size());
+    }
+
+    private static void assertSameAs(List<Client> clients, ClientIndex index, Filter filter, Predicate<Client> expected) {
+        List<Integer> expectedIds = new ArrayList<>();
+        for (Client client : clients) {
+            if (expected.test(client)) {
+                expectedIds.add(client.getId());
+            }
+        }
+        List<Integer> actualIds = new ArrayList<>();
+        for (Client client : index.query(filter)) {
+            actualIds.add(client.getId());
+        }
+        expectedIds.sort(null);
+        actualIds.sort(null);
+        assertEquals(expectedIds, actualIds);
+        assertEquals(expectedIds.size(), index.count(filter));
+    }
+
+    private static int linearCount(List<Client> clients, Predicate<Client> predicate) {
+        int count = 0;
+        for (Client client : clients) {
+            if (predicate.test(client)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int indexOf(List<Client> clients, int id) {
+        for (int i = 0; i < clients.size(); i++) {
+            if (clients.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Client> randomClients(int count) {
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            clients.add(randomClient(i));
+        }
+        return clients;
+    }
+
+    private Client randomClient(int id) {
+        Client client = new Client("Cliente", String.valueOf(id), pick(DOCUMENTS), String.valueOf(10_000_000 + id), null, null);
+        client.setId(id);
+        client.setStatus(pick(STATUSES));
+        client.setClientType(pick(TYPES));
+        client.setDepartment(pick(DEPARTMENTS));
+        client.setAssignedUserId(random.nextInt(10) == 0 ? null : random.nextInt(8));
+        client.setCreditLimit(random.nextInt(120_000));
+        return client;
+    }
+
+    private static Client copy(Client client) {
+        Client copy = new Client();
+        copy.copyFrom(client);
+        return copy;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
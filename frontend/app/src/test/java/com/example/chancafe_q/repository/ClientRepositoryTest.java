@@ -0,0 +1,210 @@
+package com.example.chancafe_q.repository;
+
+import androidx.arch.core.executor.ArchTaskExecutor;
+import androidx.arch.core.executor.TaskExecutor;
+
+import com.example.chancafe_q.data.local.dao.ClientDao;
+import com.example.chancafe_q.data.local.entity.ClientEntity;
+import com.example.chancafe_q.data.local.entity.ClientStamp;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que la sincronización con la base local escriba solo el diff
+ * y que el índice de filtros se arme con la respuesta real del backend
+ */
+public class ClientRepositoryTest {
+
+    private final FakeClientDao dao = new FakeClientDao();
+    private final ClientRepository repository = new ClientRepository(ApiClient.getApiService(), dao, null, null);
+
+    @Before
+    public void setUp() {
+        // syncLocalClients publica la versión local con postValue: sin Looper en la JVM
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return true;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ArchTaskExecutor.getInstance().setDelegate(null);
+    }
+
+    @Test
+    public void sync_upsertsChangedAndNewRowsAndDeletesMissingOnes() {
+        dao.rows.put(1, entity(1, 1000L));
+        dao.rows.put(2, entity(2, 1000L));
+        dao.rows.put(3, entity(3, 1000L));
+
+        List<Client> remote = Arrays.asList(client(1, 1000L), client(2, 2000L), client(4, 1000L));
+
+        assertEquals(3, repository.syncLocalClients(remote));
+        assertEquals(Arrays.asList(2, 4), dao.lastUpserted);
+        assertEquals(Arrays.asList(3), dao.lastDeleted);
+        assertEquals(Arrays.asList(1, 2, 4), new ArrayList<>(dao.rows.keySet()));
+        assertEquals(Long.valueOf(2000L), dao.rows.get(2).updatedAt);
+
+        // Sin cambios en el backend no se escribe nada
+        dao.lastUpserted = null;
+        assertEquals(0, repository.syncLocalClients(remote));
+        assertNull(dao.lastUpserted);
+    }
+
+    @Test
+    public void filter_withEmptyTable_loadsIndexFromBackendClientsEnvelope() throws Exception {
+        MockWebServer server = new MockWebServer();
+        // GET /clients sin page: sendSuccess(res, { clients: result })
+        server.enqueue(new MockResponse().setBody("{\"success\":true,\"message\":\"ok\",\"data\":{\"clients\":["
+                + "{\"id\":1,\"first_name\":\"Ana\",\"status\":\"active\"},"
+                + "{\"id\":2,\"first_name\":\"Luis\",\"status\":\"inactive\"},"
+                + "{\"id\":3,\"first_name\":\"Eva\",\"status\":\"active\"}]}}"));
+        server.start();
+        try {
+            ApiClient.setBaseUrl(server.url("/api/").toString());
+            ClientRepository networkOnly = new ClientRepository(ApiClient.getApiService(), dao, null, null);
+
+            AtomicReference<ApiResponse<List<Client>>> answer = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+            networkOnly.filterClients(ClientIndex.Filter.is(ClientIndex.Field.STATUS, "active"))
+                    .observeForever(response -> {
+                        answer.set(response);
+                        done.countDown();
+                    });
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(answer.get().getMessage(), answer.get().isSuccess());
+            List<Integer> ids = new ArrayList<>();
+            for (Client client : answer.get().getData()) {
+                ids.add(client.getId());
+            }
+            Collections.sort(ids);
+            assertEquals(Arrays.asList(1, 3), ids);
+            assertEquals("/api/clients", server.takeRequest().getPath());
+        } finally {
+            server.shutdown();
+            ApiClient.resetClient();
+        }
+    }
+
+    @Test
+    public void entity_roundTripsClientFields() {
+        Client client = client(7, 1234L);
+        client.setBusinessName("Chancafe SAC");
+        client.setPaymentTerms(30);
+        client.setAssignedUserId(5);
+        client.setCreditLimit(2500.5);
+
+        Client copy = ClientEntity.fromModel(client).toModel();
+
+        assertEquals(7, copy.getId());
+        assertEquals("Chancafe SAC", copy.getBusinessName());
+        assertEquals(Integer.valueOf(30), copy.getPaymentTerms());
+        assertEquals(Integer.valueOf(5), copy.getAssignedUserId());
+        assertEquals(2500.5, copy.getCreditLimit(), 0.0);
+        assertEquals(new Date(1234L), copy.getUpdatedAt());
+        assertNull(copy.getCreatedAt());
+    }
+
+    private static Client client(int id, long updatedAt) {
+        Client client = new Client("Cliente", String.valueOf(id), "DNI", String.valueOf(10_000_000 + id), null, null);
+        client.setId(id);
+        client.setUpdatedAt(new Date(updatedAt));
+        return client;
+    }
+
+    private static ClientEntity entity(int id, long updatedAt) {
+        return ClientEntity.fromModel(client(id, updatedAt));
+    }
+
+    /**
+     * ClientDao en memoria (Room genera la implementación real)
+     */
+    private static final class FakeClientDao implements ClientDao {
+        final Map<Integer, ClientEntity> rows = new TreeMap<>();
+        List<Integer> lastUpserted;
+        List<Integer> lastDeleted;
+
+        @Override public List<ClientEntity> getAll() { return new ArrayList<>(rows.values()); }
+
+        @Override public List<ClientEntity> getPage(int offset, int limit) {
+            List<ClientEntity> all = getAll();
+            return all.subList(Math.min(offset, all.size()), Math.min(offset + limit, all.size()));
+        }
+
+        @Override public int count() { return rows.size(); }
+        @Override public ClientEntity getById(int id) { return rows.get(id); }
+        @Override public ClientEntity getByDocument(String documentNumber) { return null; }
+        @Override public List<ClientEntity> getByStatus(String status) { return getAll(); }
+        @Override public List<ClientEntity> getByType(String clientType) { return getAll(); }
+        @Override public List<ClientEntity> getByAssignedUser(int userId) { return getAll(); }
+
+        @Override public List<ClientStamp> getStamps() {
+            List<ClientStamp> stamps = new ArrayList<>();
+            for (ClientEntity row : rows.values()) {
+                ClientStamp stamp = new ClientStamp();
+                stamp.id = row.id;
+                stamp.updatedAt = row.updatedAt;
+                stamps.add(stamp);
+            }
+            return stamps;
+        }
+
+        @Override public void upsert(ClientEntity client) { rows.put(client.id, client); }
+
+        @Override public void upsertAll(List<ClientEntity> clients) {
+            lastUpserted = new ArrayList<>();
+            for (ClientEntity client : clients) {
+                lastUpserted.add(client.id);
+                rows.put(client.id, client);
+            }
+        }
+
+        @Override public void updateStatus(int id, String status) { rows.get(id).status = status; }
+        @Override public void updateCreditLimit(int id, double creditLimit) { rows.get(id).creditLimit = creditLimit; }
+        @Override public void deleteById(int id) { rows.remove(id); }
+        @Override public void deleteSynced() { rows.keySet().removeIf(id -> id > 0); }
+        @Override public Integer minId() { return rows.isEmpty() ? null : Collections.min(rows.keySet()); }
+
+        @Override public void deleteByIds(List<Integer> ids) {
+            lastDeleted = new ArrayList<>(ids);
+            for (Integer id : ids) {
+                rows.remove(id);
+            }
+        }
+    }
+}
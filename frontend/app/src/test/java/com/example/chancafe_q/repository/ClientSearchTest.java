@@ -0,0 +1,190 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+
+import static org.junit.Assert.*;
+
+/**
+ * Simula a alguien escribiendo rápido en el buscador y verifica que salga una sola
+ * request por pausa, que se cancele la anterior y que nunca gane una respuesta vieja
+ */
+public class ClientSearchTest {
+
+    private static final long DEBOUNCE_MS = 150;
+    private static final long KEYSTROKE_MS = 30;
+
+    private MockWebServer server;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService main = Executors.newSingleThreadExecutor(); // Hace de hilo principal
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicReference<ClientSearch.SearchStats> stats = new AtomicReference<>();
+    private final CountDownLatch sessionEnded = new CountDownLatch(1);
+    private ClientSearch search;
+    private String typed = "";
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String document = request.getRequestUrl().pathSegments().get(3);
+                MockResponse response = new MockResponse().setBody("{\"success\":true,\"data\":{\"id\":1,"
+                        + "\"document_number\":\"" + document + "\"}}");
+                // "4444" es lento: su respuesta llega después de que ya se pidió otra cosa
+                return "4444".equals(document) ? response.setBodyDelay(600, TimeUnit.MILLISECONDS) : response;
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+
+        search = new ClientSearch(DEBOUNCE_MS, 3, new ClientSearch.Lookup() {
+            @Override
+            public Client findLocal(String document) {
+                if (!"999".equals(document)) {
+                    return null;
+                }
+                Client client = new Client();
+                client.setDocumentNumber(document);
+                return client;
+            }
+
+            @Override
+            public Call<ApiResponse<Client>> newRemoteCall(String document) {
+                return ApiClient.getApiService().getClientByDocument(document);
+            }
+        }, scheduler, main);
+        search.setListener(new ClientSearch.Listener() {
+            @Override
+            public void onResult(String query, ApiResponse<Client> response) {
+                delivered.add(query + "=" + (response.isSuccess() ? response.getData().getDocumentNumber() : "error"));
+            }
+
+            @Override
+            public void onSessionEnded(ClientSearch.SearchStats ended) {
+                stats.set(ended);
+                sessionEnded.countDown();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.shutdownNow();
+        main.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void fastTyping_sendsOneRequestPerPause() throws Exception {
+        type("12345678");
+        Thread.sleep(DEBOUNCE_MS + 300);
+        search.search("");
+        assertTrue(sessionEnded.await(2, TimeUnit.SECONDS));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(Collections.singletonList("12345678=12345678"), delivered);
+        ClientSearch.SearchStats session = stats.get();
+        assertEquals(6, session.getQueries()); // De la tercera tecla en adelante
+        assertEquals(1, session.getSent());
+        assertEquals(5, session.getRequestsSaved());
+    }
+
+    @Test
+    public void supersededCall_isCancelledAndNeverDelivered() throws Exception {
+        type("4444");
+        Thread.sleep(DEBOUNCE_MS + 100); // Sale "4444" y queda esperando al servidor
+        type("5");                       // "44445" la reemplaza
+        Thread.sleep(DEBOUNCE_MS + 900); // Más que la demora de "4444"
+        search.search("");
+        assertTrue(sessionEnded.await(2, TimeUnit.SECONDS));
+
+        assertEquals(Collections.singletonList("44445=44445"), delivered);
+        assertEquals(1, stats.get().getCancelled());
+        assertEquals(2, stats.get().getSent());
+    }
+
+    @Test
+    public void supersededCall_doesNotFailOtherSubscribers() throws Exception {
+        // Otra pantalla (p. ej. ClientViewModel.searchClientByDocument) ya pidió "4444"
+        AtomicReference<String> other = new AtomicReference<>();
+        CountDownLatch otherDone = new CountDownLatch(1);
+        NetworkUtils.executeCall(ApiClient.getApiService().getClientByDocument("4444"),
+                new NetworkUtils.ApiCallback<Client>() {
+                    @Override
+                    public void onSuccess(Client data) {
+                        other.set(data.getDocumentNumber());
+                        otherDone.countDown();
+                    }
+
+                    @Override
+                    public void onError(String message, int errorCode) {
+                        other.set(message);
+                        otherDone.countDown();
+                    }
+                });
+
+        type("4444");
+        Thread.sleep(DEBOUNCE_MS + 100); // La búsqueda se suma a la request en vuelo
+        type("5");                       // y se cancela al escribir otra tecla
+        assertTrue(otherDone.await(2, TimeUnit.SECONDS));
+        Thread.sleep(DEBOUNCE_MS + 100);
+        search.search("");
+        assertTrue(sessionEnded.await(2, TimeUnit.SECONDS));
+
+        assertEquals("4444", other.get());
+        assertEquals(Collections.singletonList("44445=44445"), delivered);
+        assertEquals(1, stats.get().getCancelled());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void savedClient_isAnsweredWithoutNetwork() throws Exception {
+        type("999");
+        Thread.sleep(DEBOUNCE_MS + 100);
+        type("9");
+        search.search("999"); // Volver a la misma consulta no vuelve a buscar
+        Thread.sleep(DEBOUNCE_MS + 100);
+        search.search("");
+        assertTrue(sessionEnded.await(2, TimeUnit.SECONDS));
+
+        assertEquals(0, server.getRequestCount());
+        assertEquals(Collections.singletonList("999=999"), delivered);
+        assertEquals(1, stats.get().getLocalHits());
+        assertEquals(1, stats.get().getRepeated());
+    }
+
+    /**
+     * Agrega los caracteres de a uno, como un TextWatcher
+     */
+    private void type(String text) throws InterruptedException {
+        for (char c : text.toCharArray()) {
+            typed += c;
+            search.search(typed);
+            Thread.sleep(KEYSTROKE_MS);
+        }
+    }
+}
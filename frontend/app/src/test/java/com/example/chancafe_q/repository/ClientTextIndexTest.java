@@ -0,0 +1,179 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.ClientIndex.Field;
+import com.example.chancafe_q.repository.ClientIndex.Filter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica la búsqueda por texto de clientes (tildes, prefijos, teléfonos, errores de
+ * tipeo, cambios incrementales) y cuántos candidatos verifica por tecla con 100.000 clientes
+ */
+public class ClientTextIndexTest {
+
+    private static final String[] FIRST_NAMES = {"María", "José", "Juan", "Rosa", "Luis", "Ana", "Carlos",
+            "Lucía", "Jorge", "Carmen", "Víctor", "Elena", "Martín", "Sofía", "Raúl", "Inés"};
+    private static final String[] LAST_NAMES = {"Pérez", "Quispe", "Huamán", "Rodríguez", "Flores", "Sánchez",
+            "Ramírez", "Torres", "Mamani", "Chávez", "Gutiérrez", "Castillo", "Núñez", "Vargas", "Rojas"};
+    private static final String[] BUSINESS_WORDS = {"Cafetalera", "Comercial", "Agroexportadora", "Inversiones",
+            "Distribuidora", "Cooperativa", "Andina", "Selva", "Central", "Oro", "Verde", "Chanchamayo"};
+
+    private final Random random = new Random(7);
+
+    @Test
+    public void search_foldsAccentsAndCase() {
+        ClientIndex index = indexOf(
+                person(1, "María", "Pérez", "44556677", "987654321"),
+                person(2, "Mario", "Paredes", "11223344", "912345678"),
+                person(3, "Rosa", "Núñez", "55667788", "955111222"));
+
+        assertEquals(ids(1), idsOf(index.search("MARIA perez", null, 10)));
+        assertEquals(ids(3), idsOf(index.search("nunez", null, 10)));
+        assertEquals(ids(3), idsOf(index.search("Núñez", null, 10)));
+    }
+
+    @Test
+    public void search_ranksWholeWordsThenPrefixesThenFuzzy() {
+        ClientIndex index = indexOf(
+                person(1, "Mariana", "Torres", "10000001", null),
+                person(2, "Mari", "Torres", "10000002", null),
+                person(3, "Rosamari", "Flores", "10000003", null),
+                person(4, "Luis", "Ramos", "10000004", null));
+
+        assertEquals(ids(2, 1, 3), idsOf(index.search("mari", null, 10)));
+        // Un error de tipeo sigue encontrando al cliente
+        assertEquals(ids(1), idsOf(index.search("torres mariama", null, 1)));
+        assertTrue(index.search("zzzz", null, 10).isEmpty());
+    }
+
+    @Test
+    public void search_matchesPhonesDocumentsAndEmails() {
+        Client withSecondary = person(1, "Ana", "Quispe", "44556677", "987 654 321");
+        withSecondary.setPhoneSecondary("(064) 531-122");
+        withSecondary.setEmail("ana.quispe@cafetalera.pe");
+        ClientIndex index = indexOf(withSecondary, person(2, "Juan", "Flores", "12345678", "999888777"));
+
+        assertEquals(ids(1), idsOf(index.search("987654", null, 10))); // De corrido aunque se guardó con espacios
+        assertEquals(ids(1), idsOf(index.search("531122", null, 10)));
+        assertEquals(ids(1), idsOf(index.search("4455", null, 10)));
+        assertEquals(ids(1), idsOf(index.search("cafetalera", null, 10)));
+        assertEquals(ids(2), idsOf(index.search("9998", null, 10)));
+    }
+
+    @Test
+    public void search_indexesBusinessNameAndRespectsFilters() {
+        Client business = person(1, "Carlos", "Vargas", "20123456789", null);
+        business.setClientType("business");
+        business.setBusinessName("Cafetalera Selva Central S.A.C.");
+        business.setStatus("inactive");
+        Client person = person(2, "Selva", "Rojas", "40000002", null);
+        person.setStatus("active");
+        ClientIndex index = indexOf(business, person);
+
+        assertEquals(ids(1, 2), idsOf(index.search("selva", null, 10)));
+        assertEquals(ids(2), idsOf(index.search("selva", Filter.is(Field.STATUS, "active"), 10)));
+    }
+
+    @Test
+    public void edits_reindexOnlyTheChangedClient() {
+        Client client = person(1, "Jorge", "Castillo", "40000001", "900000001");
+        ClientIndex index = indexOf(client, person(2, "Elena", "Chávez", "40000002", "900000002"));
+
+        Client renamed = person(1, "Jorge", "Castañeda", "40000001", "900000001");
+        index.put(renamed);
+        assertTrue(index.search("castillo", null, 10).isEmpty());
+        assertEquals(ids(1), idsOf(index.search("castaneda", null, 10)));
+
+        index.remove(2);
+        assertTrue(index.search("elena", null, 10).isEmpty());
+        index.put(person(3, "Elena", "Torres", "40000003", null));
+        assertEquals(ids(3), idsOf(index.search("elena", null, 10)));
+    }
+
+    @Test
+    public void singleLetter_findsByInitial() {
+        ClientIndex index = indexOf(
+                person(1, "Inés", "Rojas", "40000001", null),
+                person(2, "Luis", "Vargas", "40000002", null));
+
+        assertEquals(ids(1), idsOf(index.search("i", null, 10)));
+        // Las dos iniciales coinciden primero; solo una, después
+        assertEquals(ids(2), idsOf(index.search("l v", null, 10)).subList(0, 1));
+        assertEquals(ids(2), idsOf(index.search("luis v", null, 10)));
+    }
+
+    /**
+     * 100.000 clientes y consultas escritas tecla por tecla: cada tecla compara con el
+     * texto solo un número acotado de candidatos, no toda la lista
+     */
+    @Test
+    public void hundredThousandClients_verifyBoundedCandidatesPerKeystroke() {
+        List<Client> clients = new ArrayList<>(100_000);
+        for (int id = 1; id <= 100_000; id++) {
+            clients.add(randomClient(id));
+        }
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(clients);
+
+        String[] typed = {"maria perez", "quispe", "cafetalera selva", "987654", "jose huaman", "rodrigues",
+                "carmen", "4455", "agroexp", "lucia chavez"};
+        int maxVerified = 0;
+        for (String query : typed) {
+            for (int length = 1; length <= query.length(); length++) {
+                index.search(query.substring(0, length), null, 50);
+                maxVerified = Math.max(maxVerified, index.getLastSearchVerifiedCount());
+            }
+            assertFalse(query, index.search(query, null, 50).isEmpty());
+        }
+        assertTrue("candidatos verificados por tecla: " + maxVerified, maxVerified > 0 && maxVerified <= 1_024);
+    }
+
+    private Client randomClient(int id) {
+        Client client = person(id, pick(FIRST_NAMES), pick(LAST_NAMES) + " " + pick(LAST_NAMES),
+                String.valueOf(10_000_000 + random.nextInt(90_000_000)),
+                "9" + (10_000_000 + random.nextInt(90_000_000)));
+        if (random.nextInt(4) == 0) {
+            client.setClientType("business");
+            client.setBusinessName(pick(BUSINESS_WORDS) + " " + pick(BUSINESS_WORDS) + " S.A.C.");
+        }
+        client.setEmail(client.getFirstName().toLowerCase() + id + "@correo.pe");
+        return client;
+    }
+
+    private static Client person(int id, String firstName, String lastName, String document, String phone) {
+        Client client = new Client(firstName, lastName, "DNI", document, null, phone);
+        client.setId(id);
+        client.setClientType("individual");
+        return client;
+    }
+
+    private static ClientIndex indexOf(Client... clients) {
+        ClientIndex index = new ClientIndex();
+        index.replaceAll(Arrays.asList(clients));
+        return index;
+    }
+
+    private static List<Integer> ids(Integer... ids) {
+        return Arrays.asList(ids);
+    }
+
+    private static List<Integer> idsOf(List<Client> clients) {
+        List<Integer> ids = new ArrayList<>();
+        for (Client client : clients) {
+            ids.add(client.getId());
+        }
+        return ids;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.chancafe_q.repository;
+
+import androidx.arch.core.executor.ArchTaskExecutor;
+import androidx.arch.core.executor.TaskExecutor;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.model.ApiResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica stale-while-revalidate: valores frescos sin red, stale publicado y
+ * revalidado por el mismo LiveData, vencidos descartados y revalidación al volver a la app
+ */
+public class FreshnessPolicyTest {
+
+    private static final String RESOURCE = "test_resource";
+    private static final long TTL = 1_000;
+    private static final long STALE_WINDOW = 10_000;
+
+    private final AtomicLong now = new AtomicLong(100_000);
+    private final List<StubCall<String>> calls = new ArrayList<>();
+    private NetworkBoundResource<Integer, String> resource;
+
+    @Before
+    public void setUp() {
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return true;
+            }
+        });
+        FreshnessPolicies.override(RESOURCE, new FreshnessPolicy(TTL, STALE_WINDOW, true));
+        // Cada llamada responde con el número de request, para distinguir valores viejos y nuevos
+        resource = new NetworkBoundResource<Integer, String>("ok")
+                .withFetcher(id -> {
+                    StubCall<String> call = StubCall.deferredSuccess("v" + (calls.size() + 1));
+                    calls.add(call);
+                    return call;
+                })
+                .withFreshness(RESOURCE)
+                .withClock(now::get);
+    }
+
+    @After
+    public void tearDown() {
+        FreshnessPolicies.override(RESOURCE, null);
+        ArchTaskExecutor.getInstance().setDelegate(null);
+    }
+
+    @Test
+    public void policy_statesByAge() {
+        FreshnessPolicy policy = new FreshnessPolicy(TTL, STALE_WINDOW, false);
+
+        assertEquals(FreshnessPolicy.State.FRESH, policy.evaluate(TTL - 1, true));
+        assertEquals(FreshnessPolicy.State.STALE, policy.evaluate(TTL, false));
+        assertEquals(FreshnessPolicy.State.STALE, policy.evaluate(TTL + STALE_WINDOW - 1, false));
+        assertEquals(FreshnessPolicy.State.EXPIRED, policy.evaluate(TTL + STALE_WINDOW, false));
+        assertFalse(FreshnessPolicy.ALWAYS_LIVE.caches());
+    }
+
+    @Test
+    public void withinTtl_isServedWithoutNetwork() {
+        loadFromNetwork();
+        now.addAndGet(TTL / 2);
+
+        MutableLiveData<ApiResponse<String>> second = resource.load(1);
+
+        assertEquals(1, calls.size());
+        assertEquals(200, second.getValue().getCode());
+        assertEquals("v1", second.getValue().getData());
+        assertEquals(1, resource.getFreshHits());
+    }
+
+    @Test
+    public void staleWindow_servesInstantlyThenPushesRevalidatedValue() {
+        loadFromNetwork();
+        now.addAndGet(TTL + 1);
+
+        MutableLiveData<ApiResponse<String>> result = resource.load(1);
+        List<ApiResponse<String>> seen = record(result);
+        assertEquals(206, seen.get(0).getCode());
+        assertEquals("v1", seen.get(0).getData()); // Al instante, sin esperar a la red
+
+        calls.get(1).complete();
+        assertEquals(200, seen.get(1).getCode());
+        assertEquals("v2", seen.get(1).getData()); // Por el mismo LiveData
+        assertEquals(1, resource.getRevalidations());
+
+        // Lo revalidado vuelve a estar fresco
+        assertEquals("v2", resource.load(1).getValue().getData());
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void expired_isNotShown() {
+        loadFromNetwork();
+        now.addAndGet(TTL + STALE_WINDOW);
+
+        MutableLiveData<ApiResponse<String>> result = resource.load(1);
+
+        assertNull(result.getValue()); // Nada vencido en pantalla mientras llega la red
+        calls.get(1).complete();
+        assertEquals("v2", result.getValue().getData());
+    }
+
+    @Test
+    public void returningToApp_revalidatesEvenWithinTtl() {
+        loadFromNetwork();
+        FreshnessPolicies.onFocus();
+
+        MutableLiveData<ApiResponse<String>> result = resource.load(1);
+
+        assertEquals(206, result.getValue().getCode());
+        assertEquals(2, calls.size());
+        calls.get(1).complete();
+        assertEquals("v2", result.getValue().getData());
+    }
+
+    @Test
+    public void overrideAndInvalidate_takeEffectImmediately() {
+        loadFromNetwork();
+        FreshnessPolicies.override(RESOURCE, FreshnessPolicy.ALWAYS_LIVE);
+
+        MutableLiveData<ApiResponse<String>> live = resource.load(1);
+        assertNull(live.getValue());
+        calls.get(1).complete();
+
+        FreshnessPolicies.override(RESOURCE, new FreshnessPolicy(TTL, STALE_WINDOW, false));
+        loadFromNetwork();
+        resource.invalidate(1);
+        assertNull(resource.load(1).getValue());
+        assertEquals(4, calls.size());
+        calls.get(3).complete();
+    }
+
+    private void loadFromNetwork() {
+        int before = calls.size();
+        MutableLiveData<ApiResponse<String>> result = resource.load(1);
+        assertEquals(before + 1, calls.size());
+        calls.get(before).complete();
+        assertEquals(200, result.getValue().getCode());
+    }
+
+    private static List<ApiResponse<String>> record(MutableLiveData<ApiResponse<String>> result) {
+        List<ApiResponse<String>> seen = new ArrayList<>();
+        result.observeForever(seen::add);
+        return seen;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.chancafe_q.repository;
+
+import androidx.arch.core.executor.ArchTaskExecutor;
+import androidx.arch.core.executor.TaskExecutor;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica los estados del pipeline (caché, red, guardado, error) y compara las
+ * asignaciones por request contra el patrón de callback anónimo que reemplaza
+ */
+public class NetworkBoundResourceTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 100_000;
+
+    // La lectura local espera a que el test observe, para no perderse el estado 206
+    private final CountDownLatch observing = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        // LiveData en la JVM: cualquier hilo hace de hilo principal
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return true;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ArchTaskExecutor.getInstance().setDelegate(null);
+    }
+
+    @Test
+    public void cachedValue_isShownWhileFetchingThenSaved() throws Exception {
+        List<String> saved = new CopyOnWriteArrayList<>();
+        NetworkBoundResource<Integer, String> resource = new NetworkBoundResource<Integer, String>("ok")
+                .withFetcher(id -> new StubCall<>(Response.success(new ApiResponse<>(true, "red", "red-" + id, 200))))
+                .withStore(new NetworkBoundResource.LocalStore<Integer, String>() {
+                    @Override
+                    public String load(Integer id) {
+                        awaitObserver();
+                        return "local-" + id;
+                    }
+
+                    @Override
+                    public void save(Integer id, String data) {
+                        saved.add(data);
+                    }
+                });
+
+        List<ApiResponse<String>> states = collect(resource.load(7), 2);
+
+        assertEquals(206, states.get(0).getCode());
+        assertEquals("local-7", states.get(0).getData());
+        assertEquals(200, states.get(1).getCode());
+        assertEquals("red-7", states.get(1).getData());
+        assertEquals(1, saved.size()); // Se guardó antes de publicar
+    }
+
+    @Test
+    public void freshCache_skipsNetwork() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        NetworkBoundResource<Integer, String> resource = new NetworkBoundResource<Integer, String>("ok")
+                .withFetcher(id -> {
+                    fetches.incrementAndGet();
+                    return new StubCall<>(Response.success(new ApiResponse<>(true, "red", "red", 200)));
+                })
+                .withStore(new NetworkBoundResource.LocalStore<Integer, String>() {
+                    @Override
+                    public String load(Integer id) {
+                        awaitObserver();
+                        return "local";
+                    }
+
+                    @Override
+                    public boolean shouldFetch(Integer id, String cached) {
+                        return false;
+                    }
+
+                    @Override
+                    public void save(Integer id, String data) {
+                        fail("no hubo respuesta de red que guardar");
+                    }
+                });
+
+        ApiResponse<String> only = collect(resource.load(1), 1).get(0);
+
+        assertEquals(200, only.getCode());
+        assertEquals("local", only.getData());
+        assertEquals(0, fetches.get());
+    }
+
+    @Test
+    public void error_keepsCachedData() throws Exception {
+        NetworkBoundResource<Integer, String> resource = new NetworkBoundResource<Integer, String>("ok")
+                .withFetcher(id -> new StubCall<>(Response.success(new ApiResponse<String>(false, "Cliente no encontrado", null, 404))))
+                .withStore(new NetworkBoundResource.LocalStore<Integer, String>() {
+                    @Override
+                    public String load(Integer id) {
+                        awaitObserver();
+                        return "local";
+                    }
+
+                    @Override
+                    public void save(Integer id, String data) {
+                        fail("los errores no se guardan");
+                    }
+                });
+
+        List<ApiResponse<String>> states = collect(resource.load(1), 2);
+
+        assertFalse(states.get(1).isSuccess());
+        assertEquals(404, states.get(1).getCode());
+        assertEquals("Cliente no encontrado", states.get(1).getMessage());
+        assertEquals("local", states.get(1).getData());
+    }
+
+    @Test
+    public void withoutMessage_publishesBackendResponseAsIs() {
+        ApiResponse<String> body = new ApiResponse<>(true, "Bienvenido", "token", 200);
+        NetworkBoundResource<Void, String> resource = new NetworkBoundResource<>(null);
+
+        MutableLiveData<ApiResponse<String>> result = resource.fetch(new StubCall<>(Response.success(body)));
+
+        assertSame(body, result.getValue());
+    }
+
+    @Test
+    public void allocationsPerRequest_beforeAndAfter() {
+        ApiResponse<String> body = new ApiResponse<>(true, "ok", "cliente", 200);
+        StubCall<String> call = new StubCall<>(Response.success(body));
+        NetworkBoundResource<Void, String> resource = new NetworkBoundResource<>("Cliente obtenido exitosamente");
+
+        for (int i = 0; i < WARMUP; i++) {
+            legacyRequest(call);
+            resource.fetch(call);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < REQUESTS; i++) {
+            legacyRequest(call);
+        }
+        long legacyBytes = (allocatedBytes() - before) / REQUESTS;
+
+        before = allocatedBytes();
+        for (int i = 0; i < REQUESTS; i++) {
+            resource.fetch(call);
+        }
+        long pipelineBytes = (allocatedBytes() - before) / REQUESTS;
+
+        assertTrue("el pipeline asigna " + pipelineBytes + " B y el patrón anterior " + legacyBytes + " B",
+                pipelineBytes < legacyBytes);
+    }
+
+    /**
+     * Lo que hacía cada método del repositorio antes del pipeline
+     */
+    private static MutableLiveData<ApiResponse<String>> legacyRequest(Call<ApiResponse<String>> call) {
+        RequestLiveData<ApiResponse<String>> result = new RequestLiveData<>();
+
+        NetworkUtils.executeCall(
+            result.attach(call),
+            new NetworkUtils.ApiCallback<String>() {
+                @Override
+                public void onSuccess(String data) {
+                    ApiResponse<String> response = new ApiResponse<>(
+                        true,
+                        "Cliente obtenido exitosamente",
+                        data,
+                        200
+                    );
+                    result.postValue(response);
+                }
+
+                @Override
+                public void onError(String message, int errorCode) {
+                    ApiResponse<String> errorResponse = new ApiResponse<>(
+                        false,
+                        message,
+                        null,
+                        errorCode
+                    );
+                    result.postValue(errorResponse);
+                }
+            }
+        );
+
+        return result;
+    }
+
+    private void awaitObserver() {
+        try {
+            observing.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Espera count publicaciones (el pipeline lee y guarda en su executor de disco)
+     */
+    private <T> List<ApiResponse<T>> collect(MutableLiveData<ApiResponse<T>> result, int count)
+            throws InterruptedException {
+        List<ApiResponse<T>> states = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+        result.observeForever(response -> {
+            states.add(response);
+            done.countDown();
+        });
+        observing.countDown();
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        return states;
+    }
+}
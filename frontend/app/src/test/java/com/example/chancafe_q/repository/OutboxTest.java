@@ -0,0 +1,399 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.local.dao.OutboxDao;
+import com.example.chancafe_q.data.local.entity.OutboxEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reenvía la cola contra un servidor que corta conexiones al azar (antes o después de
+ * aplicar el cambio) y verifica que cada mutación llegue una sola vez y en orden
+ */
+public class OutboxTest {
+
+    private static final int PARALLELISM = 4;
+
+    private MockWebServer server;
+    private final StandInServer backend = new StandInServer();
+    private final FakeOutboxDao dao = new FakeOutboxDao();
+    private final Map<Integer, Integer> serverIds = new HashMap<>(); // id local -> id del backend
+    private final Object transactionLock = new Object();
+    private boolean inTransaction;
+    private Outbox outbox;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(backend);
+        server.start();
+        // Sin reintentos de OkHttp ni del interceptor: cada corte le llega al outbox
+        OkHttpClient client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+        ApiService api = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(ApiClient.getGson()))
+                .build()
+                .create(ApiService.class);
+
+        outbox = new Outbox(api, dao, body -> {
+            synchronized (transactionLock) {
+                inTransaction = true;
+                try {
+                    body.run();
+                } finally {
+                    inTransaction = false;
+                }
+            }
+        }, PARALLELISM);
+        outbox.setListener(SyncEngine.CLIENTS, (entry, serverId, record, settled) -> {
+            assertTrue(inTransaction);
+            if (entry.targetId < 0) {
+                serverIds.put(entry.targetId, serverId);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void drain_deliversEveryMutationOnceAndInOrderDespiteDroppedConnections() {
+        backend.dropRate = 0.3;
+        for (int id = 1; id <= 10; id++) {
+            backend.seed(id);
+        }
+
+        // 20 altas sin conexión, cada una editada y desactivada antes de enviarse
+        for (int i = 1; i <= 20; i++) {
+            int localId = -i;
+            commit(() -> {
+                outbox.enqueue(OutboxOperation.CLIENT_CREATE, localId, "{\"firstName\":\"Cliente " + localId + "\"}");
+                outbox.enqueue(OutboxOperation.CLIENT_UPDATE, localId, "{\"firstName\":\"Editado " + localId + "\"}");
+                outbox.enqueue(OutboxOperation.CLIENT_STATUS, localId, "{\"status\":\"inactive\"}");
+            });
+        }
+        // Tres cambios de límite seguidos sobre clientes que ya existen: gana el último
+        for (int id = 1; id <= 10; id++) {
+            int clientId = id;
+            commit(() -> {
+                for (int limit = 1; limit <= 3; limit++) {
+                    outbox.enqueue(OutboxOperation.CLIENT_CREDIT_LIMIT, clientId,
+                            "{\"creditLimit\":" + (clientId * 1000 + limit) + "}");
+                }
+            });
+        }
+
+        int passes = 0;
+        int retried = 0;
+        while (dao.countPending() > 0) {
+            assertTrue("la cola no se vació", ++passes <= 200);
+            Outbox.DrainResult result = outbox.drainNow();
+            assertEquals(0, result.getConflicts());
+            retried += result.getRetried();
+        }
+
+        assertTrue("el servidor de prueba debió cortar conexiones", retried > 0);
+        assertTrue(backend.replayed.get() > 0); // Respuestas perdidas que se repitieron con la misma clave
+        assertTrue("entidades distintas van en paralelo", backend.maxInFlight.get() > 1);
+
+        // Cada alta existe una sola vez y recibió sus cambios con el id definitivo
+        assertEquals(30, backend.clients.size());
+        assertEquals(20, serverIds.size());
+        for (int i = 1; i <= 20; i++) {
+            JsonObject saved = backend.clients.get(serverIds.get(-i));
+            assertEquals("Editado " + -i, saved.get("firstName").getAsString());
+            assertEquals("inactive", saved.get("status").getAsString());
+            assertEquals(Arrays.asList("create", "update", "status"), backend.history.get(serverIds.get(-i)));
+        }
+        for (int id = 1; id <= 10; id++) {
+            assertEquals(id * 1000 + 3, backend.clients.get(id).get("creditLimit").getAsInt());
+            assertEquals(Arrays.asList("credit-limit", "credit-limit", "credit-limit"), backend.history.get(id));
+        }
+    }
+
+    @Test
+    public void drain_holdsEntityAtConflictWithoutBlockingOthers() {
+        backend.seed(1);
+        commit(() -> {
+            outbox.enqueue(OutboxOperation.CLIENT_CREATE, -1, "{\"documentNumber\":\"DUP\"}");
+            outbox.enqueue(OutboxOperation.CLIENT_UPDATE, -1, "{\"firstName\":\"Ana\"}");
+            outbox.enqueue(OutboxOperation.CLIENT_STATUS, 1, "{\"status\":\"inactive\"}");
+        });
+
+        Outbox.DrainResult result = outbox.drainNow();
+
+        assertEquals(1, result.getConflicts());
+        assertEquals(1, result.getApplied());
+        assertEquals("inactive", backend.clients.get(1).get("status").getAsString());
+        List<OutboxEntity> conflicts = dao.getConflicts();
+        assertEquals(1, conflicts.size());
+        assertEquals("El documento ya está registrado", conflicts.get(0).lastError);
+        // La edición del alta rechazada queda en cola pero no se envía
+        assertEquals(1, dao.countPending());
+        assertTrue(dao.getReady().isEmpty());
+        assertEquals(0, outbox.drainNow().getApplied());
+        assertEquals(1, backend.clients.size());
+    }
+
+    private void commit(Runnable changes) {
+        synchronized (transactionLock) {
+            changes.run();
+        }
+    }
+
+    /**
+     * Backend de clientes que respeta Idempotency-Key: una clave ya vista devuelve la
+     * respuesta guardada sin volver a aplicar el cambio
+     */
+    private static final class StandInServer extends Dispatcher {
+        final Map<Integer, JsonObject> clients = new TreeMap<>();
+        final Map<Integer, List<String>> history = new HashMap<>();
+        final AtomicInteger replayed = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<String, MockResponse> byKey = new HashMap<>();
+        private final Random random = new Random(42);
+        private int nextId = 100;
+        double dropRate;
+
+        synchronized void seed(int id) {
+            JsonObject client = new JsonObject();
+            client.addProperty("id", id);
+            client.addProperty("status", "active");
+            clients.put(id, client);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return handle(request);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private synchronized MockResponse handle(RecordedRequest request) {
+            double roll = random.nextDouble();
+            if (roll < dropRate / 2) {
+                // La request no llega a aplicarse
+                return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+            }
+
+            String key = request.getHeader("Idempotency-Key");
+            assertNotNull(key);
+            MockResponse response = byKey.get(key);
+            if (response != null) {
+                replayed.incrementAndGet();
+            } else {
+                response = apply(request);
+                byKey.put(key, response);
+            }
+            if (roll < dropRate) {
+                // Se aplicó, pero la respuesta se pierde
+                return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+            }
+            return response;
+        }
+
+        private MockResponse apply(RecordedRequest request) {
+            JsonObject body = JsonParser.parseString(request.getBody().readUtf8()).getAsJsonObject();
+            String[] path = request.getRequestUrl().encodedPath().split("/"); // "", api, clients, {id}, ...
+            JsonObject client;
+            String operation;
+            if (path.length == 3) {
+                if (body.has("documentNumber") && "DUP".equals(body.get("documentNumber").getAsString())) {
+                    return new MockResponse().setResponseCode(409)
+                            .setBody("{\"success\":false,\"message\":\"El documento ya está registrado\"}");
+                }
+                client = body;
+                client.addProperty("id", ++nextId);
+                client.addProperty("status", "active");
+                clients.put(nextId, client);
+                operation = "create";
+            } else {
+                client = clients.get(Integer.parseInt(path[3]));
+                if (client == null) {
+                    return new MockResponse().setResponseCode(404).setBody("{\"success\":false,\"message\":\"No existe\"}");
+                }
+                for (String field : body.keySet()) {
+                    client.add(field, body.get(field));
+                }
+                operation = path.length > 4 ? path[4] : "update";
+            }
+            history.computeIfAbsent(client.get("id").getAsInt(), id -> new ArrayList<>()).add(operation);
+            return new MockResponse().setBody("{\"success\":true,\"data\":{\"client\":" + client + "}}");
+        }
+    }
+
+    private static final class FakeOutboxDao implements OutboxDao {
+        private final TreeMap<Long, OutboxEntity> rows = new TreeMap<>();
+        private long nextId;
+
+        @Override
+        public synchronized long insert(OutboxEntity entry) {
+            entry.id = ++nextId;
+            rows.put(entry.id, copy(entry));
+            return entry.id;
+        }
+
+        @Override
+        public synchronized OutboxEntity getById(long id) {
+            OutboxEntity entry = rows.get(id);
+            return entry != null ? copy(entry) : null;
+        }
+
+        @Override
+        public synchronized List<OutboxEntity> getReady() {
+            List<OutboxEntity> ready = new ArrayList<>();
+            for (OutboxEntity entry : rows.values()) {
+                if (OutboxEntity.STATUS_PENDING.equals(entry.status) && !hasConflict(entry.entityKey)) {
+                    ready.add(copy(entry));
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public synchronized List<OutboxEntity> getConflicts() {
+            List<OutboxEntity> conflicts = new ArrayList<>();
+            for (OutboxEntity entry : rows.values()) {
+                if (OutboxEntity.STATUS_CONFLICT.equals(entry.status)) {
+                    conflicts.add(copy(entry));
+                }
+            }
+            return conflicts;
+        }
+
+        @Override
+        public synchronized int countPending() {
+            int count = 0;
+            for (OutboxEntity entry : rows.values()) {
+                if (OutboxEntity.STATUS_PENDING.equals(entry.status)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public synchronized int countForEntity(String entityKey) {
+            int count = 0;
+            for (OutboxEntity entry : rows.values()) {
+                if (entry.entityKey.equals(entityKey)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public synchronized List<Integer> getTargetIds(String resource) {
+            List<Integer> ids = new ArrayList<>();
+            for (OutboxEntity entry : rows.values()) {
+                if (entry.resource.equals(resource) && !ids.contains(entry.targetId)) {
+                    ids.add(entry.targetId);
+                }
+            }
+            return ids;
+        }
+
+        @Override
+        public synchronized String findEntityKey(String resource, int targetId) {
+            for (OutboxEntity entry : rows.values()) {
+                if (entry.resource.equals(resource) && entry.targetId == targetId) {
+                    return entry.entityKey;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public synchronized void retarget(String entityKey, int targetId) {
+            for (OutboxEntity entry : rows.values()) {
+                if (entry.entityKey.equals(entityKey)) {
+                    entry.targetId = targetId;
+                }
+            }
+        }
+
+        @Override
+        public synchronized void recordFailure(long id, String error) {
+            OutboxEntity entry = rows.get(id);
+            entry.attempts++;
+            entry.lastError = error;
+        }
+
+        @Override
+        public synchronized void setStatus(long id, String status, String error) {
+            OutboxEntity entry = rows.get(id);
+            entry.status = status;
+            entry.lastError = error;
+        }
+
+        @Override
+        public synchronized void delete(long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public synchronized void deleteEntity(String entityKey) {
+            rows.values().removeIf(entry -> entry.entityKey.equals(entityKey));
+        }
+
+        private boolean hasConflict(String entityKey) {
+            for (OutboxEntity entry : rows.values()) {
+                if (entry.entityKey.equals(entityKey) && OutboxEntity.STATUS_CONFLICT.equals(entry.status)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Room devuelve copias: cambiar una entrada leída no toca la tabla
+        private static OutboxEntity copy(OutboxEntity source) {
+            OutboxEntity entry = new OutboxEntity();
+            entry.id = source.id;
+            entry.resource = source.resource;
+            entry.entityKey = source.entityKey;
+            entry.operation = source.operation;
+            entry.targetId = source.targetId;
+            entry.payload = source.payload;
+            entry.idempotencyKey = source.idempotencyKey;
+            entry.status = source.status;
+            entry.attempts = source.attempts;
+            entry.lastError = source.lastError;
+            entry.createdAt = source.createdAt;
+            return entry;
+        }
+    }
+}
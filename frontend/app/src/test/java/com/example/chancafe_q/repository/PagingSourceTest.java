@@ -0,0 +1,176 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.model.ClientPage;
+import com.example.chancafe_q.utils.NetworkUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Recorre 2.000 clientes sintéticos de un servidor local (40 páginas) y verifica que
+ * lo retenido quede acotado por la ventana de páginas
+ */
+public class PagingSourceTest {
+
+    private static final int TOTAL_CLIENTS = 2_000;
+    private static final int PAGE_SIZE = 50; // 40 páginas: la ventana de 5 descarta 35 en el recorrido
+    private static final int MAX_PAGES = 5;
+    private static final int PREFETCH_DISTANCE = 20;
+    private static final int VISIBLE_ROWS = 12;
+
+    private MockWebServer server;
+    // Hace de hilo principal: PagingSource no es thread-safe
+    // Las respuestas de prefetch que llegan después del test se descartan
+    private final ExecutorService main = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new ThreadPoolExecutor.DiscardPolicy());
+    private PagingSource<Client> source;
+    private final Logger httpLogger = Logger.getLogger(OkHttpClient.class.getName());
+    private Level previousLogLevel;
+
+    @Before
+    public void setUp() throws Exception {
+        // Sin el log de cuerpos (activo en desarrollo) para no medir la consola
+        previousLogLevel = httpLogger.getLevel();
+        httpLogger.setLevel(Level.OFF);
+
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                int page = Integer.parseInt(url.queryParameter("page"));
+                int limit = Integer.parseInt(url.queryParameter("limit"));
+                return new MockResponse().setBody(pageJson(page, limit));
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+
+        source = new PagingSource<>(PAGE_SIZE, MAX_PAGES, PREFETCH_DISTANCE, (page, pageSize, priority, callback) ->
+                NetworkUtils.executeCall(ApiClient.getApiService().getClientsPage(page, pageSize), priority,
+                        new NetworkUtils.ApiCallback<ClientPage>() {
+                            @Override
+                            public void onSuccess(ClientPage data) {
+                                callback.onPage(data.getClients(), data.getPagination().getTotalCount());
+                            }
+
+                            @Override
+                            public void onError(String message, int errorCode) {
+                                callback.onError(message, errorCode);
+                            }
+                        }), main);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        main.shutdownNow();
+        server.shutdown();
+        httpLogger.setLevel(previousLogLevel);
+    }
+
+    @Test
+    public void firstPage_exposesTotalCountWithPlaceholders() throws Exception {
+        onMain(() -> {
+            source.start();
+            return null;
+        });
+        awaitOnMain(() -> source.size() == TOTAL_CLIENTS);
+
+        assertEquals(1, (int) onMain(source::getRetainedPageCount));
+        assertNotNull(onMain(() -> source.get(0)));
+        assertEquals(0, onMain(() -> source.get(0)).getId());
+        // Una posición lejana es placeholder hasta que llega su página
+        assertNull(onMain(() -> source.get(TOTAL_CLIENTS - 1)));
+        assertTrue(onMain(source::getTimeToFirstPageMillis) >= 0);
+    }
+
+    @Test
+    public void scrollingAllClients_keepsRetainedPagesWithinWindow() throws Exception {
+        onMain(() -> {
+            source.start();
+            return null;
+        });
+        awaitOnMain(() -> source.size() == TOTAL_CLIENTS);
+
+        int maxRetained = 0;
+        for (int first = 0; first + VISIBLE_ROWS <= TOTAL_CLIENTS; first += VISIBLE_ROWS) {
+            final int firstVisible = first;
+            final int lastVisible = first + VISIBLE_ROWS - 1;
+            onMain(() -> {
+                source.onVisibleRangeChanged(firstVisible, lastVisible);
+                return null;
+            });
+            // Enlazar las filas visibles; con prefetch la página suele estar lista antes de llegar
+            awaitOnMain(() -> source.get(firstVisible) != null && source.get(lastVisible) != null);
+            assertEquals(lastVisible, onMain(() -> source.get(lastVisible)).getId());
+            maxRetained = Math.max(maxRetained, onMain(source::getRetainedItemCount));
+        }
+
+        // Lo que recorre forEachLoaded (filas del adapter) sigue la misma ventana
+        int[] loaded = new int[1];
+        onMain(() -> {
+            source.forEachLoaded(client -> loaded[0]++);
+            return null;
+        });
+        assertEquals((int) onMain(source::getRetainedItemCount), loaded[0]);
+
+        assertTrue("retenidos=" + maxRetained, maxRetained <= MAX_PAGES * PAGE_SIZE);
+        assertEquals(TOTAL_CLIENTS / PAGE_SIZE, (int) onMain(source::getLoadedPageCount));
+        assertTrue(onMain(source::getDroppedPageCount) >= TOTAL_CLIENTS / PAGE_SIZE - MAX_PAGES);
+    }
+
+    private <R> R onMain(Callable<R> task) throws Exception {
+        return main.submit(task).get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitOnMain(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!onMain(condition)) {
+            assertTrue("timeout", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static String pageJson(int page, int limit) {
+        int from = (page - 1) * limit;
+        int to = Math.min(from + limit, TOTAL_CLIENTS);
+        StringBuilder json = new StringBuilder("{\"success\":true,\"data\":{\"clients\":[");
+        for (int id = from; id < to; id++) {
+            if (id > from) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"first_name\":\"Cliente\",\"last_name\":\"").append(id)
+                    .append("\",\"document_type\":\"DNI\",\"document_number\":\"")
+                    .append(10_000_000 + id)
+                    .append("\",\"email\":\"cliente").append(id).append("@chancafe.pe\"")
+                    .append(",\"client_type\":\"individual\",\"status\":\"active\"}");
+        }
+        json.append("],\"pagination\":{\"totalCount\":").append(TOTAL_CLIENTS)
+                .append(",\"totalPages\":").append((TOTAL_CLIENTS + limit - 1) / limit)
+                .append(",\"currentPage\":").append(page)
+                .append(",\"pageSize\":").append(limit)
+                .append("}},\"message\":\"Clientes obtenidos exitosamente\"}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.model.ApiResponse;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Call que responde en el mismo hilo sin salir a la red: aísla lo que asigna el
+ * código del repositorio de lo que asignan OkHttp y Gson
+ * Si es diferida, la respuesta recién llega al llamar complete()
+ */
+final class StubCall<T> implements Call<ApiResponse<T>> {
+    private static final Request REQUEST = new Request.Builder().url("http://localhost/api/clients/1").build();
+    private final Response<ApiResponse<T>> response;
+    private final boolean deferred;
+    private Callback<ApiResponse<T>> pending;
+    private boolean canceled;
+
+    StubCall(Response<ApiResponse<T>> response) {
+        this(response, false);
+    }
+
+    StubCall(Response<ApiResponse<T>> response, boolean deferred) {
+        this.response = response;
+        this.deferred = deferred;
+    }
+
+    static <T> StubCall<T> success(T data) {
+        return new StubCall<>(Response.success(new ApiResponse<>(true, "ok", data, 200)));
+    }
+
+    static <T> StubCall<T> deferredSuccess(T data) {
+        return new StubCall<>(Response.success(new ApiResponse<>(true, "ok", data, 200)), true);
+    }
+
+    /**
+     * Entrega la respuesta de una llamada diferida
+     */
+    void complete() {
+        Callback<ApiResponse<T>> callback = pending;
+        pending = null;
+        callback.onResponse(this, response);
+    }
+
+    boolean isPending() {
+        return pending != null;
+    }
+
+    @Override
+    public Response<ApiResponse<T>> execute() throws IOException {
+        return response;
+    }
+
+    @Override
+    public void enqueue(Callback<ApiResponse<T>> callback) {
+        if (canceled) {
+            callback.onFailure(this, new IOException("Canceled"));
+        } else if (deferred) {
+            pending = callback;
+        } else {
+            callback.onResponse(this, response);
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<ApiResponse<T>> clone() {
+        return new StubCall<>(response, deferred);
+    }
+
+    @Override
+    public Request request() {
+        return REQUEST;
+    }
+
+    @Override
+    public Timeout timeout() {
+        return Timeout.NONE;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.chancafe_q.repository;
+
+import com.example.chancafe_q.data.local.dao.SyncStateDao;
+import com.example.chancafe_q.data.local.entity.SyncStateEntity;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.data.remote.ApiService;
+import com.example.chancafe_q.model.Category;
+import com.example.chancafe_q.model.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sincroniza contra un servidor local que implementa updated_since con tombstones
+ * y verifica que, después de la descarga inicial, solo viaje lo que cambió
+ */
+public class SyncEngineTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    private MockWebServer server;
+    private final StandInServer categories = new StandInServer();
+    private final FakeSyncStateDao syncState = new FakeSyncStateDao();
+    private final FakeStore<Category> categoryStore = new FakeStore<>(Category::getId);
+    private final FakeStore<Supplier> supplierStore = new FakeStore<>(Supplier::getId);
+    private boolean inTransaction;
+    private SyncEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                if (url.encodedPath().endsWith("/suppliers")) {
+                    // Backend sin soporte incremental: siempre la lista completa
+                    return new MockResponse().setBody("{\"success\":true,\"data\":[{\"id\":1,\"name\":\"A\"},{\"id\":2,\"name\":\"B\"}]}");
+                }
+                return new MockResponse().setBody(categories.changes(
+                        url.queryParameter("updated_since"), Integer.parseInt(url.queryParameter("limit"))));
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+        ApiService api = ApiClient.getApiService();
+
+        engine = new SyncEngine(syncState, body -> {
+            inTransaction = true;
+            try {
+                body.run();
+            } finally {
+                inTransaction = false;
+            }
+        }, ApiClient.getGson(), BATCH_SIZE);
+        engine.register(SyncEngine.CATEGORIES, Category.class, api::getCategoryChanges, categoryStore);
+        engine.register(SyncEngine.SUPPLIERS, Supplier.class, api::getSupplierChanges, supplierStore);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void sync_pullsOnlyChangesAndTombstonesAfterInitialDownload() throws Exception {
+        for (int id = 1; id <= 1200; id++) {
+            categories.put(id, "Categoría " + id);
+        }
+
+        SyncEngine.SyncResult initial = engine.sync(SyncEngine.CATEGORIES);
+        assertTrue(initial.isFull());
+        assertEquals(3, initial.getRequests()); // 1200 filas en lotes de 500
+        assertEquals(1200, initial.getUpserted());
+        assertEquals(1200, categoryStore.rows.size());
+
+        categories.put(7, "Bebidas");
+        categories.put(1201, "Nueva");
+        categories.delete(3);
+        categories.delete(900);
+
+        SyncEngine.SyncResult delta = engine.sync(SyncEngine.CATEGORIES);
+        assertFalse(delta.isFull());
+        assertEquals(1, delta.getRequests());
+        assertEquals(2, delta.getUpserted());
+        assertEquals(2, delta.getDeleted());
+        assertEquals(1199, categoryStore.rows.size());
+        assertEquals("Bebidas", categoryStore.rows.get(7).getName());
+        assertFalse(categoryStore.rows.containsKey(900));
+
+        assertEquals(4, delta.getChangedCount());
+
+        // Sin cambios en el servidor no se escribe nada
+        SyncEngine.SyncResult unchanged = engine.sync(SyncEngine.CATEGORIES);
+        assertEquals(1, unchanged.getRequests());
+        assertEquals(0, unchanged.getChangedCount());
+        assertEquals(categories.lastVersion(), syncState.rows.get(SyncEngine.CATEGORIES).watermark);
+    }
+
+    @Test
+    public void sync_replacesLocalTableWhenBackendReturnsFullList() throws Exception {
+        Supplier stale = new Supplier();
+        stale.setId(99);
+        supplierStore.rows.put(99, stale);
+
+        SyncEngine.SyncResult result = engine.sync(SyncEngine.SUPPLIERS);
+
+        assertTrue(result.isFull());
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(supplierStore.rows.keySet()));
+        // Sin marca del servidor la próxima vez se vuelve a pedir completa
+        assertNull(syncState.rows.get(SyncEngine.SUPPLIERS).watermark);
+        assertTrue(engine.sync(SyncEngine.SUPPLIERS).isFull());
+    }
+
+    /**
+     * Backend de prueba: cada alta, cambio o borrado recibe una versión creciente;
+     * updated_since devuelve los eventos posteriores en orden, de a limit
+     */
+    private static final class StandInServer {
+        private final Map<Integer, String> names = new HashMap<>();
+        private final TreeMap<Long, Integer> events = new TreeMap<>(); // versión -> id
+        private final Map<Integer, Long> versionById = new HashMap<>();
+        private long version;
+
+        synchronized void put(int id, String name) {
+            names.put(id, name);
+            touch(id);
+        }
+
+        synchronized void delete(int id) {
+            names.remove(id);
+            touch(id);
+        }
+
+        synchronized String lastVersion() {
+            return String.valueOf(version);
+        }
+
+        private void touch(int id) {
+            Long previous = versionById.put(id, ++version);
+            if (previous != null) {
+                events.remove(previous);
+            }
+            events.put(version, id);
+        }
+
+        synchronized String changes(String updatedSince, int limit) {
+            long since = updatedSince != null ? Long.parseLong(updatedSince) : 0;
+            StringBuilder items = new StringBuilder();
+            StringBuilder deleted = new StringBuilder();
+            long watermark = since;
+            int count = 0;
+            for (Map.Entry<Long, Integer> event : events.tailMap(since, false).entrySet()) {
+                if (count == limit) {
+                    break;
+                }
+                int id = event.getValue();
+                String name = names.get(id);
+                if (name != null) {
+                    items.append(items.length() > 0 ? "," : "")
+                            .append("{\"id\":").append(id).append(",\"name\":\"").append(name).append("\"}");
+                } else if (updatedSince != null) { // En la descarga inicial no hacen falta tombstones
+                    deleted.append(deleted.length() > 0 ? "," : "").append(id);
+                }
+                watermark = event.getKey();
+                count++;
+            }
+            boolean hasMore = !events.tailMap(watermark, false).isEmpty();
+            return "{\"success\":true,\"data\":{\"items\":[" + items + "],\"deleted\":[" + deleted
+                    + "],\"watermark\":\"" + watermark + "\",\"has_more\":" + hasMore + "}}";
+        }
+    }
+
+    private final class FakeStore<T> implements SyncEngine.LocalStore<T> {
+        final Map<Integer, T> rows = new TreeMap<>();
+        private final ToIntFunction<T> id;
+
+        FakeStore(ToIntFunction<T> id) {
+            this.id = id;
+        }
+
+        @Override
+        public void clear() {
+            assertTrue(inTransaction);
+            rows.clear();
+        }
+
+        @Override
+        public void apply(List<T> upserts, List<Integer> deletedIds) {
+            assertTrue(inTransaction);
+            for (T item : upserts) {
+                rows.put(id.applyAsInt(item), item);
+            }
+            for (Integer deletedId : deletedIds) {
+                rows.remove(deletedId);
+            }
+        }
+    }
+
+    private final class FakeSyncStateDao implements SyncStateDao {
+        final Map<String, SyncStateEntity> rows = new HashMap<>();
+
+        @Override
+        public SyncStateEntity get(String resource) {
+            return rows.get(resource);
+        }
+
+        @Override
+        public void upsert(SyncStateEntity state) {
+            assertTrue("la marca se guarda con los cambios", inTransaction);
+            rows.put(state.resource, state);
+        }
+    }
+}
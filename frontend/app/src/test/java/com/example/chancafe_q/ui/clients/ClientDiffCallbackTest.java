@@ -0,0 +1,211 @@
+package com.example.chancafe_q.ui.clients;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.chancafe_q.model.Client;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica la igualdad de filas que usa el diff de la lista de clientes y las
+ * notificaciones del diff de 10.000 filas con cambios típicos
+ */
+public class ClientDiffCallbackTest {
+
+    private static final int SIZE = 10_000;
+
+    private final ClientDiffCallback callback = new ClientDiffCallback();
+    private final Random random = new Random(11);
+
+    @Test
+    public void sameIdAndText_areTheSameRow() {
+        Client client = client(1);
+        ClientRow row = ClientRow.of(client);
+        Client copy = copy(client);
+        copy.setCreditLimit(5_000); // No se muestra en la fila
+        assertTrue(callback.areItemsTheSame(row, ClientRow.of(copy)));
+        assertTrue(callback.areContentsTheSame(row, ClientRow.of(copy)));
+
+        copy.setStatus("suspended");
+        assertTrue(callback.areItemsTheSame(row, ClientRow.of(copy)));
+        assertFalse(callback.areContentsTheSame(row, ClientRow.of(copy)));
+        assertFalse(callback.areItemsTheSame(row, ClientRow.of(client(2))));
+    }
+
+    @Test
+    public void sharedInstanceEdit_isSeenAgainstThePreviousRow() {
+        // La instancia del IdentityMap se modifica en el lugar: la fila vieja conserva el texto anterior
+        Client shared = client(1);
+        ClientRow before = ClientRow.of(shared);
+        shared.setEmail("nuevo@correo.pe");
+        assertFalse(callback.areContentsTheSame(before, ClientRow.of(shared)));
+    }
+
+    @Test
+    public void isReplacement_onlyWhenFewIdsAreShared() {
+        List<ClientRow> rows = rows(1, 1_000);
+        Map<Integer, Integer> positions = positionsOf(rows);
+
+        assertTrue(ClientDiffCallback.isReplacement(positions, rows(5_000, 1_000)));
+        assertFalse(ClientDiffCallback.isReplacement(positions, churn(rows, 1.0, new int[3])));
+        // Un filtro que deja 100 de los 1.000: es un subconjunto, el diff anima solo las bajas
+        assertFalse(ClientDiffCallback.isReplacement(positions, rows.subList(0, 100)));
+        assertFalse(ClientDiffCallback.isReplacement(positions, Collections.emptyList()));
+    }
+
+    /**
+     * Con cambios típicos (1%, 10% y 100% de las filas) el diff notifica exactamente las
+     * filas tocadas, sin movimientos
+     */
+    @Test
+    public void tenThousandRows_dispatchOnlyTouchedRows() {
+        List<ClientRow> rows = rows(1, SIZE);
+        double[] churns = {0.01, 0.10, 1.0};
+
+        for (double churn : churns) {
+            int[] expected = new int[3]; // Ediciones, bajas, altas
+            List<ClientRow> next = churn(rows, churn, expected);
+
+            CountingCallback counted = new CountingCallback();
+            diff(rows, next).dispatchUpdatesTo(counted);
+
+            assertEquals(churn + " ediciones", expected[0], counted.changed);
+            assertEquals(churn + " bajas", expected[1], counted.removed);
+            assertEquals(churn + " altas", expected[2], counted.inserted);
+            assertEquals(0, counted.moved);
+        }
+    }
+
+    private DiffUtil.DiffResult diff(List<ClientRow> oldList, List<ClientRow> newList) {
+        // Lo mismo que arma AsyncListDiffer en su hilo de fondo
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return callback.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return callback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+        });
+    }
+
+    /**
+     * Toca la fracción indicada de filas: 70% ediciones, 15% bajas y 15% altas en
+     * posiciones al azar. expected recibe {ediciones, bajas, altas}
+     */
+    private List<ClientRow> churn(List<ClientRow> rows, double fraction, int[] expected) {
+        int touched = (int) Math.round(rows.size() * fraction);
+        int removals = touched * 15 / 100;
+        int inserts = removals;
+        int edits = touched - removals - inserts;
+
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            positions.add(i);
+        }
+        Collections.shuffle(positions, random);
+        ClientRow[] replaced = rows.toArray(new ClientRow[0]);
+        for (int i = 0; i < edits; i++) {
+            int position = positions.get(i);
+            Client edited = copy(replaced[position].client);
+            edited.setEmail("editado" + i + "@correo.pe");
+            replaced[position] = ClientRow.of(edited);
+        }
+        for (int i = edits; i < edits + removals; i++) {
+            replaced[positions.get(i)] = null;
+        }
+
+        List<ClientRow> next = new ArrayList<>(rows.size());
+        for (ClientRow row : replaced) {
+            if (row != null) {
+                next.add(row);
+            }
+        }
+        for (int i = 0; i < inserts; i++) {
+            next.add(random.nextInt(next.size() + 1), ClientRow.of(client(1_000_000 + i)));
+        }
+        expected[0] = edits;
+        expected[1] = removals;
+        expected[2] = inserts;
+        return next;
+    }
+
+    private static Map<Integer, Integer> positionsOf(List<ClientRow> rows) {
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            positions.put(rows.get(i).id, i);
+        }
+        return positions;
+    }
+
+    private static List<ClientRow> rows(int firstId, int count) {
+        List<ClientRow> rows = new ArrayList<>(count);
+        for (int id = firstId; id < firstId + count; id++) {
+            rows.add(ClientRow.of(client(id)));
+        }
+        return rows;
+    }
+
+    private static Client client(int id) {
+        Client client = new Client("Cliente", String.valueOf(id), "DNI", String.valueOf(10_000_000 + id),
+                "cliente" + id + "@correo.pe", "9" + (10_000_000 + id));
+        client.setId(id);
+        return client;
+    }
+
+    private static Client copy(Client client) {
+        Client copy = new Client();
+        copy.copyFrom(client);
+        return copy;
+    }
+
+    private static final class CountingCallback implements ListUpdateCallback {
+        int inserted;
+        int removed;
+        int moved;
+        int changed;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            changed += count;
+        }
+    }
+}
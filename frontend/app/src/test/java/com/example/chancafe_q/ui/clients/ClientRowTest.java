@@ -0,0 +1,121 @@
+package com.example.chancafe_q.ui.clients;
+
+import com.example.chancafe_q.model.Client;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Verifica el texto de las filas de clientes y que el bind durante un fling no asigne
+ * memoria (medido con los bytes asignados por el hilo)
+ */
+public class ClientRowTest {
+
+    @Test
+    public void of_formatsNameDocumentAndContact() {
+        Client person = client(1);
+        person.setStatus("suspended");
+        ClientRow row = ClientRow.of(person);
+        assertEquals("Ana Quispe 👤 ⚠️", row.name.toString());
+        assertEquals("DNI: 44556677", row.document.toString());
+        assertEquals("📧 ana@correo.pe", row.contact.toString());
+
+        Client business = client(2);
+        business.setClientType("business");
+        business.setBusinessName("Cafetalera Selva Central");
+        business.setDocumentNumber(null);
+        business.setEmail("");
+        assertEquals("Cafetalera Selva Central 🏢 ✅", ClientRow.of(business).name.toString());
+        assertEquals("DNI: Sin documento", ClientRow.of(business).document.toString());
+        assertEquals("📞 987654321", ClientRow.of(business).contact.toString());
+
+        Client unnamed = new Client(null, null, null, null, null, null);
+        unnamed.setStatus(null);
+        assertEquals("Cliente sin nombre 👤 ✅", ClientRow.of(unnamed).name.toString());
+        assertEquals("DOC: Sin documento", ClientRow.of(unnamed).document.toString());
+        assertEquals("Sin información de contacto", ClientRow.of(unnamed).contact.toString());
+    }
+
+    /**
+     * Fling simulado: recorre 10.000 filas varias veces haciendo el bind de cada una
+     */
+    @Test
+    public void fling_bindsWithoutAllocating() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+
+        List<Client> clients = new ArrayList<>();
+        List<ClientRow> rows = new ArrayList<>();
+        for (int id = 1; id <= 10_000; id++) {
+            Client client = client(id);
+            clients.add(client);
+            rows.add(ClientRow.of(client)); // Al llegar los datos, en el hilo de fondo
+        }
+        RecordingView view = new RecordingView();
+        for (int round = 0; round < 20; round++) {
+            fling(rows, view); // Calentamiento del JIT
+            formatOnBind(clients, view);
+        }
+
+        long overhead = allocatedDuring(allocations, thread, () -> { });
+        long precomputed = allocatedDuring(allocations, thread, () -> fling(rows, view)) - overhead;
+        long formatted = allocatedDuring(allocations, thread, () -> formatOnBind(clients, view)) - overhead;
+
+        assertEquals(0, precomputed);
+        assertTrue(formatted > 0);
+        assertTrue(view.characters > 0);
+    }
+
+    private static void fling(List<ClientRow> rows, RecordingView view) {
+        for (int position = 0; position < rows.size(); position++) {
+            rows.get(position).bindTo(view);
+        }
+    }
+
+    // Lo que hacía el bind antes: concatenar los textos de la fila cada vez
+    private static void formatOnBind(List<Client> clients, RecordingView view) {
+        for (int position = 0; position < clients.size(); position++) {
+            ClientRow.of(clients.get(position)).bindTo(view);
+        }
+    }
+
+    private static long allocatedDuring(com.sun.management.ThreadMXBean allocations, long thread, Runnable work) {
+        long before = allocations.getThreadAllocatedBytes(thread);
+        work.run();
+        return allocations.getThreadAllocatedBytes(thread) - before;
+    }
+
+    private static Client client(int id) {
+        Client client = new Client("Ana", "Quispe", "DNI", String.valueOf(44_556_676 + id),
+                "ana@correo.pe", "987654321");
+        client.setId(id);
+        return client;
+    }
+
+    /**
+     * Hace de TextView: guarda los textos y suma su largo para que el JIT no descarte el bind
+     */
+    private static final class RecordingView implements ClientRow.RowView {
+        CharSequence name;
+        CharSequence document;
+        CharSequence contact;
+        long characters;
+
+        @Override
+        public void showRow(CharSequence name, CharSequence document, CharSequence contact) {
+            this.name = name;
+            this.document = document;
+            this.contact = contact;
+            characters += name.length() + document.length() + contact.length();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.chancafe_q.utils;
+
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica el agrupamiento de GETs idénticos en NetworkUtils.executeCall
+ * y que cancelar a un llamador no afecte a los demás
+ */
+public class NetworkUtilsTest {
+
+    private static final int CALLERS = 20;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiClient.setBaseUrl(server.url("/api/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        ApiClient.resetClient();
+    }
+
+    @Test
+    public void concurrentIdenticalGets_hitNetworkOnce() throws Exception {
+        // La respuesta tarda lo suficiente para que todos los llamadores se solapen
+        server.enqueue(new MockResponse()
+                .setHeadersDelay(500, TimeUnit.MILLISECONDS)
+                .setBody("{\"success\":true,\"message\":\"ok\",\"data\":[{\"id\":1},{\"id\":2}]}"));
+
+        CountDownLatch done = new CountDownLatch(CALLERS);
+        AtomicInteger successes = new AtomicInteger();
+
+        for (int i = 0; i < CALLERS; i++) {
+            NetworkUtils.executeCall(
+                ApiClient.getApiService().getAllClients(),
+                new NetworkUtils.ApiCallback<List<Client>>() {
+                    @Override
+                    public void onSuccess(List<Client> data) {
+                        if (data != null && data.size() == 2) {
+                            successes.incrementAndGet();
+                        }
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(String message, int errorCode) {
+                        done.countDown();
+                    }
+                }
+            );
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CALLERS, successes.get());
+        assertEquals(0, NetworkUtils.getRequestCoalescer().getInFlightCount());
+    }
+
+    @Test
+    public void cancellingFollower_leavesLeaderRequestRunning() throws Exception {
+        server.enqueue(slowClients());
+        Map<String, String> results = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        Call<ApiResponse<List<Client>>> leader = ApiClient.getApiService().getAllClients();
+        Call<ApiResponse<List<Client>>> follower = ApiClient.getApiService().getAllClients();
+        NetworkUtils.executeCall(leader, recorder("leader", results, done));
+        NetworkUtils.executeCall(follower, recorder("follower", results, done));
+
+        NetworkUtils.cancel(follower);
+        assertEquals("Solicitud cancelada", results.get("follower")); // Sin esperar a la red
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("ok", results.get("leader"));
+        assertFalse(leader.isCanceled());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, NetworkUtils.getRequestCoalescer().getInFlightCount());
+    }
+
+    @Test
+    public void cancellingLeader_stillDeliversToFollower() throws Exception {
+        server.enqueue(slowClients());
+        Map<String, String> results = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        Call<ApiResponse<List<Client>>> leader = ApiClient.getApiService().getAllClients();
+        Call<ApiResponse<List<Client>>> follower = ApiClient.getApiService().getAllClients();
+        NetworkUtils.executeCall(leader, recorder("leader", results, done));
+        NetworkUtils.executeCall(follower, recorder("follower", results, done));
+
+        // P. ej. onCleared del ViewModel que hizo la primera request
+        NetworkUtils.cancel(leader);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("Solicitud cancelada", results.get("leader"));
+        assertEquals("ok", results.get("follower"));
+        assertFalse(leader.isCanceled()); // La request de red siguió para el otro llamador
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingEveryCaller_cancelsTheNetworkCall() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        Map<String, String> results = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        Call<ApiResponse<List<Client>>> leader = ApiClient.getApiService().getAllClients();
+        Call<ApiResponse<List<Client>>> follower = ApiClient.getApiService().getAllClients();
+        NetworkUtils.executeCall(leader, recorder("leader", results, done));
+        NetworkUtils.executeCall(follower, recorder("follower", results, done));
+
+        NetworkUtils.cancel(leader);
+        assertFalse(leader.isCanceled());
+        NetworkUtils.cancel(follower);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(leader.isCanceled());
+        assertEquals("Solicitud cancelada", results.get("leader"));
+        assertEquals("Solicitud cancelada", results.get("follower"));
+        assertEquals(0, NetworkUtils.getRequestCoalescer().getInFlightCount());
+    }
+
+    private static MockResponse slowClients() {
+        return new MockResponse()
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS)
+                .setBody("{\"success\":true,\"message\":\"ok\",\"data\":[{\"id\":1}]}");
+    }
+
+    private static NetworkUtils.ApiCallback<List<Client>> recorder(String name, Map<String, String> results,
+                                                               CountDownLatch done) {
+        return new NetworkUtils.ApiCallback<List<Client>>() {
+            @Override
+            public void onSuccess(List<Client> data) {
+                results.put(name, "ok");
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message, int errorCode) {
+                results.put(name, message);
+                done.countDown();
+            }
+        };
+    }
+}
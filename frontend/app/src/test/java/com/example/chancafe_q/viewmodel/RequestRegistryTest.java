@@ -0,0 +1,145 @@
+package com.example.chancafe_q.viewmodel;
+
+import androidx.arch.core.executor.ArchTaskExecutor;
+import androidx.arch.core.executor.TaskExecutor;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.chancafe_q.Benchmark;
+import com.example.chancafe_q.data.remote.ApiClient;
+import com.example.chancafe_q.model.ApiResponse;
+import com.example.chancafe_q.model.Client;
+import com.example.chancafe_q.repository.RequestLiveData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import retrofit2.Call;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que los observers de un ViewModel se liberen al llegar la respuesta final
+ * y en onCleared; el benchmark de 10.000 ciclos comprueba además que el heap no crezca
+ */
+public class RequestRegistryTest {
+
+    private static final int CYCLES = 10_000;
+    private static final int SCREEN_STATE_BYTES = 16 * 1024; // Lo que retiene cada observer
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024; // Con fuga serían ~160 MB
+
+    @Before
+    public void setUp() {
+        // LiveData en la JVM: el hilo del test hace de hilo principal
+        ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+            @Override
+            public void executeOnDiskIO(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public void postToMainThread(Runnable runnable) {
+                runnable.run();
+            }
+
+            @Override
+            public boolean isMainThread() {
+                return true;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ArchTaskExecutor.getInstance().setDelegate(null);
+    }
+
+    @Test
+    public void observeResult_keepsObserverUntilFinalResponse() {
+        RequestRegistry requests = new RequestRegistry();
+        MutableLiveData<ApiResponse<String>> result = new MutableLiveData<>();
+        int[] seen = new int[1];
+
+        requests.observeResult(result, response -> seen[0]++);
+        result.setValue(new ApiResponse<>(true, "Guardados, actualizando...", "cache", 206));
+        assertEquals(1, requests.getInFlightCount());
+        assertTrue(result.hasObservers());
+
+        result.setValue(new ApiResponse<>(true, "ok", "red", 200));
+        assertEquals(2, seen[0]);
+        assertEquals(0, requests.getObserverCount());
+        assertEquals(0, requests.getInFlightCount());
+        assertFalse(result.hasObservers());
+    }
+
+    @Test
+    public void clear_cancelsCallsStillInFlight() {
+        RequestRegistry requests = new RequestRegistry();
+        RequestLiveData<ApiResponse<Client>> result = new RequestLiveData<>();
+        Call<ApiResponse<Client>> call = result.attach(ApiClient.getApiService().getClientById(1));
+
+        requests.observeResult(result, response -> fail("el ViewModel ya no existe"));
+        assertEquals(1, requests.getInFlightCount());
+        requests.clear();
+
+        assertTrue(call.isCanceled());
+        assertFalse(result.hasObservers());
+        assertEquals(0, requests.getObserverCount());
+        // Lo que llegue después (p. ej. el error de cancelación) ya no tiene a quién avisar
+        result.setValue(new ApiResponse<>(false, "Solicitud cancelada", null, 0));
+        requests.observeResult(result, response -> fail("registro después de onCleared"));
+        assertFalse(result.hasObservers());
+    }
+
+    @Test
+    public void refreshCycles_releaseEveryObserver() {
+        MutableLiveData<Long> localVersion = new MutableLiveData<>(0L);
+        int baseObservers = RequestRegistry.getTotalObserverCount();
+
+        runRefreshCycles(localVersion, 100);
+
+        assertFalse(localVersion.hasObservers());
+        assertEquals(baseObservers, RequestRegistry.getTotalObserverCount());
+        assertEquals(0, RequestRegistry.getTotalInFlightCount());
+    }
+
+    @Test
+    @Category(Benchmark.class)
+    public void tenThousandRefreshCycles_keepHeapBounded() {
+        // LiveData de repositorio: vive más que cualquier ViewModel
+        MutableLiveData<Long> localVersion = new MutableLiveData<>(0L);
+        long heapBefore = usedHeap();
+
+        runRefreshCycles(localVersion, CYCLES);
+
+        long growth = usedHeap() - heapBefore;
+        assertFalse(localVersion.hasObservers());
+        assertTrue("el heap creció " + growth / 1024 + " KB", growth < MAX_HEAP_GROWTH_BYTES);
+    }
+
+    private static void runRefreshCycles(MutableLiveData<Long> localVersion, int cycles) {
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            // Un ViewModel por ciclo (rotaciones, volver a la pantalla) con un refresco cada uno
+            RequestRegistry requests = new RequestRegistry();
+            byte[] screenState = new byte[SCREEN_STATE_BYTES];
+            requests.observe(localVersion, version -> screenState[0]++);
+
+            RequestLiveData<ApiResponse<byte[]>> refresh = new RequestLiveData<>();
+            requests.observeResult(refresh, response -> screenState[1]++);
+            refresh.setValue(new ApiResponse<>(true, "ok", new byte[SCREEN_STATE_BYTES], 200));
+            assertEquals(1, requests.getObserverCount()); // El refresco ya se liberó
+
+            localVersion.setValue((long) cycle);
+            requests.clear(); // onCleared
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}